@@ -0,0 +1,57 @@
+package com.vanguard.web.automation.tools.selenium;
+
+/**
+ * Builds the fake DOM shapes the benchmarks run against.
+ *
+ */
+public final class FakeDom {
+
+	public static final String LIST_ID = "list";
+	public static final String ITEM_CLASS = "item";
+	public static final String TABLE_ID = "table";
+
+	private FakeDom() {
+	}
+
+	/**
+	 * [ul id="list"] with elementCount [li class="item"] children.  Only the last item is displayed and enabled,
+	 * so "first displayed/enabled" lookups have to look at every item.
+	 * @param elementCount
+	 * @return The [html] root.
+	 */
+	public static FakeWebElement list(int elementCount) {
+		FakeWebElement list = new FakeWebElement("ul").attribute("id", LIST_ID);
+		for(int i = 0; i < elementCount; i++) {
+			boolean isLast = i == elementCount - 1;
+			list.child(new FakeWebElement("li").attribute("class", ITEM_CLASS).attribute("id", "item" + i)
+					.text("Item " + i).displayed(isLast).enabled(isLast));
+		}
+		return page(list);
+	}
+
+	/**
+	 * [table id="table"] of rowCount rows and columnCount columns.  Cell texts are "r{row}c{column}".
+	 * @param rowCount
+	 * @param columnCount
+	 * @return The [html] root.
+	 */
+	public static FakeWebElement table(int rowCount, int columnCount) {
+		FakeWebElement body = new FakeWebElement("tbody");
+		for(int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+			FakeWebElement row = new FakeWebElement("tr");
+			for(int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+				row.child(new FakeWebElement("td").text(getCellText(rowIndex, columnIndex)));
+			}
+			body.child(row);
+		}
+		return page(new FakeWebElement("table").attribute("id", TABLE_ID).child(body));
+	}
+
+	public static String getCellText(int rowIndex, int columnIndex) {
+		return "r" + rowIndex + "c" + columnIndex;
+	}
+
+	private static FakeWebElement page(FakeWebElement content) {
+		return new FakeWebElement("html").child(new FakeWebElement("body").child(content));
+	}
+}
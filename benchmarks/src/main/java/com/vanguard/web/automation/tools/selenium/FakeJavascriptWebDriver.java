@@ -0,0 +1,103 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
+
+/**
+ * A FakeWebDriver that can also run the framework's own scripts, answering them from the fake DOM in one remote command each,
+ * the way a real browser would.  Any other script is one remote command that returns null.
+ *
+ */
+public class FakeJavascriptWebDriver extends FakeWebDriver implements JavascriptExecutor {
+
+	public FakeJavascriptWebDriver(FakeWebElement document, long commandLatencyInMicros) {
+		super(document, commandLatencyInMicros);
+	}
+
+	@Override
+	public Object executeScript(String script, Object... args) {
+		command();
+		if(ElementStateEvaluator.JS_EVALUATE_STATES.equals(script)) {
+			return evaluateStates((List<?>) args[0], (String) args[1]);
+		} else if(TableUtilities.JS_TABLE_SNAPSHOT.equals(script)) {
+			return snapshotTable((FakeWebElement) args[0]);
+		} else if(TableUtilities.JS_TABLE_VERSION.equals(script)) {
+			return 0L;
+		} else if(TableUtilities.JS_RESOLVE_CELL.equals(script)) {
+			return resolveCell((FakeWebElement) args[0], ((Number) args[1]).intValue(), ((Number) args[2]).intValue());
+		} else if(SeleniumElementFinder.JS_FIND_PARENT_AND_SUB_ELEMENTS.equals(script)) {
+			return findParentAndSubElements((FakeWebElement) args[0], (String) args[1], (String) args[2], (String) args[3], (String) args[4], (Boolean) args[5]);
+		}
+		return null;
+	}
+
+	@Override
+	public Object executeAsyncScript(String script, Object... args) {
+		command();
+		return null;
+	}
+
+	private static List<Object> evaluateStates(List<?> elements, String attributeName) {
+		List<Object> states = new ArrayList<Object>(elements.size());
+		for (Object element : elements) {
+			FakeWebElement fake = (FakeWebElement) element;
+			long flags = (fake.isDisplayedValue() ? ElementStates.DISPLAYED : 0) | (fake.isEnabledValue() ? ElementStates.ENABLED : 0) |
+					(fake.isSelectedValue() ? ElementStates.SELECTED : 0);
+			states.add(Arrays.<Object>asList(flags, fake.getTextValue(), attributeName == null ? null : fake.getAttributeValue(attributeName)));
+		}
+		return states;
+	}
+
+	private static List<Object> snapshotTable(FakeWebElement table) {
+		List<Object> rows = new ArrayList<Object>();
+		for (FakeWebElement row : table.findDescendants("tr")) {
+			List<Object> cells = new ArrayList<Object>();
+			for (FakeWebElement cell : row.findDescendants("td")) {
+				cells.add(Arrays.<Object>asList(cell.getTextValue(), toSpan(cell.getAttributeValue("colspan")), toSpan(cell.getAttributeValue("rowspan"))));
+			}
+			rows.add(cells);
+		}
+		return Arrays.<Object>asList(0L, rows);
+	}
+
+	private List<Object> findParentAndSubElements(FakeWebElement parent, String parentHow, String parentWhat, String subHow, String subWhat,
+			boolean parentMustBeClickable) {
+		if(parent == null) {
+			List<FakeWebElement> parents = getDocument().findMatching(toBy(parentHow, parentWhat));
+			parent = parents.isEmpty() ? null : parents.get(0);
+		}
+		if(parent == null || (parentMustBeClickable && !(parent.isDisplayedValue() && parent.isEnabledValue()))) {
+			return null;
+		}
+		List<FakeWebElement> subElements = parent.findMatching(toBy(subHow, subWhat));
+		List<FakeWebElement> enabledSubElements = new ArrayList<FakeWebElement>();
+		for (FakeWebElement subElement : subElements) {
+			if(subElement.isEnabledValue()) {
+				enabledSubElements.add(subElement);
+			}
+		}
+		return Arrays.<Object>asList(parent, subElements, enabledSubElements);
+	}
+
+	private static By toBy(String how, String what) {
+		return SeleniumHelperUtil.getByLocation(SeleniumHelperUtil.BY_PREFIX.valueOf(how), what);
+	}
+
+	private static long toSpan(String value) {
+		return TableSnapshot.toSpan(value);
+	}
+
+	private static WebElement resolveCell(FakeWebElement table, int rowIndex, int columnIndex) {
+		List<FakeWebElement> rows = table.findDescendants("tr");
+		if(rowIndex < 0 || rowIndex >= rows.size()) {
+			return null;
+		}
+		List<FakeWebElement> cells = rows.get(rowIndex).findDescendants("td");
+		return columnIndex < 0 || columnIndex >= cells.size() ? null : cells.get(columnIndex);
+	}
+}
@@ -0,0 +1,132 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * An in-process WebDriver over a FakeWebElement DOM, for measuring what the framework costs on top of raw WebDriver calls.<p>
+ *
+ * Every WebDriver and WebElement call counts as one remote command, and busy-waits for the configured latency to stand in for
+ * the round trip to a real browser.  Use FakeJavascriptWebDriver to also exercise the framework's single-script fast paths.
+ *
+ */
+public class FakeWebDriver implements WebDriver {
+
+	private final FakeWebElement document;
+	private final long commandLatencyInNanos;
+	private long commandCount = 0;
+
+	/**
+	 * @param document - The root of the fake DOM (usually an [html] element).
+	 * @param commandLatencyInMicros - How long every remote command takes.  0 for none.
+	 */
+	public FakeWebDriver(FakeWebElement document, long commandLatencyInMicros) {
+		super();
+		this.document = document;
+		this.commandLatencyInNanos = TimeUnit.MICROSECONDS.toNanos(commandLatencyInMicros);
+		document.attachTo(this);
+	}
+
+	/**
+	 * @param document
+	 * @param commandLatencyInMicros
+	 * @param javascript - true for a driver that is also a JavascriptExecutor.
+	 * @return
+	 */
+	public static FakeWebDriver create(FakeWebElement document, long commandLatencyInMicros, boolean javascript) {
+		return javascript ? new FakeJavascriptWebDriver(document, commandLatencyInMicros) : new FakeWebDriver(document, commandLatencyInMicros);
+	}
+
+	/**
+	 * Counts one remote command, and waits out its latency.
+	 */
+	void command() {
+		commandCount++;
+		if(commandLatencyInNanos > 0) {
+			long end = System.nanoTime() + commandLatencyInNanos;
+			while(System.nanoTime() < end) {
+				//Busy-wait: sleeping is far too coarse for microsecond latencies.
+			}
+		}
+	}
+
+	public long getCommandCount() {
+		return commandCount;
+	}
+
+	FakeWebElement getDocument() {
+		return document;
+	}
+
+	@Override
+	public void get(String url) {
+		command();
+	}
+	@Override
+	public String getCurrentUrl() {
+		command();
+		return "about:blank";
+	}
+	@Override
+	public String getTitle() {
+		command();
+		return "";
+	}
+	@Override
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public List<WebElement> findElements(By by) {
+		command();
+		return (List) document.findMatching(by);
+	}
+	@Override
+	public WebElement findElement(By by) {
+		command();
+		List<FakeWebElement> found = document.findMatching(by);
+		if(found.isEmpty()) {
+			throw new NoSuchElementException("No element found for: " + by);
+		}
+		return found.get(0);
+	}
+	@Override
+	public String getPageSource() {
+		command();
+		return "";
+	}
+	@Override
+	public void close() {
+		command();
+	}
+	@Override
+	public void quit() {
+		command();
+	}
+	@Override
+	public Set<String> getWindowHandles() {
+		command();
+		return Collections.singleton("fake");
+	}
+	@Override
+	public String getWindowHandle() {
+		command();
+		return "fake";
+	}
+	@Override
+	public TargetLocator switchTo() {
+		throw new UnsupportedOperationException("FakeWebDriver has no frames or windows to switch to");
+	}
+	@Override
+	public Navigation navigate() {
+		throw new UnsupportedOperationException("FakeWebDriver can't navigate");
+	}
+	@Override
+	public Options manage() {
+		throw new UnsupportedOperationException("FakeWebDriver has no options");
+	}
+}
@@ -0,0 +1,328 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+/**
+ * An in-memory DOM node that behaves like a WebElement.  Every WebElement method counts as one remote command on its FakeWebDriver.<p>
+ *
+ * Only the locators the benchmarks need are understood: id, name, className, tagName, linkText, partialLinkText,
+ * simple css selectors (tag, #id, .class and combinations like "td.cell") and simple xpaths ("//tag", ".//tag", ".//tag[@attr='value']").
+ *
+ */
+public class FakeWebElement implements WebElement {
+
+	private final String tagName;
+	private final Map<String, String> attributes = new HashMap<String, String>();
+	private final List<FakeWebElement> children = new ArrayList<FakeWebElement>();
+	private FakeWebElement parent;
+	private FakeWebDriver driver;
+	private String text = "";
+	private boolean displayed = true;
+	private boolean enabled = true;
+	private boolean selected = false;
+
+	public FakeWebElement(String tagName) {
+		super();
+		this.tagName = tagName.toLowerCase();
+	}
+
+	/* Building the DOM.  None of these count as remote commands. */
+
+	public FakeWebElement attribute(String name, String value) {
+		attributes.put(name, value);
+		return this;
+	}
+	public FakeWebElement text(String newText) {
+		this.text = newText;
+		return this;
+	}
+	public FakeWebElement displayed(boolean isDisplayed) {
+		this.displayed = isDisplayed;
+		return this;
+	}
+	public FakeWebElement enabled(boolean isEnabled) {
+		this.enabled = isEnabled;
+		return this;
+	}
+	public FakeWebElement selected(boolean isSelected) {
+		this.selected = isSelected;
+		return this;
+	}
+	public FakeWebElement child(FakeWebElement child) {
+		child.parent = this;
+		children.add(child);
+		return this;
+	}
+	void attachTo(FakeWebDriver newDriver) {
+		this.driver = newDriver;
+		for (FakeWebElement child : children) {
+			child.attachTo(newDriver);
+		}
+	}
+
+	/* Reads for the fake driver's scripts.  None of these count as remote commands either. */
+
+	List<FakeWebElement> getChildren() {
+		return children;
+	}
+	String getAttributeValue(String name) {
+		return attributes.get(name);
+	}
+	String getTextValue() {
+		return isDisplayedValue() ? text : "";
+	}
+	boolean isDisplayedValue() {
+		for(FakeWebElement cur = this; cur != null; cur = cur.parent) {
+			if(!cur.displayed) {
+				return false;
+			}
+		}
+		return true;
+	}
+	boolean isEnabledValue() {
+		return enabled;
+	}
+	boolean isSelectedValue() {
+		return selected;
+	}
+	FakeWebElement getRoot() {
+		FakeWebElement root = this;
+		while(root.parent != null) {
+			root = root.parent;
+		}
+		return root;
+	}
+	List<FakeWebElement> findDescendants(String tag) {
+		List<FakeWebElement> found = new ArrayList<FakeWebElement>();
+		collectDescendants(tag.toLowerCase(), found);
+		return found;
+	}
+	private void collectDescendants(String tag, List<FakeWebElement> found) {
+		for (FakeWebElement child : children) {
+			if("*".equals(tag) || child.tagName.equals(tag)) {
+				found.add(child);
+			}
+			child.collectDescendants(tag, found);
+		}
+	}
+
+	/**
+	 * Finds without counting a remote command, shared by this element and the driver.
+	 * @param by
+	 * @return
+	 */
+	List<FakeWebElement> findMatching(By by) {
+		SeleniumHelperUtil.BY_PREFIX prefix = SeleniumHelperUtil.getByPrefix(by);
+		if(prefix == null) {
+			throw new UnsupportedOperationException("FakeWebElement doesn't understand the locator: " + by);
+		}
+		String expression = SeleniumHelperUtil.getByExpression(by);
+		if(prefix == SeleniumHelperUtil.BY_PREFIX.XPATH) {
+			return findByXPath(expression);
+		}
+		List<FakeWebElement> found = new ArrayList<FakeWebElement>();
+		for (FakeWebElement candidate : findDescendants("*")) {
+			if(candidate.matches(prefix, expression)) {
+				found.add(candidate);
+			}
+		}
+		return found;
+	}
+
+	private boolean matches(SeleniumHelperUtil.BY_PREFIX prefix, String expression) {
+		switch (prefix) {
+		case ID:
+			return expression.equals(attributes.get("id"));
+		case NAME:
+			return expression.equals(attributes.get("name"));
+		case CLASS_NAME:
+			return hasClass(expression);
+		case TAG_NAME:
+			return tagName.equalsIgnoreCase(expression);
+		case LINK_TEXT:
+			return "a".equals(tagName) && text.trim().equals(expression);
+		case PARTIAL_LINK_TEXT:
+			return "a".equals(tagName) && text.contains(expression);
+		case CSS_SELECTOR:
+			return matchesSimpleCssSelector(expression);
+		default:
+			return false;
+		}
+	}
+
+	private boolean hasClass(String className) {
+		String classes = attributes.get("class");
+		return classes != null && Arrays.asList(classes.trim().split("\\s+")).contains(className);
+	}
+
+	private boolean matchesSimpleCssSelector(String selector) {
+		if(selector.matches(".*[\\s>+~\\[:,].*")) {
+			throw new UnsupportedOperationException("FakeWebElement only understands simple css selectors, not: " + selector);
+		}
+		String[] parts = selector.split("(?=[#.])");
+		for (String part : parts) {
+			if(part.startsWith("#")) {
+				if(!part.substring(1).equals(attributes.get("id"))) {
+					return false;
+				}
+			} else if(part.startsWith(".")) {
+				if(!hasClass(part.substring(1))) {
+					return false;
+				}
+			} else if(!part.isEmpty() && !"*".equals(part) && !tagName.equalsIgnoreCase(part)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private List<FakeWebElement> findByXPath(String xpath) {
+		FakeWebElement context = this;
+		String path = xpath;
+		if(path.startsWith(".//")) {
+			path = path.substring(3);
+		} else if(path.startsWith("//")) {
+			context = getRoot();
+			path = path.substring(2);
+		} else {
+			throw new UnsupportedOperationException("FakeWebElement only understands xpaths starting with // or .//, not: " + xpath);
+		}
+		String tag = path;
+		String attributeName = null;
+		String attributeValue = null;
+		int predicateStart = path.indexOf('[');
+		if(predicateStart >= 0) {
+			tag = path.substring(0, predicateStart);
+			String predicate = path.substring(predicateStart + 1, path.lastIndexOf(']'));
+			if(!predicate.startsWith("@") || !predicate.contains("=")) {
+				throw new UnsupportedOperationException("FakeWebElement only understands [@attr='value'] xpath predicates, not: " + xpath);
+			}
+			attributeName = predicate.substring(1, predicate.indexOf('=')).trim();
+			attributeValue = predicate.substring(predicate.indexOf('=') + 1).trim().replaceAll("^['\"]|['\"]$", "");
+		}
+		List<FakeWebElement> found = context.findDescendants(tag);
+		if(attributeName != null) {
+			List<FakeWebElement> filtered = new ArrayList<FakeWebElement>();
+			for (FakeWebElement candidate : found) {
+				if(attributeValue.equals(candidate.attributes.get(attributeName))) {
+					filtered.add(candidate);
+				}
+			}
+			found = filtered;
+		}
+		return found;
+	}
+
+
+	/* WebElement.  Every call is one remote command. */
+
+	@Override
+	public void click() {
+		driver.command();
+	}
+	@Override
+	public void submit() {
+		driver.command();
+	}
+	@Override
+	public void sendKeys(CharSequence... keysToSend) {
+		driver.command();
+		StringBuilder typed = new StringBuilder(attributes.containsKey("value") ? attributes.get("value") : "");
+		for (CharSequence keys : keysToSend) {
+			typed.append(keys);
+		}
+		attributes.put("value", typed.toString());
+	}
+	@Override
+	public void clear() {
+		driver.command();
+		attributes.put("value", "");
+	}
+	@Override
+	public String getTagName() {
+		driver.command();
+		return tagName;
+	}
+	@Override
+	public String getAttribute(String name) {
+		driver.command();
+		return attributes.get(name);
+	}
+	@Override
+	public boolean isSelected() {
+		driver.command();
+		return selected;
+	}
+	@Override
+	public boolean isEnabled() {
+		driver.command();
+		return enabled;
+	}
+	@Override
+	public String getText() {
+		driver.command();
+		return getTextValue();
+	}
+	@Override
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public List<WebElement> findElements(By by) {
+		driver.command();
+		return (List) findMatching(by);
+	}
+	@Override
+	public WebElement findElement(By by) {
+		driver.command();
+		List<FakeWebElement> found = findMatching(by);
+		if(found.isEmpty()) {
+			throw new NoSuchElementException("No element found for: " + by);
+		}
+		return found.get(0);
+	}
+	@Override
+	public boolean isDisplayed() {
+		driver.command();
+		return isDisplayedValue();
+	}
+	@Override
+	public Point getLocation() {
+		driver.command();
+		return new Point(0, 0);
+	}
+	@Override
+	public Dimension getSize() {
+		driver.command();
+		return new Dimension(100, 20);
+	}
+	@Override
+	public Rectangle getRect() {
+		driver.command();
+		return new Rectangle(0, 0, 20, 100);
+	}
+	@Override
+	public String getCssValue(String propertyName) {
+		driver.command();
+		return "";
+	}
+	@Override
+	public <X> X getScreenshotAs(OutputType<X> target) throws WebDriverException {
+		driver.command();
+		throw new UnsupportedOperationException("FakeWebElement can't take screenshots");
+	}
+	@Override
+	public String toString() {
+		return "FakeWebElement<" + tagName + attributes + ">";
+	}
+}
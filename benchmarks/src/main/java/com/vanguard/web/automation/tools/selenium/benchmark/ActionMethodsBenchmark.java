@@ -0,0 +1,66 @@
+package com.vanguard.web.automation.tools.selenium.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+
+import com.vanguard.web.automation.tools.selenium.FakeDom;
+import com.vanguard.web.automation.tools.selenium.FakeWebDriver;
+import com.vanguard.web.automation.tools.selenium.SeleniumActionMethods;
+import com.vanguard.web.automation.tools.selenium.SeleniumElementFinder;
+
+/**
+ * SeleniumActionMethods state checks against a list of elementCount items, where only the last item is displayed and enabled.
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActionMethodsBenchmark {
+
+	@Param({"0", "100"})
+	public long commandLatencyInMicros;
+	@Param({"false", "true"})
+	public boolean javascript;
+	@Param({"10", "100"})
+	public int elementCount;
+
+	private FakeWebDriver driver;
+	private SeleniumActionMethods actions;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		driver = FakeWebDriver.create(FakeDom.list(elementCount), commandLatencyInMicros, javascript);
+		actions = new SeleniumActionMethods(driver, new SeleniumElementFinder(driver), ActionMethodsBenchmark.class.getSimpleName());
+	}
+
+	@Benchmark
+	public boolean isDisplayedWithList(CommandsPerOperation commands) {
+		return commands.record(driver, () -> actions.isDisplayed(By.className(FakeDom.ITEM_CLASS)));
+	}
+
+	@Benchmark
+	public boolean isEnabledWithList(CommandsPerOperation commands) {
+		return commands.record(driver, () -> actions.isEnabled(By.className(FakeDom.ITEM_CLASS)));
+	}
+
+	@Benchmark
+	public String getText(CommandsPerOperation commands) {
+		return commands.record(driver, () -> actions.getText(By.id("item" + (elementCount - 1))));
+	}
+}
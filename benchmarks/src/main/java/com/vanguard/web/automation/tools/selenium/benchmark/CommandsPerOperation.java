@@ -0,0 +1,43 @@
+package com.vanguard.web.automation.tools.selenium.benchmark;
+
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.vanguard.web.automation.tools.selenium.FakeWebDriver;
+
+/**
+ * Counts how many remote commands each benchmark operation sends to the fake driver.
+ * Each benchmark method takes its own instance, and JMH reports the average for each iteration as the remoteCommandsPerOp
+ * secondary result, next to the wall time (and in the -rf json results).
+ *
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class CommandsPerOperation {
+
+	private long operations = 0;
+	private long commands = 0;
+
+	@Setup(Level.Iteration)
+	public void reset() {
+		operations = 0;
+		commands = 0;
+	}
+
+	public <T> T record(FakeWebDriver driver, Supplier<T> operation) {
+		long before = driver.getCommandCount();
+		T result = operation.get();
+		commands += driver.getCommandCount() - before;
+		operations++;
+		return result;
+	}
+
+	public double remoteCommandsPerOp() {
+		return operations == 0 ? 0 : (double) commands / operations;
+	}
+}
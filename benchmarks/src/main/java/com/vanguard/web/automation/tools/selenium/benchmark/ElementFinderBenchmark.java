@@ -0,0 +1,67 @@
+package com.vanguard.web.automation.tools.selenium.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import com.vanguard.web.automation.tools.selenium.FakeDom;
+import com.vanguard.web.automation.tools.selenium.FakeWebDriver;
+import com.vanguard.web.automation.tools.selenium.SeleniumElementFinder;
+
+/**
+ * SeleniumElementFinder lookups against a list of elementCount items, where only the last item is displayed and enabled.
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ElementFinderBenchmark {
+
+	@Param({"0", "100"})
+	public long commandLatencyInMicros;
+	@Param({"false", "true"})
+	public boolean javascript;
+	@Param({"10", "100"})
+	public int elementCount;
+
+	private FakeWebDriver driver;
+	private SeleniumElementFinder finder;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		driver = FakeWebDriver.create(FakeDom.list(elementCount), commandLatencyInMicros, javascript);
+		finder = new SeleniumElementFinder(driver);
+	}
+
+	@Benchmark
+	public WebElement getElement(CommandsPerOperation commands) {
+		return commands.record(driver, () -> finder.getElement(By.id(FakeDom.LIST_ID)));
+	}
+
+	@Benchmark
+	public List<WebElement> getElements(CommandsPerOperation commands) {
+		return commands.record(driver, () -> finder.getElements(By.className(FakeDom.ITEM_CLASS)));
+	}
+
+	@Benchmark
+	public List<WebElement> getSubElements(CommandsPerOperation commands) {
+		return commands.record(driver, () -> finder.getSubElements(By.id(FakeDom.LIST_ID), By.tagName("li")));
+	}
+}
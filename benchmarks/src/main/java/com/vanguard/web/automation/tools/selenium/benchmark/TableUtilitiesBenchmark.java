@@ -0,0 +1,77 @@
+package com.vanguard.web.automation.tools.selenium.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import com.vanguard.web.automation.tools.selenium.FakeDom;
+import com.vanguard.web.automation.tools.selenium.FakeWebDriver;
+import com.vanguard.web.automation.tools.selenium.SeleniumActionMethods;
+import com.vanguard.web.automation.tools.selenium.SeleniumElementFinder;
+import com.vanguard.web.automation.tools.selenium.TableUtilities;
+
+/**
+ * TableUtilities lookups of the last cell in a rowCount x COLUMN_COUNT table.
+ * The "cold" benchmarks throw away the cached table index first, so they include building it.
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TableUtilitiesBenchmark {
+
+	private static final int COLUMN_COUNT = 5;
+	@Param({"0", "100"})
+	public long commandLatencyInMicros;
+	@Param({"false", "true"})
+	public boolean javascript;
+	@Param({"10", "100"})
+	public int rowCount;
+
+	private FakeWebDriver driver;
+	private TableUtilities tableHelper;
+	private By tableLocator = By.id(FakeDom.TABLE_ID);
+	private String lastCellText;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		driver = FakeWebDriver.create(FakeDom.table(rowCount, COLUMN_COUNT), commandLatencyInMicros, javascript);
+		SeleniumElementFinder finder = new SeleniumElementFinder(driver);
+		tableHelper = new TableUtilities(driver, finder, new SeleniumActionMethods(driver, finder, TableUtilitiesBenchmark.class.getSimpleName()));
+		lastCellText = FakeDom.getCellText(rowCount - 1, COLUMN_COUNT - 1);
+	}
+
+	@Benchmark
+	public WebElement exactMatch(CommandsPerOperation commands) {
+		return commands.record(driver, () -> tableHelper.getCellOverFromExactStringMatch(tableLocator, lastCellText, 0, -1));
+	}
+
+	@Benchmark
+	public WebElement exactMatchCold(CommandsPerOperation commands) {
+		return commands.record(driver, () -> {
+			tableHelper.clearTableIndexes();
+			return tableHelper.getCellOverFromExactStringMatch(tableLocator, lastCellText, 0, -1);
+		});
+	}
+
+	@Benchmark
+	public WebElement partialMatch(CommandsPerOperation commands) {
+		return commands.record(driver, () -> tableHelper.getCellOverFromPartialStringMatch(tableLocator, lastCellText.toUpperCase(), -1, 0));
+	}
+}
@@ -0,0 +1,103 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.FluentWait;
+
+/**
+ * A FluentWait whose time between polls comes from a PollingStrategy instead of a fixed interval.<p>
+ *
+ * Like WebDriverWait, NotFoundException and StaleElementReferenceException thrown by the condition are ignored,
+ * a condition is met once it returns something other than null or false,
+ * and a TimeoutException is thrown if it isn't met within the timeout.
+ * The condition is always checked at least once, even with a timeout of 0.
+ *
+ */
+class AdaptiveWait extends FluentWait<WebDriver> {
+
+	private final WebDriver driver;
+	private final long timeoutInMillis;
+	private final PollingStrategy pollingStrategy;
+	private String waitKey;
+	private int pollCount;
+
+	AdaptiveWait(WebDriver driver, long timeoutInMillis, PollingStrategy pollingStrategy) {
+		this(driver, timeoutInMillis, pollingStrategy, null);
+	}
+
+	AdaptiveWait(WebDriver driver, long timeoutInMillis, PollingStrategy pollingStrategy, String waitKey) {
+		super(driver);
+		this.driver = driver;
+		this.timeoutInMillis = Math.max(0, timeoutInMillis);
+		this.pollingStrategy = pollingStrategy;
+		this.waitKey = waitKey;
+	}
+
+	/**
+	 * @param newWaitKey - Identifies what is being waited for (usually the locator), so the PollingStrategy can learn from it.
+	 * @return this wait
+	 */
+	AdaptiveWait withWaitKey(String newWaitKey) {
+		this.waitKey = newWaitKey;
+		return this;
+	}
+
+	@Override
+	public <V> V until(Function<? super WebDriver, V> isTrue) {
+		long startNanos = System.nanoTime();
+		long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutInMillis);
+		RuntimeException lastIgnoredException = null;
+		pollCount = 0;
+		while(true) {
+			pollCount++;
+			try {
+				V value = isTrue.apply(driver);
+				if(value != null && !Boolean.FALSE.equals(value)) {
+					pollingStrategy.recordConditionMet(waitKey, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+					return value;
+				}
+				lastIgnoredException = null;
+			} catch (NotFoundException | StaleElementReferenceException e) {
+				lastIgnoredException = e;
+			}
+			long elapsedNanos = System.nanoTime() - startNanos;
+			if(elapsedNanos >= timeoutNanos) {
+				throw new TimeoutException("Expected condition failed: " + isTrue + " (tried for " + timeoutInMillis + 
+						" millisecond(s) with " + pollCount + " poll(s))", lastIgnoredException);
+			}
+			waitBeforeNextPoll(TimeUnit.NANOSECONDS.toMillis(elapsedNanos), Math.max(1, TimeUnit.NANOSECONDS.toMillis(timeoutNanos - elapsedNanos)));
+		}
+	}
+
+	/**
+	 * Sleeps for the PollingStrategy's next interval.  Subclasses can wait some other way (Ex: in the page), as long as they return within remainingMillis.
+	 * @param elapsedMillis - Time since the wait started.
+	 * @param remainingMillis - Time left before the wait times out, at least 1.
+	 */
+	void waitBeforeNextPoll(long elapsedMillis, long remainingMillis) {
+		long sleepMillis = Math.min(remainingMillis, Math.max(1, pollingStrategy.getNextPollIntervalInMillis(waitKey, pollCount, elapsedMillis)));
+		try {
+			Thread.sleep(sleepMillis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new WebDriverException(e);
+		}
+	}
+
+	/**
+	 * @return The number of times the condition was checked in the most recent call to until().
+	 */
+	int getPollCount() {
+		return pollCount;
+	}
+
+	long getTimeoutInMillis() {
+		return timeoutInMillis;
+	}
+}
@@ -0,0 +1,60 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Polls quickly at first, then backs off exponentially up to a maximum interval.<p>
+ *
+ * Elements that show up quickly are found sooner than with a fixed interval, 
+ * while long waits send far fewer commands to the browser (or Grid node).
+ * A random jitter keeps many parallel waits from polling in lock-step.
+ *
+ */
+public class BackoffPollingStrategy implements PollingStrategy {
+
+	static final long DEFAULT_INITIAL_INTERVAL_IN_MILLISECONDS = 25;
+	static final double DEFAULT_MULTIPLIER = 1.5;
+	static final long DEFAULT_MAX_INTERVAL_IN_MILLISECONDS = 1000;
+	static final double DEFAULT_JITTER = 0.25;
+	private final long initialIntervalInMillis;
+	private final double multiplier;
+	private final long maxIntervalInMillis;
+	private final double jitter;
+
+	public BackoffPollingStrategy() {
+		this(DEFAULT_INITIAL_INTERVAL_IN_MILLISECONDS, DEFAULT_MULTIPLIER, DEFAULT_MAX_INTERVAL_IN_MILLISECONDS, DEFAULT_JITTER);
+	}
+
+	/**
+	 * @param initialIntervalInMillis - Sleep after the first check.
+	 * @param multiplier - Each sleep is this many times longer than the one before it.
+	 * @param maxIntervalInMillis - No sleep (before jitter) is longer than this.
+	 * @param jitter - Fraction of each sleep to randomly add or remove.  Ex: 0.25 = +/- 25%.  0 for none.
+	 */
+	public BackoffPollingStrategy(long initialIntervalInMillis, double multiplier, long maxIntervalInMillis, double jitter) {
+		super();
+		this.initialIntervalInMillis = Math.max(1, initialIntervalInMillis);
+		this.multiplier = Math.max(1, multiplier);
+		this.maxIntervalInMillis = Math.max(this.initialIntervalInMillis, maxIntervalInMillis);
+		this.jitter = Math.min(1, Math.max(0, jitter));
+	}
+
+	@Override
+	public long getNextPollIntervalInMillis(String waitKey, int pollCount, long elapsedMillis) {
+		double interval = initialIntervalInMillis * Math.pow(multiplier, Math.max(0, pollCount - 1));
+		interval = Math.min(interval, maxIntervalInMillis);
+		if(jitter > 0) {
+			interval += interval * jitter * (ThreadLocalRandom.current().nextDouble() * 2 - 1);
+		}
+		return Math.max(1, Math.round(interval));
+	}
+
+	@Override
+	public void recordConditionMet(String waitKey, long elapsedMillis) {
+		//Nothing to learn.
+	}
+
+	long getInitialIntervalInMillis() {
+		return initialIntervalInMillis;
+	}
+}
@@ -0,0 +1,260 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openqa.selenium.By;
+
+/**
+ * Counts and times the remote commands sent through an InstrumentedWebDriver, and which framework method, page and locator sent them.<p>
+ *
+ * The finder and actions open a MethodScope around each of their public methods.  Every remote command sent while a scope is open
+ * on the thread counts towards that scope, which is recorded when it closes.  Scopes don't nest: a command sent by
+ * finder.getElement() from inside actions.click() counts towards click().<p>
+ *
+ * Until a driver is instrumented, begin() is a single volatile read, so the hooks cost nothing in normal runs.
+ *
+ */
+public class CommandMetrics {
+
+	private static final CommandMetrics SHARED = new CommandMetrics();
+	private static final ThreadLocal<MethodScope> currentScope = new ThreadLocal<MethodScope>();
+	private static volatile boolean enabled = false;
+	static final String NO_PAGE = "(none)";
+	private final ConcurrentMap<String, LatencyHistogram> commands = new ConcurrentHashMap<String, LatencyHistogram>();
+	private final ConcurrentMap<MethodKey, MethodStats> methods = new ConcurrentHashMap<MethodKey, MethodStats>();
+
+	/**
+	 * @return The metrics every InstrumentedWebDriver records to, unless it was given its own.
+	 */
+	public static CommandMetrics shared() {
+		return SHARED;
+	}
+
+	static void setEnabled(boolean isEnabled) {
+		enabled = isEnabled;
+	}
+
+	/**
+	 * @return true once any driver has been instrumented.
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static MethodScope begin(String methodName, String pageName, By locator) {
+		return enabled ? begin(methodName, pageName, String.valueOf(locator)) : MethodScope.NONE;
+	}
+
+	public static MethodScope begin(String methodName, String pageName, By parentLocator, By subLocator) {
+		return enabled ? begin(methodName, pageName, parentLocator + " >> " + subLocator) : MethodScope.NONE;
+	}
+
+	/**
+	 * @param methodName - The framework method, Ex: "click"
+	 * @param pageName - The page object's name, or null if it isn't known.
+	 * @param locator - A description of the locator(s) the method was called with.
+	 * @return A scope to close when the method is done (use try-with-resources).  It does nothing if no driver is instrumented, or another scope is already open on this thread.
+	 */
+	public static MethodScope begin(String methodName, String pageName, String locator) {
+		if(!enabled || currentScope.get() != null) {
+			return MethodScope.NONE;
+		}
+		MethodScope scope = new MethodScope(new MethodKey(methodName, pageName == null ? NO_PAGE : pageName, locator));
+		currentScope.set(scope);
+		return scope;
+	}
+
+	void recordCommand(String commandName, long durationInNanos) {
+		commands.computeIfAbsent(commandName, name -> new LatencyHistogram()).recordNanos(durationInNanos);
+		MethodScope scope = currentScope.get();
+		if(scope != null) {
+			scope.countCommand(this, commandName);
+		}
+	}
+
+	void recordMethod(MethodKey key, long durationInNanos, Map<String, Integer> commandCounts) {
+		methods.computeIfAbsent(key, newKey -> new MethodStats()).record(durationInNanos, commandCounts);
+	}
+
+	/**
+	 * @param commandName - Ex: "WebDriver.findElements" or "WebElement.click"
+	 * @return How many times the command was sent.
+	 */
+	public long getCommandCount(String commandName) {
+		LatencyHistogram histogram = commands.get(commandName);
+		return histogram == null ? 0 : histogram.getCount();
+	}
+
+	/**
+	 * @return How many remote commands the framework method sent for the page and locator, over every time it was called.
+	 */
+	public long getRemoteCommandCount(String methodName, String pageName, By locator) {
+		MethodStats stats = methods.get(new MethodKey(methodName, pageName == null ? NO_PAGE : pageName, String.valueOf(locator)));
+		return stats == null ? 0 : stats.remoteCommands.sum();
+	}
+
+	public void reset() {
+		commands.clear();
+		methods.clear();
+	}
+
+	/**
+	 * @return Every command's latency histogram, every framework method (per page and locator, most remote commands first) and a total per page.
+	 * Latencies are in microseconds.
+	 */
+	public String toJson() {
+		StringBuilder json = new StringBuilder("{\n\"commands\":{");
+		boolean first = true;
+		for (Map.Entry<String, LatencyHistogram> command : new TreeMap<String, LatencyHistogram>(commands).entrySet()) {
+			json.append(first ? "\n" : ",\n").append(quote(command.getKey())).append(':').append(command.getValue().toJson());
+			first = false;
+		}
+		json.append("\n},\n\"methods\":[");
+		List<Map.Entry<MethodKey, MethodStats>> sortedMethods = new ArrayList<Map.Entry<MethodKey, MethodStats>>(methods.entrySet());
+		sortedMethods.sort((a, b) -> Long.compare(b.getValue().remoteCommands.sum(), a.getValue().remoteCommands.sum()));
+		Map<String, long[]> pageTotals = new TreeMap<String, long[]>();
+		first = true;
+		for (Map.Entry<MethodKey, MethodStats> method : sortedMethods) {
+			MethodKey key = method.getKey();
+			MethodStats stats = method.getValue();
+			json.append(first ? "\n" : ",\n").append("{\"page\":").append(quote(key.pageName))
+				.append(",\"method\":").append(quote(key.methodName))
+				.append(",\"locator\":").append(quote(key.locator))
+				.append(",\"invocations\":").append(stats.latency.getCount())
+				.append(",\"remoteCommands\":").append(stats.remoteCommands.sum())
+				.append(",\"commands\":").append(toJson(stats.commandCounts))
+				.append(",\"latency\":").append(stats.latency.toJson()).append('}');
+			first = false;
+			long[] totals = pageTotals.computeIfAbsent(key.pageName, page -> new long[3]);
+			totals[0] += stats.latency.getCount();
+			totals[1] += stats.remoteCommands.sum();
+			totals[2] += stats.latency.getTotalInMicros();
+		}
+		json.append("\n],\n\"pages\":{");
+		first = true;
+		for (Map.Entry<String, long[]> page : pageTotals.entrySet()) {
+			json.append(first ? "\n" : ",\n").append(quote(page.getKey()))
+				.append(":{\"invocations\":").append(page.getValue()[0])
+				.append(",\"remoteCommands\":").append(page.getValue()[1])
+				.append(",\"totalMicros\":").append(page.getValue()[2]).append('}');
+			first = false;
+		}
+		return json.append("\n}\n}\n").toString();
+	}
+
+	public void writeJson(File file) throws IOException {
+		File parent = file.getAbsoluteFile().getParentFile();
+		if(parent != null) {
+			Files.createDirectories(parent.toPath());
+		}
+		Files.write(file.toPath(), toJson().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String toJson(ConcurrentMap<String, LongAdder> counts) {
+		StringBuilder json = new StringBuilder("{");
+		for (Map.Entry<String, LongAdder> count : new TreeMap<String, LongAdder>(counts).entrySet()) {
+			json.append(json.length() > 1 ? "," : "").append(quote(count.getKey())).append(':').append(count.getValue().sum());
+		}
+		return json.append('}').toString();
+	}
+
+	static String quote(String value) {
+		if(value == null) {
+			return "null";
+		}
+		StringBuilder quoted = new StringBuilder("\"");
+		for (char c : value.toCharArray()) {
+			if(c == '"' || c == '\\') {
+				quoted.append('\\').append(c);
+			} else if(c < 0x20) {
+				quoted.append(String.format("\\u%04x", (int) c));
+			} else {
+				quoted.append(c);
+			}
+		}
+		return quoted.append('"').toString();
+	}
+
+	/**
+	 * One call to a framework method.  Only ever used by the thread that opened it.
+	 */
+	public static class MethodScope implements AutoCloseable {
+
+		static final MethodScope NONE = new MethodScope(null);
+		private final MethodKey key;
+		private final long startInNanos;
+		private final Map<String, Integer> commandCounts;
+		private CommandMetrics metrics;
+
+		private MethodScope(MethodKey key) {
+			this.key = key;
+			this.startInNanos = key == null ? 0 : System.nanoTime();
+			this.commandCounts = key == null ? null : new HashMap<String, Integer>();
+		}
+
+		private void countCommand(CommandMetrics commandMetrics, String commandName) {
+			this.metrics = commandMetrics;
+			commandCounts.merge(commandName, 1, Integer::sum);
+		}
+
+		@Override
+		public void close() {
+			if(key == null) {
+				return;
+			}
+			currentScope.remove();
+			(metrics == null ? SHARED : metrics).recordMethod(key, System.nanoTime() - startInNanos, commandCounts);
+		}
+	}
+
+	static final class MethodKey {
+		private final String methodName;
+		private final String pageName;
+		private final String locator;
+
+		MethodKey(String methodName, String pageName, String locator) {
+			this.methodName = methodName;
+			this.pageName = pageName;
+			this.locator = locator;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if(!(other instanceof MethodKey)) {
+				return false;
+			}
+			MethodKey otherKey = (MethodKey) other;
+			return methodName.equals(otherKey.methodName) && pageName.equals(otherKey.pageName) && String.valueOf(locator).equals(String.valueOf(otherKey.locator));
+		}
+
+		@Override
+		public int hashCode() {
+			return (methodName.hashCode() * 31 + pageName.hashCode()) * 31 + String.valueOf(locator).hashCode();
+		}
+	}
+
+	private static final class MethodStats {
+		private final LatencyHistogram latency = new LatencyHistogram();
+		private final LongAdder remoteCommands = new LongAdder();
+		private final ConcurrentMap<String, LongAdder> commandCounts = new ConcurrentHashMap<String, LongAdder>();
+
+		private void record(long durationInNanos, Map<String, Integer> counts) {
+			for (Map.Entry<String, Integer> count : counts.entrySet()) {
+				commandCounts.computeIfAbsent(count.getKey(), name -> new LongAdder()).add(count.getValue());
+				remoteCommands.add(count.getValue());
+			}
+			latency.recordNanos(durationInNanos);
+		}
+	}
+}
@@ -0,0 +1,169 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Remembers the elements a SeleniumElementFinder found, by locator (and parent element, for sub elements), so asking for the same
+ * locator again costs one cheap check instead of a whole new lookup.<p>
+ *
+ * Before handing a cached element back, it's checked to still be attached to the page (and clickable or enabled, if that's what the finder
+ * was asked for).  A StaleElementReferenceException, or an element that no longer passes the check, drops it so the finder looks it up again.
+ * The least recently used elements are dropped once there are more than maxSize, and every element is dropped when
+ * the browser navigates through SeleniumBrowserMethods (or anyone calls invalidate(driver)).<p>
+ *
+ * Note: A cached element is still the element first found for its locator, even if another element matching the locator has since been
+ * added to the page before it.<p>
+ *
+ * Each finder has its own cache, and like the finder it belongs to a single test thread.
+ *
+ */
+public class ElementCache {
+
+	/**
+	 * What a cached element must still be for it to be handed back.
+	 */
+	public enum Check {ATTACHED, ENABLED, CLICKABLE}
+
+	//Keyed weakly by driver, with nothing in the values pointing back at the driver, so finished drivers can be garbage collected.
+	private static final Map<WebDriver, AtomicLong> navigationCounts = Collections.synchronizedMap(new WeakHashMap<WebDriver, AtomicLong>());
+	private final WebDriver driver;
+	private final ElementStateEvaluator stateEvaluator;
+	private final Map<Key, WebElement> elements;
+	private long navigationCount;
+	private int hitCount = 0;
+	private int missCount = 0;
+
+	/**
+	 * @param driver
+	 * @param maxSize - The most elements to remember.
+	 */
+	public ElementCache(WebDriver driver, final int maxSize) {
+		super();
+		this.driver = driver;
+		this.stateEvaluator = new ElementStateEvaluator(driver);
+		this.navigationCount = getNavigationCount(driver);
+		this.elements = new LinkedHashMap<Key, WebElement>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, WebElement> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Drops every element every cache has remembered for the driver.  SeleniumBrowserMethods calls this when it navigates.
+	 * Call it yourself after navigating with the WebDriver directly.
+	 * @param driver
+	 */
+	public static void invalidate(WebDriver driver) {
+		navigationCounts.computeIfAbsent(driver, newDriver -> new AtomicLong()).incrementAndGet();
+	}
+
+	private static long getNavigationCount(WebDriver driver) {
+		AtomicLong count = navigationCounts.get(driver);
+		return count == null ? 0 : count.get();
+	}
+
+	/**
+	 * @param parent - The parent element for sub elements, or null.
+	 * @param locator
+	 * @param check
+	 * @return The remembered element if it still passes the check, otherwise null.
+	 */
+	WebElement get(WebElement parent, By locator, Check check) {
+		dropAllIfNavigated();
+		Key key = new Key(parent, locator);
+		WebElement element = elements.get(key);
+		if(element == null) {
+			missCount++;
+			return null;
+		}
+		try {
+			if(passes(element, check)) {
+				hitCount++;
+				return element;
+			}
+		} catch (StaleElementReferenceException e) {
+			//Detached from the page, so it has to be looked up again.
+		}
+		elements.remove(key);
+		missCount++;
+		return null;
+	}
+
+	void put(WebElement parent, By locator, WebElement element) {
+		if(element != null) {
+			dropAllIfNavigated();
+			elements.put(new Key(parent, locator), element);
+		}
+	}
+
+	void remove(WebElement parent, By locator) {
+		elements.remove(new Key(parent, locator));
+	}
+
+	private void dropAllIfNavigated() {
+		long currentNavigationCount = getNavigationCount(driver);
+		if(currentNavigationCount != navigationCount) {
+			elements.clear();
+			navigationCount = currentNavigationCount;
+		}
+	}
+
+	private boolean passes(WebElement element, Check check) {
+		if(check == Check.ATTACHED) {
+			//Any command on a detached element throws a StaleElementReferenceException.
+			element.isEnabled();
+			return true;
+		}
+		if(stateEvaluator.canEvaluate()) {
+			ElementStates states = stateEvaluator.evaluate(Collections.singletonList(element));
+			return states.isEnabled(0) && (check == Check.ENABLED || states.isDisplayed(0));
+		}
+		return element.isEnabled() && (check == Check.ENABLED || element.isDisplayed());
+	}
+
+	public int size() {
+		return elements.size();
+	}
+	public int getHitCount() {
+		return hitCount;
+	}
+	public int getMissCount() {
+		return missCount;
+	}
+
+	private static final class Key {
+		private final WebElement parent;
+		private final By locator;
+
+		private Key(WebElement parent, By locator) {
+			this.parent = parent;
+			this.locator = locator;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if(!(other instanceof Key)) {
+				return false;
+			}
+			Key otherKey = (Key) other;
+			return locator.equals(otherKey.locator) && (parent == null ? otherKey.parent == null : parent.equals(otherKey.parent));
+		}
+
+		@Override
+		public int hashCode() {
+			return locator.hashCode() * 31 + (parent == null ? 0 : parent.hashCode());
+		}
+	}
+}
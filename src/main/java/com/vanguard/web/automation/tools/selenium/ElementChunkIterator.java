@@ -0,0 +1,107 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Goes through every element a locator matches a chunk at a time, fetching the next chunk from the browser only once the last one is used up.
+ * Only one chunk is ever held, so a list of thousands of rows can be read without building the whole list first, and stopping early skips the rest.<p>
+ *
+ * Each chunk is one script call that looks the locator up again and returns the matches after the last one returned,
+ * so elements added or removed above the current position while iterating can shift what comes next.
+ * Only usable when the driver is a JavascriptExecutor and the locator can be found in the page (see canIterate()).
+ *
+ */
+class ElementChunkIterator<T> implements Iterator<T> {
+
+	static final int DEFAULT_CHUNK_SIZE = 100;
+	/* Returns [the offset to continue from (-1 when there are no more matches), the next chunk].  The chunk holds the elements, or their texts when arguments[5] is true. */
+	static final String JS_GET_CHUNK = ElementStateEvaluator.JS_STATE_FUNCTIONS + SeleniumHelperUtil.JS_FIND_FUNCTIONS +
+			"var found = __safFind(null, arguments[0], arguments[1]), chunkSize = arguments[3], onlyEnabled = arguments[4], asText = arguments[5];" +
+			"var chunk = [], i;" +
+			"for (i = arguments[2]; i < found.length && chunk.length < chunkSize; i++) {" +
+			"  if (onlyEnabled && !__safEnabled(found[i])) { continue; }" +
+			"  chunk.push(asText ? (__safDisplayed(found[i]) ? __safText(found[i]) : '') : found[i]);" +
+			"}" +
+			"return [i < found.length ? i : -1, chunk];";
+
+	private final JavascriptExecutor executor;
+	private final String how;
+	private final String what;
+	private final int chunkSize;
+	private final boolean onlyEnabled;
+	private final boolean asText;
+	private int nextOffset = 0;
+	private List<?> chunk = Collections.emptyList();
+	private int chunkIndex = 0;
+
+	/**
+	 * @param driver - Must be a JavascriptExecutor.
+	 * @param locator
+	 * @param chunkSize - How many matches to fetch per call to the browser.
+	 * @param onlyEnabled - true to skip matches that aren't enabled, like SeleniumElementFinder.getElements().
+	 * @param asText - true to fetch each match's text (T is String) instead of the element (T is WebElement).
+	 */
+	ElementChunkIterator(WebDriver driver, By locator, int chunkSize, boolean onlyEnabled, boolean asText) {
+		super();
+		this.executor = (JavascriptExecutor) driver;
+		this.how = SeleniumHelperUtil.getByPrefix(locator).name();
+		this.what = SeleniumHelperUtil.getByExpression(locator);
+		this.chunkSize = Math.max(1, chunkSize);
+		this.onlyEnabled = onlyEnabled;
+		this.asText = asText;
+	}
+
+	static boolean canIterate(WebDriver driver, By locator) {
+		return driver instanceof JavascriptExecutor && SeleniumHelperUtil.canFindWithJavascript(locator);
+	}
+
+	/**
+	 * @return The iterator as a sequential Stream, so it can be filtered, mapped and stopped early, Ex: with findFirst() or limit().
+	 */
+	Stream<T> stream() {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+
+	@Override
+	public boolean hasNext() {
+		while(chunkIndex >= chunk.size()) {
+			if(nextOffset < 0) {
+				return false;
+			}
+			fetchNextChunk();
+		}
+		return true;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T next() {
+		if(!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return (T) chunk.get(chunkIndex++);
+	}
+
+	private void fetchNextChunk() {
+		List<?> result = (List<?>) executor.executeScript(JS_GET_CHUNK, how, what, nextOffset, chunkSize, onlyEnabled, asText);
+		if(result == null) {
+			nextOffset = -1;
+			chunk = Collections.emptyList();
+		} else {
+			nextOffset = ((Number) result.get(0)).intValue();
+			chunk = (List<?>) result.get(1);
+		}
+		chunkIndex = 0;
+	}
+}
@@ -0,0 +1,98 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import java.util.List;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Reads the displayed/enabled/selected state, text and (optionally) an attribute of a whole list of elements
+ * in a single call to the browser, instead of one call per element per state.<p>
+ *
+ * Only usable when the driver is a JavascriptExecutor (see canEvaluate()).
+ * The in-page checks follow the same rules as WebElement.isDisplayed(), isEnabled(), isSelected() and getText()
+ * for the common cases: hidden ancestors, display/visibility/opacity, disabled form controls and fieldsets,
+ * checked checkboxes/radios and selected options.
+ *
+ */
+class ElementStateEvaluator {
+
+	/* Shared in-page helper functions.  Other framework scripts that need element state prepend this. */
+	static final String JS_STATE_FUNCTIONS =
+			"function __safDisplayed(e) {" +
+			"  if (!e || !e.isConnected) { return false; }" +
+			"  if (e.tagName === 'OPTION' || e.tagName === 'OPTGROUP') {" +
+			"    var select = e.closest('select'); return select ? __safDisplayed(select) : false;" +
+			"  }" +
+			"  if (e.tagName === 'INPUT' && e.type === 'hidden') { return false; }" +
+			"  for (var cur = e; cur && cur.nodeType === 1; cur = cur.parentElement) {" +
+			"    var style = window.getComputedStyle(cur);" +
+			"    if (style.display === 'none' || parseFloat(style.opacity) === 0) { return false; }" +
+			"  }" +
+			"  var own = window.getComputedStyle(e);" +
+			"  if (own.visibility === 'hidden' || own.visibility === 'collapse') { return false; }" +
+			"  var rects = e.getClientRects();" +
+			"  for (var i = 0; i < rects.length; i++) { if (rects[i].width > 0 && rects[i].height > 0) { return true; } }" +
+			"  return false;" +
+			"}" +
+			"function __safEnabled(e) { return !(e.matches && e.matches(':disabled')); }" +
+			"function __safSelected(e) {" +
+			"  if (e.tagName === 'OPTION') { return e.selected; }" +
+			"  if (e.tagName === 'INPUT' && (e.type === 'checkbox' || e.type === 'radio')) { return e.checked; }" +
+			"  return false;" +
+			"}" +
+			//Like getText(): each line trimmed, no blank lines, and non-breaking spaces as plain spaces.
+			"function __safText(e) {" +
+			"  var lines = (e.innerText || '').split('\\n'), text = [];" +
+			"  for (var i = 0; i < lines.length; i++) {" +
+			"    var line = lines[i].replace(/^[^\\S\\u00a0]+|[^\\S\\u00a0]+$/g, '');" +
+			"    if (line) { text.push(line); }" +
+			"  }" +
+			"  return text.join('\\n').replace(/\\u00a0/g, ' ');" +
+			"}" +
+			"function __safState(e, attributeName) {" +
+			"  var displayed = __safDisplayed(e);" +
+			"  var flags = (displayed ? 1 : 0) | (__safEnabled(e) ? 2 : 0) | (__safSelected(e) ? 4 : 0);" +
+			"  var text = displayed ? __safText(e) : '';" +
+			"  return [flags, text, attributeName ? e.getAttribute(attributeName) : null];" +
+			"}";
+	static final String JS_EVALUATE_STATES = JS_STATE_FUNCTIONS +
+			"var elements = arguments[0], attributeName = arguments[1], states = [];" +
+			"for (var i = 0; i < elements.length; i++) { states.push(__safState(elements[i], attributeName)); }" +
+			"return states;";
+
+	private final WebDriver driver;
+
+	ElementStateEvaluator(WebDriver driver) {
+		super();
+		this.driver = driver;
+	}
+
+	/**
+	 * @return true if the driver can execute the state script.  When false, callers should ask each WebElement directly.
+	 */
+	boolean canEvaluate() {
+		return driver instanceof JavascriptExecutor;
+	}
+
+	/**
+	 * @param elements
+	 * @return The state of every element, in the same order, read in a single call to the browser.
+	 */
+	ElementStates evaluate(List<WebElement> elements) {
+		return evaluate(elements, null);
+	}
+
+	/**
+	 * @param elements
+	 * @param attributeName - The attribute to also read from every element, or null to skip it.
+	 * @return The state of every element, in the same order, read in a single call to the browser.
+	 */
+	ElementStates evaluate(List<WebElement> elements, String attributeName) {
+		if(elements == null || elements.isEmpty()) {
+			return ElementStates.fromScriptResult(null);
+		}
+		return ElementStates.fromScriptResult(((JavascriptExecutor) driver).executeScript(JS_EVALUATE_STATES, elements, attributeName));
+	}
+}
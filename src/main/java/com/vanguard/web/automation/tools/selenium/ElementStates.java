@@ -0,0 +1,95 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import java.util.List;
+
+/**
+ * Compact, read-only state of a list of elements, as returned by ElementStateEvaluator.
+ * Index N here is the state of element N in the list that was evaluated.
+ *
+ */
+public final class ElementStates {
+
+	static final int DISPLAYED = 1;
+	static final int ENABLED = 2;
+	static final int SELECTED = 4;
+	private final int[] flags;
+	private final String[] texts;
+	private final String[] attributes;
+
+	ElementStates(int[] flags, String[] texts, String[] attributes) {
+		super();
+		this.flags = flags;
+		this.texts = texts;
+		this.attributes = attributes;
+	}
+
+	/**
+	 * @param scriptResult - A list of [flags, text, attribute] entries, one per element.  Null is treated as an empty list.
+	 * @return
+	 */
+	static ElementStates fromScriptResult(Object scriptResult) {
+		List<?> entries = scriptResult == null ? null : (List<?>) scriptResult;
+		int size = entries == null ? 0 : entries.size();
+		int[] flags = new int[size];
+		String[] texts = new String[size];
+		String[] attributes = new String[size];
+		for(int i = 0; i < size; i++) {
+			List<?> entry = (List<?>) entries.get(i);
+			flags[i] = ((Number) entry.get(0)).intValue();
+			texts[i] = entry.get(1) == null ? "" : entry.get(1).toString();
+			attributes[i] = entry.get(2) == null ? null : entry.get(2).toString();
+		}
+		return new ElementStates(flags, texts, attributes);
+	}
+
+	public int size() {
+		return flags.length;
+	}
+	public boolean isDisplayed(int index) {
+		return (flags[index] & DISPLAYED) != 0;
+	}
+	public boolean isEnabled(int index) {
+		return (flags[index] & ENABLED) != 0;
+	}
+	public boolean isSelected(int index) {
+		return (flags[index] & SELECTED) != 0;
+	}
+	public String getText(int index) {
+		return texts[index];
+	}
+	/**
+	 * @param index
+	 * @return The value of the attribute that was asked for, or null if it wasn't asked for or the element doesn't have it.
+	 */
+	public String getAttribute(int index) {
+		return attributes[index];
+	}
+
+	/**
+	 * @return The index of the first displayed element, or -1 if none are.
+	 */
+	public int indexOfFirstDisplayed() {
+		return indexOfFirst(DISPLAYED);
+	}
+	/**
+	 * @return The index of the first enabled element, or -1 if none are.
+	 */
+	public int indexOfFirstEnabled() {
+		return indexOfFirst(ENABLED);
+	}
+	/**
+	 * @return The index of the first selected element, or -1 if none are.
+	 */
+	public int indexOfFirstSelected() {
+		return indexOfFirst(SELECTED);
+	}
+
+	private int indexOfFirst(int flag) {
+		for(int i = 0; i < flags.length; i++) {
+			if((flags[i] & flag) != 0) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
@@ -18,13 +18,14 @@
 */
 package com.vanguard.web.automation.tools.selenium;
 
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.openqa.selenium.WebDriver;
 
 import com.vanguard.web.selenium.exceptions.CouldNotTakeActionOnElementException;
-import com.vanguard.web.selenium.properties.PropertiesManager;
+import com.vanguard.web.selenium.properties.FrameworkContext;
 
 /**
  * Called when an error is encountered somewhere in the test execution.
@@ -33,16 +34,33 @@ import com.vanguard.web.selenium.properties.PropertiesManager;
  * 
  */
 public class ErrorHandler {
-	private static final String SELENIUM_FAIL_IF_NOT_FOUND_PROPERTY = "failIfElementNotFound";
 	protected static final int stacktraceDepthOffset = 2; //Depth:0="StackTrace", Depth:1="getMethodNameFromStackTrace"
 	
 	protected void throwOrLogError(WebDriver driver, final String locator, final String action, String pageName) {
-		if(Boolean.valueOf(System.getProperty(SELENIUM_FAIL_IF_NOT_FOUND_PROPERTY)) ||
-				Boolean.valueOf(PropertiesManager.getFrameworkProperty(SELENIUM_FAIL_IF_NOT_FOUND_PROPERTY))) {
+		if(FrameworkContext.current().getConfiguration().isFailIfElementNotFound()) {
 			throw new CouldNotTakeActionOnElementException(locator, pageName, action, driver);
 		}
 		logNullElementWarning(locator, action, pageName);
 	}
+	/**
+	 * For actions on several elements that try every element before reporting, Ex: filling in a form.
+	 * Logs every locator that failed, and then, if the test should fail, throws once with all of them in the message.
+	 * @param driver
+	 * @param locators - Every locator the action failed on.  Nothing happens if it's empty.
+	 * @param action
+	 * @param pageName
+	 */
+	protected void throwOrLogErrors(WebDriver driver, final List<String> locators, final String action, String pageName) {
+		if(locators.isEmpty()) {
+			return;
+		}
+		for (String locator : locators) {
+			logNullElementWarning(locator, action, pageName);
+		}
+		if(FrameworkContext.current().getConfiguration().isFailIfElementNotFound()) {
+			throw new CouldNotTakeActionOnElementException(String.join(", ", locators), pageName, action, driver);
+		}
+	}
 	protected void logNullElementWarning(final String locator, final String action, String pageName) {
 		Logger.getAnonymousLogger().warning(CouldNotTakeActionOnElementException.getMessage(locator, pageName, action));
 	}
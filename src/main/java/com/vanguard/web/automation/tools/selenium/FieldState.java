@@ -0,0 +1,63 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import java.util.List;
+
+/**
+ * What SeleniumActionMethods.readFields() read from one field: the first element its locator matched, if it was displayed and enabled
+ * (the same element finder.getElement() would return).
+ *
+ */
+public final class FieldState {
+
+	static final FieldState NOT_FOUND = new FieldState(false, 0, "", null);
+	private final boolean found;
+	private final int flags;
+	private final String text;
+	private final String attribute;
+
+	FieldState(boolean found, int flags, String text, String attribute) {
+		super();
+		this.found = found;
+		this.flags = flags;
+		this.text = text;
+		this.attribute = attribute;
+	}
+
+	/**
+	 * @param scriptEntry - A [flags, text, attribute] entry from the state script, or null if no element was found.
+	 * @return
+	 */
+	static FieldState fromScriptEntry(Object scriptEntry) {
+		if(scriptEntry == null) {
+			return NOT_FOUND;
+		}
+		List<?> entry = (List<?>) scriptEntry;
+		return new FieldState(true, ((Number) entry.get(0)).intValue(), entry.get(1) == null ? "" : entry.get(1).toString(),
+				entry.get(2) == null ? null : entry.get(2).toString());
+	}
+
+	/**
+	 * @return false if the locator didn't match any displayed and enabled element.  Every other getter then returns false, "" or null.
+	 */
+	public boolean isFound() {
+		return found;
+	}
+	public boolean isDisplayed() {
+		return (flags & ElementStates.DISPLAYED) != 0;
+	}
+	public boolean isEnabled() {
+		return (flags & ElementStates.ENABLED) != 0;
+	}
+	public boolean isSelected() {
+		return (flags & ElementStates.SELECTED) != 0;
+	}
+	public String getText() {
+		return text;
+	}
+	/**
+	 * @return The value of the attribute that was asked for, or null if it wasn't asked for or the element doesn't have it.
+	 */
+	public String getAttribute() {
+		return attribute;
+	}
+}
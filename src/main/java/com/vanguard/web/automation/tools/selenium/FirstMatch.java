@@ -0,0 +1,51 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Which of several locators SeleniumElementFinder.getFirstMatchingElement() found an element with first, and the element it found.
+ *
+ */
+public final class FirstMatch {
+
+	private final By locator;
+	private final int index;
+	private final WebElement element;
+
+	FirstMatch(By locator, int index, WebElement element) {
+		super();
+		this.locator = locator;
+		this.index = index;
+		this.element = element;
+	}
+
+	/**
+	 * @return The locator that matched, exactly as it was passed in.
+	 */
+	public By getLocator() {
+		return locator;
+	}
+	/**
+	 * @return Where the locator that matched was in the locators passed in, starting at 0.
+	 */
+	public int getIndex() {
+		return index;
+	}
+	public WebElement getElement() {
+		return element;
+	}
+
+	/**
+	 * @param locator
+	 * @return true if this match was found with the locator.
+	 */
+	public boolean matched(By locator) {
+		return this.locator.equals(locator);
+	}
+
+	@Override
+	public String toString() {
+		return "FirstMatch [locator=" + locator + ", index=" + index + "]";
+	}
+}
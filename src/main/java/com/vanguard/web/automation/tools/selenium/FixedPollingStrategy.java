@@ -0,0 +1,38 @@
+package com.vanguard.web.automation.tools.selenium;
+
+/**
+ * Polls at the same interval for the whole wait.<p>
+ *
+ * This is the framework default.  Waits from FluentWaitGenerator have always polled every 100 milliseconds,
+ * while SeleniumElementFinder's waits keep WebDriverWait's own 500 milliseconds unless a PollingStrategy was chosen
+ * (with SELENIUM_POLLING_STRATEGY, or in code).
+ *
+ */
+public class FixedPollingStrategy implements PollingStrategy {
+
+	static final long DEFAULT_POLLING_IN_MILLISECONDS = 100;
+	private final long pollingInMilliseconds;
+
+	public FixedPollingStrategy() {
+		this(DEFAULT_POLLING_IN_MILLISECONDS);
+	}
+
+	public FixedPollingStrategy(long pollingInMilliseconds) {
+		super();
+		this.pollingInMilliseconds = pollingInMilliseconds;
+	}
+
+	public long getPollingInMilliseconds() {
+		return pollingInMilliseconds;
+	}
+
+	@Override
+	public long getNextPollIntervalInMillis(String waitKey, int pollCount, long elapsedMillis) {
+		return pollingInMilliseconds;
+	}
+
+	@Override
+	public void recordConditionMet(String waitKey, long elapsedMillis) {
+		//Nothing to learn.
+	}
+}
@@ -18,18 +18,190 @@
 */
 package com.vanguard.web.automation.tools.selenium;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
 
+import org.openqa.selenium.By;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.FluentWait;
 
+import com.vanguard.web.selenium.properties.FrameworkConfiguration;
+import com.vanguard.web.selenium.properties.FrameworkContext;
+
+/**
+ * Creates the waits used throughout the framework.
+ * How often each wait polls is decided by the PollingStrategy, which defaults to the SELENIUM_POLLING_STRATEGY framework property
+ * (fixed|backoff|learned, FRAMEWORK DEFAULT: fixed at 100 milliseconds).
+ * If the SELENIUM_EVENT_DRIVEN_WAITS framework property is true, element waits watch the page for changes instead, 
+ * and only fall back to the PollingStrategy when the driver can't.
+ * Both properties are read from the FrameworkContext when the generator is created, unless the static defaults were set in code.
+ * 
+ */
 public class FluentWaitGenerator {
+	static final String POLLING_STRATEGY_PROPERTY = FrameworkConfiguration.POLLING_STRATEGY_PROPERTY;
+	static final String FIXED_POLLING = "fixed";
+	static final String BACKOFF_POLLING = "backoff";
+	static final String LEARNED_POLLING = "learned";
+	static final String EVENT_DRIVEN_WAITS_PROPERTY = FrameworkConfiguration.EVENT_DRIVEN_WAITS_PROPERTY;
+	private static final PollingStrategy FRAMEWORK_DEFAULT_POLLING_STRATEGY = new FixedPollingStrategy();
+	private static final Map<String, PollingStrategy> configuredPollingStrategies = new ConcurrentHashMap<String, PollingStrategy>();
+	private static volatile PollingStrategy defaultPollingStrategy;
+	private static volatile Boolean defaultEventDrivenWaits;
+	private final PollingStrategy configuredPollingStrategy;
+	private final boolean configuredEventDrivenWaits;
+	private PollingStrategy pollingStrategy;
+	private Boolean eventDrivenWaits;
+
+	public FluentWaitGenerator() {
+		FrameworkConfiguration configuration = FrameworkContext.current().getConfiguration();
+		this.configuredPollingStrategy = getConfiguredPollingStrategy(configuration.getPollingStrategyName());
+		this.configuredEventDrivenWaits = configuration.isEventDrivenWaits();
+	}
+
+	/**
+	 * Changes the PollingStrategy of every FluentWaitGenerator that hasn't been given its own, ignoring SELENIUM_POLLING_STRATEGY.
+	 * @param newDefaultPollingStrategy - Or null to go back to SELENIUM_POLLING_STRATEGY.
+	 */
+	public static void setDefaultPollingStrategy(PollingStrategy newDefaultPollingStrategy) {
+		defaultPollingStrategy = newDefaultPollingStrategy;
+	}
+	/**
+	 * @return The PollingStrategy set with setDefaultPollingStrategy(), or null if it wasn't set.
+	 */
+	public static PollingStrategy getDefaultPollingStrategy() {
+		return defaultPollingStrategy;
+	}
+
+	/**
+	 * Changes whether element waits watch the page for changes, for every FluentWaitGenerator that hasn't been told otherwise, ignoring SELENIUM_EVENT_DRIVEN_WAITS.
+	 * @param useEventDrivenWaits - Or null to go back to SELENIUM_EVENT_DRIVEN_WAITS.
+	 */
+	public static void setDefaultEventDrivenWaits(Boolean useEventDrivenWaits) {
+		defaultEventDrivenWaits = useEventDrivenWaits;
+	}
+	/**
+	 * @return The value set with setDefaultEventDrivenWaits(), or null if it wasn't set.
+	 */
+	public static Boolean getDefaultEventDrivenWaits() {
+		return defaultEventDrivenWaits;
+	}
+
+	/**
+	 * @param name - The SELENIUM_POLLING_STRATEGY value.
+	 * @return The strategy for that name, shared by every generator so a LearnedPollingStrategy keeps what it learned, or null if no name was given.
+	 */
+	static PollingStrategy getConfiguredPollingStrategy(String name) {
+		if(name == null) {
+			return null;
+		}
+		return configuredPollingStrategies.computeIfAbsent(name.trim().toLowerCase(), FluentWaitGenerator::createPollingStrategy);
+	}
+
+	static PollingStrategy createPollingStrategy(String name) {
+		if(name == null || FIXED_POLLING.equalsIgnoreCase(name.trim())) {
+			return new FixedPollingStrategy();
+		} else if(BACKOFF_POLLING.equalsIgnoreCase(name.trim())) {
+			return new BackoffPollingStrategy();
+		} else if(LEARNED_POLLING.equalsIgnoreCase(name.trim())) {
+			return new LearnedPollingStrategy();
+		}
+		Logger.getAnonymousLogger().severe("Unknown " + POLLING_STRATEGY_PROPERTY + " of: " + name + ".  Using: " + FIXED_POLLING);
+		return new FixedPollingStrategy();
+	}
+
+	/**
+	 * @param newPollingStrategy - The strategy for waits from this generator only, or null to go back to the default.
+	 */
+	protected void setPollingStrategy(PollingStrategy newPollingStrategy) {
+		this.pollingStrategy = newPollingStrategy;
+	}
+	protected PollingStrategy getPollingStrategy() {
+		if(pollingStrategy != null) {
+			return pollingStrategy;
+		} else if(defaultPollingStrategy != null) {
+			return defaultPollingStrategy;
+		} else if(configuredPollingStrategy != null) {
+			return configuredPollingStrategy;
+		}
+		return FRAMEWORK_DEFAULT_POLLING_STRATEGY;
+	}
+	/**
+	 * @return true if the PollingStrategy was chosen (with SELENIUM_POLLING_STRATEGY, or in code), false if it's the framework default.
+	 */
+	protected boolean isPollingStrategyChosen() {
+		return pollingStrategy != null || defaultPollingStrategy != null || configuredPollingStrategy != null;
+	}
+	/**
+	 * @return true if waits poll at a fixed interval, which lets callers keep using their own plain Selenium waits.
+	 */
+	protected boolean isUsingFixedPolling() {
+		return getPollingStrategy() instanceof FixedPollingStrategy;
+	}
+
+	/**
+	 * @param useEventDrivenWaits - Whether waits from this generator only watch the page for changes, or null to go back to the default.
+	 */
+	protected void setEventDrivenWaits(Boolean useEventDrivenWaits) {
+		this.eventDrivenWaits = useEventDrivenWaits;
+	}
+	protected boolean isUsingEventDrivenWaits() {
+		if(eventDrivenWaits != null) {
+			return eventDrivenWaits;
+		} else if(defaultEventDrivenWaits != null) {
+			return defaultEventDrivenWaits;
+		}
+		return configuredEventDrivenWaits;
+	}
+
 	protected FluentWait<WebDriver> getFluentWait(WebDriver driver, int maxTimeInSec) {
-		return new FluentWait<WebDriver>(driver)    
-			    .withTimeout(maxTimeInSec, TimeUnit.SECONDS)    
-			    .pollingEvery(100, TimeUnit.MILLISECONDS)   
-			    .ignoring(NoSuchElementException.class);
+		return getFluentWait(driver, WaitBudget.ofSeconds(maxTimeInSec));
+	}
+	/**
+	 * @param driver
+	 * @param waitBudget - The wait times out when the budget runs out.
+	 * @return
+	 */
+	protected FluentWait<WebDriver> getFluentWait(WebDriver driver, WaitBudget waitBudget) {
+		PollingStrategy strategy = getPollingStrategy();
+		if(strategy instanceof FixedPollingStrategy) {
+			return new FluentWait<WebDriver>(driver)
+					.withTimeout(waitBudget.getRemainingMillis(), TimeUnit.MILLISECONDS)
+					.pollingEvery(((FixedPollingStrategy) strategy).getPollingInMilliseconds(), TimeUnit.MILLISECONDS)
+					.ignoring(NoSuchElementException.class);
+		}
+		return new AdaptiveWait(driver, waitBudget.getRemainingMillis(), strategy);
+	}
+
+	/**
+	 * @param driver
+	 * @param maxTimeInSec
+	 * @param waitKey - Identifies what is being waited for (usually the locator), so the PollingStrategy can learn from it.
+	 * @return A wait that polls according to the PollingStrategy, even when it is a FixedPollingStrategy.
+	 */
+	protected FluentWait<WebDriver> getAdaptiveWait(WebDriver driver, int maxTimeInSec, String waitKey) {
+		return getAdaptiveWait(driver, WaitBudget.ofSeconds(maxTimeInSec), waitKey);
+	}
+	protected FluentWait<WebDriver> getAdaptiveWait(WebDriver driver, WaitBudget waitBudget, String waitKey) {
+		return new AdaptiveWait(driver, waitBudget.getRemainingMillis(), getPollingStrategy(), waitKey);
+	}
+	
+	/**
+	 * @param driver
+	 * @param maxTimeInSec
+	 * @param rootElement - Only watch for the locator below this element, or null to watch the whole page.
+	 * @param locator
+	 * @param domCondition - What the locator has to match in the page before the wait's condition is checked again.
+	 * @return A wait that returns as soon as the page changes so the locator matches, polling with the PollingStrategy if the driver can't watch the page.
+	 */
+	protected FluentWait<WebDriver> getMutationObserverWait(WebDriver driver, int maxTimeInSec, WebElement rootElement, By locator, MutationObserverWait.DomCondition domCondition) {
+		return getMutationObserverWait(driver, WaitBudget.ofSeconds(maxTimeInSec), rootElement, locator, domCondition);
+	}
+	protected FluentWait<WebDriver> getMutationObserverWait(WebDriver driver, WaitBudget waitBudget, WebElement rootElement, By locator, MutationObserverWait.DomCondition domCondition) {
+		return new MutationObserverWait(driver, waitBudget.getRemainingMillis(), getPollingStrategy(), rootElement, locator, domCondition);
 	}
 	
 	protected FluentWait<WebDriver> getFluentWait(WebDriver driver, int pollingInMilliseconds, Class<? extends Throwable> classToIgnore, int maxTimeInSec) {
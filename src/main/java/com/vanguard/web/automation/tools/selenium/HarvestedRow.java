@@ -0,0 +1,32 @@
+package com.vanguard.web.automation.tools.selenium;
+
+/**
+ * One row SeleniumActionMethods.harvestRows() found in a virtualized list: its key (what rows are de-duplicated by) and its whole text.
+ *
+ */
+public final class HarvestedRow {
+
+	private final String key;
+	private final String text;
+
+	HarvestedRow(String key, String text) {
+		super();
+		this.key = key;
+		this.text = text;
+	}
+
+	/**
+	 * @return The text of the row's key element, or the row's text if no key locator was given.
+	 */
+	public String getKey() {
+		return key;
+	}
+	public String getText() {
+		return text;
+	}
+
+	@Override
+	public String toString() {
+		return "HarvestedRow [key=" + key + ", text=" + text + "]";
+	}
+}
@@ -0,0 +1,182 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.WrapsDriver;
+import org.openqa.selenium.internal.WrapsElement;
+
+/**
+ * Wraps a WebDriver so every remote command it (and every WebElement, navigation, window, etc. it hands out) sends
+ * is counted and timed in CommandMetrics.<p>
+ *
+ * The wrapper implements every interface the real driver does (JavascriptExecutor, TakesScreenshot, etc.), so the framework's
+ * instanceof checks behave the same.  Wrapped elements passed back into the driver, Ex: as script arguments, are unwrapped first.
+ *
+ */
+public final class InstrumentedWebDriver {
+
+	//Methods that only hand out another object to send commands through, and aren't remote commands themselves.
+	private static final Set<String> ACCESSOR_METHODS = new HashSet<String>(Arrays.asList("manage", "navigate", "switchTo", "timeouts", "window", "logs", "ime"));
+
+	private InstrumentedWebDriver() {
+	}
+
+	/**
+	 * @param driver
+	 * @return The driver, recording to CommandMetrics.shared().
+	 */
+	public static WebDriver wrap(WebDriver driver) {
+		return wrap(driver, CommandMetrics.shared());
+	}
+
+	/**
+	 * @param driver
+	 * @param metrics
+	 * @return The driver, recording to the metrics.  A driver that's already instrumented is returned as it is.
+	 */
+	public static WebDriver wrap(WebDriver driver, CommandMetrics metrics) {
+		if(isInstrumented(driver)) {
+			return driver;
+		}
+		CommandMetrics.setEnabled(true);
+		CommandHandler handler = new CommandHandler(driver, driver, metrics);
+		WebDriver proxy = (WebDriver) newProxy(driver, handler, WrapsDriver.class);
+		handler.driverProxy = proxy;
+		return proxy;
+	}
+
+	public static boolean isInstrumented(Object object) {
+		return object != null && Proxy.isProxyClass(object.getClass()) && Proxy.getInvocationHandler(object) instanceof CommandHandler;
+	}
+
+	private static Object newProxy(Object target, InvocationHandler handler, Class<?> extraInterface) {
+		Set<Class<?>> interfaces = new LinkedHashSet<Class<?>>();
+		for(Class<?> type = target.getClass(); type != null; type = type.getSuperclass()) {
+			addPublicInterfaces(type.getInterfaces(), interfaces);
+		}
+		if(extraInterface != null) {
+			interfaces.add(extraInterface);
+		}
+		return Proxy.newProxyInstance(target.getClass().getClassLoader(), interfaces.toArray(new Class<?>[interfaces.size()]), handler);
+	}
+
+	private static void addPublicInterfaces(Class<?>[] candidates, Set<Class<?>> interfaces) {
+		for (Class<?> candidate : candidates) {
+			if(Modifier.isPublic(candidate.getModifiers())) {
+				interfaces.add(candidate);
+			}
+			addPublicInterfaces(candidate.getInterfaces(), interfaces);
+		}
+	}
+
+	private static Object unwrap(Object value) {
+		if(isInstrumented(value)) {
+			return ((CommandHandler) Proxy.getInvocationHandler(value)).target;
+		} else if(value instanceof Object[]) {
+			Object[] values = ((Object[]) value).clone();
+			for(int i = 0; i < values.length; i++) {
+				values[i] = unwrap(values[i]);
+			}
+			return values;
+		} else if(value instanceof List) {
+			List<Object> values = new ArrayList<Object>();
+			for (Object item : (List<?>) value) {
+				values.add(unwrap(item));
+			}
+			return values;
+		}
+		return value;
+	}
+
+	private static final class CommandHandler implements InvocationHandler {
+
+		private final Object target;
+		private final WebDriver driver;
+		private final CommandMetrics metrics;
+		//Commands are named after what they were sent through, Ex: "WebDriver.findElement", "WebElement.click" or "Navigation.to".
+		private final String commandPrefix;
+		private Object driverProxy;
+
+		private CommandHandler(Object target, WebDriver driver, CommandMetrics metrics) {
+			this.target = target;
+			this.driver = driver;
+			this.metrics = metrics;
+			this.commandPrefix = target == driver ? "WebDriver." : target instanceof WebElement ? "WebElement." : null;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			Class<?> declaringClass = method.getDeclaringClass();
+			if(declaringClass == Object.class) {
+				return invokeObjectMethod(proxy, method, args);
+			} else if((declaringClass == WrapsDriver.class && target == driver) || declaringClass == WrapsElement.class) {
+				return target;
+			} else if(declaringClass == WrapsDriver.class) {
+				return invokeTarget(method, args);
+			} else if(ACCESSOR_METHODS.contains(method.getName()) && method.getParameterCount() == 0) {
+				return wrapAccessor(invokeTarget(method, args));
+			}
+			long start = System.nanoTime();
+			try {
+				return wrapResult(invokeTarget(method, (Object[]) unwrap(args)));
+			} finally {
+				metrics.recordCommand((commandPrefix == null ? declaringClass.getSimpleName() + "." : commandPrefix) + method.getName(), System.nanoTime() - start);
+			}
+		}
+
+		private Object invokeTarget(Method method, Object[] args) throws Throwable {
+			try {
+				return method.invoke(target, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+
+		private Object invokeObjectMethod(Object proxy, Method method, Object[] args) {
+			switch (method.getName()) {
+			case "equals":
+				return proxy == args[0] || target.equals(unwrap(args[0]));
+			case "hashCode":
+				return target.hashCode();
+			default:
+				return target.toString();
+			}
+		}
+
+		private Object wrapAccessor(Object accessor) {
+			return accessor == null ? null : newProxy(accessor, new CommandHandler(accessor, driver, metrics).withDriverProxy(driverProxy), null);
+		}
+
+		private Object wrapResult(Object result) {
+			if(result == driver) {
+				return driverProxy;
+			} else if(result instanceof WebElement && !isInstrumented(result)) {
+				return newProxy(result, new CommandHandler(result, driver, metrics).withDriverProxy(driverProxy), WrapsElement.class);
+			} else if(result instanceof List) {
+				List<Object> wrapped = new ArrayList<Object>(((List<?>) result).size());
+				for (Object item : (List<?>) result) {
+					wrapped.add(wrapResult(item));
+				}
+				return wrapped;
+			}
+			return result;
+		}
+
+		private CommandHandler withDriverProxy(Object newDriverProxy) {
+			this.driverProxy = newDriverProxy;
+			return this;
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed size, thread safe latency histogram in microseconds, in the style of HdrHistogram.<p>
+ *
+ * Values below 16 are counted exactly.  Above that, every power of two is split into 8 buckets, so any reported value
+ * is within 12.5% of the real one, whatever its size.  Recording never allocates, so it's cheap enough to do for every remote command.
+ *
+ */
+public final class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int EXACT_VALUE_LIMIT = SUB_BUCKET_COUNT * 2;
+	private static final int FIRST_BUCKETED_EXPONENT = 4;
+	static final int BUCKET_COUNT = EXACT_VALUE_LIMIT + (Long.SIZE - 1 - FIRST_BUCKETED_EXPONENT) * SUB_BUCKET_COUNT;
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+	private final LongAdder totalCount = new LongAdder();
+	private final LongAdder totalInMicros = new LongAdder();
+	private final AtomicLong minInMicros = new AtomicLong(Long.MAX_VALUE);
+	private final AtomicLong maxInMicros = new AtomicLong(0);
+
+	public void recordNanos(long nanos) {
+		record(nanos / 1000);
+	}
+
+	public void record(long micros) {
+		long value = Math.max(0, micros);
+		counts.incrementAndGet(indexOf(value));
+		totalCount.increment();
+		totalInMicros.add(value);
+		minInMicros.accumulateAndGet(value, Math::min);
+		maxInMicros.accumulateAndGet(value, Math::max);
+	}
+
+	static int indexOf(long value) {
+		if(value < EXACT_VALUE_LIMIT) {
+			return (int) value;
+		}
+		int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1));
+		return EXACT_VALUE_LIMIT + (exponent - FIRST_BUCKETED_EXPONENT) * SUB_BUCKET_COUNT + subBucket;
+	}
+
+	/**
+	 * @param index
+	 * @return The highest value counted in the bucket.
+	 */
+	static long upperBoundOf(int index) {
+		if(index < EXACT_VALUE_LIMIT) {
+			return index;
+		}
+		int exponent = (index - EXACT_VALUE_LIMIT) / SUB_BUCKET_COUNT + FIRST_BUCKETED_EXPONENT;
+		int subBucket = (index - EXACT_VALUE_LIMIT) % SUB_BUCKET_COUNT;
+		return ((SUB_BUCKET_COUNT + subBucket + 1L) << (exponent - SUB_BUCKET_BITS)) - 1;
+	}
+
+	public long getCount() {
+		return totalCount.sum();
+	}
+	public long getTotalInMicros() {
+		return totalInMicros.sum();
+	}
+	public long getMinInMicros() {
+		return getCount() == 0 ? 0 : minInMicros.get();
+	}
+	public long getMaxInMicros() {
+		return maxInMicros.get();
+	}
+	public double getMeanInMicros() {
+		long count = getCount();
+		return count == 0 ? 0 : (double) getTotalInMicros() / count;
+	}
+
+	/**
+	 * @param percentile - Ex: 99 for the 99th percentile.
+	 * @return The (bucketed) value that percentile of the recorded values are at or below, or 0 if nothing was recorded.
+	 */
+	public long getValueAtPercentile(double percentile) {
+		long count = getCount();
+		if(count == 0) {
+			return 0;
+		}
+		long target = Math.max(1, (long) Math.ceil(Math.min(100, percentile) / 100 * count));
+		long seen = 0;
+		for(int index = 0; index < BUCKET_COUNT; index++) {
+			seen += counts.get(index);
+			if(seen >= target) {
+				return Math.min(upperBoundOf(index), getMaxInMicros());
+			}
+		}
+		return getMaxInMicros();
+	}
+
+	/**
+	 * @return The summary (count, min, max, mean and percentiles) plus every non-empty bucket as [upper bound, count] pairs.
+	 */
+	public String toJson() {
+		StringBuilder json = new StringBuilder();
+		json.append("{\"count\":").append(getCount())
+			.append(",\"min\":").append(getMinInMicros())
+			.append(",\"max\":").append(getMaxInMicros())
+			.append(",\"mean\":").append(String.format(Locale.ROOT, "%.1f", getMeanInMicros()))
+			.append(",\"p50\":").append(getValueAtPercentile(50))
+			.append(",\"p90\":").append(getValueAtPercentile(90))
+			.append(",\"p99\":").append(getValueAtPercentile(99))
+			.append(",\"buckets\":[");
+		boolean first = true;
+		for(int index = 0; index < BUCKET_COUNT; index++) {
+			long bucketCount = counts.get(index);
+			if(bucketCount > 0) {
+				json.append(first ? "" : ",").append('[').append(upperBoundOf(index)).append(',').append(bucketCount).append(']');
+				first = false;
+			}
+		}
+		return json.append("]}").toString();
+	}
+}
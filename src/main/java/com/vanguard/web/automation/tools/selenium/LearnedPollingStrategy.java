@@ -0,0 +1,67 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Learns how long each wait (by its wait key, usually the locator) usually takes, and schedules polls around that.<p>
+ *
+ * With no history for a wait key, this backs off just like BackoffPollingStrategy.
+ * Once a wait key has history, the first sleep jumps most of the way to the usual time, 
+ * the wait then polls quickly until well past the usual time, and then backs off again.
+ *
+ */
+public class LearnedPollingStrategy implements PollingStrategy {
+
+	private static final String UNKNOWN_WAIT_KEY = "";
+	private static final double HISTORY_WEIGHT = 0.3;
+	private static final double JUMP_TO_FRACTION_OF_USUAL_TIME = 0.75;
+	private static final double FAST_POLL_UNTIL_MULTIPLE_OF_USUAL_TIME = 2;
+	private final BackoffPollingStrategy backoff;
+	private final ConcurrentMap<String, Long> usualMillisByWaitKey = new ConcurrentHashMap<String, Long>();
+
+	public LearnedPollingStrategy() {
+		this(new BackoffPollingStrategy());
+	}
+
+	public LearnedPollingStrategy(BackoffPollingStrategy backoff) {
+		super();
+		this.backoff = backoff;
+	}
+
+	@Override
+	public long getNextPollIntervalInMillis(String waitKey, int pollCount, long elapsedMillis) {
+		Long usualMillis = usualMillisByWaitKey.get(toKey(waitKey));
+		if(usualMillis == null || usualMillis <= 0) {
+			return backoff.getNextPollIntervalInMillis(waitKey, pollCount, elapsedMillis);
+		}
+		long jumpTo = (long) (usualMillis * JUMP_TO_FRACTION_OF_USUAL_TIME);
+		if(elapsedMillis < jumpTo) {
+			return jumpTo - elapsedMillis;
+		}
+		if(elapsedMillis < usualMillis * FAST_POLL_UNTIL_MULTIPLE_OF_USUAL_TIME) {
+			return backoff.getInitialIntervalInMillis();
+		}
+		return backoff.getNextPollIntervalInMillis(waitKey, pollCount, elapsedMillis);
+	}
+
+	@Override
+	public void recordConditionMet(String waitKey, long elapsedMillis) {
+		String key = toKey(waitKey);
+		Long previous = usualMillisByWaitKey.get(key);
+		long updated = previous == null ? elapsedMillis : Math.round(previous * (1 - HISTORY_WEIGHT) + elapsedMillis * HISTORY_WEIGHT);
+		usualMillisByWaitKey.put(key, updated);
+	}
+
+	/**
+	 * @param waitKey
+	 * @return The learned usual time for the wait key, or null if it has no history yet.
+	 */
+	public Long getUsualMillis(String waitKey) {
+		return usualMillisByWaitKey.get(toKey(waitKey));
+	}
+
+	private static String toKey(String waitKey) {
+		return waitKey == null ? UNKNOWN_WAIT_KEY : waitKey;
+	}
+}
@@ -0,0 +1,121 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.openqa.selenium.By;
+
+/**
+ * Several candidate locators for one logical element, Ex: its id, a CSS selector, and an XPath by its text.<p>
+ *
+ * SeleniumElementFinder.getElement(chain) waits for all the candidates in one wait, so a broken candidate doesn't cost a wait of its own.
+ * The chain learns how long each candidate usually takes to match, and ranks the candidates that match fastest first, so they're checked first.
+ * Candidates without history keep the order they were given in, after the ones with history.
+ * A candidate ranked ahead of the one that matched, that didn't match itself, loses its history (Ex: its element's id changed).<p>
+ *
+ * Declare a chain once (Ex: as a static final field of the page object) so every lookup shares what it has learned.  Chains are thread safe.
+ *
+ */
+public final class LocatorChain {
+
+	private static final double HISTORY_WEIGHT = 0.3;
+	private final String name;
+	private final List<By> candidates;
+	private final Long[] usualMillis;
+	private final int[] matchCounts;
+
+	private LocatorChain(String name, List<By> candidates) {
+		super();
+		this.name = name;
+		this.candidates = Collections.unmodifiableList(candidates);
+		this.usualMillis = new Long[candidates.size()];
+		this.matchCounts = new int[candidates.size()];
+	}
+
+	/**
+	 * @param name - Describes the element, Ex: "Submit button".  Used to label the chain's CommandMetrics.
+	 * @param candidates - The locators to try, the preferred one first.
+	 * @return
+	 */
+	public static LocatorChain of(String name, By... candidates) {
+		if(candidates.length == 0) {
+			throw new IllegalArgumentException("LocatorChain " + name + " needs at least one candidate locator");
+		}
+		return new LocatorChain(name, new ArrayList<By>(Arrays.asList(candidates)));
+	}
+
+	public String getName() {
+		return name;
+	}
+	/**
+	 * @return The candidates in the order they were given in.
+	 */
+	public List<By> getCandidates() {
+		return candidates;
+	}
+
+	/**
+	 * @return The candidates in the order they should be checked in: the ones that usually match fastest first,
+	 * and then the ones without history in the order they were given in.
+	 */
+	public synchronized By[] getRankedCandidates() {
+		List<Integer> order = new ArrayList<Integer>();
+		for (int i = 0; i < candidates.size(); i++) {
+			order.add(i);
+		}
+		order.sort(Comparator.comparing((Integer i) -> usualMillis[i] == null ? Long.MAX_VALUE : usualMillis[i]).thenComparing(i -> i));
+		By[] ranked = new By[order.size()];
+		for (int i = 0; i < ranked.length; i++) {
+			ranked[i] = candidates.get(order.get(i));
+		}
+		return ranked;
+	}
+
+	/**
+	 * @param rankedCandidates - The candidates as they were ranked for the lookup.
+	 * @param rankedIndex - Which of them matched.
+	 * @param elapsedMillis - How long the lookup took to match.
+	 */
+	synchronized void recordMatch(By[] rankedCandidates, int rankedIndex, long elapsedMillis) {
+		for (int i = 0; i < rankedIndex; i++) {
+			usualMillis[candidates.indexOf(rankedCandidates[i])] = null;
+		}
+		int matched = candidates.indexOf(rankedCandidates[rankedIndex]);
+		Long previous = usualMillis[matched];
+		usualMillis[matched] = previous == null ? elapsedMillis : Math.round(previous * (1 - HISTORY_WEIGHT) + elapsedMillis * HISTORY_WEIGHT);
+		matchCounts[matched]++;
+	}
+
+	/**
+	 * @param candidate
+	 * @return How many lookups the candidate has matched.
+	 */
+	public synchronized int getMatchCount(By candidate) {
+		int index = candidates.indexOf(candidate);
+		return index < 0 ? 0 : matchCounts[index];
+	}
+	/**
+	 * @param candidate
+	 * @return How long the candidate usually takes to match, or null if it has no history.
+	 */
+	public synchronized Long getUsualMillis(By candidate) {
+		int index = candidates.indexOf(candidate);
+		return index < 0 ? null : usualMillis[index];
+	}
+
+	@Override
+	public synchronized String toString() {
+		StringBuilder description = new StringBuilder("LocatorChain [").append(name);
+		for (int i = 0; i < candidates.size(); i++) {
+			description.append(", ").append(candidates.get(i)).append(" (matched ").append(matchCounts[i]).append(" time(s)");
+			if(usualMillis[i] != null) {
+				description.append(", usually in ").append(usualMillis[i]).append(" ms");
+			}
+			description.append(")");
+		}
+		return description.append("]").toString();
+	}
+}
@@ -0,0 +1,138 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+/**
+ * Which locators the finders rewrote with SeleniumHelperUtil.optimizeLocator() during the run, how often each was used,
+ * and about how much time that saved.<p>
+ *
+ * The first time a rewritten locator is used with a driver that can run scripts, both versions of it are timed in the browser
+ * (one extra script call per locator per run).  The time saved is that difference times the number of times the locator was used.
+ * Locators first used with a driver that can't run scripts are still reported, without a time saved.
+ *
+ */
+public class LocatorOptimizationReport {
+
+	private static final Logger logger = Logger.getLogger( LocatorOptimizationReport.class.getName() );
+	static final int TIMING_RUNS = 20;
+	/* Times arguments[0], arguments[1] against arguments[2], arguments[3] over arguments[4] runs each.  Returns [original, optimized] microseconds per lookup. */
+	static final String JS_TIME_LOCATORS = SeleniumHelperUtil.JS_FIND_FUNCTIONS +
+			"var runs = arguments[4], i, start = performance.now();" +
+			"for (i = 0; i < runs; i++) { __safFind(null, arguments[0], arguments[1]); }" +
+			"var original = performance.now() - start;" +
+			"start = performance.now();" +
+			"for (i = 0; i < runs; i++) { __safFind(null, arguments[2], arguments[3]); }" +
+			"var optimized = performance.now() - start;" +
+			"return [original * 1000 / runs, optimized * 1000 / runs];";
+	private static final LocatorOptimizationReport sharedReport = new LocatorOptimizationReport();
+	private final Map<String, RewrittenLocator> rewrittenLocators = new ConcurrentHashMap<String, RewrittenLocator>();
+
+	/**
+	 * @return The report every SeleniumElementFinder adds to.
+	 */
+	public static LocatorOptimizationReport shared() {
+		return sharedReport;
+	}
+
+	/**
+	 * Adds one use of a rewritten locator, timing both versions of it the first time.
+	 * @param driver
+	 * @param originalLocator
+	 * @param optimizedLocator
+	 */
+	void record(WebDriver driver, By originalLocator, By optimizedLocator) {
+		RewrittenLocator rewrittenLocator = rewrittenLocators.computeIfAbsent(originalLocator.toString(),
+				newLocator -> new RewrittenLocator(optimizedLocator.toString()));
+		rewrittenLocator.uses.incrementAndGet();
+		if(rewrittenLocator.timed.compareAndSet(false, driver instanceof JavascriptExecutor)) {
+			rewrittenLocator.savedNanosPerUse = timeSavedPerUseInNanos(driver, originalLocator, optimizedLocator);
+		}
+	}
+
+	private static long timeSavedPerUseInNanos(WebDriver driver, By originalLocator, By optimizedLocator) {
+		try {
+			Object result = ((JavascriptExecutor) driver).executeScript(JS_TIME_LOCATORS,
+					SeleniumHelperUtil.getByPrefix(originalLocator).name(), SeleniumHelperUtil.getByExpression(originalLocator),
+					SeleniumHelperUtil.getByPrefix(optimizedLocator).name(), SeleniumHelperUtil.getByExpression(optimizedLocator), TIMING_RUNS);
+			List<?> microsPerLookup = (List<?>) result;
+			double savedMicros = ((Number) microsPerLookup.get(0)).doubleValue() - ((Number) microsPerLookup.get(1)).doubleValue();
+			return Math.max(0, (long) (savedMicros * 1000));
+		} catch (WebDriverException | ClassCastException | NullPointerException | IndexOutOfBoundsException e) {
+			logger.log(Level.FINE, "Could not time the optimized locator: " + optimizedLocator, e);
+			return 0;
+		}
+	}
+
+	/**
+	 * @return Every rewritten locator (by its toString()), with what it was rewritten to.
+	 */
+	public Map<String, String> getRewrittenLocators() {
+		Map<String, String> locators = new TreeMap<String, String>();
+		for (Map.Entry<String, RewrittenLocator> entry : rewrittenLocators.entrySet()) {
+			locators.put(entry.getKey(), entry.getValue().optimizedLocator);
+		}
+		return locators;
+	}
+
+	/**
+	 * @param originalLocator
+	 * @return How many times the rewritten version of the locator was used, or 0 if it wasn't rewritten.
+	 */
+	public long getUses(By originalLocator) {
+		RewrittenLocator rewrittenLocator = rewrittenLocators.get(originalLocator.toString());
+		return rewrittenLocator == null ? 0 : rewrittenLocator.uses.get();
+	}
+
+	/**
+	 * @return The time saved in the browser by every rewritten locator that could be timed, across all of its uses.
+	 */
+	public long getEstimatedTimeSavedInMillis() {
+		long savedNanos = 0;
+		for (RewrittenLocator rewrittenLocator : rewrittenLocators.values()) {
+			savedNanos += rewrittenLocator.savedNanosPerUse * rewrittenLocator.uses.get();
+		}
+		return savedNanos / 1000000;
+	}
+
+	void clear() {
+		rewrittenLocators.clear();
+	}
+
+	/**
+	 * @return One line per rewritten locator, then the total time saved.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder report = new StringBuilder("Optimized locators:");
+		for (Map.Entry<String, RewrittenLocator> entry : new TreeMap<String, RewrittenLocator>(rewrittenLocators).entrySet()) {
+			RewrittenLocator rewrittenLocator = entry.getValue();
+			report.append(System.lineSeparator()).append("  ").append(entry.getKey()).append(" -> ").append(rewrittenLocator.optimizedLocator)
+					.append(" (used ").append(rewrittenLocator.uses.get()).append(" time(s), saving about ")
+					.append(rewrittenLocator.savedNanosPerUse / 1000).append(" microsecond(s) each)");
+		}
+		return report.append(System.lineSeparator()).append("Estimated time saved: ").append(getEstimatedTimeSavedInMillis()).append(" millisecond(s)").toString();
+	}
+
+	private static final class RewrittenLocator {
+		private final String optimizedLocator;
+		private final AtomicLong uses = new AtomicLong();
+		private final AtomicBoolean timed = new AtomicBoolean();
+		private volatile long savedNanosPerUse = 0;
+
+		private RewrittenLocator(String optimizedLocator) {
+			this.optimizedLocator = optimizedLocator;
+		}
+	}
+}
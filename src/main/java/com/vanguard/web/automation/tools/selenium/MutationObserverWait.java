@@ -0,0 +1,130 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+/**
+ * A FluentWait that, instead of sleeping between checks, waits inside the page for the locator to match.<p>
+ *
+ * Between checks of the condition, an async script installs a MutationObserver and returns as soon as a DOM change
+ * makes the locator match (present, visible or clickable), instead of on the next poll tick.
+ * The script also returns after at most MAX_SLICE_IN_MILLISECONDS, so changes the observer can't see (Ex: CSS animations) are still picked up.
+ * The condition passed to until() is always what decides if the wait is over.<p>
+ *
+ * If the driver can't run async scripts (or its script timeout is shorter than a slice), the rest of the wait falls back
+ * to polling on the PollingStrategy's schedule.  Otherwise behaves like (and shares its checking loop with) AdaptiveWait.
+ *
+ */
+class MutationObserverWait extends AdaptiveWait {
+
+	/** What the locator has to match in the page before the condition is checked again. */
+	enum DomCondition {
+		PRESENT,
+		VISIBLE,
+		CLICKABLE
+	}
+
+	static final long MAX_SLICE_IN_MILLISECONDS = 500;
+	/* What the script returns: nothing matched within the slice, a DOM change made it match, or it already matched when the script started. */
+	static final long NO_MATCH = 0;
+	static final long MATCHED_AFTER_CHANGE = 1;
+	static final long ALREADY_MATCHED = 2;
+	static final String JS_WAIT_FOR_MATCH = ElementStateEvaluator.JS_STATE_FUNCTIONS + SeleniumHelperUtil.JS_FIND_FUNCTIONS +
+			"var root = arguments[0], how = arguments[1], what = arguments[2], condition = arguments[3], sliceMillis = arguments[4];" +
+			"var done = arguments[arguments.length - 1], finished = false, observer = null, timer = null;" +
+			"function matched() {" +
+			"  try {" +
+			"    if (root && !root.isConnected) { return false; }" +
+			"    var found = __safFind(root, how, what);" +
+			"    for (var i = 0; i < found.length; i++) {" +
+			"      if (condition === 'PRESENT') { return true; }" +
+			"      if (__safDisplayed(found[i]) && (condition === 'VISIBLE' || __safEnabled(found[i]))) { return true; }" +
+			"    }" +
+			"  } catch (err) {}" +
+			"  return false;" +
+			"}" +
+			"function finish(result) {" +
+			"  if (finished) { return; }" +
+			"  finished = true;" +
+			"  if (observer) { observer.disconnect(); }" +
+			"  if (timer) { clearTimeout(timer); }" +
+			"  done(result);" +
+			"}" +
+			"if (matched()) { finish(" + ALREADY_MATCHED + "); }" +
+			"else {" +
+			"  observer = new MutationObserver(function() { if (matched()) { finish(" + MATCHED_AFTER_CHANGE + "); } });" +
+			"  observer.observe(document, {childList: true, subtree: true, attributes: true, characterData: true});" +
+			"  timer = setTimeout(function() { finish(" + NO_MATCH + "); }, sliceMillis);" +
+			"}";
+
+	private final WebDriver driver;
+	private final WebElement rootElement;
+	private final By locator;
+	private final DomCondition domCondition;
+	private boolean asyncScriptsSupported;
+
+	/**
+	 * @param driver
+	 * @param timeoutInMillis
+	 * @param fallbackPollingStrategy - Used between checks once async scripts turn out not to be supported.
+	 * @param rootElement - Only look for the locator below this element, or null to look in the whole page.
+	 * @param locator
+	 * @param domCondition
+	 */
+	MutationObserverWait(WebDriver driver, long timeoutInMillis, PollingStrategy fallbackPollingStrategy, WebElement rootElement, By locator, DomCondition domCondition) {
+		super(driver, timeoutInMillis, fallbackPollingStrategy, String.valueOf(locator));
+		this.driver = driver;
+		this.rootElement = rootElement;
+		this.locator = locator;
+		this.domCondition = domCondition;
+		this.asyncScriptsSupported = canWaitFor(driver, locator);
+	}
+
+	/**
+	 * @param driver
+	 * @param locator
+	 * @return true if this wait can watch the page for the locator.  When false, it only polls.
+	 */
+	static boolean canWaitFor(WebDriver driver, By locator) {
+		return driver instanceof JavascriptExecutor && SeleniumHelperUtil.canFindWithJavascript(locator);
+	}
+
+	/**
+	 * Waits in the page for the locator to match, or polls if the page can't be watched.
+	 */
+	@Override
+	void waitBeforeNextPoll(long elapsedMillis, long remainingMillis) {
+		//If the page already matched but the condition didn't, waiting in the page would return right away again.  Poll instead.
+		if(!asyncScriptsSupported || waitForMatchInPage(Math.min(remainingMillis, MAX_SLICE_IN_MILLISECONDS))) {
+			super.waitBeforeNextPoll(elapsedMillis, remainingMillis);
+		}
+	}
+
+	/**
+	 * @param sliceInMillis
+	 * @return true if the locator already matched when the script started (or the page couldn't be watched), false otherwise.
+	 */
+	private boolean waitForMatchInPage(long sliceInMillis) {
+		try {
+			Object result = ((JavascriptExecutor) driver).executeAsyncScript(JS_WAIT_FOR_MATCH,
+					rootElement, SeleniumHelperUtil.getByPrefix(locator).name(), SeleniumHelperUtil.getByExpression(locator), domCondition.name(), sliceInMillis);
+			//A match found after the page changed is worth checking right away.  A match that was already there means the condition disagrees.
+			return result instanceof Number && ((Number) result).longValue() == ALREADY_MATCHED;
+		} catch (UnsupportedCommandException | ScriptTimeoutException e) {
+			asyncScriptsSupported = false;
+			return true;
+		} catch (WebDriverException e) {
+			//Ex: The root element went stale or the page navigated away while the script was waiting.  Try again on the next check.
+			return true;
+		}
+	}
+
+	boolean isUsingAsyncScripts() {
+		return asyncScriptsSupported;
+	}
+}
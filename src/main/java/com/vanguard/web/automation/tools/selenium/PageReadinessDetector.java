@@ -0,0 +1,189 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+/**
+ * Waits inside the page until it's actually ready to be used, instead of for a worst-case amount of time.<p>
+ *
+ * The page is ready once, all at the same time: document.readyState is complete, no fetch or XMLHttpRequest calls are in flight,
+ * nothing has been loaded and the DOM hasn't changed for the quiet period, and two animation frames have been painted since.
+ * The first script call installs an interceptor (once per page) that counts the fetch and XMLHttpRequest calls the page makes from then on.<p>
+ *
+ * The interceptor can't see requests the page started before it was installed, Ex: an API call made while the page was loading that is still running.
+ * They only show up once they finish (in the page's resource timings), so until then the page can look quiet.
+ * To cover the usual requests made right after a page loads, a page isn't ready until at least MIN_TIME_SINCE_NAVIGATION_IN_MILLISECONDS after the navigation started
+ * (the page's performance.now()), so pages that took longer than that to load don't wait any longer.
+ * Longer requests started before that can still be missed, so ready means "the page looks quiet", not "the page won't change".
+ * Calling installRequestCounter() before the action that starts the requests (Ex: a click) avoids this.<p>
+ *
+ * Each script call waits in the page for at most MAX_SLICE_IN_MILLISECONDS, so the driver's script timeout has to be at least that long.
+ * If the driver can't run async scripts, the detector can't tell if the page is ready and gives up right away.
+ *
+ */
+class PageReadinessDetector {
+
+	static final long DEFAULT_QUIET_PERIOD_IN_MILLISECONDS = 300;
+	static final long MIN_TIME_SINCE_NAVIGATION_IN_MILLISECONDS = 1000;
+	static final long MAX_SLICE_IN_MILLISECONDS = 500;
+	static final long RETRY_INTERVAL_IN_MILLISECONDS = 50;
+	/* What the script returns: the page didn't become ready within the slice, or it's ready. */
+	static final long NOT_READY = 0;
+	static final long READY = 1;
+	/* Adds the request counter to the page (once per page) and leaves it in state. */
+	static final String JS_INSTALL_REQUEST_COUNTER =
+			"var state = window.__safReadiness;" +
+			"if (!state) {" +
+			"  state = window.__safReadiness = {inFlight: 0, lastActivity: performance.now()};" +
+			"  var touch = function() { state.lastActivity = performance.now(); };" +
+			"  var started = function() { state.inFlight++; touch(); };" +
+			"  var settled = function() { state.inFlight = Math.max(0, state.inFlight - 1); touch(); };" +
+			"  if (window.fetch) {" +
+			"    var originalFetch = window.fetch;" +
+			"    window.fetch = function() {" +
+			"      started();" +
+			"      try { var result = originalFetch.apply(this, arguments); }" +
+			"      catch (err) { settled(); throw err; }" +
+			"      result.then(settled, settled);" +
+			"      return result;" +
+			"    };" +
+			"  }" +
+			"  if (window.XMLHttpRequest) {" +
+			"    var originalSend = XMLHttpRequest.prototype.send;" +
+			"    XMLHttpRequest.prototype.send = function() {" +
+			"      var ended = false, end = function() { if (!ended) { ended = true; settled(); } };" +
+			"      started();" +
+			"      this.addEventListener('loadend', end);" +
+			"      try { return originalSend.apply(this, arguments); }" +
+			"      catch (err) { end(); throw err; }" +
+			"    };" +
+			"  }" +
+			"  if (window.MutationObserver) {" +
+			"    new MutationObserver(touch).observe(document, {childList: true, subtree: true, attributes: true, characterData: true});" +
+			"  }" +
+			"}";
+	static final String JS_WAIT_FOR_READY = JS_INSTALL_REQUEST_COUNTER +
+			"var quietMillis = arguments[0], sliceMillis = arguments[1], minSinceNavigationMillis = arguments[2], done = arguments[arguments.length - 1];" +
+			"var finished = false, timer = null;" +
+			"function quietFor() {" +
+			"  var last = state.lastActivity;" +
+			"  var resources = performance.getEntriesByType ? performance.getEntriesByType('resource') : [];" +
+			"  for (var i = 0; i < resources.length; i++) { last = Math.max(last, resources[i].responseEnd); }" +
+			"  return performance.now() - last;" +
+			"}" +
+			"function isReady() {" +
+			"  return document.readyState === 'complete' && state.inFlight === 0 && quietFor() >= quietMillis &&" +
+			"    performance.now() >= minSinceNavigationMillis;" +
+			"}" +
+			"function finish(result) {" +
+			"  if (finished) { return; }" +
+			"  finished = true;" +
+			"  clearTimeout(timer);" +
+			"  done(result);" +
+			"}" +
+			"function check() {" +
+			"  if (finished) { return; }" +
+			"  if (!isReady()) { setTimeout(check, 50); return; }" +
+			//Hidden pages don't paint, so there are no frames to wait for.
+			"  if (document.hidden || !window.requestAnimationFrame) { finish(" + READY + "); return; }" +
+			"  requestAnimationFrame(function() { requestAnimationFrame(function() {" +
+			"    if (isReady()) { finish(" + READY + "); } else { check(); }" +
+			"  }); });" +
+			"}" +
+			"timer = setTimeout(function() { finish(" + NOT_READY + "); }, sliceMillis);" +
+			"check();";
+
+	private final WebDriver driver;
+	private final long quietPeriodInMillis;
+	private boolean asyncScriptsSupported;
+	private int scriptCallCount;
+
+	/**
+	 * @param driver
+	 * @param quietPeriodInMillis - How long nothing can be loaded and the DOM can't change before the page counts as ready.
+	 */
+	PageReadinessDetector(WebDriver driver, long quietPeriodInMillis) {
+		super();
+		this.driver = driver;
+		this.quietPeriodInMillis = Math.max(0, quietPeriodInMillis);
+		this.asyncScriptsSupported = canDetect(driver);
+	}
+
+	/**
+	 * @param driver
+	 * @return true if the detector can watch the page.  When false, waitUntilReady() gives up right away.
+	 */
+	static boolean canDetect(WebDriver driver) {
+		return driver instanceof JavascriptExecutor;
+	}
+
+	/**
+	 * @param budget - How long to wait for the page to become ready.
+	 * @return true as soon as the page is ready, false if it wasn't ready before the budget ran out or the driver can't tell.
+	 */
+	boolean waitUntilReady(WaitBudget budget) {
+		scriptCallCount = 0;
+		if(!asyncScriptsSupported) {
+			return false;
+		}
+		do {
+			scriptCallCount++;
+			try {
+				Object result = ((JavascriptExecutor) driver).executeAsyncScript(JS_WAIT_FOR_READY,
+						quietPeriodInMillis, Math.max(1, Math.min(budget.getRemainingMillis(), MAX_SLICE_IN_MILLISECONDS)), MIN_TIME_SINCE_NAVIGATION_IN_MILLISECONDS);
+				if(result instanceof Number && ((Number) result).longValue() == READY) {
+					return true;
+				}
+			} catch (UnsupportedCommandException | ScriptTimeoutException e) {
+				asyncScriptsSupported = false;
+				return false;
+			} catch (WebDriverException e) {
+				//Ex: The page redirected while the script was waiting.  Try again in the new page.
+				sleep(Math.min(budget.getRemainingMillis(), RETRY_INTERVAL_IN_MILLISECONDS));
+			}
+		} while(!budget.isExpired());
+		return false;
+	}
+
+	/**
+	 * Adds the request counter to the page now, so it counts the requests started by whatever the test does next.  One quick script call.
+	 * @return false if the driver can't run scripts (or the page wouldn't run this one).
+	 */
+	boolean installRequestCounter() {
+		if(!canDetect(driver)) {
+			return false;
+		}
+		try {
+			((JavascriptExecutor) driver).executeScript(JS_INSTALL_REQUEST_COUNTER);
+			return true;
+		} catch (WebDriverException e) {
+			return false;
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new WebDriverException(e);
+		}
+	}
+
+	/**
+	 * @return false once the detector knows the driver can't run its script.  From then on, waitUntilReady() gives up right away.
+	 */
+	boolean isUsingAsyncScripts() {
+		return asyncScriptsSupported;
+	}
+
+	/**
+	 * @return The number of scripts sent to the browser in the most recent call to waitUntilReady().
+	 */
+	int getScriptCallCount() {
+		return scriptCallCount;
+	}
+}
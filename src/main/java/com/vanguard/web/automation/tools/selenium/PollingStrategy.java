@@ -0,0 +1,32 @@
+package com.vanguard.web.automation.tools.selenium;
+
+/**
+ * Decides how long a wait sleeps between checks of its condition.<p>
+ *
+ * The framework ships with:<br>
+ * FixedPollingStrategy - the same interval every time (the framework default).<br>
+ * BackoffPollingStrategy - starts fast and backs off exponentially, with jitter.<br>
+ * LearnedPollingStrategy - remembers how long each wait usually takes, and polls fast around that time.<p>
+ *
+ * Set the SELENIUM_POLLING_STRATEGY framework property to fixed|backoff|learned, 
+ * or call FluentWaitGenerator.setDefaultPollingStrategy() to plug in your own.
+ * Implementations are shared by every wait in the suite, so they must be thread-safe.
+ *
+ */
+public interface PollingStrategy {
+
+	/**
+	 * @param waitKey - Identifies what is being waited for (usually the locator), or null if unknown.
+	 * @param pollCount - The number of times the condition has been checked so far in this wait (1 after the first check).
+	 * @param elapsedMillis - Time since the wait started.
+	 * @return How long to sleep before checking the condition again.
+	 */
+	long getNextPollIntervalInMillis(String waitKey, int pollCount, long elapsedMillis);
+
+	/**
+	 * Called when a wait's condition is met, so strategies can learn from it.
+	 * @param waitKey - Identifies what is being waited for (usually the locator), or null if unknown.
+	 * @param elapsedMillis - How long the condition took to be met.
+	 */
+	void recordConditionMet(String waitKey, long elapsedMillis);
+}
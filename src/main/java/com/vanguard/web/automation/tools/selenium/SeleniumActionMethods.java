@@ -1,20 +1,32 @@
 package com.vanguard.web.automation.tools.selenium;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.support.ui.FluentWait;
 import org.openqa.selenium.support.ui.Wait;
 
 import com.google.common.base.Function;
 
+import com.vanguard.web.selenium.properties.FrameworkContext;
+
 /**
  * Wraps all Selenium action methods like click, isDisplayed, etc.
  * Adds error handling around those methods for users.
@@ -24,14 +36,72 @@ import com.google.common.base.Function;
 public class SeleniumActionMethods {
 	
 	private static final String JS_HIGHLIGHTED_STYLE = "border: 10px solid red; border-style: dashed;";
-	private static final String JS_SET_ATTRIBUTE_COMMAND = "arguments[0].setAttribute(arguments[1], arguments[2])";
-	private static final String STYLE = "style";
+	static final String ORIGINAL_STYLE_ATTRIBUTE = "data-saf-original-style";
+	/* Highlights arguments[0] with the style arguments[1], and puts its own style back after arguments[2] milliseconds (if more than 0).
+	 * The element's own style is kept (as JSON, null for no style) in ORIGINAL_STYLE_ATTRIBUTE, only if it isn't there already, so a highlight
+	 * of an element that's still highlighted doesn't take the highlight for its own style.  Only the latest highlight of an element puts the style back. */
+	static final String JS_HIGHLIGHT =
+			"var element = arguments[0], saved = '" + ORIGINAL_STYLE_ATTRIBUTE + "';" +
+			"if (!element.hasAttribute(saved)) { element.setAttribute(saved, JSON.stringify(element.getAttribute('style'))); }" +
+			"var highlight = element.__safHighlight = (element.__safHighlight || 0) + 1;" +
+			"element.setAttribute('style', arguments[1]);" +
+			"if (arguments[2] > 0) {" +
+			"  setTimeout(function() {" +
+			"    if (element.__safHighlight !== highlight || !element.hasAttribute(saved)) { return; }" +
+			"    var originalStyle = JSON.parse(element.getAttribute(saved));" +
+			"    element.removeAttribute(saved);" +
+			"    if (originalStyle === null) { element.removeAttribute('style'); } else { element.setAttribute('style', originalStyle); }" +
+			"  }, arguments[2]);" +
+			"}";
 	private static final String ELEMENT_PASSED_INTO_METHOD = "element passed into method";
+	/* Reads every field in one call: [flags, text, attribute] of each field's first element, null if there isn't one or it isn't displayed and enabled,
+	 * or FIELD_NEEDS_FALLBACK if the browser couldn't evaluate its locator.  The same element finder.getElement() returns. */
+	static final String FIELD_NEEDS_FALLBACK = "fallback";
+	static final String JS_READ_FIELDS = ElementStateEvaluator.JS_STATE_FUNCTIONS + SeleniumHelperUtil.JS_FIND_FUNCTIONS +
+			"var fields = arguments[0], attributeName = arguments[1], results = [];" +
+			"for (var i = 0; i < fields.length; i++) {" +
+			"  var result = null;" +
+			"  try {" +
+			"    var found = __safFind(null, fields[i][0], fields[i][1]);" +
+			"    var state = found.length ? __safState(found[0], attributeName) : null;" +
+			"    if (state && (state[0] & 3) === 3) { result = state; }" +
+			"  } catch (e) { result = '" + FIELD_NEEDS_FALLBACK + "'; }" +
+			"  results.push(result);" +
+			"}" +
+			"return results;";
+	/* Finds every field's first element in one call, if it's displayed and enabled, and sets its value when arguments[2] is true and the field allows it.
+	 * Each result is true if the value was set, the element if it still needs typing into, null if there isn't one, or FIELD_NEEDS_FALLBACK. */
+	static final String JS_FILL_FIELDS = ElementStateEvaluator.JS_STATE_FUNCTIONS + SeleniumHelperUtil.JS_FIND_FUNCTIONS +
+			"var fields = arguments[0], values = arguments[1], setValues = arguments[2], results = [];" +
+			"function __safSettable(e) {" +
+			"  if (e.readOnly) { return false; }" +
+			"  if (e.tagName === 'TEXTAREA') { return true; }" +
+			"  return e.tagName === 'INPUT' && /^(text|email|password|search|tel|url|number)$/.test(e.type);" +
+			"}" +
+			"for (var i = 0; i < fields.length; i++) {" +
+			"  var result = null;" +
+			"  try {" +
+			"    var found = __safFind(null, fields[i][0], fields[i][1]);" +
+			"    if (found.length && __safDisplayed(found[0]) && __safEnabled(found[0])) { result = found[0]; }" +
+			"    if (result && setValues && __safSettable(result)) {" +
+			//Use the prototype's setter, so frameworks that track the value (Ex: React) see the change too.
+			"      var setter = Object.getOwnPropertyDescriptor(Object.getPrototypeOf(result), 'value').set;" +
+			"      setter.call(result, values[i]);" +
+			"      result.dispatchEvent(new Event('input', { bubbles: true }));" +
+			"      result.dispatchEvent(new Event('change', { bubbles: true }));" +
+			"      result = true;" +
+			"    }" +
+			"  } catch (e) { result = '" + FIELD_NEEDS_FALLBACK + "'; }" +
+			"  results.push(result);" +
+			"}" +
+			"return results;";
 	private SeleniumElementFinder finder;
 	private ErrorHandler errorHandler;
 	private FluentWaitGenerator fluentWaitGenerator;
+	private ElementStateEvaluator stateEvaluator;
 	private WebDriver driver;
 	private String pageName;
+	private boolean highlightElements;
 	
 	public SeleniumActionMethods(WebDriver driver, SeleniumElementFinder finder, String pageName) {
 		super();
@@ -40,6 +110,8 @@ public class SeleniumActionMethods {
 		this.pageName = pageName;
 		this.errorHandler = new ErrorHandler();
 		this.fluentWaitGenerator = new FluentWaitGenerator();
+		this.stateEvaluator = new ElementStateEvaluator(driver);
+		this.highlightElements = FrameworkContext.current().getConfiguration().isHighlightElements();
 	}
 	//For Tests
 	protected void setErrorHandler(ErrorHandler newErrorHandler) {
@@ -48,9 +120,64 @@ public class SeleniumActionMethods {
 	protected void setFluentWaitGenerator(FluentWaitGenerator newFluentWaitGenerator) {
 		this.fluentWaitGenerator = newFluentWaitGenerator;
 	}
+	protected void setHighlightElements(boolean highlightElements) {
+		this.highlightElements = highlightElements;
+	}
 	protected String getPageName() {
 		return pageName;
 	}
+
+	/**
+	 * Gets a wait from the FluentWaitGenerator, keyed by the locator when its PollingStrategy can learn per locator.
+	 */
+	private Wait<WebDriver> getWait(final By locator, int maxTimeInSec) {
+		return withWaitKey(fluentWaitGenerator.getFluentWait(driver, maxTimeInSec), locator);
+	}
+	private Wait<WebDriver> getWait(final By locator, WaitBudget waitBudget) {
+		return withWaitKey(fluentWaitGenerator.getFluentWait(driver, waitBudget), locator);
+	}
+	private Wait<WebDriver> withWaitKey(FluentWait<WebDriver> wait, final By locator) {
+		if(wait instanceof AdaptiveWait) {
+			((AdaptiveWait) wait).withWaitKey(String.valueOf(locator));
+		}
+		return wait;
+	}
+	//A condition that doesn't become true within the wait is false, not an error.
+	private boolean isTrueWithinWait(Wait<WebDriver> wait, Function<WebDriver, Boolean> condition) {
+		try {
+			return wait.until(condition);
+		} catch (TimeoutException e) {
+			return false;
+		}
+	}
+	/**
+	 * Checks the condition until it's true, or until the page is ready without it being true, whichever comes first.
+	 * Waits in the page one slice at a time, so the condition is checked again between slices while the page is still busy.
+	 * Waits the whole waitBudget, like isTrueWithinWait(), when the page's readiness can't be detected.
+	 */
+	private boolean isTrueOncePageIsSettled(final By locator, WaitBudget waitBudget, Function<WebDriver, Boolean> condition) {
+		PageReadinessDetector readinessDetector = new PageReadinessDetector(driver, PageReadinessDetector.DEFAULT_QUIET_PERIOD_IN_MILLISECONDS);
+		while(readinessDetector.isUsingAsyncScripts()) {
+			if(isTrueNow(condition)) {
+				return true;
+			}
+			if(waitBudget.isExpired()) {
+				return false;
+			}
+			if(readinessDetector.waitUntilReady(WaitBudget.ofMillis(Math.min(waitBudget.getRemainingMillis(), PageReadinessDetector.MAX_SLICE_IN_MILLISECONDS)))) {
+				//Nothing has loaded or changed for the whole quiet period, so the answer won't change unless something else happens first.
+				return isTrueNow(condition);
+			}
+		}
+		return isTrueWithinWait(getWait(locator, waitBudget), condition);
+	}
+	private boolean isTrueNow(Function<WebDriver, Boolean> condition) {
+		try {
+			return Boolean.TRUE.equals(condition.apply(driver));
+		} catch (NotFoundException | StaleElementReferenceException e) {
+			return false;
+		}
+	}
 	
 	
 	/**
@@ -89,24 +216,31 @@ public class SeleniumActionMethods {
 	 * @return
 	 */
 	public boolean isDisplayed(final By locator, int maxTimeInSec) {
-		Wait<WebDriver> wait = fluentWaitGenerator.getFluentWait(driver, maxTimeInSec);
-		boolean isDisplayedFlag;
-		try {
-			isDisplayedFlag = wait.until(getExpectedConditionForIsAtLeastOneElementDisplayed(locator));
-		} catch (TimeoutException e) {
-			isDisplayedFlag = false;
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("isDisplayed", pageName, locator)) {
+			return isTrueWithinWait(getWait(locator, maxTimeInSec), getExpectedConditionForIsAtLeastOneElementDisplayed(locator));
+		}
+	}
+	/**
+	 * Same as isDisplayed(locator, maxTimeInSec), waiting up-to whatever is left of the waitBudget instead.
+	 * @param locator
+	 * @param waitBudget
+	 * @return
+	 */
+	public boolean isDisplayed(final By locator, WaitBudget waitBudget) {
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("isDisplayed", pageName, locator)) {
+			return isTrueWithinWait(getWait(locator, waitBudget), getExpectedConditionForIsAtLeastOneElementDisplayed(locator));
 		}
-		return isDisplayedFlag;
 	}
 
+	//The condition is re-checked on every poll of the wait, so it must look the elements up each time it's applied.
 	protected Function<WebDriver, Boolean> getExpectedConditionForIsAtLeastOneElementDisplayed(final By locator) {
-		return getBooleanFunction(isAtLeastOneElementDisplayed(locator, driver));
-	}
-	private Function<WebDriver, Boolean> getBooleanFunction(boolean condition) {
-	    return x -> condition;
+		return x -> isAtLeastOneElementDisplayed(locator, driver);
 	}
 	protected Boolean isAtLeastOneElementDisplayed(final By locator, final WebDriver driver) {
 		List<WebElement> allElementsFound = driver.findElements(locator);
+		if(stateEvaluator.canEvaluate() && !allElementsFound.isEmpty()) {
+			return stateEvaluator.evaluate(allElementsFound).indexOfFirstDisplayed() >= 0;
+		}
 		for (WebElement webElement : allElementsFound) {
 			if(webElement.isDisplayed()){
 				return true;
@@ -124,14 +258,34 @@ public class SeleniumActionMethods {
 	 * @return
 	 */
 	public boolean isDisplayed(final WebElement element, int maxTimeInSec) {
-		Wait<WebDriver> wait = fluentWaitGenerator.getFluentWait(driver, maxTimeInSec);
-		boolean isDisplayedFlag;
-		try {
-			isDisplayedFlag = wait.until(driver -> element.isDisplayed());
-		} catch (TimeoutException e) {
-			isDisplayedFlag = false;
+		return isTrueWithinWait(fluentWaitGenerator.getFluentWait(driver, maxTimeInSec), driver -> element.isDisplayed());
+	}
+	public boolean isDisplayed(final WebElement element, WaitBudget waitBudget) {
+		return isTrueWithinWait(fluentWaitGenerator.getFluentWait(driver, waitBudget), driver -> element.isDisplayed());
+	}
+
+	/**
+	 * Meant for checking that an element isn't displayed, Ex: Assert.assertFalse(actions.isDisplayedOnceSettled(errorBanner, 10)).
+	 * Returns true as soon as the element is found and is displayed, and false as soon as the page looks quiet (loaded, no requests in flight
+	 * that the framework has seen, and no DOM changes for a moment) without it, instead of after the whole maxTimeInSec.<p>
+	 * 
+	 * False means the element wasn't displayed once the page looked quiet, not that it never will be.  Requests started before the framework began counting
+	 * (Ex: by a click, unless browser.startCountingRequests() was called before it) and requests a page delays (Ex: debounced searches) aren't seen,
+	 * so the page can look quiet while the response that would change the answer is still on its way.
+	 * Call browser.startCountingRequests() before the action being checked.
+	 * Drivers that can't run async scripts wait up-to the whole maxTimeInSec, like isDisplayed(locator, maxTimeInSec).
+	 * 
+	 * @param locator
+	 * @param maxTimeInSec - Waits up-to this much time.  Continues the test as soon as the answer is known.
+	 * @return
+	 */
+	public boolean isDisplayedOnceSettled(final By locator, int maxTimeInSec) {
+		return isDisplayedOnceSettled(locator, WaitBudget.ofSeconds(maxTimeInSec));
+	}
+	public boolean isDisplayedOnceSettled(final By locator, WaitBudget waitBudget) {
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("isDisplayedOnceSettled", pageName, locator)) {
+			return isTrueOncePageIsSettled(locator, waitBudget, getExpectedConditionForIsAtLeastOneElementDisplayed(locator));
 		}
-		return isDisplayedFlag;
 	}
 	
 
@@ -173,21 +327,30 @@ public class SeleniumActionMethods {
 	 * @return
 	 */
 	public boolean isEnabled(final By locator, int maxTimeInSec) {
-		Wait<WebDriver> wait = fluentWaitGenerator.getFluentWait(driver, maxTimeInSec);
-		boolean isEnabledFlag;
-		try {
-			isEnabledFlag = wait.until(getAtLeastOneElementIsEnabledFunction(locator));
-		} catch (TimeoutException e) {
-			isEnabledFlag = false;
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("isEnabled", pageName, locator)) {
+			return isTrueWithinWait(getWait(locator, maxTimeInSec), getAtLeastOneElementIsEnabledFunction(locator));
+		}
+	}
+	/**
+	 * Same as isEnabled(locator, maxTimeInSec), waiting up-to whatever is left of the waitBudget instead.
+	 * @param locator
+	 * @param waitBudget
+	 * @return
+	 */
+	public boolean isEnabled(final By locator, WaitBudget waitBudget) {
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("isEnabled", pageName, locator)) {
+			return isTrueWithinWait(getWait(locator, waitBudget), getAtLeastOneElementIsEnabledFunction(locator));
 		}
-		return isEnabledFlag;
 	}
 
 	protected Function<WebDriver, Boolean> getAtLeastOneElementIsEnabledFunction(final By locator) {
-		return getBooleanFunction(isAtLeastOneElementEnabled(locator, driver));
+		return x -> isAtLeastOneElementEnabled(locator, driver);
 	}
 	protected  Boolean isAtLeastOneElementEnabled(final By locator, final WebDriver driver) {
 		List<WebElement> allElementsFound = driver.findElements(locator);
+		if(stateEvaluator.canEvaluate() && !allElementsFound.isEmpty()) {
+			return stateEvaluator.evaluate(allElementsFound).indexOfFirstEnabled() >= 0;
+		}
 		for (WebElement webElement : allElementsFound) {
 			if(webElement.isEnabled()){
 				return true;
@@ -205,14 +368,34 @@ public class SeleniumActionMethods {
 	 * @return
 	 */
 	public boolean isEnabled(final WebElement element, int maxTimeInSec) {
-		Wait<WebDriver> wait = fluentWaitGenerator.getFluentWait(driver, maxTimeInSec);
-		boolean isEnabledFlag;
-		try {
-			isEnabledFlag = wait.until(driver -> element.isEnabled());
-		} catch (TimeoutException e) {
-			isEnabledFlag = false;
+		return isTrueWithinWait(fluentWaitGenerator.getFluentWait(driver, maxTimeInSec), driver -> element.isEnabled());
+	}
+	public boolean isEnabled(final WebElement element, WaitBudget waitBudget) {
+		return isTrueWithinWait(fluentWaitGenerator.getFluentWait(driver, waitBudget), driver -> element.isEnabled());
+	}
+
+	/**
+	 * Meant for checking that an element isn't enabled, Ex: Assert.assertFalse(actions.isEnabledOnceSettled(submitButton, 10)).
+	 * Returns true as soon as the element is found and is enabled, and false as soon as the page looks quiet (loaded, no requests in flight
+	 * that the framework has seen, and no DOM changes for a moment) without it, instead of after the whole maxTimeInSec.<p>
+	 * 
+	 * False means the element wasn't enabled once the page looked quiet, not that it never will be.  Requests started before the framework began counting
+	 * (Ex: by a click, unless browser.startCountingRequests() was called before it) and requests a page delays (Ex: debounced searches) aren't seen,
+	 * so the page can look quiet while the response that would change the answer is still on its way.
+	 * Call browser.startCountingRequests() before the action being checked.
+	 * Drivers that can't run async scripts wait up-to the whole maxTimeInSec, like isEnabled(locator, maxTimeInSec).
+	 * 
+	 * @param locator
+	 * @param maxTimeInSec - Waits up-to this much time.  Continues the test as soon as the answer is known.
+	 * @return
+	 */
+	public boolean isEnabledOnceSettled(final By locator, int maxTimeInSec) {
+		return isEnabledOnceSettled(locator, WaitBudget.ofSeconds(maxTimeInSec));
+	}
+	public boolean isEnabledOnceSettled(final By locator, WaitBudget waitBudget) {
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("isEnabledOnceSettled", pageName, locator)) {
+			return isTrueOncePageIsSettled(locator, waitBudget, getAtLeastOneElementIsEnabledFunction(locator));
 		}
-		return isEnabledFlag;
 	}
 
 	
@@ -254,20 +437,29 @@ public class SeleniumActionMethods {
 	 * @return
 	 */
 	public boolean isSelected(final By locator, int maxTimeInSec) {
-		Wait<WebDriver> wait = fluentWaitGenerator.getFluentWait(driver, maxTimeInSec);
-		boolean isSelectedFlag;
-		try {
-			isSelectedFlag = wait.until(getAtLeastOneElementIsSelectedFunction(locator));
-		} catch (TimeoutException e) {
-			isSelectedFlag = false;
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("isSelected", pageName, locator)) {
+			return isTrueWithinWait(getWait(locator, maxTimeInSec), getAtLeastOneElementIsSelectedFunction(locator));
+		}
+	}
+	/**
+	 * Same as isSelected(locator, maxTimeInSec), waiting up-to whatever is left of the waitBudget instead.
+	 * @param locator
+	 * @param waitBudget
+	 * @return
+	 */
+	public boolean isSelected(final By locator, WaitBudget waitBudget) {
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("isSelected", pageName, locator)) {
+			return isTrueWithinWait(getWait(locator, waitBudget), getAtLeastOneElementIsSelectedFunction(locator));
 		}
-		return isSelectedFlag;
 	}
 	protected Function<WebDriver, Boolean> getAtLeastOneElementIsSelectedFunction(final By locator) {
-		return getBooleanFunction(isAtLeastOneElementSelected(locator, driver));
+		return x -> isAtLeastOneElementSelected(locator, driver);
 	}
 	protected Boolean isAtLeastOneElementSelected(final By locator, final WebDriver driver) {
 		List<WebElement> allElementsFound = driver.findElements(locator);
+		if(stateEvaluator.canEvaluate() && !allElementsFound.isEmpty()) {
+			return stateEvaluator.evaluate(allElementsFound).indexOfFirstSelected() >= 0;
+		}
 		for (WebElement webElement : allElementsFound) {
 			if(webElement.isSelected()){
 				return true;
@@ -285,14 +477,34 @@ public class SeleniumActionMethods {
 	 * @return
 	 */
 	public boolean isSelected(final WebElement element, int maxTimeInSec) {
-		Wait<WebDriver> wait = fluentWaitGenerator.getFluentWait(driver, maxTimeInSec);
-		boolean isSelectedFlag;
-		try {
-			isSelectedFlag = wait.until(driver -> element.isSelected());
-		} catch (TimeoutException e) {
-			isSelectedFlag = false;
+		return isTrueWithinWait(fluentWaitGenerator.getFluentWait(driver, maxTimeInSec), driver -> element.isSelected());
+	}
+	public boolean isSelected(final WebElement element, WaitBudget waitBudget) {
+		return isTrueWithinWait(fluentWaitGenerator.getFluentWait(driver, waitBudget), driver -> element.isSelected());
+	}
+
+	/**
+	 * Meant for checking that an element isn't selected, Ex: Assert.assertFalse(actions.isSelectedOnceSettled(optInCheckbox, 10)).
+	 * Returns true as soon as the element is found and is selected, and false as soon as the page looks quiet (loaded, no requests in flight
+	 * that the framework has seen, and no DOM changes for a moment) without it, instead of after the whole maxTimeInSec.<p>
+	 * 
+	 * False means the element wasn't selected once the page looked quiet, not that it never will be.  Requests started before the framework began counting
+	 * (Ex: by a click, unless browser.startCountingRequests() was called before it) and requests a page delays (Ex: debounced searches) aren't seen,
+	 * so the page can look quiet while the response that would change the answer is still on its way.
+	 * Call browser.startCountingRequests() before the action being checked.
+	 * Drivers that can't run async scripts wait up-to the whole maxTimeInSec, like isSelected(locator, maxTimeInSec).
+	 * 
+	 * @param locator
+	 * @param maxTimeInSec - Waits up-to this much time.  Continues the test as soon as the answer is known.
+	 * @return
+	 */
+	public boolean isSelectedOnceSettled(final By locator, int maxTimeInSec) {
+		return isSelectedOnceSettled(locator, WaitBudget.ofSeconds(maxTimeInSec));
+	}
+	public boolean isSelectedOnceSettled(final By locator, WaitBudget waitBudget) {
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("isSelectedOnceSettled", pageName, locator)) {
+			return isTrueOncePageIsSettled(locator, waitBudget, getAtLeastOneElementIsSelectedFunction(locator));
 		}
-		return isSelectedFlag;
 	}
 
 	
@@ -324,11 +536,27 @@ public class SeleniumActionMethods {
 	 * @param maxTimeInSec
 	 */
 	public void type(final String text, final By locator, final int maxTimeInSec) {
-		WebElement element = finder.getElement(locator, maxTimeInSec);
-		if(element!=null){
-			element.sendKeys(text);
-		} else {
-			errorHandler.throwOrLogError(driver, locator.toString(), getActionString(), pageName);
+		type(text, locator, finder.getWaitBudget(maxTimeInSec));
+	}
+	/**
+	 * Same as type(text, locator, maxTimeInSec), looking for the element for up-to whatever is left of the waitBudget instead.
+	 * @param text
+	 * @param locator
+	 * @param waitBudget
+	 */
+	public void type(final String text, final By locator, final WaitBudget waitBudget) {
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("type", pageName, locator)) {
+			WebElement element = finder.getElement(locator, waitBudget);
+			if(element!=null){
+				try {
+					element.sendKeys(text);
+				} catch (StaleElementReferenceException e) {
+					element = refindStaleElement(locator, waitBudget, e);
+					element.sendKeys(text);
+				}
+			} else {
+				errorHandler.throwOrLogError(driver, locator.toString(), getActionString(), pageName);
+			}
 		}
 	}
 
@@ -357,11 +585,26 @@ public class SeleniumActionMethods {
 	 * @param maxTimeInSec
 	 */
 	public void clear(final By locator, final int maxTimeInSec) {
-		WebElement element = finder.getElement(locator, maxTimeInSec);
-		if(element!=null){
-			element.clear();
-		} else {
-			errorHandler.throwOrLogError(driver, locator.toString(), getActionString(), pageName);
+		clear(locator, finder.getWaitBudget(maxTimeInSec));
+	}
+	/**
+	 * Same as clear(locator, maxTimeInSec), looking for the element for up-to whatever is left of the waitBudget instead.
+	 * @param locator
+	 * @param waitBudget
+	 */
+	public void clear(final By locator, final WaitBudget waitBudget) {
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("clear", pageName, locator)) {
+			WebElement element = finder.getElement(locator, waitBudget);
+			if(element!=null){
+				try {
+					element.clear();
+				} catch (StaleElementReferenceException e) {
+					element = refindStaleElement(locator, waitBudget, e);
+					element.clear();
+				}
+			} else {
+				errorHandler.throwOrLogError(driver, locator.toString(), getActionString(), pageName);
+			}
 		}
 	}
 
@@ -390,11 +633,26 @@ public class SeleniumActionMethods {
 	 * @param maxTimeInSec
 	 */
 	public void click(By locator, int maxTimeInSec) {
-		WebElement element = finder.getElement(locator, maxTimeInSec);
-		if(element!=null){
-			element.click();
-		} else {
-			errorHandler.throwOrLogError(driver, locator.toString(), getActionString(), pageName);
+		click(locator, finder.getWaitBudget(maxTimeInSec));
+	}
+	/**
+	 * Same as click(locator, maxTimeInSec), looking for the element for up-to whatever is left of the waitBudget instead.
+	 * @param locator
+	 * @param waitBudget
+	 */
+	public void click(By locator, WaitBudget waitBudget) {
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("click", pageName, locator)) {
+			WebElement element = finder.getElement(locator, waitBudget);
+			if(element!=null){
+				try {
+					element.click();
+				} catch (StaleElementReferenceException e) {
+					element = refindStaleElement(locator, waitBudget, e);
+					element.click();
+				}
+			} else {
+				errorHandler.throwOrLogError(driver, locator.toString(), getActionString(), pageName);
+			}
 		}
 	}
 
@@ -409,12 +667,14 @@ public class SeleniumActionMethods {
 	 * @return a single string of the contents of the first matched element.
 	 */	
 	public String getText(final By locator) {
-		WebElement element = finder.getElement(locator);
-		if(element!=null){
-			return element.getText();
-		} else {
-			errorHandler.throwOrLogError(driver, locator.toString(), getActionString(), pageName);
-			return "";
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("getText", pageName, locator)) {
+			WebElement element = finder.getElement(locator);
+			if(element!=null){
+				return element.getText();
+			} else {
+				errorHandler.throwOrLogError(driver, locator.toString(), getActionString(), pageName);
+				return "";
+			}
 		}
 	}
 	public String getText(final WebElement element) {
@@ -434,31 +694,223 @@ public class SeleniumActionMethods {
 	 * @return a list of strings for the contents of each of the matches.
 	 */
 	public List<String> getAllTexts(final By locator) {
-		List<WebElement> allElements = finder.getElements(locator);
-		List<String> allTexts = new ArrayList<String>();
-		for (WebElement element : allElements) {
-			allTexts.add(getText(element));
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("getAllTexts", pageName, locator)) {
+			List<WebElement> allElements = finder.getElements(locator);
+			List<String> allTexts = new ArrayList<String>();
+			for (WebElement element : allElements) {
+				allTexts.add(getText(element));
+			}
+			return allTexts;
+		}
+	}
+	/**
+	 * The texts of the enabled elements matching the locator, like getAllTexts(locator), fetched from the browser a chunk at a time as the stream is used, instead of building the whole list first.
+	 * Only one chunk of texts is held at a time, and stopping early (Ex: filter(...).findFirst()) skips fetching the rest.<p>
+	 *
+	 * If the driver can't run scripts, or the locator is a custom By class, this reads the text of each element from finder.streamElements(locator) instead.
+	 * @param locator - the locator expected to have multiple matches, Ex: every row of a long grid.
+	 * @return
+	 */
+	public Stream<String> streamAllTexts(final By locator) {
+		return streamAllTexts(locator, ElementChunkIterator.DEFAULT_CHUNK_SIZE);
+	}
+	/**
+	 * @param locator
+	 * @param chunkSize - How many texts to fetch per call to the browser.
+	 * @return
+	 */
+	public Stream<String> streamAllTexts(final By locator, int chunkSize) {
+		if(!ElementChunkIterator.canIterate(driver, locator)) {
+			return finder.streamElements(locator, chunkSize).map(WebElement::getText);
 		}
-		return allTexts;
+		return new ElementChunkIterator<String>(driver, locator, chunkSize, true, true).stream();
 	}
 
 	public String getAttribute(final By locator, final String attributeName) {
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("getAttribute", pageName, locator)) {
+			WebElement element = finder.getElement(locator);
+			if(element!=null){
+				return element.getAttribute(attributeName);
+			} else {
+				errorHandler.throwOrLogError(driver, locator.toString(), getActionString(), pageName);
+				return "";
+			}
+		}
+	}
+
+	/**
+	 * Reads many fields at once, Ex: every field of a form.  With a driver that can run scripts, every field is read in a single call
+	 * to the browser instead of a lookup plus a read per field.  Fields whose locators the script can't evaluate (custom By classes) are read one at a time.<p>
+	 * 
+	 * Each field is read from the first element its locator matches, if it's displayed and enabled, the same element getText(locator) reads.
+	 * The script reads the text the way getText() does for the common cases (lines trimmed, blank lines dropped, non-breaking spaces as spaces),
+	 * but from the element's innerText, so text in elements with white-space: pre can still differ.
+	 * Fields that aren't found are reported through the ErrorHandler, like getText(locator) does, and come back with isFound() false.
+	 * @param locatorsByName - The fields to read, by any name you want to give them.
+	 * @return The state of every field, by the same names, in the same order.
+	 */
+	public Map<String, FieldState> readFields(final Map<String, By> locatorsByName) {
+		return readFields(locatorsByName, null);
+	}
+	/**
+	 * Same as readFields(locatorsByName), also reading the attribute from every field.
+	 * @param locatorsByName
+	 * @param attributeName - Ex: "value"
+	 * @return
+	 */
+	public Map<String, FieldState> readFields(final Map<String, By> locatorsByName, final String attributeName) {
+		Map<String, FieldState> fieldStates = new LinkedHashMap<String, FieldState>();
+		List<String> scriptedNames = new ArrayList<String>();
+		List<List<String>> scriptedLocators = new ArrayList<List<String>>();
+		if(driver instanceof JavascriptExecutor) {
+			for (Map.Entry<String, By> field : locatorsByName.entrySet()) {
+				if(SeleniumHelperUtil.canFindWithJavascript(field.getValue())) {
+					scriptedNames.add(field.getKey());
+					scriptedLocators.add(Arrays.asList(SeleniumHelperUtil.getByPrefix(field.getValue()).name(), SeleniumHelperUtil.getByExpression(field.getValue())));
+				}
+			}
+		}
+		Map<String, Object> scriptResults = new HashMap<String, Object>();
+		if(!scriptedNames.isEmpty()) {
+			List<?> results = (List<?>) ((JavascriptExecutor) driver).executeScript(JS_READ_FIELDS, scriptedLocators, attributeName);
+			for(int i = 0; i < scriptedNames.size(); i++) {
+				scriptResults.put(scriptedNames.get(i), results.get(i));
+			}
+		}
+		for (Map.Entry<String, By> field : locatorsByName.entrySet()) {
+			Object scriptResult = scriptResults.get(field.getKey());
+			FieldState fieldState;
+			if(!scriptResults.containsKey(field.getKey()) || FIELD_NEEDS_FALLBACK.equals(scriptResult)) {
+				fieldState = readField(field.getValue(), attributeName);
+			} else {
+				fieldState = FieldState.fromScriptEntry(scriptResult);
+			}
+			if(!fieldState.isFound()) {
+				errorHandler.throwOrLogError(driver, field.getValue().toString(), getActionString(), pageName);
+			}
+			fieldStates.put(field.getKey(), fieldState);
+		}
+		return fieldStates;
+	}
+	private FieldState readField(final By locator, final String attributeName) {
 		WebElement element = finder.getElement(locator);
-		if(element!=null){
-			return element.getAttribute(attributeName);
-		} else {
-			errorHandler.throwOrLogError(driver, locator.toString(), getActionString(), pageName);
-			return "";
+		if(element == null) {
+			return FieldState.NOT_FOUND;
+		}
+		//getElement() only returns displayed and enabled elements.
+		int flags = ElementStates.DISPLAYED | ElementStates.ENABLED | (element.isSelected() ? ElementStates.SELECTED : 0);
+		return new FieldState(true, flags, element.getText(), attributeName == null ? null : element.getAttribute(attributeName));
+	}
+
+	/**
+	 * @param locatorsByName
+	 * @return The text of every field (see readFields()), by the same names, in the same order.  "" for fields that aren't found.
+	 */
+	public Map<String, String> getTexts(final Map<String, By> locatorsByName) {
+		Map<String, String> texts = new LinkedHashMap<String, String>();
+		for (Map.Entry<String, FieldState> field : readFields(locatorsByName).entrySet()) {
+			texts.put(field.getKey(), field.getValue().getText());
+		}
+		return texts;
+	}
+	/**
+	 * @param locatorsByName
+	 * @param attributeName
+	 * @return The attribute of every field (see readFields()), by the same names, in the same order.  "" for fields that aren't found, like getAttribute(locator, attributeName).
+	 */
+	public Map<String, String> getAttributes(final Map<String, By> locatorsByName, final String attributeName) {
+		Map<String, String> attributes = new LinkedHashMap<String, String>();
+		for (Map.Entry<String, FieldState> field : readFields(locatorsByName, attributeName).entrySet()) {
+			attributes.put(field.getKey(), field.getValue().isFound() ? field.getValue().getAttribute() : "");
+		}
+		return attributes;
+	}
+
+	/**
+	 * Types every value into its field, in order, like calling type(value, locator) for each one.  With a driver that can run scripts,
+	 * every field is found in a single call to the browser first, instead of one lookup per field.
+	 * Each field is its locator's first element, if it's displayed and enabled, the same element type(value, locator) types into.
+	 * Fields that can't be found or typed into don't stop the rest of the form from being filled.  They are reported through the ErrorHandler once every field has been tried:
+	 * each one is logged, and then with failIfElementNotFound=true, one CouldNotTakeActionOnElementException names all of them.
+	 * @param valuesByLocator - The value for each field, in the order to fill them in, Ex: a LinkedHashMap.
+	 * @return The locators of the fields that couldn't be filled.  Empty if every field was.
+	 */
+	public List<By> fillForm(final Map<By, String> valuesByLocator) {
+		return fillForm(valuesByLocator, false);
+	}
+	/**
+	 * Same as fillForm(valuesByLocator), optionally setting the values with a script instead of typing them.<p>
+	 * 
+	 * With setValuesWithScript true, text inputs and textareas that aren't read-only have their value set (replacing what was there) and get input and change events,
+	 * all in the same single call that finds them.  Other fields, like selects and checkboxes, are still typed into.
+	 * Pages that listen for key events won't see any for the fields set by script.
+	 * @param valuesByLocator
+	 * @param setValuesWithScript
+	 * @return The locators of the fields that couldn't be filled.  Empty if every field was.
+	 */
+	public List<By> fillForm(final Map<By, String> valuesByLocator, final boolean setValuesWithScript) {
+		Map<By, Object> scriptResults = new HashMap<By, Object>();
+		if(driver instanceof JavascriptExecutor) {
+			List<By> scriptedLocators = new ArrayList<By>();
+			List<List<String>> scriptedFields = new ArrayList<List<String>>();
+			List<String> scriptedValues = new ArrayList<String>();
+			for (Map.Entry<By, String> field : valuesByLocator.entrySet()) {
+				if(SeleniumHelperUtil.canFindWithJavascript(field.getKey())) {
+					scriptedLocators.add(field.getKey());
+					scriptedFields.add(Arrays.asList(SeleniumHelperUtil.getByPrefix(field.getKey()).name(), SeleniumHelperUtil.getByExpression(field.getKey())));
+					scriptedValues.add(field.getValue());
+				}
+			}
+			if(!scriptedLocators.isEmpty()) {
+				List<?> results = (List<?>) ((JavascriptExecutor) driver).executeScript(JS_FILL_FIELDS, scriptedFields, scriptedValues, setValuesWithScript);
+				for(int i = 0; i < scriptedLocators.size(); i++) {
+					scriptResults.put(scriptedLocators.get(i), results.get(i));
+				}
+			}
+		}
+		List<By> unfilledLocators = new ArrayList<By>();
+		for (Map.Entry<By, String> field : valuesByLocator.entrySet()) {
+			Object scriptResult = scriptResults.get(field.getKey());
+			WebElement element;
+			if(!scriptResults.containsKey(field.getKey()) || FIELD_NEEDS_FALLBACK.equals(scriptResult)) {
+				element = finder.getElement(field.getKey());
+			} else if(Boolean.TRUE.equals(scriptResult)) {
+				continue;
+			} else {
+				element = (WebElement) scriptResult;
+			}
+			if(element == null || !typeWithoutFailing(field.getValue(), element)) {
+				unfilledLocators.add(field.getKey());
+			}
+		}
+		if(!unfilledLocators.isEmpty()) {
+			List<String> unfilledDescriptions = new ArrayList<String>();
+			for (By unfilledLocator : unfilledLocators) {
+				unfilledDescriptions.add(unfilledLocator.toString());
+			}
+			errorHandler.throwOrLogErrors(driver, unfilledDescriptions, getActionString(), pageName);
+		}
+		return unfilledLocators;
+	}
+	private boolean typeWithoutFailing(final String text, final WebElement element) {
+		try {
+			element.sendKeys(text);
+			return true;
+		} catch (WebDriverException e) {
+			Logger.getAnonymousLogger().log(Level.WARNING, "Could not type into: " + element + ".  Error details: " + e.getMessage());
+			return false;
 		}
 	}
 
 	public void moveCursorToElement(final By locator) {
-		WebElement element = finder.getElement(locator);
-		if(element!=null){
-			Actions action = new Actions(driver);
-			action.moveToElement(element).build().perform();
-		} else {
-			errorHandler.throwOrLogError(driver, locator.toString(), getActionString(), pageName);
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("moveCursorToElement", pageName, locator)) {
+			WebElement element = finder.getElement(locator);
+			if(element!=null){
+				Actions action = new Actions(driver);
+				action.moveToElement(element).build().perform();
+			} else {
+				errorHandler.throwOrLogError(driver, locator.toString(), getActionString(), pageName);
+			}
 		}
 	}
 	public void moveCursorToElement(final WebElement element) {
@@ -492,52 +944,122 @@ public class SeleniumActionMethods {
 		jse.executeScript("scroll(-" + width*percentOfPageWidth+ ", 0);");
 	}
 
+	/**
+	 * Reads every row of a virtualized list or grid (one that only renders the rows in view), which getAllTexts() alone would miss.
+	 * Scrolls the container down most of its height at a time, reading the rows rendered at each position in the same call, and gives each new row to the rowConsumer right away.
+	 * Rows are de-duplicated by the text of their key element (rows without one are keyed by their text, and logged).
+	 * The harvest stops once a scroll doesn't move the container and no new rows appear within a second, or after SELENIUM_MAX_WAIT.
+	 * The driver has to be a JavascriptExecutor.
+	 * @param containerLocator - The scrolling element, or null to scroll the page.
+	 * @param rowLocator - Finds the rendered rows below the container, Ex: By.cssSelector("[role='row']").
+	 * @param keyLocator - Finds the element below each row that identifies it, Ex: an ID column.  Null to identify rows by their whole text.
+	 * @param rowConsumer
+	 * @return The number of rows harvested.
+	 */
+	public int harvestRows(final By containerLocator, final By rowLocator, final By keyLocator, final Consumer<HarvestedRow> rowConsumer) {
+		return harvestRows(containerLocator, rowLocator, keyLocator, rowConsumer, VirtualizedListHarvester.DEFAULT_SETTLE_TIME_IN_MILLISECONDS);
+	}
+	/**
+	 * Same as harvestRows(containerLocator, rowLocator, keyLocator, rowConsumer), waiting up-to settleTimeInMillis for new rows after a scroll that found none.
+	 * Lists that load more rows when scrolled to the bottom may need longer.
+	 * @param containerLocator
+	 * @param rowLocator
+	 * @param keyLocator
+	 * @param rowConsumer
+	 * @param settleTimeInMillis
+	 * @return The number of rows harvested, or 0 if the container wasn't found.
+	 */
+	public int harvestRows(final By containerLocator, final By rowLocator, final By keyLocator, final Consumer<HarvestedRow> rowConsumer, long settleTimeInMillis) {
+		return harvestRows(containerLocator, rowLocator, keyLocator, rowConsumer, settleTimeInMillis,
+				WaitBudget.ofSeconds(FrameworkContext.current().getConfiguration().getMaxWaitInSeconds()));
+	}
+	/**
+	 * Same as harvestRows(containerLocator, rowLocator, keyLocator, rowConsumer, settleTimeInMillis), stopping once the budget runs out, Ex: for lists too long to read within SELENIUM_MAX_WAIT.
+	 * The rows read before the budget runs out are kept (and a warning is logged).
+	 * @param containerLocator
+	 * @param rowLocator
+	 * @param keyLocator
+	 * @param rowConsumer
+	 * @param settleTimeInMillis
+	 * @param budget - How long the whole harvest can take.
+	 * @return The number of rows harvested, or 0 if the container wasn't found.
+	 */
+	public int harvestRows(final By containerLocator, final By rowLocator, final By keyLocator, final Consumer<HarvestedRow> rowConsumer, long settleTimeInMillis, WaitBudget budget) {
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("harvestRows", pageName, containerLocator, rowLocator)) {
+			if(!VirtualizedListHarvester.canHarvest(driver)) {
+				throw new IllegalStateException("harvestRows() runs JavaScript in the browser, but the driver can't: " + driver.getClass().getName());
+			}
+			if(!VirtualizedListHarvester.canHarvest(containerLocator, rowLocator, keyLocator)) {
+				throw new IllegalArgumentException("harvestRows() can only use the standard Selenium By locators, but was given: " +
+						containerLocator + ", " + rowLocator + ", " + keyLocator);
+			}
+			int harvestedRowCount = new VirtualizedListHarvester(driver, fluentWaitGenerator, containerLocator, rowLocator, keyLocator)
+					.harvest(rowConsumer, settleTimeInMillis, budget);
+			if(harvestedRowCount < 0) {
+				errorHandler.throwOrLogError(driver, String.valueOf(containerLocator), getActionString(), pageName);
+				return 0;
+			}
+			return harvestedRowCount;
+		}
+	}
+
 	/**
 	 * Typically used for debugging test cases.
 	 * Will highlight the element found from the locator.
+	 * Does nothing if the SELENIUM_HIGHLIGHT_ELEMENTS framework property is false, Ex: in CI.
 	 * @param locator
-	 * @param durationInSecToHighlight - Time in seconds to pause and highlight the element before continuing the test case.
+	 * @param durationInSecToHighlight - Time in seconds to keep the element highlighted.  The test continues right away.
 	 */
 	public void highlightElement(final By locator, final double durationInSecToHighlight) {
-		if(finder.getElement(locator) != null) {
-			highlightElement(finder.getElement(locator), durationInSecToHighlight);
-		} else {
-			errorHandler.throwOrLogError(driver, locator.toString(), getActionString(), pageName);
+		if(!highlightElements) {
+			return;
+		}
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("highlightElement", pageName, locator)) {
+			WebElement element = finder.getElement(locator);
+			if(element != null) {
+				highlightElement(element, durationInSecToHighlight);
+			} else {
+				errorHandler.throwOrLogError(driver, locator.toString(), getActionString(), pageName);
+			}
 		}
 	}
 	/**
 	 * Typically used for debugging test cases.
-	 * Will highlight the element.
+	 * Will highlight the element, in a single call to the browser.  The browser puts the element's style back once the duration is up,
+	 * so the test isn't paused while the element is highlighted.
+	 * Does nothing if the SELENIUM_HIGHLIGHT_ELEMENTS framework property is false, Ex: in CI.
 	 * @param element
-	 * @param durationInSecToHighlight - Time in seconds to pause and highlight the element before continuing the test case.
+	 * @param durationInSecToHighlight - Time in seconds to keep the element highlighted.  0 or less leaves it highlighted.
 	 */
 	public void highlightElement(final WebElement element, final double durationInSecToHighlight){
+		if(!highlightElements) {
+			return;
+		}
 		if(element!=null){
-			String original_style = element.getAttribute(STYLE);
 			JavascriptExecutor js = (JavascriptExecutor) driver;
-			js.executeScript(
-					JS_SET_ATTRIBUTE_COMMAND,
-					element,
-					STYLE,
-					JS_HIGHLIGHTED_STYLE);
-			if (durationInSecToHighlight > 0) {
-				try {
-					Thread.sleep((long) (durationInSecToHighlight * 1000));
-				} catch (InterruptedException e) {
-					Logger.getAnonymousLogger().log(Level.SEVERE, "Can not sleep correctly when highlighting an element.  Error details:");
-					Logger.getAnonymousLogger().log(Level.SEVERE, e.getMessage());
-				}
-				js.executeScript(
-						JS_SET_ATTRIBUTE_COMMAND,
-						element,
-						STYLE,
-						original_style);
-			}
+			js.executeScript(JS_HIGHLIGHT, element, JS_HIGHLIGHTED_STYLE, (long) (durationInSecToHighlight * 1000));
 		} else {
 			errorHandler.throwOrLogError(driver, ELEMENT_PASSED_INTO_METHOD, getActionString(), pageName);
 		}
 	}
 	
+	/**
+	 * The finder's element cache can hand back an element that goes stale before it's used.  Looks it up again once.
+	 * @param locator
+	 * @param maxTimeInSec
+	 * @param staleException - Thrown again if the element wasn't cached, or can't be found again.
+	 * @return
+	 */
+	private WebElement refindStaleElement(By locator, WaitBudget waitBudget, StaleElementReferenceException staleException) {
+		return refoundOrThrow(finder.refindStaleElement(locator, waitBudget), staleException);
+	}
+	private WebElement refoundOrThrow(WebElement element, StaleElementReferenceException staleException) {
+		if(element == null) {
+			throw staleException;
+		}
+		return element;
+	}
+
 	/**
 	 * Used by the framework only.  Used to print more clear error messages.
 	 * @return
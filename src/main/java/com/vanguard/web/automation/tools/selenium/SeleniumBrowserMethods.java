@@ -4,6 +4,7 @@ import org.openqa.selenium.Dimension;
 import org.openqa.selenium.WebDriver;
 
 import com.vanguard.web.selenium.exceptions.NullWebDriverException;
+import com.vanguard.web.selenium.properties.FrameworkContext;
 
 
 
@@ -31,6 +32,41 @@ public class SeleniumBrowserMethods {
 	}
 	public void visit(final String url) {
 		driver.get(url);
+		ElementCache.invalidate(driver);
+	}
+	/**
+	 * Waits until the page has finished loading, has no fetch or XMLHttpRequest calls in flight, and has been quiet for a moment.
+	 * Returns as soon as it is, instead of after a worst-case wait.
+	 * Requests the page started before the framework's request counter was added to it (on the first call in each page) aren't counted until they finish,
+	 * so ready means the page looks quiet, not that it won't change.
+	 * @return true if the page is ready, false if it wasn't ready within SELENIUM_MAX_WAIT or the driver can't tell.
+	 */
+	public boolean waitForPageToBeReady() {
+		return waitForPageToBeReady(WaitBudget.ofSeconds(FrameworkContext.current().getConfiguration().getMaxWaitInSeconds()));
+	}
+	/**
+	 * Starts counting the page's fetch and XMLHttpRequest calls now, without waiting.  Call it before an action that starts requests,
+	 * Ex: before clicking submit, so a later waitForPageToBeReady() or actions.isDisplayedOnceSettled() knows about the requests the click starts.
+	 * Otherwise the requests are only counted if they start after the first of those calls.
+	 * @return false if the driver can't run scripts, so nothing is counted.
+	 */
+	public boolean startCountingRequests() {
+		return new PageReadinessDetector(driver, PageReadinessDetector.DEFAULT_QUIET_PERIOD_IN_MILLISECONDS).installRequestCounter();
+	}
+	/**
+	 * @param budget
+	 * @return true if the page is ready, false if it wasn't ready before the budget ran out or the driver can't tell.
+	 */
+	public boolean waitForPageToBeReady(WaitBudget budget) {
+		return waitForPageToBeReady(budget, PageReadinessDetector.DEFAULT_QUIET_PERIOD_IN_MILLISECONDS);
+	}
+	/**
+	 * @param budget
+	 * @param quietPeriodInMillis - How long nothing can be loaded and the DOM can't change before the page counts as ready.
+	 * @return true if the page is ready, false if it wasn't ready before the budget ran out or the driver can't tell.
+	 */
+	public boolean waitForPageToBeReady(WaitBudget budget, long quietPeriodInMillis) {
+		return new PageReadinessDetector(driver, quietPeriodInMillis).waitUntilReady(budget);
 	}
 	public String getTitle() {
 		return driver.getTitle();
@@ -38,6 +74,7 @@ public class SeleniumBrowserMethods {
 	
 	public void navigateBack() {
 		driver.navigate().back();
+		ElementCache.invalidate(driver);
 	}
 	
 	//TODO: Add rest of the browser options.  The currently implemented methods should give people 90+% of the functionality needed.
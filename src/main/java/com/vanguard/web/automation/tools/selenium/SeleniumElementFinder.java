@@ -1,36 +1,91 @@
 package com.vanguard.web.automation.tools.selenium;
 
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.Wait;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
-import com.vanguard.web.selenium.properties.PropertiesManager;
+import com.vanguard.web.automation.tools.selenium.MutationObserverWait.DomCondition;
+
+import com.vanguard.web.selenium.properties.FrameworkConfiguration;
+import com.vanguard.web.selenium.properties.FrameworkContext;
 
 /**
  * Contains all the ways you can find a WebElement within the framework.
  * All methods are overloaded to take a maxTimeInSec which will wait UP-TO that much time to find the element,
  * or you can remove that input and it will attempt to find the element (or fail) immediately.
+ * They're also overloaded to take a WaitBudget instead, for waits shorter than a second or a budget shared across several lookups.
  * 
  */
 public class SeleniumElementFinder {
 
-	protected static final String MAX_WAIT_SYSTEM_PROPERTY = "SELENIUM_MAX_WAIT";
-	private static final int ABSOLUTE_MAX_WAIT_TIME_SECONDS = PropertiesManager.getFrameworkProperty(MAX_WAIT_SYSTEM_PROPERTY) == null ? 90 : 
-		Integer.valueOf(PropertiesManager.getFrameworkProperties().getProperty(MAX_WAIT_SYSTEM_PROPERTY));
+	protected static final String MAX_WAIT_SYSTEM_PROPERTY = FrameworkConfiguration.MAX_WAIT_PROPERTY;
+	/* Finds the sub elements below the parent (arguments[0], or else the first element matching arguments[1] and arguments[2]) in one call.
+	 * Returns null until the parent is there (and clickable, if arguments[5] is true), otherwise [parent, sub elements, enabled sub elements]. */
+	static final String JS_FIND_PARENT_AND_SUB_ELEMENTS = ElementStateEvaluator.JS_STATE_FUNCTIONS + SeleniumHelperUtil.JS_FIND_FUNCTIONS +
+			"var parent = arguments[0] || __safFind(null, arguments[1], arguments[2])[0];" +
+			"if (!parent || (arguments[5] && !(__safDisplayed(parent) && __safEnabled(parent)))) { return null; }" +
+			"var subElements = __safFind(parent, arguments[3], arguments[4]), enabledSubElements = [];" +
+			"for (var i = 0; i < subElements.length; i++) { if (__safEnabled(subElements[i])) { enabledSubElements.push(subElements[i]); } }" +
+			"return [parent, subElements, enabledSubElements];";
+	/* Checks each locator in arguments[0] ([how, what] pairs) in order.  Returns [index, element] for the first one with a displayed and enabled element, or null. */
+	static final String JS_FIND_FIRST_MATCH = ElementStateEvaluator.JS_STATE_FUNCTIONS + SeleniumHelperUtil.JS_FIND_FUNCTIONS +
+			"var locators = arguments[0];" +
+			"for (var i = 0; i < locators.length; i++) {" +
+			"  var found = __safFind(null, locators[i][0], locators[i][1]);" +
+			"  for (var j = 0; j < found.length; j++) {" +
+			"    if (__safDisplayed(found[j]) && __safEnabled(found[j])) { return [i, found[j]]; }" +
+			"  }" +
+			"}" +
+			"return null;";
 
 	private WebDriver driver;
+	private ElementStateEvaluator stateEvaluator;
+	private FluentWaitGenerator fluentWaitGenerator;
+	private String pageName;
+	private ElementCache elementCache;
+	private boolean optimizeLocators;
 	
 	public SeleniumElementFinder(WebDriver driver) {
+		this(driver, null);
+	}
+	/**
+	 * @param driver
+	 * @param pageName - The page object using this finder, used to label its CommandMetrics.
+	 */
+	public SeleniumElementFinder(WebDriver driver, String pageName) {
 		super();
 		this.driver = driver;
+		this.pageName = pageName;
+		this.stateEvaluator = new ElementStateEvaluator(driver);
+		this.fluentWaitGenerator = new FluentWaitGenerator();
+		int elementCacheSize = FrameworkContext.current().getConfiguration().getElementCacheSize();
+		this.elementCache = elementCacheSize > 0 ? new ElementCache(driver, elementCacheSize) : null;
+		this.optimizeLocators = FrameworkContext.current().getConfiguration().isOptimizeLocators();
+	}
+	//For Tests
+	protected void setFluentWaitGenerator(FluentWaitGenerator newFluentWaitGenerator) {
+		this.fluentWaitGenerator = newFluentWaitGenerator;
+	}
+	protected void setElementCache(ElementCache newElementCache) {
+		this.elementCache = newElementCache;
+	}
+	protected void setOptimizeLocators(boolean optimizeLocators) {
+		this.optimizeLocators = optimizeLocators;
 	}
 
 	
@@ -52,9 +107,63 @@ public class SeleniumElementFinder {
 	 * If no such element exists, null is returned.
 	 */
 	public WebElement getElement(final By locator, int maxTimeInSec) {
-		maxTimeInSec = getMaxWaitTimeWithValidationChecks(maxTimeInSec);
-		WebDriverWait wait = new WebDriverWait(driver, maxTimeInSec);
-		return  getElementIfClickableWithinWaitTime(locator, wait);
+		return getElement(locator, getWaitBudget(maxTimeInSec));
+	}
+	/**
+	 * Same as getElement(locator, maxTimeInSec), waiting up-to whatever is left of the waitBudget instead.
+	 * @param locator
+	 * @param waitBudget
+	 * @return
+	 */
+	public WebElement getElement(final By locator, WaitBudget waitBudget) {
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("getElement", pageName, locator)) {
+			WebElement cachedElement = getCachedElement(null, locator, ElementCache.Check.CLICKABLE);
+			if(cachedElement != null) {
+				return cachedElement;
+			}
+			By lookupLocator = optimizeLocator(locator);
+			Wait<WebDriver> wait = getWait(null, lookupLocator, DomCondition.CLICKABLE, getWaitBudgetWithValidationChecks(waitBudget));
+			return cacheElement(null, locator, (wait instanceof WebDriverWait ? getElementIfClickableWithinWaitTime(lookupLocator, (WebDriverWait) wait) : getElementIfClickableWithinWaitTime(lookupLocator, wait)));
+		}
+	}
+
+	/**
+	 * Get the WebElement with whichever of the chain's candidate locators finds it, without waiting any time for it to become enabled.
+	 * @param chain
+	 * @return The element found by the first candidate to find a clickable element currently on the page.
+	 * If no candidate finds one, null is returned.
+	 */
+	public WebElement getElement(final LocatorChain chain) {
+		return getElement(chain, 0);
+	}
+	/**
+	 * Get the WebElement with whichever of the chain's candidate locators finds it, by waiting up-to the maxTimeInSeconds for it to be both found and clickable.
+	 * All the candidates share the one wait, the ones that usually match fastest checked first, so a broken candidate doesn't cost a wait of its own.
+	 * @param chain
+	 * @param maxTimeInSec
+	 * @return The element found by the first candidate to find a clickable element within the maxTimeInSeconds to wait.
+	 * If no candidate finds one, null is returned.
+	 */
+	public WebElement getElement(final LocatorChain chain, int maxTimeInSec) {
+		return getElement(chain, getWaitBudget(maxTimeInSec));
+	}
+	/**
+	 * Same as getElement(chain, maxTimeInSec), waiting up-to whatever is left of the waitBudget instead.
+	 * @param chain
+	 * @param waitBudget
+	 * @return
+	 */
+	public WebElement getElement(final LocatorChain chain, WaitBudget waitBudget) {
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("getElement", pageName, chain.getName())) {
+			By[] rankedCandidates = chain.getRankedCandidates();
+			long startNanos = System.nanoTime();
+			FirstMatch match = getFirstMatchingElement(waitBudget, rankedCandidates);
+			if(match == null) {
+				return null;
+			}
+			chain.recordMatch(rankedCandidates, match.getIndex(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+			return match.getElement();
+		}
 	}
 
 	/**
@@ -75,9 +184,18 @@ public class SeleniumElementFinder {
 	 * If no such element exists, null is returned.
 	 */
 	public WebElement getElementPresentInDOM(final By locator, int maxTimeInSec) {
-		maxTimeInSec = getMaxWaitTimeWithValidationChecks(maxTimeInSec);
-		WebDriverWait wait = new WebDriverWait(driver, maxTimeInSec);
-		return getElementIfVisibleWithinWaitTime(locator, wait);
+		return getElementPresentInDOM(locator, getWaitBudget(maxTimeInSec));
+	}
+	public WebElement getElementPresentInDOM(final By locator, WaitBudget waitBudget) {
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("getElementPresentInDom", pageName, locator)) {
+			WebElement cachedElement = getCachedElement(null, locator, ElementCache.Check.ATTACHED);
+			if(cachedElement != null) {
+				return cachedElement;
+			}
+			By lookupLocator = optimizeLocator(locator);
+			Wait<WebDriver> wait = getWait(null, lookupLocator, DomCondition.PRESENT, getWaitBudgetWithValidationChecks(waitBudget));
+			return cacheElement(null, locator, (wait instanceof WebDriverWait ? getElementIfVisibleWithinWaitTime(lookupLocator, (WebDriverWait) wait) : getElementIfVisibleWithinWaitTime(lookupLocator, wait)));
+		}
 	}
 
 	public List<WebElement> getElements(final By locator) {
@@ -85,9 +203,14 @@ public class SeleniumElementFinder {
 	}
 
 	public List<WebElement> getElements(final By locator, int maxTimeInSec) {
-		maxTimeInSec = getMaxWaitTimeWithValidationChecks(maxTimeInSec);
-		WebDriverWait wait = new WebDriverWait(driver, maxTimeInSec);
-		return getAllElementsIfEnabledWithinWaitTime(locator, wait);
+		return getElements(locator, getWaitBudget(maxTimeInSec));
+	}
+	public List<WebElement> getElements(final By locator, WaitBudget waitBudget) {
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("getElements", pageName, locator)) {
+			By lookupLocator = optimizeLocator(locator);
+			Wait<WebDriver> wait = getWait(null, lookupLocator, DomCondition.CLICKABLE, getWaitBudgetWithValidationChecks(waitBudget));
+			return wait instanceof WebDriverWait ? getAllElementsIfEnabledWithinWaitTime(lookupLocator, (WebDriverWait) wait) : getAllElementsIfEnabledWithinWaitTime(lookupLocator, wait);
+		}
 	}
 
 	public List<WebElement> getElementsPresentInDom(final By locator) {
@@ -95,55 +218,217 @@ public class SeleniumElementFinder {
 	}
 
 	public List<WebElement> getElementsPresentInDom(final By locator, int maxTimeInSec) {
-		maxTimeInSec = getMaxWaitTimeWithValidationChecks(maxTimeInSec);
-		WebDriverWait wait = new WebDriverWait(driver, maxTimeInSec);
-		return getAllElementsIfVisisbleWithinWaitTime(locator, wait);
+		return getElementsPresentInDom(locator, getWaitBudget(maxTimeInSec));
+	}
+	public List<WebElement> getElementsPresentInDom(final By locator, WaitBudget waitBudget) {
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("getElementsPresentInDom", pageName, locator)) {
+			By lookupLocator = optimizeLocator(locator);
+			Wait<WebDriver> wait = getWait(null, lookupLocator, DomCondition.PRESENT, getWaitBudgetWithValidationChecks(waitBudget));
+			return wait instanceof WebDriverWait ? getAllElementsIfVisisbleWithinWaitTime(lookupLocator, (WebDriverWait) wait) : getAllElementsIfVisisbleWithinWaitTime(lookupLocator, wait);
+		}
+	}
+
+	/**
+	 * The enabled elements matching the locator, like getElements(locator), fetched from the browser a chunk at a time as the stream is used.
+	 * Useful for long lists and grids with thousands of rows: the first element is usable right away, only one chunk is held at a time,
+	 * and stopping early (Ex: findFirst(), limit() or anyMatch()) skips fetching the rest.<p>
+	 *
+	 * Doesn't wait for the elements.  If the driver can't run scripts, or the locator is a custom By class, this is getElements(locator).stream().
+	 * @param locator
+	 * @return
+	 */
+	public Stream<WebElement> streamElements(final By locator) {
+		return streamElements(locator, ElementChunkIterator.DEFAULT_CHUNK_SIZE);
+	}
+	/**
+	 * @param locator
+	 * @param chunkSize - How many elements to fetch per call to the browser.
+	 * @return
+	 */
+	public Stream<WebElement> streamElements(final By locator, int chunkSize) {
+		By lookupLocator = optimizeLocator(locator);
+		if(!ElementChunkIterator.canIterate(driver, lookupLocator)) {
+			return getElements(locator).stream();
+		}
+		return new ElementChunkIterator<WebElement>(driver, lookupLocator, chunkSize, true, false).stream();
+	}
+
+	/**
+	 * Same elements as getElementsPresentInDom(locator), fetched from the browser a chunk at a time as the stream is used.  See streamElements().
+	 * @param locator
+	 * @return
+	 */
+	public Stream<WebElement> streamElementsPresentInDom(final By locator) {
+		return streamElementsPresentInDom(locator, ElementChunkIterator.DEFAULT_CHUNK_SIZE);
+	}
+	public Stream<WebElement> streamElementsPresentInDom(final By locator, int chunkSize) {
+		By lookupLocator = optimizeLocator(locator);
+		if(!ElementChunkIterator.canIterate(driver, lookupLocator)) {
+			return getElementsPresentInDom(locator).stream();
+		}
+		return new ElementChunkIterator<WebElement>(driver, lookupLocator, chunkSize, false, false).stream();
+	}
+
+	/**
+	 * Waits on several locators at once, Ex: the page a form goes to when it's accepted, its error dialog, and its MFA prompt.
+	 * Every locator is checked on each poll (in one call to the browser when the driver can run scripts), so finding out which one shows up
+	 * costs one wait instead of one wait per locator.  If more than one matches on the same poll, the one passed in first wins.
+	 * @param maxTimeInSec
+	 * @param locators
+	 * @return The first locator found to have a clickable element, and that element.  If none of them do within the maxTimeInSec, null is returned.
+	 */
+	public FirstMatch getFirstMatchingElement(int maxTimeInSec, By... locators) {
+		return getFirstMatchingElement(getWaitBudget(maxTimeInSec), locators);
+	}
+	/**
+	 * Same as getFirstMatchingElement(maxTimeInSec, locators), waiting up-to whatever is left of the waitBudget instead.
+	 * @param waitBudget
+	 * @param locators
+	 * @return
+	 */
+	public FirstMatch getFirstMatchingElement(WaitBudget waitBudget, By... locators) {
+		if(locators.length == 0) {
+			throw new IllegalArgumentException("getFirstMatchingElement needs at least one locator");
+		}
+		String locatorsDescription = Arrays.toString(locators);
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("getFirstMatchingElement", pageName, locatorsDescription)) {
+			By[] lookupLocators = new By[locators.length];
+			boolean canFindInOneScript = driver instanceof JavascriptExecutor;
+			for (int i = 0; i < locators.length; i++) {
+				lookupLocators[i] = optimizeLocator(locators[i]);
+				canFindInOneScript = canFindInOneScript && SeleniumHelperUtil.canFindWithJavascript(lookupLocators[i]);
+			}
+			Wait<WebDriver> wait = getPollingWait(locatorsDescription, getWaitBudgetWithValidationChecks(waitBudget));
+			try {
+				return canFindInOneScript ? wait.until(webDriver -> findFirstMatchInOneScript(locators, lookupLocators)) :
+					wait.until(webDriver -> findFirstMatchStepByStep(locators, lookupLocators));
+			} catch (TimeoutException e) {
+				return null;
+			}
+		}
 	}
 
 	public WebElement getSubElement(By parentLocator, By subLocator) {
-		WebElement parent = getElement(parentLocator);
-		return getSubElement(parent, subLocator, 0);
+		return getSubElement(parentLocator, subLocator, 0);
 	}
+	/**
+	 * Waits up-to maxTimeInSec in total, for both the parent and the sub element.
+	 * @param parentLocator
+	 * @param subLocator
+	 * @param maxTimeInSec
+	 * @return
+	 */
 	public WebElement getSubElement(By parentLocator, By subLocator, int maxTimeInSec) {
-		Date start = new Date();
-		WebElement parent = getElement(parentLocator, maxTimeInSec);
-		Date mid = new Date();
-		return getSubElement(parent, subLocator, (int)(mid.getTime() - start.getTime()));
+		return getSubElement(parentLocator, subLocator, getWaitBudget(maxTimeInSec));
+	}
+	/**
+	 * Looks for the parent and then the sub element, both out of the same waitBudget.
+	 * @param parentLocator
+	 * @param subLocator
+	 * @param waitBudget
+	 * @return
+	 */
+	public WebElement getSubElement(By parentLocator, By subLocator, WaitBudget waitBudget) {
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("getSubElement", pageName, parentLocator, subLocator)) {
+			By lookupLocator = optimizeLocator(SeleniumHelperUtil.updateXPathIfNeededForSubElements(subLocator));
+			List<WebElement> enabledSubElements = findSubElementsInOneScript(null, parentLocator, lookupLocator, true, true, waitBudget);
+			if(enabledSubElements != null) {
+				return enabledSubElements.isEmpty() ? null : enabledSubElements.get(0);
+			}
+			WebElement parent = getElement(parentLocator, waitBudget);
+			return parent == null ? null : getSubElement(parent, subLocator, lookupLocator, waitBudget);
+		}
 	}
 	public WebElement getSubElement(WebElement parentElement, By subLocator) {
 		return getSubElement(parentElement, subLocator, 0);
 	}
 	public WebElement getSubElement(WebElement parentElement, By subLocator, int maxTimeInSec) {
-		if(parentElement == null){
-			return null;
+		return getSubElement(parentElement, subLocator, getWaitBudget(maxTimeInSec));
+	}
+	public WebElement getSubElement(WebElement parentElement, By subLocator, WaitBudget waitBudget) {
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("getSubElement", pageName, subLocator)) {
+			if(parentElement == null){
+				return null;
+			}
+			return getSubElement(parentElement, subLocator, optimizeLocator(SeleniumHelperUtil.updateXPathIfNeededForSubElements(subLocator)), waitBudget);
+		}
+	}
+	/**
+	 * @param parentElement
+	 * @param subLocator - As the caller passed it in, which is what the element is cached under.
+	 * @param lookupLocator - What to look the sub element up with.
+	 * @param waitBudget
+	 * @return
+	 */
+	private WebElement getSubElement(WebElement parentElement, By subLocator, By lookupLocator, WaitBudget waitBudget) {
+		WebElement cachedElement = getCachedElement(parentElement, subLocator, ElementCache.Check.ENABLED);
+		if(cachedElement != null) {
+			return cachedElement;
 		}
-		maxTimeInSec = getMaxWaitTimeWithValidationChecks(maxTimeInSec);		
-		subLocator = SeleniumHelperUtil.updateXPathIfNeededForSubElements(subLocator);
-		WebDriverWait wait = new WebDriverWait(driver, maxTimeInSec);
-		return getSubElementIfEnabledWithinWaitTime(parentElement, subLocator, wait);
+		List<WebElement> enabledSubElements = findSubElementsInOneScript(parentElement, null, lookupLocator, false, true, waitBudget);
+		if(enabledSubElements != null) {
+			return enabledSubElements.isEmpty() ? null : enabledSubElements.get(0);
+		}
+		Wait<WebDriver> wait = getWait(parentElement, lookupLocator, DomCondition.PRESENT, getWaitBudgetWithValidationChecks(waitBudget));
+		return cacheElement(parentElement, subLocator, (wait instanceof WebDriverWait ? getSubElementIfEnabledWithinWaitTime(parentElement, lookupLocator, (WebDriverWait) wait) : getSubElementIfEnabledWithinWaitTime(parentElement, lookupLocator, wait)));
 	}
 	
 	public WebElement getSubElementPresentInDom(By parentLocator, By subLocator) {
-		WebElement parent = getElementPresentInDOM(parentLocator, 0);
-		return getSubElementPresentInDom(parent, subLocator, 0);
+		return getSubElementPresentInDom(parentLocator, subLocator, 0);
 	}
+	/**
+	 * Waits up-to maxTimeInSec in total, for both the parent and the sub element.
+	 * @param parentLocator
+	 * @param subLocator
+	 * @param maxTimeInSec
+	 * @return
+	 */
 	public WebElement getSubElementPresentInDom(By parentLocator, By subLocator, int maxTimeInSec) {
-		Date start = new Date();
-		WebElement parent = getElementPresentInDOM(parentLocator, maxTimeInSec);
-		Date mid = new Date();
-		return getSubElementPresentInDom(parent, subLocator, getSecondsLeft(start.getTime(), mid.getTime(), maxTimeInSec));
+		return getSubElementPresentInDom(parentLocator, subLocator, getWaitBudget(maxTimeInSec));
+	}
+	public WebElement getSubElementPresentInDom(By parentLocator, By subLocator, WaitBudget waitBudget) {
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("getSubElementPresentInDom", pageName, parentLocator, subLocator)) {
+			By lookupLocator = optimizeLocator(SeleniumHelperUtil.updateXPathIfNeededForSubElements(subLocator));
+			List<WebElement> presentSubElements = findSubElementsInOneScript(null, parentLocator, lookupLocator, false, false, waitBudget);
+			if(presentSubElements != null) {
+				return presentSubElements.isEmpty() ? null : presentSubElements.get(0);
+			}
+			WebElement parent = getElementPresentInDOM(parentLocator, waitBudget);
+			return parent == null ? null : getSubElementPresentInDom(parent, subLocator, lookupLocator, waitBudget);
+		}
 	}
 	public WebElement getSubElementPresentInDom(WebElement parentElement, By subLocator) {
 		return getSubElementPresentInDom(parentElement, subLocator, 0);
 	}
 	public WebElement getSubElementPresentInDom(WebElement parentElement, By subLocator, int maxTimeInSec) {
-		if(parentElement == null){
-			return null;
+		return getSubElementPresentInDom(parentElement, subLocator, getWaitBudget(maxTimeInSec));
+	}
+	public WebElement getSubElementPresentInDom(WebElement parentElement, By subLocator, WaitBudget waitBudget) {
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("getSubElementPresentInDom", pageName, subLocator)) {
+			if(parentElement == null){
+				return null;
+			}
+			return getSubElementPresentInDom(parentElement, subLocator, optimizeLocator(SeleniumHelperUtil.updateXPathIfNeededForSubElements(subLocator)), waitBudget);
 		}
-		maxTimeInSec = getMaxWaitTimeWithValidationChecks(maxTimeInSec);	
-		subLocator = SeleniumHelperUtil.updateXPathIfNeededForSubElements(subLocator);
-		WebDriverWait wait = new WebDriverWait(driver, maxTimeInSec);
-		return getSubElementIfVisibleWithinWaitTime(parentElement, subLocator, wait);
+	}
+	/**
+	 * @param parentElement
+	 * @param subLocator - As the caller passed it in, which is what the element is cached under.
+	 * @param lookupLocator - What to look the sub element up with.
+	 * @param waitBudget
+	 * @return
+	 */
+	private WebElement getSubElementPresentInDom(WebElement parentElement, By subLocator, By lookupLocator, WaitBudget waitBudget) {
+		WebElement cachedElement = getCachedElement(parentElement, subLocator, ElementCache.Check.ATTACHED);
+		if(cachedElement != null) {
+			return cachedElement;
+		}
+		List<WebElement> presentSubElements = findSubElementsInOneScript(parentElement, null, lookupLocator, false, false, waitBudget);
+		if(presentSubElements != null) {
+			return presentSubElements.isEmpty() ? null : presentSubElements.get(0);
+		}
+		Wait<WebDriver> wait = getWait(parentElement, lookupLocator, DomCondition.PRESENT, getWaitBudgetWithValidationChecks(waitBudget));
+		return cacheElement(parentElement, subLocator, (wait instanceof WebDriverWait ? getSubElementIfVisibleWithinWaitTime(parentElement, lookupLocator, (WebDriverWait) wait) : getSubElementIfVisibleWithinWaitTime(parentElement, lookupLocator, wait)));
 	}
 
 	/**
@@ -168,20 +453,26 @@ public class SeleniumElementFinder {
 	 * than a "new ArrayList<WebElement>()" is returned.
 	 */
 	public List<WebElement> getSubElements(By parentLocator, By subLocator, int maxTimeInSec) {
-		Date start = new Date();
-		WebElement parentElement = getElement(parentLocator, maxTimeInSec);
-		List<WebElement> enabledSubElements;
-		subLocator = SeleniumHelperUtil.updateXPathIfNeededForSubElements(subLocator);
-		Date mid = new Date();
-		//Look for any subElement for up to the wait time.  
-		//Once at least 1 element is found and enabled, we'll look to get all that are at that time.
-		if(getSubElement(parentElement, subLocator, getSecondsLeft(start.getTime(), mid.getTime(), maxTimeInSec)) == null){
-			enabledSubElements = new ArrayList<WebElement>();
-		} else {
-			List<WebElement> allSubElements = parentElement.findElements(subLocator);
-			enabledSubElements = getAllEnabledElementsFromList(allSubElements);
-		}
-		return enabledSubElements;
+		return getSubElements(parentLocator, subLocator, getWaitBudget(maxTimeInSec));
+	}
+	public List<WebElement> getSubElements(By parentLocator, By subLocator, WaitBudget waitBudget) {
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("getSubElements", pageName, parentLocator, subLocator)) {
+			subLocator = optimizeLocator(SeleniumHelperUtil.updateXPathIfNeededForSubElements(subLocator));
+			List<WebElement> enabledSubElements = findSubElementsInOneScript(null, parentLocator, subLocator, true, true, waitBudget);
+			if(enabledSubElements != null) {
+				return enabledSubElements;
+			}
+			WebElement parentElement = getElement(parentLocator, waitBudget);
+			//Look for any subElement for up to the wait time.  
+			//Once at least 1 element is found and enabled, we'll look to get all that are at that time.
+			if(getSubElement(parentElement, subLocator, waitBudget) == null){
+				enabledSubElements = new ArrayList<WebElement>();
+			} else {
+				List<WebElement> allSubElements = parentElement.findElements(subLocator);
+				enabledSubElements = getAllEnabledElementsFromList(allSubElements);
+			}
+			return enabledSubElements;
+		}
 	}
 	/**
 	 * Get all subElements that are currently clickable on the page.
@@ -205,17 +496,25 @@ public class SeleniumElementFinder {
 	 * than a "new ArrayList<WebElement>()" is returned.
 	 */
 	public List<WebElement> getSubElements(WebElement parentElement, By subLocator, int maxTimeInSec){
-		List<WebElement> enabledSubElements;
-		subLocator = SeleniumHelperUtil.updateXPathIfNeededForSubElements(subLocator);
-		//Look for any subElement for up to the wait time.  
-		//Once at least 1 element is found and enabled, we'll look to get all that are at that time.
-		if(getSubElement(parentElement, subLocator, maxTimeInSec) == null){
-			enabledSubElements = new ArrayList<WebElement>();
-		} else {
-			List<WebElement> allSubElements = parentElement.findElements(subLocator);
-			enabledSubElements = getAllEnabledElementsFromList(allSubElements);
+		return getSubElements(parentElement, subLocator, getWaitBudget(maxTimeInSec));
+	}
+	public List<WebElement> getSubElements(WebElement parentElement, By subLocator, WaitBudget waitBudget){
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("getSubElements", pageName, subLocator)) {
+			subLocator = optimizeLocator(SeleniumHelperUtil.updateXPathIfNeededForSubElements(subLocator));
+			List<WebElement> enabledSubElements = findSubElementsInOneScript(parentElement, null, subLocator, false, true, waitBudget);
+			if(enabledSubElements != null) {
+				return enabledSubElements;
+			}
+			//Look for any subElement for up to the wait time.  
+			//Once at least 1 element is found and enabled, we'll look to get all that are at that time.
+			if(getSubElement(parentElement, subLocator, waitBudget) == null){
+				enabledSubElements = new ArrayList<WebElement>();
+			} else {
+				List<WebElement> allSubElements = parentElement.findElements(subLocator);
+				enabledSubElements = getAllEnabledElementsFromList(allSubElements);
+			}
+			return enabledSubElements;
 		}
-		return enabledSubElements;
 	}
 
 	
@@ -241,18 +540,24 @@ public class SeleniumElementFinder {
 	 * than a "new ArrayList<WebElement>()" is returned.
 	 */
 	public List<WebElement> getSubElementsPresentInDom(By parentLocator, By subLocator, int maxTimeInSec) {
-		Date start = new Date();
-		WebElement parentElement = getElement(parentLocator, maxTimeInSec);
-		List<WebElement> presentSubElements;
-		subLocator = SeleniumHelperUtil.updateXPathIfNeededForSubElements(subLocator);
-		Date mid = new Date();
-		//Look for any subElement for up to the wait time.  
-		//Once at least 1 element is found, we'll look to get all that are at that time.
-		if(getSubElementPresentInDom(parentElement, subLocator, getSecondsLeft(start.getTime(), mid.getTime(), maxTimeInSec)) == null){
-			presentSubElements = new ArrayList<WebElement>();
+		return getSubElementsPresentInDom(parentLocator, subLocator, getWaitBudget(maxTimeInSec));
+	}
+	public List<WebElement> getSubElementsPresentInDom(By parentLocator, By subLocator, WaitBudget waitBudget) {
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("getSubElementsPresentInDom", pageName, parentLocator, subLocator)) {
+			subLocator = optimizeLocator(SeleniumHelperUtil.updateXPathIfNeededForSubElements(subLocator));
+			List<WebElement> presentSubElements = findSubElementsInOneScript(null, parentLocator, subLocator, true, false, waitBudget);
+			if(presentSubElements != null) {
+				return presentSubElements;
+			}
+			WebElement parentElement = getElement(parentLocator, waitBudget);
+			//Look for any subElement for up to the wait time.  
+			//Once at least 1 element is found, we'll look to get all that are at that time.
+			if(getSubElementPresentInDom(parentElement, subLocator, waitBudget) == null){
+				presentSubElements = new ArrayList<WebElement>();
+			}
+			presentSubElements = parentElement.findElements(subLocator);
+			return presentSubElements;
 		}
-		presentSubElements = parentElement.findElements(subLocator);
-		return presentSubElements;
 	}
 	/**
 	 * Get all subElements that are currently present anywhere in the DOM (may be clickable or not).
@@ -276,30 +581,227 @@ public class SeleniumElementFinder {
 	 * than a "new ArrayList<WebElement>()" is returned.
 	 */
 	public List<WebElement> getSubElementsPresentInDom(WebElement parentElement, By subLocator, int maxTimeInSec) {
-		List<WebElement> presentSubElements;
-		subLocator = SeleniumHelperUtil.updateXPathIfNeededForSubElements(subLocator);
-		//Look for any subElement for up to the wait time.  
-		//Once at least 1 element is found, we'll look to get all that are at that time.
-		if(getSubElementPresentInDom(parentElement, subLocator, maxTimeInSec) == null){
-			presentSubElements = new ArrayList<WebElement>();
+		return getSubElementsPresentInDom(parentElement, subLocator, getWaitBudget(maxTimeInSec));
+	}
+	public List<WebElement> getSubElementsPresentInDom(WebElement parentElement, By subLocator, WaitBudget waitBudget) {
+		try (CommandMetrics.MethodScope scope = CommandMetrics.begin("getSubElementsPresentInDom", pageName, subLocator)) {
+			subLocator = optimizeLocator(SeleniumHelperUtil.updateXPathIfNeededForSubElements(subLocator));
+			List<WebElement> presentSubElements = findSubElementsInOneScript(parentElement, null, subLocator, false, false, waitBudget);
+			if(presentSubElements != null) {
+				return presentSubElements;
+			}
+			//Look for any subElement for up to the wait time.  
+			//Once at least 1 element is found, we'll look to get all that are at that time.
+			if(getSubElementPresentInDom(parentElement, subLocator, waitBudget) == null){
+				presentSubElements = new ArrayList<WebElement>();
+			}
+			presentSubElements = parentElement.findElements(subLocator);
+			return presentSubElements;
 		}
-		presentSubElements = parentElement.findElements(subLocator);
-		return presentSubElements;
 	}
 
 
 
 	
 	//NOTE: The following methods are helper methods for the framework only, and are NOT public.
+
+	/**
+	 * Used by the actions when an element they got from the element cache went stale before they could use it.
+	 * @param locator
+	 * @param waitBudget
+	 * @return The element looked up again, or null if there's no element cache (so the element wasn't cached) or it can't be found.
+	 */
+	protected WebElement refindStaleElement(By locator, WaitBudget waitBudget) {
+		if(elementCache == null) {
+			return null;
+		}
+		elementCache.remove(null, locator);
+		return getElement(locator, waitBudget);
+	}
+
+	protected WebElement getCachedElement(WebElement parentElement, By locator, ElementCache.Check check) {
+		return elementCache == null ? null : elementCache.get(parentElement, locator, check);
+	}
+
+	protected WebElement cacheElement(WebElement parentElement, By locator, WebElement element) {
+		if(elementCache != null) {
+			elementCache.put(parentElement, locator, element);
+		}
+		return element;
+	}
+
+	/**
+	 * @param locator
+	 * @return The faster locator from SeleniumHelperUtil.optimizeLocator() if SELENIUM_OPTIMIZE_LOCATORS is on, otherwise the locator as is.
+	 * Rewritten locators are added to the LocatorOptimizationReport.
+	 */
+	protected By optimizeLocator(By locator) {
+		if(!optimizeLocators || locator == null) {
+			return locator;
+		}
+		By optimizedLocator = SeleniumHelperUtil.optimizeLocator(locator);
+		if(!optimizedLocator.equals(locator)) {
+			LocatorOptimizationReport.shared().record(driver, locator, optimizedLocator);
+		}
+		return optimizedLocator;
+	}
 	
 	protected int getMaxWaitTimeWithValidationChecks(int maxTimeInSec) {
-		if(maxTimeInSec < 0 || maxTimeInSec > ABSOLUTE_MAX_WAIT_TIME_SECONDS){
-			maxTimeInSec = ABSOLUTE_MAX_WAIT_TIME_SECONDS; //can't be less than 0 or greater than Absolute Max set by System Properties
+		int absoluteMaxWaitTimeInSeconds = getAbsoluteWaitTimeInSeconds();
+		if(maxTimeInSec < 0 || maxTimeInSec > absoluteMaxWaitTimeInSeconds){
+			maxTimeInSec = absoluteMaxWaitTimeInSeconds; //can't be less than 0 or greater than Absolute Max set by System Properties
 		}
 		return maxTimeInSec;
 	}
 
+	/**
+	 * @param maxTimeInSec - Validated like getMaxWaitTimeWithValidationChecks(), so a negative time waits the absolute max.
+	 * @return A budget starting now.
+	 */
+	protected WaitBudget getWaitBudget(int maxTimeInSec) {
+		return WaitBudget.ofSeconds(getMaxWaitTimeWithValidationChecks(maxTimeInSec));
+	}
+
+	/**
+	 * @param waitBudget
+	 * @return The budget, cut down to the absolute max wait time set by the framework properties if it has more left than that.
+	 */
+	protected WaitBudget getWaitBudgetWithValidationChecks(WaitBudget waitBudget) {
+		return waitBudget.limitedTo(Duration.ofSeconds(getAbsoluteWaitTimeInSeconds()));
+	}
+
+	/**
+	 * With event driven waits turned on, and a driver that can run scripts, this is a wait that watches the page for the locator to match.
+	 * Otherwise, with the default fixed polling, this is a plain Selenium WebDriverWait.
+	 * Any other PollingStrategy gets a wait that polls on that strategy's schedule, keyed by the locator so it can learn per locator.
+	 * @param rootElement - The parent element for sub element waits, or null.
+	 * @param locator
+	 * @param domCondition - What the wait is waiting for the locator to be.
+	 * @param waitBudget
+	 * @return
+	 */
+	protected Wait<WebDriver> getWait(WebElement rootElement, By locator, DomCondition domCondition, WaitBudget waitBudget) {
+		if(!waitBudget.isExpired() && fluentWaitGenerator.isUsingEventDrivenWaits() && MutationObserverWait.canWaitFor(driver, locator)) {
+			return fluentWaitGenerator.getMutationObserverWait(driver, waitBudget, rootElement, locator, domCondition);
+		}
+		return getPollingWait(locator, waitBudget);
+	}
+
+	/**
+	 * @param locator - What's being waited for, so a learning PollingStrategy can learn per locator.
+	 * @param waitBudget
+	 * @return A plain Selenium WebDriverWait for a FixedPollingStrategy (polling at its interval if it was chosen, otherwise every 500 milliseconds as always),
+	 * otherwise a wait that polls on the PollingStrategy's schedule.
+	 */
+	protected Wait<WebDriver> getPollingWait(By locator, WaitBudget waitBudget) {
+		return getPollingWait(String.valueOf(locator), waitBudget);
+	}
+	protected Wait<WebDriver> getPollingWait(String waitKey, WaitBudget waitBudget) {
+		PollingStrategy pollingStrategy = fluentWaitGenerator.getPollingStrategy();
+		if(pollingStrategy instanceof FixedPollingStrategy) {
+			//WebDriverWait only takes whole seconds when it's created, so round up and then set the exact time left.
+			long remainingMillis = waitBudget.getRemainingMillis();
+			WebDriverWait wait = new WebDriverWait(driver, TimeUnit.MILLISECONDS.toSeconds(remainingMillis + 999));
+			wait.withTimeout(remainingMillis, TimeUnit.MILLISECONDS);
+			if(fluentWaitGenerator.isPollingStrategyChosen()) {
+				wait.pollingEvery(((FixedPollingStrategy) pollingStrategy).getPollingInMilliseconds(), TimeUnit.MILLISECONDS);
+			}
+			return wait;
+		}
+		return fluentWaitGenerator.getAdaptiveWait(driver, waitBudget, waitKey);
+	}
+
+	/**
+	 * @param locators - As passed in, to report which one matched.
+	 * @param lookupLocators - What to look each one up with.
+	 * @return The first locator with a clickable element, or null if none of them have one yet (or the page changed while the script ran).
+	 */
+	protected FirstMatch findFirstMatchInOneScript(By[] locators, By[] lookupLocators) {
+		List<List<String>> scriptLocators = new ArrayList<List<String>>();
+		for (By lookupLocator : lookupLocators) {
+			scriptLocators.add(Arrays.asList(SeleniumHelperUtil.getByPrefix(lookupLocator).name(), SeleniumHelperUtil.getByExpression(lookupLocator)));
+		}
+		List<?> result;
+		try {
+			result = (List<?>) ((JavascriptExecutor) driver).executeScript(JS_FIND_FIRST_MATCH, scriptLocators);
+		} catch (JavascriptException | StaleElementReferenceException e) {
+			//Ex: The page navigated away while the script ran ("document unloaded").  The next poll will look again in the new page.
+			return null;
+		}
+		if(result == null) {
+			return null;
+		}
+		int index = ((Number) result.get(0)).intValue();
+		return new FirstMatch(locators[index], index, (WebElement) result.get(1));
+	}
+	protected FirstMatch findFirstMatchStepByStep(By[] locators, By[] lookupLocators) {
+		for (int i = 0; i < lookupLocators.length; i++) {
+			for (WebElement element : driver.findElements(lookupLocators[i])) {
+				try {
+					if(element.isDisplayed() && element.isEnabled()) {
+						return new FirstMatch(locators[i], i, element);
+					}
+				} catch (StaleElementReferenceException e) {
+					//The page changed while it was being checked.  Keep checking, the next poll will look again.
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Looks up the parent and its sub elements in one script call per poll, instead of waiting for the parent, waiting for a sub element,
+	 * finding all the sub elements, and then checking each one.  Waits until the parent has at least one sub element, like the step by step lookup.
+	 * Waits between script calls with getWait(), so with SELENIUM_EVENT_DRIVEN_WAITS on it watches the page for the sub locator to match
+	 * (below the parentElement, or anywhere in the page when the parent is found by its locator) instead of polling.
+	 * @param parentElement - The parent, or null to find it with the parentLocator.
+	 * @param parentLocator - Finds the parent (its first match) when there's no parentElement.
+	 * @param subLocator - Already updated with SeleniumHelperUtil.updateXPathIfNeededForSubElements().
+	 * @param parentMustBeClickable - true to only use the parent once it's displayed and enabled, like getElement().
+	 * @param onlyEnabledSubElements - true to return only the enabled sub elements.
+	 * @param waitBudget
+	 * @return The sub elements (empty if none were found in time), or null if the lookup can't be done in one script.
+	 * Ex: A driver that can't run scripts, a custom By class, or the element cache is on.  Then the caller looks them up step by step.
+	 */
+	protected List<WebElement> findSubElementsInOneScript(WebElement parentElement, By parentLocator, By subLocator,
+			final boolean parentMustBeClickable, final boolean onlyEnabledSubElements, WaitBudget waitBudget) {
+		if(elementCache != null || !stateEvaluator.canEvaluate() || !SeleniumHelperUtil.canFindWithJavascript(subLocator) ||
+				(parentElement == null && (parentLocator == null || !SeleniumHelperUtil.canFindWithJavascript(parentLocator)))) {
+			return null;
+		}
+		parentLocator = optimizeLocator(parentLocator);
+		final Object[] arguments = {parentElement,
+				parentElement == null ? SeleniumHelperUtil.getByPrefix(parentLocator).name() : null,
+				parentElement == null ? SeleniumHelperUtil.getByExpression(parentLocator) : null,
+				SeleniumHelperUtil.getByPrefix(subLocator).name(), SeleniumHelperUtil.getByExpression(subLocator), parentMustBeClickable};
+		Wait<WebDriver> wait = getWait(parentElement, subLocator, DomCondition.PRESENT, getWaitBudgetWithValidationChecks(waitBudget));
+		try {
+			List<?> found = wait.until(webDriver -> {
+				List<?> result = (List<?>) ((JavascriptExecutor) driver).executeScript(JS_FIND_PARENT_AND_SUB_ELEMENTS, arguments);
+				return result == null || ((List<?>) result.get(1)).isEmpty() ? null : result;
+			});
+			List<WebElement> subElements = new ArrayList<WebElement>();
+			for (Object subElement : (List<?>) found.get(onlyEnabledSubElements ? 2 : 1)) {
+				subElements.add((WebElement) subElement);
+			}
+			return subElements;
+		} catch (TimeoutException e) {
+			return new ArrayList<WebElement>();
+		} catch (WebDriverException e) {
+			//Ex: The browser couldn't evaluate the locator, or the parent element went stale.  Look them up step by step instead.
+			return null;
+		}
+	}
+
+	/**
+	 * @deprecated Override getElementIfClickableWithinWaitTime(By, Wait&lt;WebDriver&gt;) instead.  The finder still calls this one for its plain WebDriverWaits,
+	 * so existing overrides keep working.
+	 */
+	@Deprecated
 	protected WebElement getElementIfClickableWithinWaitTime(final By locator, WebDriverWait wait) {
+		return getElementIfClickableWithinWaitTime(locator, (Wait<WebDriver>) wait);
+	}
+	protected WebElement getElementIfClickableWithinWaitTime(final By locator, Wait<WebDriver> wait) {
 		WebElement returnElement;
 		try {
 			//Wait until the element is visible and enabled such that you can click it.
@@ -312,7 +814,15 @@ public class SeleniumElementFinder {
 		return returnElement;
 	}
 
+	/**
+	 * @deprecated Override getElementIfVisibleWithinWaitTime(By, Wait&lt;WebDriver&gt;) instead.  The finder still calls this one for its plain WebDriverWaits,
+	 * so existing overrides keep working.
+	 */
+	@Deprecated
 	protected WebElement getElementIfVisibleWithinWaitTime(final By locator, WebDriverWait wait) {
+		return getElementIfVisibleWithinWaitTime(locator, (Wait<WebDriver>) wait);
+	}
+	protected WebElement getElementIfVisibleWithinWaitTime(final By locator, Wait<WebDriver> wait) {
 		WebElement returnElement;
 		try {
 			wait.until(ExpectedConditions.presenceOfElementLocated(locator));
@@ -323,7 +833,15 @@ public class SeleniumElementFinder {
 		return returnElement;
 	}
 
+	/**
+	 * @deprecated Override getAllElementsIfEnabledWithinWaitTime(By, Wait&lt;WebDriver&gt;) instead.  The finder still calls this one for its plain WebDriverWaits,
+	 * so existing overrides keep working.
+	 */
+	@Deprecated
 	protected List<WebElement> getAllElementsIfEnabledWithinWaitTime(final By locator, WebDriverWait wait) {
+		return getAllElementsIfEnabledWithinWaitTime(locator, (Wait<WebDriver>) wait);
+	}
+	protected List<WebElement> getAllElementsIfEnabledWithinWaitTime(final By locator, Wait<WebDriver> wait) {
 		List<WebElement> returnElements;
 		try {
 			//Wait until at least 1 element is enabled that matches the location
@@ -338,7 +856,15 @@ public class SeleniumElementFinder {
 		return returnElements;
 	}
 
+	/**
+	 * @deprecated Override getAllElementsIfVisisbleWithinWaitTime(By, Wait&lt;WebDriver&gt;) instead.  The finder still calls this one for its plain WebDriverWaits,
+	 * so existing overrides keep working.
+	 */
+	@Deprecated
 	protected List<WebElement> getAllElementsIfVisisbleWithinWaitTime(final By locator, WebDriverWait wait) {
+		return getAllElementsIfVisisbleWithinWaitTime(locator, (Wait<WebDriver>) wait);
+	}
+	protected List<WebElement> getAllElementsIfVisisbleWithinWaitTime(final By locator, Wait<WebDriver> wait) {
 		List<WebElement> returnElements;
 		try {
 			wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(locator));
@@ -352,7 +878,15 @@ public class SeleniumElementFinder {
 		return returnElements;
 	}
 
+	/**
+	 * @deprecated Override getSubElementIfEnabledWithinWaitTime(WebElement, By, Wait&lt;WebDriver&gt;) instead.  The finder still calls this one for its plain WebDriverWaits,
+	 * so existing overrides keep working.
+	 */
+	@Deprecated
 	protected WebElement getSubElementIfEnabledWithinWaitTime(WebElement parentElement, By subLocator, WebDriverWait wait) {
+		return getSubElementIfEnabledWithinWaitTime(parentElement, subLocator, (Wait<WebDriver>) wait);
+	}
+	protected WebElement getSubElementIfEnabledWithinWaitTime(WebElement parentElement, By subLocator, Wait<WebDriver> wait) {
 		WebElement subElement;
 		try {
 			//Wait until we detect a sub element nested within the parent
@@ -365,7 +899,15 @@ public class SeleniumElementFinder {
 		return subElement;
 	}
 
+	/**
+	 * @deprecated Override getSubElementIfVisibleWithinWaitTime(WebElement, By, Wait&lt;WebDriver&gt;) instead.  The finder still calls this one for its plain WebDriverWaits,
+	 * so existing overrides keep working.
+	 */
+	@Deprecated
 	protected WebElement getSubElementIfVisibleWithinWaitTime(WebElement parentElement, By subLocator, WebDriverWait wait) {
+		return getSubElementIfVisibleWithinWaitTime(parentElement, subLocator, (Wait<WebDriver>) wait);
+	}
+	protected WebElement getSubElementIfVisibleWithinWaitTime(WebElement parentElement, By subLocator, Wait<WebDriver> wait) {
 		WebElement subElement;
 		try {
 			wait.until(ExpectedConditions.presenceOfNestedElementLocatedBy(parentElement, subLocator));
@@ -378,6 +920,11 @@ public class SeleniumElementFinder {
 	
 	
 	protected WebElement getFirstEnabledElementFromList(List<WebElement> elements) {
+		if(stateEvaluator.canEvaluate() && !elements.isEmpty()) {
+			//One call to the browser for the whole list, instead of one isEnabled() call per element
+			int firstEnabledIndex = stateEvaluator.evaluate(elements).indexOfFirstEnabled();
+			return firstEnabledIndex < 0 ? null : elements.get(firstEnabledIndex);
+		}
 		WebElement firstEnabledElement = null;
 		for (WebElement subElement : elements) {
 			if(subElement.isEnabled()){
@@ -389,6 +936,16 @@ public class SeleniumElementFinder {
 	}
 	protected List<WebElement> getAllEnabledElementsFromList(List<WebElement> elements) {
 		List<WebElement> allEnabledElements = new ArrayList<WebElement>();
+		if(stateEvaluator.canEvaluate() && !elements.isEmpty()) {
+			//One call to the browser for the whole list, instead of one isEnabled() call per element
+			ElementStates states = stateEvaluator.evaluate(elements);
+			for(int i = 0; i < states.size(); i++) {
+				if(states.isEnabled(i)){
+					allEnabledElements.add(elements.get(i));
+				}
+			}
+			return allEnabledElements;
+		}
 		for (WebElement element : elements) {
 			if(element.isEnabled()){
 				allEnabledElements.add(element);
@@ -397,6 +954,10 @@ public class SeleniumElementFinder {
 		return allEnabledElements;
 	}
 	
+	/**
+	 * @deprecated The finder no longer uses this.  Waits that need to share time, like a parent and its sub element, share one WaitBudget instead.
+	 */
+	@Deprecated
 	protected int getSecondsLeft(long startTimeInSeconds, long curTimeInSeconds, int maxTimeToTake) {
 		int secondsTakenSoFar = (int)(curTimeInSeconds - startTimeInSeconds);
 		int secondsLeft = maxTimeToTake - secondsTakenSoFar;
@@ -404,6 +965,6 @@ public class SeleniumElementFinder {
 	}
 	
 	protected int getAbsoluteWaitTimeInSeconds() {
-		return ABSOLUTE_MAX_WAIT_TIME_SECONDS;
+		return FrameworkContext.current().getConfiguration().getMaxWaitInSeconds();
 	}
 }
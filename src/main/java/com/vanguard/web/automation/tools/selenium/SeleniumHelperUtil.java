@@ -1,6 +1,12 @@
 package com.vanguard.web.automation.tools.selenium;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.By.ByClassName;
@@ -14,10 +20,47 @@ import org.openqa.selenium.By.ByXPath;
 
 /**
  * This class should only be used by the framework itself.
- * It's used for the updateXPathIfNeededForSubELements method.
+ * It's used for the updateXPathIfNeededForSubELements method, and to rewrite slow locators into faster ones with optimizeLocator.
  * 
  */
 class SeleniumHelperUtil {
+
+	/* In-page equivalent of findElements for every BY_PREFIX.  __safFind(root, prefixName, expression) searches below root, or the whole document if root is null. */
+	static final String JS_FIND_FUNCTIONS =
+			"function __safQuote(value) { return '\"' + String(value).replace(/([\"\\\\])/g, '\\\\$1') + '\"'; }" +
+			"function __safFind(root, how, what) {" +
+			"  var scope = root || document, found = [], i;" +
+			"  switch (how) {" +
+			"    case 'ID': return Array.prototype.slice.call(scope.querySelectorAll('[id=' + __safQuote(what) + ']'));" +
+			"    case 'NAME': return Array.prototype.slice.call(scope.querySelectorAll('[name=' + __safQuote(what) + ']'));" +
+			"    case 'CLASS_NAME': return Array.prototype.slice.call(scope.getElementsByClassName(what));" +
+			"    case 'TAG_NAME': return Array.prototype.slice.call(scope.getElementsByTagName(what));" +
+			"    case 'CSS_SELECTOR': return Array.prototype.slice.call(scope.querySelectorAll(what));" +
+			"    case 'XPATH':" +
+			"      var snapshot = document.evaluate(what, scope, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+			"      for (i = 0; i < snapshot.snapshotLength; i++) { if (snapshot.snapshotItem(i).nodeType === 1) { found.push(snapshot.snapshotItem(i)); } }" +
+			"      return found;" +
+			"    case 'LINK_TEXT': case 'PARTIAL_LINK_TEXT':" +
+			"      var links = scope.getElementsByTagName('a');" +
+			"      for (i = 0; i < links.length; i++) {" +
+			"        var text = (links[i].innerText || links[i].textContent || '').trim();" +
+			"        if (how === 'LINK_TEXT' ? text === what : text.indexOf(what) >= 0) { found.push(links[i]); }" +
+			"      }" +
+			"      return found;" +
+			"  }" +
+			"  return found;" +
+			"}";
+	
+	//Dynamic locators (Ex: built from test data) could otherwise grow the cache forever.
+	static final int MAX_OPTIMIZED_LOCATORS = 10000;
+	private static final Map<By, By> optimizedLocators = new ConcurrentHashMap<By, By>();
+	private static final Pattern XPATH_TAG = Pattern.compile("([a-zA-Z][a-zA-Z0-9-]*|\\*)");
+	private static final Pattern XPATH_ATTRIBUTE_EQUALS = Pattern.compile("@([a-zA-Z_][\\w-]*)\\s*=\\s*(?:'([^']*)'|\"([^\"]*)\")");
+	private static final Pattern XPATH_ATTRIBUTE_EXISTS = Pattern.compile("@([a-zA-Z_][\\w-]*)");
+	private static final Pattern CSS_ID_ONLY = Pattern.compile("\\[id=\"([\\w-]+)\"\\]");
+	//The usual way to match one class among several in XPath 1.0.
+	private static final Pattern XPATH_HAS_CLASS = Pattern.compile(
+			"contains\\(\\s*concat\\(\\s*(?:' '|\" \")\\s*,\\s*normalize-space\\(\\s*@class\\s*\\)\\s*,\\s*(?:' '|\" \")\\s*\\)\\s*,\\s*(?:' ([^'\\s]+) '|\" ([^\"\\s]+) \")\\s*\\)");
 	
 	public static enum BY_PREFIX {
 		CLASS_NAME("By.className: "),
@@ -54,6 +97,183 @@ class SeleniumHelperUtil {
 		return subLocation;
 	}
 	
+	/**
+	 * Rewrites a locator into a faster one that finds the same elements, when it can.  The rewrite is worked out once per locator.<p>
+	 * 
+	 * XPaths made of only tag names, "//" and "/" steps, and [@attr='value'], [@attr] or class token predicates become css selectors,
+	 * Ex: "//div[@id='main']//input[@type='text']" becomes "div[id=\"main\"] input[type=\"text\"]", and "//*[@id='main']" becomes By.id("main").
+	 * Sub element XPaths (".//") are only rewritten if they are a single step, since css selectors used below a parent can match ancestors outside of it.
+	 * Every other locator is returned as is, Ex: By.name, which W3C drivers already look up with a css selector.<p>
+	 * 
+	 * Note: In HTML pages css compares a few attribute values without case (Ex: type), where XPath doesn't, so [@type='TEXT'] also matches type="text" once rewritten.
+	 * @param location
+	 * @return The faster locator, or the same locator if there isn't one.
+	 */
+	public static By optimizeLocator(By location) {
+		if(location == null) {
+			return null;
+		}
+		By optimizedLocation = optimizedLocators.get(location);
+		if(optimizedLocation == null) {
+			optimizedLocation = toFasterLocator(location);
+			if(optimizedLocators.size() < MAX_OPTIMIZED_LOCATORS) {
+				optimizedLocators.put(location, optimizedLocation);
+			}
+		}
+		return optimizedLocation;
+	}
+
+	private static By toFasterLocator(By location) {
+		if(location instanceof ByXPath){
+			By cssLocation = xpathToCss(getByExpression(location));
+			if(cssLocation != null) {
+				return cssLocation;
+			}
+		}
+		return location;
+	}
+
+	/**
+	 * @param xpath
+	 * @return The equivalent css locator, or null if the xpath uses anything that doesn't have one.
+	 */
+	private static By xpathToCss(String xpath) {
+		boolean isSubElementXPath = xpath.startsWith(".//");
+		if(!isSubElementXPath && !xpath.startsWith("//")) {
+			return null;
+		}
+		List<String> separators = new ArrayList<String>();
+		List<String> steps = new ArrayList<String>();
+		if(!splitXPathSteps(xpath.substring(isSubElementXPath ? 3 : 2), separators, steps) || (isSubElementXPath && steps.size() > 1)) {
+			return null;
+		}
+		StringBuilder css = new StringBuilder();
+		for(int i = 0; i < steps.size(); i++) {
+			if(i > 0) {
+				css.append("//".equals(separators.get(i - 1)) ? " " : " > ");
+			}
+			String cssStep = xpathStepToCss(steps.get(i));
+			if(cssStep == null) {
+				return null;
+			}
+			css.append(cssStep);
+		}
+		Matcher onlyId = CSS_ID_ONLY.matcher(css);
+		if(onlyId.matches()) {
+			return By.id(onlyId.group(1));
+		}
+		return By.cssSelector(css.toString());
+	}
+
+	//Splits on the "/" and "//" between steps, skipping any inside predicates or quotes.
+	private static boolean splitXPathSteps(String path, List<String> separators, List<String> steps) {
+		int depth = 0;
+		char quote = 0;
+		int stepStart = 0;
+		for(int i = 0; i < path.length(); i++) {
+			char c = path.charAt(i);
+			if(quote != 0) {
+				quote = c == quote ? 0 : quote;
+			} else if(c == '\'' || c == '"') {
+				quote = c;
+			} else if(c == '[') {
+				depth++;
+			} else if(c == ']') {
+				depth--;
+			} else if(c == '/' && depth == 0) {
+				steps.add(path.substring(stepStart, i));
+				boolean isDescendant = i + 1 < path.length() && path.charAt(i + 1) == '/';
+				separators.add(isDescendant ? "//" : "/");
+				i += isDescendant ? 1 : 0;
+				stepStart = i + 1;
+			}
+		}
+		steps.add(path.substring(stepStart));
+		return quote == 0 && depth == 0;
+	}
+
+	private static String xpathStepToCss(String step) {
+		Matcher tag = XPATH_TAG.matcher(step);
+		if(!tag.lookingAt()) {
+			return null;
+		}
+		StringBuilder css = new StringBuilder("*".equals(tag.group(1)) ? "" : tag.group(1));
+		int position = tag.end();
+		while(position < step.length()) {
+			int predicateEnd = findPredicateEnd(step, position);
+			if(step.charAt(position) != '[' || predicateEnd < 0) {
+				return null;
+			}
+			for (String condition : splitXPathConditions(step.substring(position + 1, predicateEnd))) {
+				String cssCondition = xpathConditionToCss(condition.trim());
+				if(cssCondition == null) {
+					return null;
+				}
+				css.append(cssCondition);
+			}
+			position = predicateEnd + 1;
+		}
+		return css.length() == 0 ? "*" : css.toString();
+	}
+
+	//Splits on " and ", skipping any inside quotes.
+	private static List<String> splitXPathConditions(String predicate) {
+		List<String> conditions = new ArrayList<String>();
+		char quote = 0;
+		int conditionStart = 0;
+		for(int i = 0; i < predicate.length(); i++) {
+			char c = predicate.charAt(i);
+			if(quote != 0) {
+				quote = c == quote ? 0 : quote;
+			} else if(c == '\'' || c == '"') {
+				quote = c;
+			} else if(predicate.startsWith(" and ", i)) {
+				conditions.add(predicate.substring(conditionStart, i));
+				conditionStart = i + 5;
+				i += 4;
+			}
+		}
+		conditions.add(predicate.substring(conditionStart));
+		return conditions;
+	}
+
+	private static int findPredicateEnd(String step, int predicateStart) {
+		char quote = 0;
+		for(int i = predicateStart + 1; i < step.length(); i++) {
+			char c = step.charAt(i);
+			if(quote != 0) {
+				quote = c == quote ? 0 : quote;
+			} else if(c == '\'' || c == '"') {
+				quote = c;
+			} else if(c == '[') {
+				return -1;
+			} else if(c == ']') {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static String xpathConditionToCss(String condition) {
+		Matcher matcher = XPATH_ATTRIBUTE_EQUALS.matcher(condition);
+		if(matcher.matches()) {
+			return "[" + matcher.group(1) + "=" + toCssString(matcher.group(2) != null ? matcher.group(2) : matcher.group(3)) + "]";
+		}
+		matcher = XPATH_ATTRIBUTE_EXISTS.matcher(condition);
+		if(matcher.matches()) {
+			return "[" + matcher.group(1) + "]";
+		}
+		matcher = XPATH_HAS_CLASS.matcher(condition);
+		if(matcher.matches()) {
+			return "[class~=" + toCssString(matcher.group(1) != null ? matcher.group(1) : matcher.group(2)) + "]";
+		}
+		return null;
+	}
+
+	private static String toCssString(String value) {
+		return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\a ") + "\"";
+	}
+
 	public static String getByExpression(By location){
 		String byExpression = "";
 		if(location instanceof ByClassName){
@@ -112,6 +332,14 @@ class SeleniumHelperUtil {
 		return byPrefix;
 	}
 
+	/**
+	 * @param location
+	 * @return true if the locator can be searched for in the page with JS_FIND_FUNCTIONS (every BY_PREFIX can, custom By classes can't).
+	 */
+	public static boolean canFindWithJavascript(By location) {
+		return getByPrefix(location) != null;
+	}
+
 	public static By getByLocation(BY_PREFIX prefix, String expression){
 		switch (prefix) {
 		case CLASS_NAME:
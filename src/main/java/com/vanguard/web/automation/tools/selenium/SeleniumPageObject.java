@@ -17,7 +17,7 @@ public abstract class SeleniumPageObject {
 	public SeleniumPageObject(WebDriver driver) {
 		super();
 		this.driver = driver;
-		this.finder = new SeleniumElementFinder(driver);
+		this.finder = new SeleniumElementFinder(driver, this.getClass().getSimpleName());
 		this.actions = new SeleniumActionMethods(driver, finder, this.getClass().getSimpleName());
 		this.browser = new SeleniumBrowserMethods(driver);
 		this.tableHelper = new TableUtilities(driver, finder, actions);
@@ -0,0 +1,169 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.vanguard.web.automation.tools.selenium.TableSnapshot.CellPosition;
+import com.vanguard.web.selenium.utils.StringHelperUtil;
+
+/**
+ * Lookup index built once from a TableSnapshot, so repeated exact and partial matches against the same table
+ * don't have to scan every cell.<p>
+ *
+ * Exact matches are a single hash lookup on the cell text.<br>
+ * Partial matches use a case-folded trigram index: only the cells containing the rarest trigram of the search
+ * string are checked, in table order, so the first match returned is the same one a full scan would return.
+ * Search strings shorter than a trigram fall back to a scan of the in-memory texts.
+ *
+ */
+public final class TableIndex {
+
+	private static final int GRAM_LENGTH = 3;
+	private final TableSnapshot snapshot;
+	private final Map<String, List<CellPosition>> exactMatches = new HashMap<String, List<CellPosition>>();
+	private final Map<String, int[]> trigramPostings;
+	private final String[] lowerCaseTexts;
+	private final CellPosition[] positions;
+
+	public TableIndex(TableSnapshot snapshot) {
+		super();
+		this.snapshot = snapshot;
+		List<CellPosition> allPositions = new ArrayList<CellPosition>();
+		List<String> allLowerCaseTexts = new ArrayList<String>();
+		Map<String, List<Integer>> postings = new HashMap<String, List<Integer>>();
+		for(int rowIndex = 0; rowIndex < snapshot.getRowCount(); rowIndex++) {
+			for(int columnIndex = 0; columnIndex < snapshot.getCellCount(rowIndex); columnIndex++) {
+				CellPosition position = new CellPosition(rowIndex, columnIndex);
+				String text = snapshot.getCellText(rowIndex, columnIndex);
+				String lowerCaseText = text.toLowerCase();
+				int ordinal = allPositions.size();
+				allPositions.add(position);
+				allLowerCaseTexts.add(lowerCaseText);
+				addExactMatch(text, position);
+				addTrigrams(postings, lowerCaseText, ordinal);
+			}
+		}
+		this.positions = allPositions.toArray(new CellPosition[allPositions.size()]);
+		this.lowerCaseTexts = allLowerCaseTexts.toArray(new String[allLowerCaseTexts.size()]);
+		this.trigramPostings = toArrays(postings);
+	}
+
+	private void addExactMatch(String text, CellPosition position) {
+		List<CellPosition> matches = exactMatches.get(text);
+		if(matches == null) {
+			matches = new ArrayList<CellPosition>(1);
+			exactMatches.put(text, matches);
+		}
+		matches.add(position);
+	}
+
+	private static void addTrigrams(Map<String, List<Integer>> postings, String lowerCaseText, int ordinal) {
+		for(int start = 0; start + GRAM_LENGTH <= lowerCaseText.length(); start++) {
+			String trigram = lowerCaseText.substring(start, start + GRAM_LENGTH);
+			List<Integer> cellsWithTrigram = postings.get(trigram);
+			if(cellsWithTrigram == null) {
+				cellsWithTrigram = new ArrayList<Integer>();
+				postings.put(trigram, cellsWithTrigram);
+			}
+			//Ordinals are added in increasing order, so a repeat of the trigram in the same cell is always the last entry
+			if(cellsWithTrigram.isEmpty() || cellsWithTrigram.get(cellsWithTrigram.size() - 1) != ordinal) {
+				cellsWithTrigram.add(ordinal);
+			}
+		}
+	}
+
+	private static Map<String, int[]> toArrays(Map<String, List<Integer>> postings) {
+		Map<String, int[]> arrays = new HashMap<String, int[]>(postings.size() * 2);
+		for(Map.Entry<String, List<Integer>> entry : postings.entrySet()) {
+			int[] ordinals = new int[entry.getValue().size()];
+			for(int i = 0; i < ordinals.length; i++) {
+				ordinals[i] = entry.getValue().get(i);
+			}
+			arrays.put(entry.getKey(), ordinals);
+		}
+		return arrays;
+	}
+
+
+	public TableSnapshot getSnapshot() {
+		return snapshot;
+	}
+
+	/**
+	 * Exact match is case-sensitive.
+	 * @param exactMatchToLookFor
+	 * @return The first cell [from top to bottom, left to right] whose text exactly matches, or null if there is none.
+	 */
+	public CellPosition findFirstExactMatch(String exactMatchToLookFor) {
+		List<CellPosition> matches = findAllExactMatches(exactMatchToLookFor);
+		return matches.isEmpty() ? null : matches.get(0);
+	}
+
+	/**
+	 * Exact match is case-sensitive.
+	 * @param exactMatchToLookFor
+	 * @return Every cell [from top to bottom, left to right] whose text exactly matches.  Empty if there are none.
+	 */
+	public List<CellPosition> findAllExactMatches(String exactMatchToLookFor) {
+		if(StringHelperUtil.isNullOrEmpty(exactMatchToLookFor)) {
+			return Collections.emptyList();
+		}
+		List<CellPosition> matches = exactMatches.get(exactMatchToLookFor);
+		return matches == null ? Collections.<CellPosition>emptyList() : Collections.unmodifiableList(matches);
+	}
+
+	/**
+	 * Partial match is NOT case-sensitive.
+	 * @param partialMatchToLookFor
+	 * @return The first cell [from top to bottom, left to right] whose text contains the match, or null if there is none.
+	 */
+	public CellPosition findFirstPartialMatch(String partialMatchToLookFor) {
+		if(StringHelperUtil.isNullOrEmpty(partialMatchToLookFor)) {
+			return null;
+		}
+		String lowerCaseMatch = partialMatchToLookFor.toLowerCase();
+		if(lowerCaseMatch.length() < GRAM_LENGTH) {
+			return findFirstPartialMatchByScanning(lowerCaseMatch);
+		}
+		int[] candidates = getRarestTrigramPostings(lowerCaseMatch);
+		if(candidates == null) {
+			return null;
+		}
+		for (int ordinal : candidates) {
+			if(lowerCaseTexts[ordinal].contains(lowerCaseMatch)) {
+				return positions[ordinal];
+			}
+		}
+		return null;
+	}
+
+	private CellPosition findFirstPartialMatchByScanning(String lowerCaseMatch) {
+		for(int ordinal = 0; ordinal < lowerCaseTexts.length; ordinal++) {
+			if(lowerCaseTexts[ordinal].contains(lowerCaseMatch)) {
+				return positions[ordinal];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @param lowerCaseMatch
+	 * @return The cells containing the least common trigram of the match, or null if any trigram is in no cell at all.
+	 */
+	private int[] getRarestTrigramPostings(String lowerCaseMatch) {
+		int[] rarest = null;
+		for(int start = 0; start + GRAM_LENGTH <= lowerCaseMatch.length(); start++) {
+			int[] postings = trigramPostings.get(lowerCaseMatch.substring(start, start + GRAM_LENGTH));
+			if(postings == null) {
+				return null;
+			}
+			if(rarest == null || postings.length < rarest.length) {
+				rarest = postings;
+			}
+		}
+		return rarest;
+	}
+}
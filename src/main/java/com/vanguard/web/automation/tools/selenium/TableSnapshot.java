@@ -0,0 +1,178 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import java.util.List;
+
+import org.openqa.selenium.WebElement;
+
+import com.vanguard.web.selenium.utils.StringHelperUtil;
+
+/**
+ * Immutable, in-memory copy of a table's structure and cell texts.<p>
+ *
+ * Rows and cells are indexed the same way the rest of TableUtilities indexes them:
+ * row N is the Nth [tr] anywhere below the table, and cell M is the Mth [td] anywhere below that row.
+ * Offsets between cells count [td]s, not visual columns, so a cell with a colspan still counts as one column.
+ * All lookups against a snapshot are answered locally, without any calls to the browser.
+ * Cell texts are read like getText() reads them: "" for hidden cells, and lines trimmed, without blank lines, for the rest.
+ * Use TableUtilities.getTableSnapshot() to create one.<p>
+ *
+ * Snapshots taken with JavaScript also record the table's version: a counter kept in the page that goes up every time
+ * the table's rows, cells or text change.  TableUtilities uses it to tell when a snapshot is out of date.
+ *
+ */
+public final class TableSnapshot {
+
+	/** The version of snapshots that were not taken with JavaScript, and so can't be checked for changes. */
+	public static final long UNKNOWN_VERSION = -1;
+	private final WebElement table;
+	private final long version;
+	private final String[][] cellTexts;
+
+	TableSnapshot(WebElement table, String[][] cellTexts) {
+		this(table, UNKNOWN_VERSION, cellTexts);
+	}
+
+	TableSnapshot(WebElement table, long version, String[][] cellTexts) {
+		super();
+		this.table = table;
+		this.version = version;
+		this.cellTexts = new String[cellTexts.length][];
+		for(int rowIndex = 0; rowIndex < cellTexts.length; rowIndex++) {
+			this.cellTexts[rowIndex] = cellTexts[rowIndex].clone();
+		}
+	}
+
+	/**
+	 * Builds a snapshot from the result of TableUtilities' snapshot script.
+	 * The script returns [version, rows], where each row is a list of cell texts.
+	 * @param table
+	 * @param scriptResult
+	 * @return
+	 */
+	static TableSnapshot fromScriptResult(WebElement table, Object scriptResult) {
+		List<?> versionAndRows = (List<?>) scriptResult;
+		long version = ((Number) versionAndRows.get(0)).longValue();
+		List<?> rows = (List<?>) versionAndRows.get(1);
+		String[][] texts = new String[rows.size()][];
+		for(int rowIndex = 0; rowIndex < rows.size(); rowIndex++) {
+			List<?> cells = (List<?>) rows.get(rowIndex);
+			texts[rowIndex] = new String[cells.size()];
+			for(int columnIndex = 0; columnIndex < cells.size(); columnIndex++) {
+				texts[rowIndex][columnIndex] = cells.get(columnIndex) == null ? "" : cells.get(columnIndex).toString();
+			}
+		}
+		return new TableSnapshot(table, version, texts);
+	}
+
+	/**
+	 * @return The table WebElement this snapshot was taken from.
+	 */
+	public WebElement getTable() {
+		return table;
+	}
+
+	/**
+	 * @return The table's version when this snapshot was taken, or UNKNOWN_VERSION if it was not taken with JavaScript.
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	public int getRowCount() {
+		return cellTexts.length;
+	}
+
+	public int getCellCount(int rowIndex) {
+		return cellTexts[rowIndex].length;
+	}
+
+	public String getCellText(int rowIndex, int columnIndex) {
+		return cellTexts[rowIndex][columnIndex];
+	}
+
+	/**
+	 * Exact match is case-sensitive.
+	 * @param exactMatchToLookFor
+	 * @return The position of the first cell [from top to bottom, left to right] whose text exactly matches, or null if there is none.
+	 */
+	public CellPosition findFirstExactMatch(String exactMatchToLookFor) {
+		if(StringHelperUtil.isNullOrEmpty(exactMatchToLookFor)) {
+			return null;
+		}
+		for(int rowIndex = 0; rowIndex < cellTexts.length; rowIndex++) {
+			for(int columnIndex = 0; columnIndex < cellTexts[rowIndex].length; columnIndex++) {
+				if(exactMatchToLookFor.equals(cellTexts[rowIndex][columnIndex])) {
+					return new CellPosition(rowIndex, columnIndex);
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Partial match is NOT case-sensitive.
+	 * @param partialMatchToLookFor
+	 * @return The position of the first cell [from top to bottom, left to right] whose text contains the match, or null if there is none.
+	 */
+	public CellPosition findFirstPartialMatch(String partialMatchToLookFor) {
+		if(StringHelperUtil.isNullOrEmpty(partialMatchToLookFor)) {
+			return null;
+		}
+		String lowerCaseMatch = partialMatchToLookFor.toLowerCase();
+		for(int rowIndex = 0; rowIndex < cellTexts.length; rowIndex++) {
+			for(int columnIndex = 0; columnIndex < cellTexts[rowIndex].length; columnIndex++) {
+				String curCellText = cellTexts[rowIndex][columnIndex];
+				if(!StringHelperUtil.isNullOrEmpty(curCellText) && curCellText.toLowerCase().contains(lowerCaseMatch)) {
+					return new CellPosition(rowIndex, columnIndex);
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @param rowIndex
+	 * @param columnIndex
+	 * @return true if there is a [td] at that row and cell index within this snapshot.
+	 */
+	public boolean containsCell(int rowIndex, int columnIndex) {
+		return rowIndex >= 0 && rowIndex < cellTexts.length &&
+				columnIndex >= 0 && columnIndex < cellTexts[rowIndex].length;
+	}
+
+
+	/**
+	 * The row and column index of a [td] within a TableSnapshot.
+	 */
+	public static final class CellPosition {
+		private final int row;
+		private final int column;
+
+		public CellPosition(int row, int column) {
+			this.row = row;
+			this.column = column;
+		}
+		public int getRow() {
+			return row;
+		}
+		public int getColumn() {
+			return column;
+		}
+		@Override
+		public boolean equals(Object other) {
+			if(!(other instanceof CellPosition)) {
+				return false;
+			}
+			CellPosition otherPosition = (CellPosition) other;
+			return row == otherPosition.row && column == otherPosition.column;
+		}
+		@Override
+		public int hashCode() {
+			return 31 * row + column;
+		}
+		@Override
+		public String toString() {
+			return "[row: " + row + ", column: " + column + "]";
+		}
+	}
+}
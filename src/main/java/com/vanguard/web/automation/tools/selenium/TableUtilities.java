@@ -1,8 +1,12 @@
 package com.vanguard.web.automation.tools.selenium;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 
@@ -18,9 +22,42 @@ public class TableUtilities {
 	private static final String SUB_TR_LOCATOR = ".//tr";
 	private static final String SUB_TABLE_LOCATOR = ".//table";
 	private static final String TABLE_LOCATOR = "//table";
+	private static final int MAX_TABLE_INDEXES = 16;
+	/* Makes sure a MutationObserver is counting changes to the table (its version), then returns [version, rows],
+	 * where rows is every [tr] below the table as a list of the text of each [td] below that row, read like getText() reads it.
+	 * querySelectorAll walks the same descendants in the same document order as the ".//tr" and ".//td" xpaths.*/
+	static final String JS_TABLE_SNAPSHOT = ElementStateEvaluator.JS_STATE_FUNCTIONS +
+			"var table = arguments[0];" +
+			"if (!table.__seleniumFrameworkObserver) {" +
+			"  table.__seleniumFrameworkVersion = 0;" +
+			"  table.__seleniumFrameworkObserver = new MutationObserver(function() { table.__seleniumFrameworkVersion++; });" +
+			"  table.__seleniumFrameworkObserver.observe(table, {childList: true, subtree: true, characterData: true, " +
+			"    attributes: true, attributeFilter: ['style', 'class', 'hidden']});" +
+			"}" +
+			"var rows = table.querySelectorAll('tr'), result = [];" +
+			"for (var r = 0; r < rows.length; r++) {" +
+			"  var cells = rows[r].querySelectorAll('td'), rowResult = [];" +
+			"  for (var c = 0; c < cells.length; c++) {" +
+			"    rowResult.push(__safDisplayed(cells[c]) ? __safText(cells[c]) : '');" +
+			"  }" +
+			"  result.push(rowResult);" +
+			"}" +
+			"return [table.__seleniumFrameworkVersion, result];";
+	static final String JS_TABLE_VERSION =
+			"return arguments[0].__seleniumFrameworkObserver ? arguments[0].__seleniumFrameworkVersion : -1;";
+	static final String JS_RESOLVE_CELL =
+			"var row = arguments[0].querySelectorAll('tr')[arguments[1]];" +
+			"return row ? (row.querySelectorAll('td')[arguments[2]] || null) : null;";
 	private WebDriver driver;
 	private SeleniumElementFinder finder;
 	private SeleniumActionMethods actions;
+	@SuppressWarnings("serial")
+	private final Map<WebElement, TableIndex> tableIndexes = new LinkedHashMap<WebElement, TableIndex>(MAX_TABLE_INDEXES, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<WebElement, TableIndex> eldest) {
+			return size() > MAX_TABLE_INDEXES;
+		}
+	};
 	
 	public TableUtilities(WebDriver driver, SeleniumElementFinder finder, SeleniumActionMethods actions) {
 		super();
@@ -28,6 +65,11 @@ public class TableUtilities {
 		this.finder = finder;
 		this.actions = actions;
 	}
+
+	//Only asks the actions for the page name when metrics are being recorded.
+	private CommandMetrics.MethodScope beginMetrics(String methodName, By tableLocator) {
+		return CommandMetrics.isEnabled() ? CommandMetrics.begin(methodName, actions.getPageName(), tableLocator) : CommandMetrics.MethodScope.NONE;
+	}
 	
 	
 	public List<WebElement> getAllTables() {
@@ -74,7 +116,9 @@ public class TableUtilities {
 	 * @return - The [td] WebElement the offsets away from the match
 	 */
 	public WebElement getCellOverFromExactStringMatch(By tableLocator, String exactMatchToLookFor, int rowOffset, int columnOffset) throws InvalidElementException{
-		return getCellOverFromExactStringMatch(finder.getElement(tableLocator), exactMatchToLookFor, rowOffset, columnOffset);
+		try (CommandMetrics.MethodScope scope = beginMetrics("getCellOverFromExactStringMatch", tableLocator)) {
+			return getCellOverFromExactStringMatch(finder.getElement(tableLocator), exactMatchToLookFor, rowOffset, columnOffset);
+		}
 	}
 	
 	/**
@@ -114,6 +158,11 @@ public class TableUtilities {
 		if(StringHelperUtil.isNullOrEmpty(exactMatchToLookFor) || table == null) {
 			return null;
 		}
+		if(driver instanceof JavascriptExecutor) {
+			TableIndex index = getTableIndex(table);
+			TableSnapshot.CellPosition match = index.findFirstExactMatch(exactMatchToLookFor);
+			return match == null ? null : getCellOffsetsAwayFromMatch(index.getSnapshot(), exactMatchToLookFor, rowOffset, columnOffset, match);
+		}
 		List<WebElement> allRows = finder.getSubElements(table, By.xpath(SUB_TR_LOCATOR), 0);
 		for(int rowIndex = 0; rowIndex < allRows.size(); rowIndex ++) {
 			WebElement rowElement = allRows.get(rowIndex);
@@ -165,7 +214,9 @@ public class TableUtilities {
 	 * @return - The [td] WebElement the offsets away from the match
 	 */
 	public WebElement getCellOverFromPartialStringMatch(By tableLocator, String partialMatchToLookFor, int rowOffset, int columnOffset) throws InvalidElementException{
-		return getCellOverFromPartialStringMatch(finder.getElement(tableLocator), partialMatchToLookFor, rowOffset, columnOffset);
+		try (CommandMetrics.MethodScope scope = beginMetrics("getCellOverFromPartialStringMatch", tableLocator)) {
+			return getCellOverFromPartialStringMatch(finder.getElement(tableLocator), partialMatchToLookFor, rowOffset, columnOffset);
+		}
 	}
 		
 	/**
@@ -206,6 +257,11 @@ public class TableUtilities {
 		if(StringHelperUtil.isNullOrEmpty(partialMatchToLookFor) || table == null) {
 			return null;
 		}
+		if(driver instanceof JavascriptExecutor) {
+			TableIndex index = getTableIndex(table);
+			TableSnapshot.CellPosition match = index.findFirstPartialMatch(partialMatchToLookFor);
+			return match == null ? null : getCellOffsetsAwayFromMatch(index.getSnapshot(), partialMatchToLookFor, rowOffset, columnOffset, match);
+		}
 		List<WebElement> allRows = finder.getSubElements(table, By.xpath(SUB_TR_LOCATOR), 0);
 		for(int rowIndex = 0; rowIndex < allRows.size(); rowIndex ++) {
 			WebElement rowElement = allRows.get(rowIndex);
@@ -225,27 +281,195 @@ public class TableUtilities {
 	}
 
 
+	/**
+	 * Takes an immutable, in-memory copy of the table's rows and cell texts.<br>
+	 * When the driver can execute JavaScript the whole table is read in a single call to the browser,
+	 * otherwise each row and cell is read one at a time.<p>
+	 * 
+	 * Take a snapshot once and pass it to the TableSnapshot overloads of the getCellOver methods
+	 * when you need to make several lookups against the same (unchanging) table.
+	 * 
+	 * @param tableLocator - The locator matching to the table you want to copy [ex: By.xpath("//table")]<br>
+	 * @return - The snapshot, or null if the table could not be found.
+	 */
+	public TableSnapshot getTableSnapshot(By tableLocator) {
+		return getTableSnapshot(finder.getElement(tableLocator));
+	}
+
+	/**
+	 * Takes an immutable, in-memory copy of the table's rows and cell texts.<br>
+	 * When the driver can execute JavaScript the whole table is read in a single call to the browser,
+	 * otherwise each row and cell is read one at a time.<p>
+	 * 
+	 * Take a snapshot once and pass it to the TableSnapshot overloads of the getCellOver methods
+	 * when you need to make several lookups against the same (unchanging) table.
+	 * 
+	 * @param table - The WebElement matching to the table you want to copy [ex: By.xpath("//table")]<br>
+	 * @return - The snapshot, or null if the table is null.
+	 */
+	public TableSnapshot getTableSnapshot(WebElement table) {
+		if(table == null) {
+			return null;
+		}
+		if(driver instanceof JavascriptExecutor) {
+			return TableSnapshot.fromScriptResult(table, ((JavascriptExecutor) driver).executeScript(JS_TABLE_SNAPSHOT, table));
+		}
+		List<WebElement> allRows = finder.getSubElements(table, By.xpath(SUB_TR_LOCATOR), 0);
+		String[][] texts = new String[allRows.size()][];
+		for(int rowIndex = 0; rowIndex < allRows.size(); rowIndex ++) {
+			List<WebElement> allCellsInRow = finder.getSubElements(allRows.get(rowIndex), By.xpath(SUB_TD_LOCATOR), 0);
+			texts[rowIndex] = new String[allCellsInRow.size()];
+			for(int columnIndex = 0; columnIndex < allCellsInRow.size(); columnIndex++) {
+				String cellText = actions.getText(allCellsInRow.get(columnIndex));
+				texts[rowIndex][columnIndex] = cellText == null ? "" : cellText;
+			}
+		}
+		return new TableSnapshot(table, texts);
+	}
+
+	/**
+	 * Returns a lookup index for the table, re-using the one built by an earlier call if the table has not changed since.<br>
+	 * When the driver can execute JavaScript, a MutationObserver in the page counts changes to the table's rows, cells and text,
+	 * so checking whether an earlier index is still current costs a single call to the browser.
+	 * Without JavaScript a new index is built every time.<p>
+	 * 
+	 * The getCellOver methods that take a table WebElement or locator use this automatically.
+	 * 
+	 * @param table - The WebElement matching to the table you want to search [ex: By.xpath("//table")]<br>
+	 * @return - The index, or null if the table is null.
+	 */
+	public TableIndex getTableIndex(WebElement table) {
+		if(table == null) {
+			return null;
+		}
+		TableIndex index = tableIndexes.get(table);
+		if(index != null && isSnapshotCurrent(index.getSnapshot())) {
+			return index;
+		}
+		index = new TableIndex(getTableSnapshot(table));
+		if(index.getSnapshot().getVersion() != TableSnapshot.UNKNOWN_VERSION) {
+			tableIndexes.put(table, index);
+		}
+		return index;
+	}
+
+	/**
+	 * @param snapshot
+	 * @return true if the table has not changed since the snapshot was taken.
+	 * Always false for snapshots that were not taken with JavaScript, or whose table is no longer on the page.
+	 */
+	public boolean isSnapshotCurrent(TableSnapshot snapshot) {
+		if(snapshot == null || snapshot.getVersion() == TableSnapshot.UNKNOWN_VERSION || !(driver instanceof JavascriptExecutor)) {
+			return false;
+		}
+		try {
+			Object version = ((JavascriptExecutor) driver).executeScript(JS_TABLE_VERSION, snapshot.getTable());
+			return version instanceof Number && ((Number) version).longValue() == snapshot.getVersion();
+		} catch (StaleElementReferenceException e) {
+			tableIndexes.remove(snapshot.getTable());
+			return false;
+		}
+	}
+
+	/**
+	 * Forgets every index built by getTableIndex().  The next lookup on each table will read it from the browser again.
+	 */
+	public void clearTableIndexes() {
+		tableIndexes.clear();
+	}
+
+	/**
+	 * Same as getCellOverFromExactStringMatch(WebElement, ...), but the match and offsets are all resolved against the snapshot.
+	 * Only the single [td] being returned is looked up in the browser.
+	 * 
+	 * @param snapshot - A snapshot of the table you want to search, from getTableSnapshot()<br>
+	 * @param exactMatchToLookFor - The String that must exactly match one of the [td] Element's text<br>
+	 * @param rowOffset - The offset from the match you want to return.  Positive numbers down.  Negative numbers up.<br>
+	 * @param columnOffset - The offset from the match you want to return.  Positive numbers for columns over to right.  Negative for columns over to left.<br>
+	 * @return - The [td] WebElement the offsets away from the match
+	 */
+	public WebElement getCellOverFromExactStringMatch(TableSnapshot snapshot, String exactMatchToLookFor, int rowOffset, int columnOffset) throws InvalidElementException{
+		if(StringHelperUtil.isNullOrEmpty(exactMatchToLookFor) || snapshot == null) {
+			return null;
+		}
+		TableSnapshot.CellPosition match = snapshot.findFirstExactMatch(exactMatchToLookFor);
+		if(match == null) {
+			return null; //Exact match not found
+		}
+		return getCellOffsetsAwayFromMatch(snapshot, exactMatchToLookFor, rowOffset, columnOffset, match);
+	}
+
+	/**
+	 * Same as getCellOverFromPartialStringMatch(WebElement, ...), but the match and offsets are all resolved against the snapshot.
+	 * Only the single [td] being returned is looked up in the browser.
+	 * 
+	 * @param snapshot - A snapshot of the table you want to search, from getTableSnapshot()<br>
+	 * @param partialMatchToLookFor - The String that must be contained in one of the [td] Element's text<br>
+	 * @param rowOffset - The offset from the match you want to return.  Positive numbers down.  Negative numbers up.<br>
+	 * @param columnOffset - The offset from the match you want to return.  Positive numbers for columns over to right.  Negative for columns over to left.<br>
+	 * @return - The [td] WebElement the offsets away from the match
+	 */
+	public WebElement getCellOverFromPartialStringMatch(TableSnapshot snapshot, String partialMatchToLookFor, int rowOffset, int columnOffset) throws InvalidElementException{
+		if(StringHelperUtil.isNullOrEmpty(partialMatchToLookFor) || snapshot == null) {
+			return null;
+		}
+		TableSnapshot.CellPosition match = snapshot.findFirstPartialMatch(partialMatchToLookFor);
+		if(match == null) {
+			return null; //Partial match not found
+		}
+		return getCellOffsetsAwayFromMatch(snapshot, partialMatchToLookFor, rowOffset, columnOffset, match);
+	}
+
+	WebElement getCellOffsetsAwayFromMatch(TableSnapshot snapshot, String matchToLookFor, int rowOffset, int columnOffset,
+			TableSnapshot.CellPosition match) throws InvalidElementException{
+		int rowIndexToReturn = match.getRow() + rowOffset;
+		if(rowIndexToReturn < 0 || rowIndexToReturn >= snapshot.getRowCount()) {
+			throw new InvalidElementException(getInvalidRowMessage(matchToLookFor, rowOffset, match.getRow()), driver);
+		}
+		int columnIndexToReturn = match.getColumn() + columnOffset;
+		if(!snapshot.containsCell(rowIndexToReturn, columnIndexToReturn)) {
+			throw new InvalidElementException(getInvalidColumnMessage(matchToLookFor, columnOffset, match.getRow(), match.getColumn()), driver);
+		}
+		return getCellElement(snapshot, rowIndexToReturn, columnIndexToReturn);
+	}
+
+	WebElement getCellElement(TableSnapshot snapshot, int rowIndex, int columnIndex) {
+		if(driver instanceof JavascriptExecutor) {
+			return (WebElement) ((JavascriptExecutor) driver).executeScript(JS_RESOLVE_CELL, snapshot.getTable(), rowIndex, columnIndex);
+		}
+		List<WebElement> allRows = finder.getSubElements(snapshot.getTable(), By.xpath(SUB_TR_LOCATOR), 0);
+		List<WebElement> allCellsInRow = finder.getSubElements(allRows.get(rowIndex), By.xpath(SUB_TD_LOCATOR), 0);
+		return allCellsInRow.get(columnIndex);
+	}
+
+
 	WebElement getCellOffsetsAwayFromCurrentCell(String matchToLookFor, int rowOffset, int columnOffset, 
 			List<WebElement> allRows, int rowIndex, int columnIndex) throws InvalidElementException{
 		int rowIndexToReturn = rowIndex + rowOffset;
 		if(rowIndexToReturn < 0 || rowIndexToReturn > allRows.size()) {
-			String message = "Invalid Row in getting cell from table.\n" + "When matching on: " + matchToLookFor + 
-					", which was found in row: " + rowIndex + ", trying to use rowOffset:" + rowOffset + " is invalid";
-			throw new InvalidElementException(message, driver);
+			throw new InvalidElementException(getInvalidRowMessage(matchToLookFor, rowOffset, rowIndex), driver);
 		}
 		WebElement rowToReturn = allRows.get(rowIndex + rowOffset);
 		List<WebElement> allCellsInRowToReturn = finder.getSubElements(rowToReturn, By.xpath(SUB_TD_LOCATOR), 0);
 		int columnIndexToReturn = columnIndex + columnOffset;
 		if(columnIndexToReturn < 0 || columnIndexToReturn > allCellsInRowToReturn.size()) {
-			String message = "Invalid Column in getting cell from table.\n" +
-				"When matching on: " + matchToLookFor + ", which was found in row:" + rowIndex + 
-				", in column: " + columnIndex + ", trying to use columnOffset:" + columnOffset + " is invalid";
-			throw new InvalidElementException(message, driver);
+			throw new InvalidElementException(getInvalidColumnMessage(matchToLookFor, columnOffset, rowIndex, columnIndex), driver);
 		}
 		WebElement cellToReturn = allCellsInRowToReturn.get(columnIndexToReturn);
 		return cellToReturn;
 	}
 
+	private String getInvalidRowMessage(String matchToLookFor, int rowOffset, int rowIndex) {
+		return "Invalid Row in getting cell from table.\n" + "When matching on: " + matchToLookFor + 
+				", which was found in row: " + rowIndex + ", trying to use rowOffset:" + rowOffset + " is invalid";
+	}
+
+	private String getInvalidColumnMessage(String matchToLookFor, int columnOffset, int rowIndex, int columnIndex) {
+		return "Invalid Column in getting cell from table.\n" +
+			"When matching on: " + matchToLookFor + ", which was found in row:" + rowIndex + 
+			", in column: " + columnIndex + ", trying to use columnOffset:" + columnOffset + " is invalid";
+	}
+
 
 	
 	
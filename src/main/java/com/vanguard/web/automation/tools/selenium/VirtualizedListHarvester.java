@@ -0,0 +1,184 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Wait;
+
+/**
+ * Reads every row of a virtualized list (one that only renders the rows in view) by scrolling its container and reading the rows rendered at each position.<p>
+ *
+ * Each step is one script call that scrolls the container by most of its height and returns the [key, text] of the rows rendered there,
+ * leaving out the rows the previous step already returned, so each row is sent back about once.
+ * Rows are de-duplicated by key and handed to the consumer as soon as they're read.  A row without a key element is keyed by its whole text instead (and logged).
+ * When a step finds no new rows, the list is given the settle time to render (or load) more without scrolling further.
+ * The harvest stops once a scroll didn't move the container and no new rows arrived in the settle time, or once the budget runs out.
+ *
+ */
+class VirtualizedListHarvester {
+
+	static final double SCROLL_STEP_OF_CONTAINER_HEIGHT = 0.9;
+	static final long DEFAULT_SETTLE_TIME_IN_MILLISECONDS = 1000;
+	/* Scrolls the container (arguments[0], arguments[1], or the page when there's no container locator) first if arguments[6] is true.
+	 * Returns null if there's no container, otherwise [[key, text, whether the key element was found] of each rendered row not in arguments[8], whether the container scrolled].
+	 * Rows without a key element are keyed by their text.  Blank rows are left out. */
+	static final String JS_HARVEST_STEP = SeleniumHelperUtil.JS_FIND_FUNCTIONS +
+			"var container = arguments[0] ? __safFind(null, arguments[0], arguments[1])[0] : (document.scrollingElement || document.documentElement);" +
+			"if (!container) { return null; }" +
+			"var moved = false, skip = {}, rows, result = [], i;" +
+			"if (arguments[6]) {" +
+			"  var before = container.scrollTop;" +
+			"  container.scrollTop = before + Math.max(1, Math.floor(container.clientHeight * arguments[7]));" +
+			"  moved = container.scrollTop !== before;" +
+			"}" +
+			"for (i = 0; i < arguments[8].length; i++) { skip[arguments[8][i]] = true; }" +
+			"rows = __safFind(container, arguments[2], arguments[3]);" +
+			"for (i = 0; i < rows.length; i++) {" +
+			"  var text = (rows[i].innerText || '').trim(), key = text, keyFound = true;" +
+			"  if (arguments[4]) {" +
+			"    var keyElement = __safFind(rows[i], arguments[4], arguments[5])[0];" +
+			"    key = keyElement ? (keyElement.innerText || '').trim() : '';" +
+			"    if (!key) { key = text; keyFound = false; }" +
+			"  }" +
+			"  if (key && !skip[key]) { result.push([key, text, keyFound]); }" +
+			"}" +
+			"return [result, moved];";
+
+	private static final Logger logger = Logger.getLogger(VirtualizedListHarvester.class.getName());
+	private final WebDriver driver;
+	private final FluentWaitGenerator fluentWaitGenerator;
+	private final Object[] stepArguments;
+	private final Set<String> harvestedKeys = new HashSet<String>();
+	private List<String> lastReturnedKeys = Collections.emptyList();
+	private int harvestedRowCount = 0;
+
+	/**
+	 * @param driver - Must be a JavascriptExecutor, see canHarvest().
+	 * @param fluentWaitGenerator - Polls for new rows during the settle time.
+	 * @param containerLocator - The scrolling element, or null to scroll the page.
+	 * @param rowLocator - Finds the rendered rows below the container.
+	 * @param keyLocator - Finds the element below each row whose text identifies it, or null to identify rows by their whole text.
+	 */
+	VirtualizedListHarvester(WebDriver driver, FluentWaitGenerator fluentWaitGenerator, By containerLocator, By rowLocator, By keyLocator) {
+		super();
+		this.driver = driver;
+		this.fluentWaitGenerator = fluentWaitGenerator;
+		rowLocator = SeleniumHelperUtil.updateXPathIfNeededForSubElements(rowLocator);
+		keyLocator = SeleniumHelperUtil.updateXPathIfNeededForSubElements(keyLocator);
+		this.stepArguments = new Object[] {
+				containerLocator == null ? null : SeleniumHelperUtil.getByPrefix(containerLocator).name(),
+				containerLocator == null ? null : SeleniumHelperUtil.getByExpression(containerLocator),
+				SeleniumHelperUtil.getByPrefix(rowLocator).name(), SeleniumHelperUtil.getByExpression(rowLocator),
+				keyLocator == null ? null : SeleniumHelperUtil.getByPrefix(keyLocator).name(),
+				keyLocator == null ? null : SeleniumHelperUtil.getByExpression(keyLocator),
+				false, SCROLL_STEP_OF_CONTAINER_HEIGHT, null};
+	}
+
+	/**
+	 * @param driver
+	 * @return true if the driver can run the harvest script.
+	 */
+	static boolean canHarvest(WebDriver driver) {
+		return driver instanceof JavascriptExecutor;
+	}
+
+	/**
+	 * @param containerLocator
+	 * @param rowLocator
+	 * @param keyLocator
+	 * @return true if every locator can be used in the harvest script (custom By classes can't).  Null container and key locators can.
+	 */
+	static boolean canHarvest(By containerLocator, By rowLocator, By keyLocator) {
+		return (containerLocator == null || SeleniumHelperUtil.canFindWithJavascript(containerLocator)) &&
+				SeleniumHelperUtil.canFindWithJavascript(rowLocator) &&
+				(keyLocator == null || SeleniumHelperUtil.canFindWithJavascript(keyLocator));
+	}
+
+	/**
+	 * @param rowConsumer - Given each new row as soon as it's read.
+	 * @param settleTimeInMillis - How long to wait for new rows when a step finds none, before scrolling again or stopping.
+	 * @param budget - How long the whole harvest can take.  The rows read before it runs out are kept.
+	 * @return The number of rows harvested, or -1 if the container wasn't found.
+	 */
+	int harvest(Consumer<HarvestedRow> rowConsumer, long settleTimeInMillis, WaitBudget budget) {
+		if(runStep(false, rowConsumer) == null) {
+			return -1;
+		}
+		while(!budget.isExpired()) {
+			Step step = runStep(true, rowConsumer);
+			if(step == null || (step.newRowCount == 0 && !waitForNewRows(rowConsumer, settleTimeInMillis, budget) && !step.moved)) {
+				return harvestedRowCount;
+			}
+		}
+		logger.warning("Stopped harvesting rows after " + budget.getTimeout().toMillis() + " millisecond(s) with " + harvestedRowCount + " row(s) read.  The list may have more rows.");
+		return harvestedRowCount;
+	}
+
+	private boolean waitForNewRows(final Consumer<HarvestedRow> rowConsumer, long settleTimeInMillis, WaitBudget budget) {
+		if(settleTimeInMillis <= 0 || budget.isExpired()) {
+			return false;
+		}
+		Wait<WebDriver> wait = fluentWaitGenerator.getFluentWait(driver, WaitBudget.ofMillis(Math.min(settleTimeInMillis, budget.getRemainingMillis())));
+		try {
+			return wait.until(webDriver -> {
+				Step step = runStep(false, rowConsumer);
+				return step != null && step.newRowCount > 0 ? Boolean.TRUE : null;
+			});
+		} catch (TimeoutException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * @param scrollFirst
+	 * @param rowConsumer
+	 * @return The number of new rows read and whether the container scrolled, or null if the container wasn't found.
+	 */
+	private Step runStep(boolean scrollFirst, Consumer<HarvestedRow> rowConsumer) {
+		stepArguments[6] = scrollFirst;
+		stepArguments[8] = lastReturnedKeys;
+		List<?> result = (List<?>) ((JavascriptExecutor) driver).executeScript(JS_HARVEST_STEP, stepArguments);
+		if(result == null) {
+			return null;
+		}
+		List<?> rows = (List<?>) result.get(0);
+		List<String> returnedKeys = new ArrayList<String>();
+		int newRowCount = 0;
+		for (Object row : rows) {
+			List<?> keyAndText = (List<?>) row;
+			String key = String.valueOf(keyAndText.get(0));
+			returnedKeys.add(key);
+			if(harvestedKeys.add(key)) {
+				newRowCount++;
+				if(keyAndText.size() > 2 && Boolean.FALSE.equals(keyAndText.get(2))) {
+					logger.warning("Row has no key element, so it's keyed by its text instead: " + key);
+				}
+				rowConsumer.accept(new HarvestedRow(key, String.valueOf(keyAndText.get(1))));
+			}
+		}
+		if(!returnedKeys.isEmpty()) {
+			lastReturnedKeys = returnedKeys;
+		}
+		harvestedRowCount += newRowCount;
+		return new Step(newRowCount, Boolean.TRUE.equals(result.get(1)));
+	}
+
+	private static final class Step {
+		private final int newRowCount;
+		private final boolean moved;
+
+		private Step(int newRowCount, boolean moved) {
+			this.newRowCount = newRowCount;
+			this.moved = moved;
+		}
+	}
+}
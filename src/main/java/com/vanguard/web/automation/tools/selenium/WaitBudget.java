@@ -0,0 +1,76 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The time left to wait for something, counting down from when the budget was created.<p>
+ *
+ * Pass the same budget to every wait that makes up one lookup, Ex: finding a parent element and then its sub element,
+ * and together they won't wait longer than the budget.  Unlike the maxTimeInSec overloads, a budget can be shorter than a second, Ex: WaitBudget.ofMillis(250).
+ * The deadline is kept with System.nanoTime(), so it isn't thrown off by the system clock changing.
+ *
+ */
+public final class WaitBudget {
+
+	private final long timeoutInNanos;
+	private final long deadlineInNanos;
+
+	private WaitBudget(long timeoutInNanos) {
+		super();
+		this.timeoutInNanos = Math.max(0, timeoutInNanos);
+		this.deadlineInNanos = System.nanoTime() + this.timeoutInNanos;
+	}
+
+	/**
+	 * @return A budget with no time in it.  Lookups using it check once, without waiting.
+	 */
+	public static WaitBudget none() {
+		return new WaitBudget(0);
+	}
+	public static WaitBudget of(Duration timeout) {
+		return new WaitBudget(timeout.toNanos());
+	}
+	public static WaitBudget ofSeconds(long timeoutInSec) {
+		return new WaitBudget(TimeUnit.SECONDS.toNanos(timeoutInSec));
+	}
+	public static WaitBudget ofMillis(long timeoutInMillis) {
+		return new WaitBudget(TimeUnit.MILLISECONDS.toNanos(timeoutInMillis));
+	}
+
+	/**
+	 * @param maxTimeout
+	 * @return This budget if it has no more than maxTimeout left, otherwise a new budget of maxTimeout.
+	 */
+	public WaitBudget limitedTo(Duration maxTimeout) {
+		return getRemainingNanos() <= maxTimeout.toNanos() ? this : of(maxTimeout);
+	}
+
+	/**
+	 * @return The time left before the deadline, never less than 0.
+	 */
+	public long getRemainingNanos() {
+		return Math.max(0, deadlineInNanos - System.nanoTime());
+	}
+	public long getRemainingMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(getRemainingNanos());
+	}
+	public Duration getRemaining() {
+		return Duration.ofNanos(getRemainingNanos());
+	}
+	public boolean isExpired() {
+		return getRemainingNanos() == 0;
+	}
+
+	/**
+	 * @return The whole time the budget started with.
+	 */
+	public Duration getTimeout() {
+		return Duration.ofNanos(timeoutInNanos);
+	}
+
+	@Override
+	public String toString() {
+		return "WaitBudget [" + getRemainingMillis() + " of " + TimeUnit.NANOSECONDS.toMillis(timeoutInNanos) + " millisecond(s) left]";
+	}
+}
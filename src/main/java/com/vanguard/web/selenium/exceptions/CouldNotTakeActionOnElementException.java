@@ -2,6 +2,8 @@ package com.vanguard.web.selenium.exceptions;
 
 import org.openqa.selenium.WebDriver;
 
+import com.vanguard.web.selenium.properties.FrameworkContext;
+import com.vanguard.web.selenium.utils.FailureArtifacts;
 import com.vanguard.web.selenium.utils.ScreenshotUtility;
 
 
@@ -10,6 +12,8 @@ import com.vanguard.web.selenium.utils.ScreenshotUtility;
  * Ex: click(), getText(), type() etc.
  * In addition to failing the test with this error, we take a screenshot and give it a name that illustrates 
  * what the locator was, what page we were on, and what action we were trying to take, so the user can have more info on the test failure.
+ * If the SELENIUM_DEFERRED_FAILURE_ARTIFACTS framework property is true, the screenshot (and page source) is only taken if the exception fails the test,
+ * and throwing it doesn't call the browser at all.  See FailureArtifacts.
  * 
  * NOTE: This is NOT thrown for isDisplayed(), isEnabled(), or isSelected(), those methods would just return a value of false.
  * 
@@ -20,7 +24,11 @@ public class CouldNotTakeActionOnElementException extends RuntimeException{
 
 	public CouldNotTakeActionOnElementException(String locator, String page, String action, WebDriver driver) {
 		super(getMessage(locator, page, action));
-		ScreenshotUtility.takeScreenshot(getMessage(locator, page, action), driver);
+		if(FrameworkContext.current().getConfiguration().isDeferredFailureArtifacts()) {
+			FailureArtifacts.defer(getMessage(locator, page, action), driver);
+		} else {
+			ScreenshotUtility.takeScreenshot(getMessage(locator, page, action), driver);
+		}
 	}
 
 	public static String getMessage(String locator, String page, String action) {
@@ -0,0 +1,225 @@
+package com.vanguard.web.selenium.properties;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Immutable snapshot of the framework properties, with System properties laid over them.<p>
+ *
+ * A System property with the same name as a framework property (or one of the framework's known properties) wins,
+ * except for failIfElementNotFound, which is true if either of them is true.
+ * Properties changed with withProperty() (Ex: by FrameworkContext.setProperty() for one test) win over both.
+ * Every typed getter is worked out once, when the snapshot is built, so reading them doesn't allocate anything.
+ * System properties changed later aren't seen until the snapshot is rebuilt, Ex: by PropertiesManager.reloadFrameworkProperties().
+ * Use PropertiesManager.getConfiguration() for the suite-wide snapshot, or FrameworkContext.current().getConfiguration() for the current test's.
+ *
+ */
+public final class FrameworkConfiguration {
+
+	private static final Logger logger = Logger.getLogger( FrameworkConfiguration.class.getName() );
+	public static final String FAIL_IF_ELEMENT_NOT_FOUND_PROPERTY = "failIfElementNotFound";
+	public static final String GECKO_DRIVER_LOCATION_PROPERTY = "geckoDriverLocation";
+	public static final String MAX_WAIT_PROPERTY = "SELENIUM_MAX_WAIT";
+	public static final String POLLING_STRATEGY_PROPERTY = "SELENIUM_POLLING_STRATEGY";
+	public static final String EVENT_DRIVEN_WAITS_PROPERTY = "SELENIUM_EVENT_DRIVEN_WAITS";
+	public static final String DRIVER_POOL_SIZE_PROPERTY = "SELENIUM_DRIVER_POOL_SIZE";
+	public static final String ASYNC_SCREENSHOTS_PROPERTY = "SELENIUM_ASYNC_SCREENSHOTS";
+	public static final String COMMAND_METRICS_FILE_PROPERTY = "SELENIUM_COMMAND_METRICS_FILE";
+	public static final String ELEMENT_CACHE_SIZE_PROPERTY = "SELENIUM_ELEMENT_CACHE_SIZE";
+	public static final String OPTIMIZE_LOCATORS_PROPERTY = "SELENIUM_OPTIMIZE_LOCATORS";
+	public static final String HIGHLIGHT_ELEMENTS_PROPERTY = "SELENIUM_HIGHLIGHT_ELEMENTS";
+	public static final String DEFERRED_FAILURE_ARTIFACTS_PROPERTY = "SELENIUM_DEFERRED_FAILURE_ARTIFACTS";
+	public static final String WAIT_FOR_PAGE_READY_PROPERTY = "SELENIUM_WAIT_FOR_PAGE_READY";
+	static final String[] KNOWN_PROPERTIES = {FAIL_IF_ELEMENT_NOT_FOUND_PROPERTY, GECKO_DRIVER_LOCATION_PROPERTY, MAX_WAIT_PROPERTY,
+			POLLING_STRATEGY_PROPERTY, EVENT_DRIVEN_WAITS_PROPERTY, DRIVER_POOL_SIZE_PROPERTY, ASYNC_SCREENSHOTS_PROPERTY, COMMAND_METRICS_FILE_PROPERTY,
+			ELEMENT_CACHE_SIZE_PROPERTY, OPTIMIZE_LOCATORS_PROPERTY,
+			HIGHLIGHT_ELEMENTS_PROPERTY, DEFERRED_FAILURE_ARTIFACTS_PROPERTY, WAIT_FOR_PAGE_READY_PROPERTY};
+	public static final int DEFAULT_MAX_WAIT_IN_SECONDS = 90;
+	private final Map<String, String> frameworkProperties;
+	private final Map<String, String> systemOverrides;
+	private final Map<String, String> changedProperties;
+	private final Map<String, String> values;
+	private final boolean failIfElementNotFound;
+	private final String geckoDriverLocation;
+	private final int maxWaitInSeconds;
+	private final String pollingStrategyName;
+	private final boolean eventDrivenWaits;
+	private final int driverPoolSize;
+	private final boolean asyncScreenshots;
+	private final String commandMetricsFile;
+	private final int elementCacheSize;
+	private final boolean optimizeLocators;
+	private final boolean highlightElements;
+	private final boolean deferredFailureArtifacts;
+	private final boolean waitForPageReady;
+
+	private FrameworkConfiguration(Map<String, String> frameworkProperties, Map<String, String> systemOverrides, Map<String, String> changedProperties) {
+		super();
+		this.frameworkProperties = Collections.unmodifiableMap(frameworkProperties);
+		this.systemOverrides = Collections.unmodifiableMap(systemOverrides);
+		this.changedProperties = Collections.unmodifiableMap(changedProperties);
+		Map<String, String> merged = new HashMap<String, String>(frameworkProperties);
+		merged.putAll(systemOverrides);
+		merged.putAll(changedProperties);
+		this.values = Collections.unmodifiableMap(merged);
+		this.failIfElementNotFound = changedProperties.containsKey(FAIL_IF_ELEMENT_NOT_FOUND_PROPERTY) ?
+				Boolean.parseBoolean(changedProperties.get(FAIL_IF_ELEMENT_NOT_FOUND_PROPERTY)) :
+				Boolean.parseBoolean(systemOverrides.get(FAIL_IF_ELEMENT_NOT_FOUND_PROPERTY)) || Boolean.parseBoolean(frameworkProperties.get(FAIL_IF_ELEMENT_NOT_FOUND_PROPERTY));
+		this.geckoDriverLocation = values.get(GECKO_DRIVER_LOCATION_PROPERTY);
+		this.maxWaitInSeconds = parseInt(MAX_WAIT_PROPERTY, DEFAULT_MAX_WAIT_IN_SECONDS);
+		this.pollingStrategyName = values.get(POLLING_STRATEGY_PROPERTY);
+		this.eventDrivenWaits = Boolean.parseBoolean(values.get(EVENT_DRIVEN_WAITS_PROPERTY));
+		this.driverPoolSize = Math.max(0, parseInt(DRIVER_POOL_SIZE_PROPERTY, 0));
+		this.asyncScreenshots = Boolean.parseBoolean(values.get(ASYNC_SCREENSHOTS_PROPERTY));
+		this.commandMetricsFile = values.get(COMMAND_METRICS_FILE_PROPERTY);
+		this.elementCacheSize = Math.max(0, parseInt(ELEMENT_CACHE_SIZE_PROPERTY, 0));
+		this.optimizeLocators = Boolean.parseBoolean(values.get(OPTIMIZE_LOCATORS_PROPERTY));
+		this.highlightElements = !"false".equalsIgnoreCase(values.get(HIGHLIGHT_ELEMENTS_PROPERTY));
+		this.deferredFailureArtifacts = Boolean.parseBoolean(values.get(DEFERRED_FAILURE_ARTIFACTS_PROPERTY));
+		this.waitForPageReady = Boolean.parseBoolean(values.get(WAIT_FOR_PAGE_READY_PROPERTY));
+	}
+
+	/**
+	 * @param fileProperties - The framework properties, Ex: loaded from seleniumFramework.properties
+	 * @param systemProperties - Usually System.getProperties()
+	 * @return A snapshot of the framework properties, with any of the system properties that share their names (or a known framework property name) laid over them.
+	 */
+	public static FrameworkConfiguration from(Properties fileProperties, Properties systemProperties) {
+		Map<String, String> frameworkValues = new HashMap<String, String>();
+		for (String key : fileProperties.stringPropertyNames()) {
+			frameworkValues.put(key, fileProperties.getProperty(key));
+		}
+		Map<String, String> systemValues = new HashMap<String, String>();
+		for (String key : frameworkValues.keySet()) {
+			addIfSet(systemValues, systemProperties, key);
+		}
+		for (String key : KNOWN_PROPERTIES) {
+			addIfSet(systemValues, systemProperties, key);
+		}
+		return new FrameworkConfiguration(frameworkValues, systemValues, new HashMap<String, String>());
+	}
+
+	private static void addIfSet(Map<String, String> values, Properties properties, String key) {
+		String value = properties.getProperty(key);
+		if(value != null) {
+			values.put(key, value);
+		}
+	}
+
+	private int parseInt(String name, int defaultValue) {
+		String value = values.get(name);
+		if(value == null) {
+			return defaultValue;
+		}
+		try {
+			return Integer.parseInt(value.trim());
+		} catch (NumberFormatException e) {
+			logger.log(Level.SEVERE, "Invalid " + name + " of: " + value + ".  Using: " + defaultValue);
+			return defaultValue;
+		}
+	}
+
+	/**
+	 * @param name
+	 * @param value
+	 * @return A copy of this snapshot with the property changed.  The new value wins over a System property with the same name.
+	 */
+	public FrameworkConfiguration withProperty(String name, String value) {
+		Map<String, String> changed = new HashMap<String, String>(changedProperties);
+		changed.put(name, value);
+		return new FrameworkConfiguration(frameworkProperties, systemOverrides, changed);
+	}
+
+	/**
+	 * @param name
+	 * @return The value of the property (the System property if one is set, otherwise the framework property), or null if neither is set.
+	 */
+	public String getProperty(String name) {
+		return values.get(name);
+	}
+
+	/**
+	 * @return A new, modifiable copy of every property in this snapshot.
+	 */
+	public Properties toProperties() {
+		Properties properties = new Properties();
+		for (Map.Entry<String, String> entry : values.entrySet()) {
+			properties.setProperty(entry.getKey(), entry.getValue());
+		}
+		return properties;
+	}
+
+	/**
+	 * @return The value set with withProperty() if there is one, otherwise true if either the framework property or the System property is true.
+	 */
+	public boolean isFailIfElementNotFound() {
+		return failIfElementNotFound;
+	}
+	/**
+	 * @return The geckodriver executable location, or null if it isn't set.
+	 */
+	public String getGeckoDriverLocation() {
+		return geckoDriverLocation;
+	}
+	public int getMaxWaitInSeconds() {
+		return maxWaitInSeconds;
+	}
+	/**
+	 * @return The SELENIUM_POLLING_STRATEGY name as it was set, or null if it isn't set.
+	 */
+	public String getPollingStrategyName() {
+		return pollingStrategyName;
+	}
+	public boolean isEventDrivenWaits() {
+		return eventDrivenWaits;
+	}
+	/**
+	 * @return The SELENIUM_DRIVER_POOL_SIZE, or 0 if there should be no pool.
+	 */
+	public int getDriverPoolSize() {
+		return driverPoolSize;
+	}
+	public boolean isAsyncScreenshots() {
+		return asyncScreenshots;
+	}
+	/**
+	 * @return Where to write the remote command metrics at the end of the run, or null if they shouldn't be recorded.
+	 */
+	public String getCommandMetricsFile() {
+		return commandMetricsFile;
+	}
+	/**
+	 * @return The SELENIUM_ELEMENT_CACHE_SIZE, or 0 if finders shouldn't cache elements.
+	 */
+	public int getElementCacheSize() {
+		return elementCacheSize;
+	}
+	/**
+	 * @return The SELENIUM_OPTIMIZE_LOCATORS, or false if finders should use locators exactly as written.
+	 */
+	public boolean isOptimizeLocators() {
+		return optimizeLocators;
+	}
+	/**
+	 * @return The SELENIUM_HIGHLIGHT_ELEMENTS, or true if it isn't set.  When false, highlightElement() does nothing.
+	 */
+	public boolean isHighlightElements() {
+		return highlightElements;
+	}
+	/**
+	 * @return The SELENIUM_DEFERRED_FAILURE_ARTIFACTS, or false if failure screenshots should be taken as soon as the exception is created.
+	 */
+	public boolean isDeferredFailureArtifacts() {
+		return deferredFailureArtifacts;
+	}
+	/**
+	 * @return The SELENIUM_WAIT_FOR_PAGE_READY, or false if navigateToPage() should call isLoaded() as soon as the browser has visited the page.
+	 */
+	public boolean isWaitForPageReady() {
+		return waitForPageReady;
+	}
+}
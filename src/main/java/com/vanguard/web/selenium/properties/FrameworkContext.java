@@ -0,0 +1,75 @@
+package com.vanguard.web.selenium.properties;
+
+/**
+ * The framework configuration seen by one thread.<p>
+ *
+ * Each thread gets its own FrameworkConfiguration snapshot the first time it asks for one,
+ * so properties changed by one test (on one thread) never leak into tests running on other threads.
+ * SeleniumBaseTest opens a new context before every test and closes it after, so every test starts from the suite-wide configuration.<p>
+ *
+ * To change a property for the current test only, use setProperty().  PropertiesManager.setFrameworkProperty() changes the suite-wide
+ * configuration: the calling thread sees the change right away, and other threads see it the next time they open a context.
+ *
+ */
+public final class FrameworkContext {
+
+	private static final ThreadLocal<FrameworkContext> contextForThread = new ThreadLocal<FrameworkContext>();
+	private FrameworkConfiguration configuration;
+
+	private FrameworkContext(FrameworkConfiguration configuration) {
+		super();
+		this.configuration = configuration;
+	}
+
+	/**
+	 * @return The current thread's context, opening one if the thread doesn't have one yet.
+	 */
+	public static FrameworkContext current() {
+		FrameworkContext context = contextForThread.get();
+		if(context == null) {
+			context = open();
+		}
+		return context;
+	}
+
+	/**
+	 * Replaces the current thread's context with the suite-wide configuration.
+	 * @return The new context.
+	 */
+	public static FrameworkContext open() {
+		FrameworkContext context = new FrameworkContext(PropertiesManager.getConfiguration());
+		contextForThread.set(context);
+		return context;
+	}
+
+	/**
+	 * Throws away the current thread's context, including any properties set on it.  The next call to current() opens a new one.
+	 */
+	public static void close() {
+		contextForThread.remove();
+	}
+
+	/**
+	 * @return This thread's configuration.  Typed getters on it don't allocate anything.
+	 */
+	public FrameworkConfiguration getConfiguration() {
+		return configuration;
+	}
+
+	/**
+	 * @param name
+	 * @return The property for this thread (the System property if one is set, otherwise the framework property), or null if neither is set.
+	 */
+	public String getProperty(String name) {
+		return configuration.getProperty(name);
+	}
+
+	/**
+	 * Changes a framework property for the current thread only, until its context is closed.
+	 * @param name
+	 * @param value
+	 */
+	public void setProperty(String name, String value) {
+		configuration = configuration.withProperty(name, value);
+	}
+}
@@ -7,21 +7,27 @@ import java.util.Properties;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+/**
+ * Loads and holds the suite-wide framework properties.  Safe to use from any thread.
+ * The properties file is loaded once, into an immutable FrameworkConfiguration with the System properties laid over it.
+ * To read properties for the current test, prefer FrameworkContext.current(), which every thread gets its own copy of.
+ *
+ */
 public class PropertiesManager {
 
 	public static final String FRAMEWORK_PROPERTIES_FILE_LOCATION = "src/test/resources/seleniumFramework.properties";
-	private static Properties frameworkProperties = new Properties();
-	private static boolean hasBeenLoaded = false; //TODO: Seems like should be a better way to do this
-	
+	private static final Properties frameworkProperties = new Properties();
+	private static volatile FrameworkConfiguration configuration;
+
 	/**
 	 * Loads the Framework Properties from the specified constant location.
-	 * This file should include things like: 
-	 * failIfElementNotFound=true|false - 
+	 * This file should include things like:
+	 * failIfElementNotFound=true|false -
 	 * 		true will fail a test as soon as it encounters an element it can't find, false will log an error in the console and continue the test.
 	 * geckoDriverLocation=/some/path/to/the/geckodriver/executable
 	 * SELENIUM_MAX_WAIT=60 - the maximum time in seconds you want any explicit wait anywhere in your suite to wait for.
 	 */
-	public static void loadFrameworkProperties() {
+	public static synchronized void loadFrameworkProperties() {
 
 		try (
 			InputStream input = new FileInputStream(FRAMEWORK_PROPERTIES_FILE_LOCATION);
@@ -32,30 +38,57 @@ public class PropertiesManager {
 					"The framework will use defaults for all properties that should be in that file.");
 			Logger.getAnonymousLogger().log(Level.SEVERE, ex.getMessage());
 		}
+		configuration = FrameworkConfiguration.from(frameworkProperties, System.getProperties());
 	}
 
-	public static Properties getFrameworkProperties() {
-		if(!hasBeenLoaded) {
-			loadFrameworkProperties();
-			hasBeenLoaded=true;
-		}
-		return cloneFrameworkProperties();
+	/**
+	 * Reads the properties file and System properties again, replacing the suite-wide configuration.
+	 * Properties set with setFrameworkProperty() are kept unless the file sets them too.
+	 * Like setFrameworkProperty(), the calling thread's FrameworkContext is reopened, and other threads see it the next time they open one.
+	 */
+	public static void reloadFrameworkProperties() {
+		loadFrameworkProperties();
+		FrameworkContext.open();
 	}
-	
-	private static Properties cloneFrameworkProperties() {
-		Properties clone = (Properties) frameworkProperties.clone();
-		for (String key : frameworkProperties.stringPropertyNames()) {
-			String value = frameworkProperties.getProperty(key);
-			clone.setProperty(key, value);
+
+	/**
+	 * @return The suite-wide configuration, loading it the first time.  Doesn't copy anything.
+	 */
+	public static FrameworkConfiguration getConfiguration() {
+		FrameworkConfiguration loaded = configuration;
+		if(loaded == null) {
+			synchronized (PropertiesManager.class) {
+				if(configuration == null) {
+					loadFrameworkProperties();
+				}
+				loaded = configuration;
+			}
 		}
-		return clone;
+		return loaded;
 	}
 
+	/**
+	 * @return A new, modifiable copy of the suite-wide properties.  Changing it doesn't change the framework's configuration.
+	 */
+	public static Properties getFrameworkProperties() {
+		return getConfiguration().toProperties();
+	}
+
+	/**
+	 * Changes the suite-wide framework property.  The calling thread's FrameworkContext is reopened so it sees the change right away
+	 * (dropping anything set on that context only).  Other threads see the change the next time they open a FrameworkContext.
+	 * @param name
+	 * @param value
+	 */
 	public static void setFrameworkProperty(String name, String value) {
-		getFrameworkProperties();
-		frameworkProperties.setProperty(name, value);
+		synchronized (PropertiesManager.class) {
+			getConfiguration();
+			frameworkProperties.setProperty(name, value);
+			configuration = FrameworkConfiguration.from(frameworkProperties, System.getProperties());
+		}
+		FrameworkContext.open();
 	}
 	public static String getFrameworkProperty(String name) {
-		return getFrameworkProperties().getProperty(name);
+		return getConfiguration().getProperty(name);
 	}
 }
@@ -1,9 +1,12 @@
 package com.vanguard.web.selenium.startingpages;
 
+import java.util.logging.Logger;
+
 import org.openqa.selenium.WebDriver;
 
 import com.vanguard.web.automation.tools.selenium.SeleniumPageObject;
 import com.vanguard.web.selenium.exceptions.SeleniumNavigationException;
+import com.vanguard.web.selenium.properties.FrameworkContext;
 
 /**
  * This class should be extended for only the few Page Objects that will ever start a test.
@@ -13,14 +16,26 @@ import com.vanguard.web.selenium.exceptions.SeleniumNavigationException;
  */
 public abstract class SeleniumStartPage extends SeleniumPageObject{
 	
+	private static final Logger logger = Logger.getLogger( SeleniumStartPage.class.getName() );
+	
 	public SeleniumStartPage(WebDriver driver) {
 		super(driver);
 	}
 
 	public abstract String getPageUrl();
 	
+	/**
+	 * Visits the page's url and makes sure it's loaded.
+	 * With SELENIUM_WAIT_FOR_PAGE_READY set to true, isLoaded() is only called once the page is ready (or SELENIUM_MAX_WAIT is up),
+	 * so it doesn't have to wait for elements itself.  Ready means the page looks quiet (see SeleniumBrowserMethods.waitForPageToBeReady()),
+	 * so isLoaded() should still check for what it needs.  If the page isn't ready in time, a warning is logged and isLoaded() decides.
+	 */
 	public void navigateToPage() {
 		browser.visit(getPageUrl());
+		if(FrameworkContext.current().getConfiguration().isWaitForPageReady() && !browser.waitForPageToBeReady()) {
+			logger.warning("Page " + this.getClass().getSimpleName() + " was not ready within SELENIUM_MAX_WAIT (or the browser couldn't tell) after navigating to " +
+					getPageUrl() + ".  Checking isLoaded() anyway.");
+		}
 		if(!isLoaded()) {
 			throw new SeleniumNavigationException("Page " + this.getClass().getSimpleName() + 
 					" was determined to not be loaded after navigating to " + getPageUrl(), driver);
@@ -1,25 +1,59 @@
 package com.vanguard.web.selenium.test;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
+import org.junit.rules.TestWatcher;
+import org.junit.runner.Description;
+import org.junit.runner.RunWith;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.firefox.FirefoxDriver;
 
+import com.vanguard.web.automation.tools.selenium.CommandMetrics;
+import com.vanguard.web.automation.tools.selenium.InstrumentedWebDriver;
+import com.vanguard.web.automation.tools.selenium.LocatorOptimizationReport;
+import com.vanguard.web.selenium.properties.FrameworkConfiguration;
+import com.vanguard.web.selenium.properties.FrameworkContext;
 import com.vanguard.web.selenium.properties.PropertiesManager;
+import com.vanguard.web.selenium.utils.FailureArtifacts;
+import com.vanguard.web.selenium.utils.ScreenshotUtility;
 
+/**
+ * Launches a Firefox browser before each test, and closes it after.<p>
+ * 
+ * If the SELENIUM_DRIVER_POOL_SIZE framework property is set, browsers are instead leased from a WebDriverPool of up to that many browsers,
+ * shared by every test (and every thread, for parallel runners) in the JVM, and reset and returned to the pool after each test.
+ * Each test also gets its own FrameworkContext, so properties it changes don't leak into other tests.
+ * If the SELENIUM_COMMAND_METRICS_FILE framework property is set, every browser is wrapped in an InstrumentedWebDriver, and the CommandMetrics
+ * are written to that file when the JVM exits.
+ * If the SELENIUM_DEFERRED_FAILURE_ARTIFACTS framework property is true, the failure screenshots of any CouldNotTakeActionOnElementException
+ * that fails the test are taken as soon as the test method fails, before the test's @After methods run (see SeleniumTestRunner).
+ * Tests that pick their own runner with @RunWith get them from the failureArtifactWatcher instead, which runs after every @After method,
+ * but still before the browser is closed.  Either way, the exception records the URL and window it was thrown in.
+ * 
+ */
+@RunWith(SeleniumTestRunner.class)
 public class SeleniumBaseTest {
 
 	private static final Logger logger = Logger.getLogger( SeleniumBaseTest.class.getName() );	
 	protected WebDriver driver;
-	static final String GECKO_DRIVER_LOCATION_PROPERTY = "geckoDriverLocation";
+	static final String GECKO_DRIVER_LOCATION_PROPERTY = FrameworkConfiguration.GECKO_DRIVER_LOCATION_PROPERTY;
 	static final String GECKO_DRIVER_SYSTEM_PROPERTY_TO_SET = "webdriver.gecko.driver";
+	static final long SCREENSHOT_FLUSH_TIMEOUT_IN_MILLISECONDS = 30000;
+	private static WebDriverPool sharedDriverPool;
+	private static boolean commandMetricsExportRegistered = false;
+	private static boolean locatorOptimizationReportRegistered = false;
+	private WebDriverPool driverPool;
+	private boolean teardownDeferred = false;
 	
 	@Before
 	public void baseTestSetup() {
+		FrameworkContext.open();
 		setUpGeckoDriverProperty();
 		launchTheBrowser();
 	}
@@ -28,10 +62,11 @@ public class SeleniumBaseTest {
 		File frameworkProperties = new File(PropertiesManager.FRAMEWORK_PROPERTIES_FILE_LOCATION);
 		String errorMessage = "You must set the [" + GECKO_DRIVER_LOCATION_PROPERTY + "] property within your System properties, or your properties file: " + frameworkProperties.getAbsolutePath();
 		if((System.getProperty(GECKO_DRIVER_LOCATION_PROPERTY) == null)) {
-			if(PropertiesManager.getFrameworkProperty(GECKO_DRIVER_LOCATION_PROPERTY) == null) {
+			String geckoDriverLocation = PropertiesManager.getConfiguration().getGeckoDriverLocation();
+			if(geckoDriverLocation == null) {
 				logger.log(Level.SEVERE, errorMessage);
 			} else {
-				System.setProperty(GECKO_DRIVER_SYSTEM_PROPERTY_TO_SET, PropertiesManager.getFrameworkProperties().getProperty(GECKO_DRIVER_LOCATION_PROPERTY));	
+				System.setProperty(GECKO_DRIVER_SYSTEM_PROPERTY_TO_SET, geckoDriverLocation);	
 			}
 		} else {
 			System.setProperty(GECKO_DRIVER_SYSTEM_PROPERTY_TO_SET, System.getProperty(GECKO_DRIVER_LOCATION_PROPERTY));
@@ -39,14 +74,107 @@ public class SeleniumBaseTest {
 	}
 	
 	private void launchTheBrowser() {
-		driver = new FirefoxDriver();
+		driverPool = getSharedDriverPool();
+		driver = driverPool == null ? new FirefoxDriver() : driverPool.lease();
+		String commandMetricsFile = PropertiesManager.getConfiguration().getCommandMetricsFile();
+		if(commandMetricsFile != null) {
+			registerCommandMetricsExport(new File(commandMetricsFile));
+			driver = InstrumentedWebDriver.wrap(driver);
+		}
+		if(PropertiesManager.getConfiguration().isOptimizeLocators()) {
+			registerLocatorOptimizationReport();
+		}
+	}
+
+	static synchronized void registerCommandMetricsExport(final File commandMetricsFile) {
+		if(commandMetricsExportRegistered) {
+			return;
+		}
+		commandMetricsExportRegistered = true;
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			try {
+				CommandMetrics.shared().writeJson(commandMetricsFile);
+			} catch (IOException e) {
+				logger.log(Level.SEVERE, "Could not write the command metrics to: " + commandMetricsFile.getAbsolutePath(), e);
+			}
+		}));
 	}
+
+	static synchronized void registerLocatorOptimizationReport() {
+		if(locatorOptimizationReportRegistered) {
+			return;
+		}
+		locatorOptimizationReportRegistered = true;
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> logger.log(Level.INFO, LocatorOptimizationReport.shared().toString())));
+	}
+	
+	/* Runs after every @After method, so it can capture failure artifacts while the browser is still open (see baseTestTeardown()).
+	 * With the SeleniumTestRunner, failures of the test method itself were already captured before the @After methods ran. */
+	@Rule
+	public TestWatcher failureArtifactWatcher = new TestWatcher() {
+		@Override
+		protected void failed(Throwable e, Description description) {
+			SeleniumTestRunner.captureFor(e);
+		}
+		@Override
+		protected void finished(Description description) {
+			FailureArtifacts.discardPending();
+			if(teardownDeferred) {
+				teardownDeferred = false;
+				closeTheBrowser();
+			}
+		}
+	};
 	
+	/**
+	 * Closes the browser, unless a CouldNotTakeActionOnElementException is waiting to capture its failure artifacts (SELENIUM_DEFERRED_FAILURE_ARTIFACTS),
+	 * in which case the failureArtifactWatcher closes it once it knows whether the test failed.
+	 */
 	@After
 	public void baseTestTeardown() {
-		if(driver != null) {
-			driver.quit();
+		if(FailureArtifacts.hasPending()) {
+			teardownDeferred = true;
+			return;
+		}
+		closeTheBrowser();
+	}
+
+	private void closeTheBrowser() {
+		try {
+			if(driver != null) {
+				if(driverPool == null) {
+					driver.quit();
+				} else {
+					driverPool.release();
+				}
+			}
+		} finally {
+			if(!ScreenshotUtility.flushAsyncScreenshots(SCREENSHOT_FLUSH_TIMEOUT_IN_MILLISECONDS)) {
+				logger.log(Level.WARNING, "Not every screenshot was written by the end of the test.");
+			}
+			FrameworkContext.close();
 		}
 	}
+
+	/**
+	 * @return The pool every test leases from, or null if SELENIUM_DRIVER_POOL_SIZE isn't set (each test launches its own browser).
+	 */
+	static synchronized WebDriverPool getSharedDriverPool() {
+		if(sharedDriverPool == null) {
+			int poolSize = PropertiesManager.getConfiguration().getDriverPoolSize();
+			if(poolSize < 1) {
+				return null;
+			}
+			sharedDriverPool = new WebDriverPool(poolSize, FirefoxDriver::new);
+			final WebDriverPool poolToShutDown = sharedDriverPool;
+			Runtime.getRuntime().addShutdownHook(new Thread(poolToShutDown::shutdown));
+		}
+		return sharedDriverPool;
+	}
+
+	//For Tests
+	void setDriverPool(WebDriverPool newDriverPool) {
+		this.driverPool = newDriverPool;
+	}
 	
 }
@@ -0,0 +1,52 @@
+package com.vanguard.web.selenium.test;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.runners.BlockJUnit4ClassRunner;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.MultipleFailureException;
+import org.junit.runners.model.Statement;
+
+import com.vanguard.web.selenium.utils.FailureArtifacts;
+
+/**
+ * The default JUnit runner, except that failure artifacts are captured as soon as the test method fails, before any @After method runs.<p>
+ *
+ * SeleniumBaseTest (and so every test extending it) runs with this runner, unless the test picks its own with @RunWith.
+ * Failures of @Test(expected = ...) exceptions the test expected aren't captured.
+ *
+ */
+public class SeleniumTestRunner extends BlockJUnit4ClassRunner {
+
+	public SeleniumTestRunner(Class<?> testClass) throws InitializationError {
+		super(testClass);
+	}
+
+	@Override
+	protected Statement withBefores(FrameworkMethod method, Object target, Statement statement) {
+		return super.withBefores(method, target, captureFailureArtifacts(statement));
+	}
+
+	static Statement captureFailureArtifacts(final Statement testMethod) {
+		return new Statement() {
+			@Override
+			public void evaluate() throws Throwable {
+				try {
+					testMethod.evaluate();
+				} catch (Throwable e) {
+					captureFor(e);
+					throw e;
+				}
+			}
+		};
+	}
+
+	static void captureFor(Throwable e) {
+		List<Throwable> failures = e instanceof MultipleFailureException ? ((MultipleFailureException) e).getFailures() : Collections.singletonList(e);
+		for (Throwable failure : failures) {
+			FailureArtifacts.captureFor(failure);
+		}
+	}
+}
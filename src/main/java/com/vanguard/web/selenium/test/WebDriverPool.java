@@ -0,0 +1,217 @@
+package com.vanguard.web.selenium.test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+/**
+ * A bounded pool of browsers that tests lease instead of starting (and quitting) their own.<p>
+ *
+ * Each thread leases at most one driver at a time: leasing again from the same thread returns the driver it already has.
+ * At most maxSize drivers exist at once, so parallel test runners share a fixed number of browsers, and a thread that
+ * can't get one waits up to the lease timeout for another thread to release theirs.<p>
+ *
+ * Before a driver is leased it is health checked, and drivers that no longer respond are quit and replaced.
+ * When a driver is released, the cookies, local storage and session storage of the page it was left on are cleared, every window but one is closed,
+ * and the one left is sent to about:blank, so the next test starts clean.  A driver that can't be reset is quit instead of going back in the pool.
+ *
+ */
+public class WebDriverPool {
+
+	private static final Logger logger = Logger.getLogger( WebDriverPool.class.getName() );
+	static final String BLANK_PAGE = "about:blank";
+	static final String JS_CLEAR_STORAGE = "try { window.localStorage.clear(); } catch (e) {}" +
+			"try { window.sessionStorage.clear(); } catch (e) {}";
+	public static final int DEFAULT_LEASE_TIMEOUT_IN_SECONDS = 300;
+	private final int maxSize;
+	private final long leaseTimeoutInMillis;
+	private final Supplier<WebDriver> driverFactory;
+	private final Semaphore capacity;
+	private final LinkedBlockingDeque<WebDriver> idleDrivers = new LinkedBlockingDeque<WebDriver>();
+	private final Set<WebDriver> leasedDrivers = ConcurrentHashMap.newKeySet();
+	private final ThreadLocal<WebDriver> driverForThread = new ThreadLocal<WebDriver>();
+	private volatile boolean shutDown = false;
+
+	public WebDriverPool(int maxSize, Supplier<WebDriver> driverFactory) {
+		this(maxSize, DEFAULT_LEASE_TIMEOUT_IN_SECONDS, driverFactory);
+	}
+
+	/**
+	 * @param maxSize - The most drivers that will ever be open at once.  Must be at least 1.
+	 * @param leaseTimeoutInSeconds - How long lease() waits for a driver when they are all in use.
+	 * @param driverFactory - Starts a new browser, Ex: FirefoxDriver::new
+	 */
+	public WebDriverPool(int maxSize, int leaseTimeoutInSeconds, Supplier<WebDriver> driverFactory) {
+		super();
+		if(maxSize < 1) {
+			throw new IllegalArgumentException("A WebDriverPool must hold at least 1 driver, but was given a max size of: " + maxSize);
+		}
+		this.maxSize = maxSize;
+		this.leaseTimeoutInMillis = TimeUnit.SECONDS.toMillis(Math.max(0, leaseTimeoutInSeconds));
+		this.driverFactory = driverFactory;
+		this.capacity = new Semaphore(maxSize, true);
+	}
+
+	/**
+	 * @return The driver leased to the current thread, leasing one first if it doesn't have one yet.
+	 * @throws WebDriverException if no driver became free within the lease timeout, or the pool has been shut down.
+	 */
+	public WebDriver lease() {
+		if(shutDown) {
+			driverForThread.remove();
+			throw new WebDriverException("The WebDriverPool has been shut down.");
+		}
+		WebDriver driver = driverForThread.get();
+		if(driver != null) {
+			return driver;
+		}
+		acquireCapacity();
+		try {
+			driver = takeHealthyIdleDriver();
+			if(driver == null) {
+				driver = driverFactory.get();
+			}
+		} catch (RuntimeException e) {
+			capacity.release();
+			throw e;
+		}
+		leasedDrivers.add(driver);
+		driverForThread.set(driver);
+		return driver;
+	}
+
+	/**
+	 * Resets the current thread's driver and puts it back in the pool.  Does nothing if the thread doesn't have one.
+	 */
+	public void release() {
+		WebDriver driver = driverForThread.get();
+		driverForThread.remove();
+		if(driver == null || !leasedDrivers.remove(driver)) {
+			return;
+		}
+		try {
+			if(!shutDown && resetDriver(driver)) {
+				idleDrivers.offerFirst(driver);
+			} else {
+				quitQuietly(driver);
+			}
+		} finally {
+			capacity.release();
+		}
+	}
+
+	/**
+	 * Quits every driver in the pool, including the ones that are leased out, Ex: when the JVM exits in the middle of a test.
+	 */
+	public void shutdown() {
+		shutDown = true;
+		WebDriver idleDriver;
+		while((idleDriver = idleDrivers.pollFirst()) != null) {
+			quitQuietly(idleDriver);
+		}
+		for (WebDriver leasedDriver : leasedDrivers) {
+			if(leasedDrivers.remove(leasedDriver)) {
+				quitQuietly(leasedDriver);
+				capacity.release();
+			}
+		}
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+	public int getIdleCount() {
+		return idleDrivers.size();
+	}
+	public int getLeasedCount() {
+		return leasedDrivers.size();
+	}
+
+
+	//NOTE: The following methods are helper methods for the pool only, and are NOT public.
+
+	private void acquireCapacity() {
+		try {
+			if(!capacity.tryAcquire(leaseTimeoutInMillis, TimeUnit.MILLISECONDS)) {
+				throw new WebDriverException("No WebDriver became free within " + TimeUnit.MILLISECONDS.toSeconds(leaseTimeoutInMillis) +
+						" second(s).  All " + maxSize + " are leased out.");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new WebDriverException(e);
+		}
+	}
+
+	private WebDriver takeHealthyIdleDriver() {
+		WebDriver idleDriver;
+		while((idleDriver = idleDrivers.pollFirst()) != null) {
+			if(isHealthy(idleDriver)) {
+				return idleDriver;
+			}
+			logger.log(Level.WARNING, "Replacing a pooled WebDriver that no longer responds.");
+			quitQuietly(idleDriver);
+		}
+		return null;
+	}
+
+	protected boolean isHealthy(WebDriver driver) {
+		try {
+			return driver.getWindowHandle() != null;
+		} catch (WebDriverException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Storage is cleared before leaving the page, since it belongs to the page's origin.
+	 * Windows the test opened (Ex: popups) are closed, keeping the first one.
+	 * @param driver
+	 * @return true if the driver was reset and can be leased again.
+	 */
+	protected boolean resetDriver(WebDriver driver) {
+		try {
+			if(driver instanceof JavascriptExecutor) {
+				((JavascriptExecutor) driver).executeScript(JS_CLEAR_STORAGE);
+			}
+			driver.manage().deleteAllCookies();
+			closeEveryWindowButOne(driver);
+			driver.get(BLANK_PAGE);
+			return true;
+		} catch (WebDriverException e) {
+			logger.log(Level.WARNING, "Could not reset a pooled WebDriver, so it will be quit instead: " + e.getMessage());
+			return false;
+		}
+	}
+
+	private static void closeEveryWindowButOne(WebDriver driver) {
+		Set<String> windowHandles = driver.getWindowHandles();
+		if(windowHandles == null || windowHandles.size() < 2) {
+			return;
+		}
+		String windowToKeep = windowHandles.iterator().next();
+		for (String windowHandle : windowHandles) {
+			if(!windowHandle.equals(windowToKeep)) {
+				driver.switchTo().window(windowHandle);
+				driver.close();
+			}
+		}
+		driver.switchTo().window(windowToKeep);
+	}
+
+	private static void quitQuietly(WebDriver driver) {
+		try {
+			driver.quit();
+		} catch (WebDriverException e) {
+			logger.log(Level.WARNING, "Could not quit a pooled WebDriver: " + e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package com.vanguard.web.selenium.utils;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+/**
+ * Failure screenshots (and page source) that are only taken if the failure ends the test.<p>
+ *
+ * With the SELENIUM_DEFERRED_FAILURE_ARTIFACTS framework property set to true, CouldNotTakeActionOnElementException only remembers
+ * its message and driver here when it's created, without calling the browser, so failures a page object catches and retries cost next to nothing.
+ * When a test fails, SeleniumBaseTest passes the failure to captureFor(), which captures the artifacts of any remembered failure it was
+ * (or was caused by), before the browser is closed.  The same failure thrown more than once is only captured once.
+ * The artifacts show the browser as it is when they're captured, and the log names the URL they were captured from.
+ * Remembered failures are per thread, and are thrown away at the end of each test.
+ *
+ */
+public class FailureArtifacts {
+
+	private static final Logger logger = Logger.getLogger( FailureArtifacts.class.getName() );
+	private static final ThreadLocal<Map<String, WebDriver>> pendingForThread = ThreadLocal.withInitial(LinkedHashMap::new);
+
+	/**
+	 * Remembers a failure, without calling the browser.
+	 * @param message - The failure's message, also used to name the artifacts.
+	 * @param driver
+	 */
+	public static void defer(String message, WebDriver driver) {
+		pendingForThread.get().put(message, driver);
+	}
+
+	/**
+	 * @return true if this thread remembered a failure that hasn't been captured or thrown away yet.
+	 */
+	public static boolean hasPending() {
+		return !pendingForThread.get().isEmpty();
+	}
+
+	/**
+	 * Takes the screenshot and saves the page source of every remembered failure the testFailure is, was caused by, or suppressed.
+	 * Each one is only captured once.
+	 * @param testFailure - What ended the test.
+	 * @return How many failures were captured.
+	 */
+	public static int captureFor(Throwable testFailure) {
+		Map<String, WebDriver> pending = pendingForThread.get();
+		Set<Throwable> visited = Collections.newSetFromMap(new IdentityHashMap<Throwable, Boolean>());
+		return captureFor(testFailure, pending, visited);
+	}
+	private static int captureFor(Throwable failure, Map<String, WebDriver> pending, Set<Throwable> visited) {
+		if(failure == null || !visited.add(failure)) {
+			return 0;
+		}
+		int captured = 0;
+		WebDriver driver = failure.getMessage() == null ? null : pending.remove(failure.getMessage());
+		if(driver != null) {
+			capture(failure.getMessage(), driver);
+			captured++;
+		}
+		captured += captureFor(failure.getCause(), pending, visited);
+		for (Throwable suppressed : failure.getSuppressed()) {
+			captured += captureFor(suppressed, pending, visited);
+		}
+		return captured;
+	}
+
+	/**
+	 * Forgets every failure this thread remembered, Ex: at the end of a test.
+	 */
+	public static void discardPending() {
+		pendingForThread.remove();
+	}
+
+	private static void capture(String message, WebDriver driver) {
+		try {
+			logger.log(Level.INFO, "Capturing the failure artifacts from: " + driver.getCurrentUrl() + ".  Failure: " + message);
+		} catch (WebDriverException e) {
+			//Ex: The window was closed.  Capture what's there.
+		}
+		try {
+			ScreenshotUtility.takeScreenshot(message, driver);
+			ScreenshotUtility.savePageSource(message, driver);
+		} catch (WebDriverException e) {
+			logger.log(Level.SEVERE, "Could not capture the failure artifacts for: " + message, e);
+		}
+	}
+}
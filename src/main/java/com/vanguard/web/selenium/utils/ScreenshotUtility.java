@@ -2,6 +2,7 @@ package com.vanguard.web.selenium.utils;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.logging.Level;
@@ -13,18 +14,27 @@ import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 
+import com.vanguard.web.selenium.properties.FrameworkContext;
+
 public class ScreenshotUtility {
 
 	public static final String SCREENSHOT_FILE_LOCATION = "";
+	private static ScreenshotWriter asyncWriter;
 	
 	/**
 	 * Attempts to take a screenshot of the currently active browser.  If unsuccessful an error message is displayed in the console but the test will continue.
+	 * If the SELENIUM_ASYNC_SCREENSHOTS framework property is true, the screenshot is taken as bytes and written to disk on a background thread
+	 * (see flushAsyncScreenshots()), without writing a temp file first.
 	 * @param message - The filename will contain a camelCase version of the message + a time stamp.
 	 * @param driver
 	 */
 	public static void takeScreenshot(String message, WebDriver driver) {
+		if(FrameworkContext.current().getConfiguration().isAsyncScreenshots()) {
+			takeScreenshotAsync(message, driver, getAsyncWriter());
+			return;
+		}
 		File file = ((TakesScreenshot)driver).getScreenshotAs(OutputType.FILE);
-		String newFileName = StringHelperUtil.camelCase(message, true) + "__" + getTimeStamp(new Date()) + ".png";
+		String newFileName = getFileName(message);
 		try {
 			FileUtils.copyFile(file, new File(SCREENSHOT_FILE_LOCATION + FilenameUtils.getName(newFileName)));
 		} catch (IOException e) {
@@ -33,6 +43,67 @@ public class ScreenshotUtility {
 		}
 	}
 	
+	/**
+	 * The screenshot itself has to be taken on the test's thread (the driver isn't thread-safe), but only as bytes in memory.
+	 * @param message
+	 * @param driver
+	 * @param writer
+	 */
+	static void takeScreenshotAsync(String message, WebDriver driver, ScreenshotWriter writer) {
+		byte[] png = ((TakesScreenshot)driver).getScreenshotAs(OutputType.BYTES);
+		writer.submit(new File(SCREENSHOT_FILE_LOCATION + FilenameUtils.getName(getFileName(message))), png);
+	}
+
+	/**
+	 * Waits for every screenshot taken so far in async mode to be written to disk.  Does nothing if none were.
+	 * @param timeoutInMillis
+	 * @return false if the timeout ran out before they were all written.
+	 */
+	public static boolean flushAsyncScreenshots(long timeoutInMillis) {
+		ScreenshotWriter writer;
+		synchronized (ScreenshotUtility.class) {
+			writer = asyncWriter;
+		}
+		return writer == null || writer.flush(timeoutInMillis);
+	}
+
+	private static synchronized ScreenshotWriter getAsyncWriter() {
+		if(asyncWriter == null) {
+			asyncWriter = new ScreenshotWriter();
+			final ScreenshotWriter writerToClose = asyncWriter;
+			Runtime.getRuntime().addShutdownHook(new Thread(writerToClose::close));
+		}
+		return asyncWriter;
+	}
+
+	/**
+	 * Saves the HTML of the current page, named like takeScreenshot() names screenshots (with a .html extension).
+	 * If the SELENIUM_ASYNC_SCREENSHOTS framework property is true, it's written to disk on the same background thread as the screenshots.
+	 * @param message
+	 * @param driver
+	 */
+	public static void savePageSource(String message, WebDriver driver) {
+		File destination = new File(SCREENSHOT_FILE_LOCATION + FilenameUtils.getName(getFileName(message, ".html")));
+		String pageSource = driver.getPageSource();
+		if(FrameworkContext.current().getConfiguration().isAsyncScreenshots()) {
+			getAsyncWriter().submit(destination, pageSource.getBytes(StandardCharsets.UTF_8));
+			return;
+		}
+		try {
+			FileUtils.writeStringToFile(destination, pageSource, StandardCharsets.UTF_8.name());
+		} catch (IOException e) {
+			Logger.getAnonymousLogger().log(Level.SEVERE, "PAGE SOURCE NOT SAVED.  The following error occured when trying to save it.");
+			Logger.getAnonymousLogger().log(Level.SEVERE, e.getMessage());
+		}
+	}
+
+	static String getFileName(String message) {
+		return getFileName(message, ".png");
+	}
+	static String getFileName(String message, String extension) {
+		return StringHelperUtil.camelCase(message, true) + "__" + getTimeStamp(new Date()) + extension;
+	}
+	
 	static String getTimeStamp(Date date) {
 		return new SimpleDateFormat("dd-MM-yyyy_HH-mm-ss").format(date);
 	}
@@ -0,0 +1,156 @@
+package com.vanguard.web.selenium.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes screenshots to disk on a background thread, so tests don't wait on the file system.<p>
+ *
+ * Screenshots wait in a bounded queue: when it is full, submit() blocks until the writer catches up,
+ * so a burst of screenshots can't use up all the memory.  Call flush() to wait for everything submitted so far to be written
+ * (Ex: at the end of a test), and close() to flush and stop the writer thread.
+ *
+ */
+public class ScreenshotWriter {
+
+	public static final int DEFAULT_QUEUE_CAPACITY = 16;
+	private final BlockingQueue<PendingScreenshot> queue;
+	private final Thread writerThread;
+	private final Object pendingLock = new Object();
+	private int pendingCount = 0;
+	private volatile boolean closed = false;
+
+	public ScreenshotWriter() {
+		this(DEFAULT_QUEUE_CAPACITY);
+	}
+
+	/**
+	 * @param queueCapacity - How many screenshots can wait to be written before submit() blocks.
+	 */
+	public ScreenshotWriter(int queueCapacity) {
+		super();
+		this.queue = new ArrayBlockingQueue<PendingScreenshot>(Math.max(1, queueCapacity));
+		this.writerThread = new Thread(this::writeUntilClosed, "screenshot-writer");
+		this.writerThread.setDaemon(true);
+		this.writerThread.start();
+	}
+
+	/**
+	 * Queues the screenshot to be written, blocking while the queue is full.  After close(), the screenshot is written right away instead.
+	 * @param destination
+	 * @param png
+	 */
+	public void submit(File destination, byte[] png) {
+		PendingScreenshot screenshot = new PendingScreenshot(destination, png);
+		if(closed) {
+			write(screenshot);
+			return;
+		}
+		synchronized (pendingLock) {
+			pendingCount++;
+		}
+		try {
+			queue.put(screenshot);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			write(screenshot);
+			finishedOne();
+		}
+	}
+
+	/**
+	 * Waits until every screenshot submitted so far has been written.
+	 * @param timeoutInMillis
+	 * @return true if they were all written, false if the timeout ran out first.
+	 */
+	public boolean flush(long timeoutInMillis) {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMillis);
+		synchronized (pendingLock) {
+			while(pendingCount > 0) {
+				long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+				if(remainingMillis <= 0) {
+					return false;
+				}
+				try {
+					pendingLock.wait(remainingMillis);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Writes everything still in the queue and stops the writer thread.
+	 */
+	public void close() {
+		closed = true;
+		if(!flush(TimeUnit.MINUTES.toMillis(1))) {
+			Logger.getAnonymousLogger().log(Level.SEVERE, "Not every screenshot was written before the screenshot writer was closed.");
+		}
+		writerThread.interrupt();
+	}
+
+	public int getPendingCount() {
+		synchronized (pendingLock) {
+			return pendingCount;
+		}
+	}
+
+	private void writeUntilClosed() {
+		try {
+			while(true) {
+				PendingScreenshot screenshot = queue.take();
+				try {
+					write(screenshot);
+				} catch (RuntimeException e) {
+					//Ex: An invalid path.  Log it and keep writing, or every later submit() would block once the queue fills.
+					Logger.getAnonymousLogger().log(Level.SEVERE, "SCREENSHOT NOT TAKEN.  Could not write " + screenshot.destination, e);
+				} finally {
+					finishedOne();
+				}
+			}
+		} catch (InterruptedException e) {
+			//Closed.
+		}
+	}
+
+	private void finishedOne() {
+		synchronized (pendingLock) {
+			pendingCount--;
+			pendingLock.notifyAll();
+		}
+	}
+
+	private void write(PendingScreenshot screenshot) {
+		try {
+			write(screenshot.destination, screenshot.png);
+		} catch (IOException e) {
+			Logger.getAnonymousLogger().log(Level.SEVERE, "SCREENSHOT NOT TAKEN.  The following error occured when trying to write a screenshot.");
+			Logger.getAnonymousLogger().log(Level.SEVERE, e.getMessage());
+		}
+	}
+
+	//Overridden in tests
+	void write(File destination, byte[] png) throws IOException {
+		Files.write(destination.toPath(), png);
+	}
+
+	private static final class PendingScreenshot {
+		private final File destination;
+		private final byte[] png;
+
+		private PendingScreenshot(File destination, byte[] png) {
+			this.destination = destination;
+			this.png = png;
+		}
+	}
+}
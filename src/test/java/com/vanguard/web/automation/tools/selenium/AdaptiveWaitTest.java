@@ -0,0 +1,62 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+public class AdaptiveWaitTest {
+
+	private WebDriver mockDriver = Mockito.mock(WebDriver.class);
+	private LearnedPollingStrategy strategy = new LearnedPollingStrategy(new BackoffPollingStrategy(1, 1, 1, 0));
+
+	@Test
+	public void untilReturnsAsSoonAsTheConditionIsMetAndRecordsItTest() {
+		AtomicInteger calls = new AtomicInteger();
+		AdaptiveWait wait = new AdaptiveWait(mockDriver, 5000, strategy, "By.id: someId");
+		
+		String actual = wait.until(driver -> calls.incrementAndGet() < 3 ? null : "found");
+		
+		Assert.assertEquals("found", actual);
+		Assert.assertEquals(3, wait.getPollCount());
+		Assert.assertNotNull(strategy.getUsualMillis("By.id: someId"));
+	}
+
+	@Test
+	public void untilIgnoresNotFoundExceptionsAndFalseTest() {
+		AtomicInteger calls = new AtomicInteger();
+		AdaptiveWait wait = new AdaptiveWait(mockDriver, 5000, strategy);
+		
+		Boolean actual = wait.until(driver -> {
+			int call = calls.incrementAndGet();
+			if(call == 1) {
+				throw new NoSuchElementException("not yet");
+			}
+			return call > 2;
+		});
+		
+		Assert.assertTrue(actual);
+		Assert.assertEquals(3, wait.getPollCount());
+	}
+
+	@Test(expected=TimeoutException.class)
+	public void untilThrowsTimeoutExceptionWhenConditionIsNeverMetTest() {
+		new AdaptiveWait(mockDriver, 20, strategy).until(driver -> false);
+	}
+
+	@Test
+	public void untilChecksTheConditionOnceWithZeroTimeoutTest() {
+		AtomicInteger calls = new AtomicInteger();
+		AdaptiveWait wait = new AdaptiveWait(mockDriver, 0, strategy);
+		try {
+			wait.until(driver -> calls.incrementAndGet() > 5);
+			Assert.fail("Expected a TimeoutException");
+		} catch (TimeoutException e) {
+			Assert.assertEquals(1, calls.get());
+		}
+	}
+}
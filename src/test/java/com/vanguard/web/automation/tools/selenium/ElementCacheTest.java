@@ -0,0 +1,86 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+public class ElementCacheTest {
+
+	private WebDriver mockDriver = Mockito.mock(WebDriver.class);
+	private WebElement mockElement = Mockito.mock(WebElement.class);
+	private By locator = By.id("submit");
+	private ElementCache cache = new ElementCache(mockDriver, 2);
+
+	@Before
+	public void setup() {
+		Mockito.when(mockElement.isDisplayed()).thenReturn(true);
+		Mockito.when(mockElement.isEnabled()).thenReturn(true);
+	}
+
+	@Test
+	public void cachedElementIsReturnedWhileItPassesTheCheckTest() {
+		cache.put(null, locator, mockElement);
+
+		Assert.assertSame(mockElement, cache.get(null, locator, ElementCache.Check.CLICKABLE));
+		Assert.assertNull(cache.get(mockElement, locator, ElementCache.Check.CLICKABLE));
+		Assert.assertEquals(1, cache.getHitCount());
+		Assert.assertEquals(1, cache.getMissCount());
+
+		Mockito.when(mockElement.isDisplayed()).thenReturn(false);
+		Assert.assertSame(mockElement, cache.get(null, locator, ElementCache.Check.ENABLED));
+		Assert.assertNull(cache.get(null, locator, ElementCache.Check.CLICKABLE));
+		Assert.assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void staleElementIsDroppedTest() {
+		Mockito.when(mockElement.isEnabled()).thenThrow(new StaleElementReferenceException("detached"));
+		cache.put(null, locator, mockElement);
+
+		Assert.assertNull(cache.get(null, locator, ElementCache.Check.ATTACHED));
+		Assert.assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void leastRecentlyUsedElementIsDroppedTest() {
+		WebElement secondElement = Mockito.mock(WebElement.class);
+		cache.put(null, locator, mockElement);
+		cache.put(null, By.id("second"), secondElement);
+		cache.get(null, locator, ElementCache.Check.ATTACHED);
+		cache.put(null, By.id("third"), Mockito.mock(WebElement.class));
+
+		Assert.assertEquals(2, cache.size());
+		Assert.assertSame(mockElement, cache.get(null, locator, ElementCache.Check.ATTACHED));
+		Assert.assertNull(cache.get(null, By.id("second"), ElementCache.Check.ATTACHED));
+		Mockito.verifyZeroInteractions(secondElement);
+	}
+
+	@Test
+	public void navigatingDropsEveryElementTest() {
+		cache.put(null, locator, mockElement);
+
+		new SeleniumBrowserMethods(mockDriver).visit("http://example.com");
+
+		Assert.assertNull(cache.get(null, locator, ElementCache.Check.ATTACHED));
+		Assert.assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void finderAnswersTheSecondLookupOfALocatorFromTheCacheTest() {
+		Mockito.when(mockDriver.findElement(locator)).thenReturn(mockElement);
+		SeleniumElementFinder finder = new SeleniumElementFinder(mockDriver);
+		finder.setElementCache(cache);
+
+		Assert.assertSame(mockElement, finder.getElement(locator));
+		Assert.assertSame(mockElement, finder.getElement(locator));
+
+		//Both calls are from the first lookup: one while waiting for the element to be clickable, and one to get it.
+		Mockito.verify(mockDriver, Mockito.times(2)).findElement(locator);
+		Assert.assertEquals(1, cache.getHitCount());
+	}
+}
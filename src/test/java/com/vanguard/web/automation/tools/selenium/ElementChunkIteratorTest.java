@@ -0,0 +1,61 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+public class ElementChunkIteratorTest {
+
+	private WebDriver mockJsDriver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(JavascriptExecutor.class));
+	private By locator = By.cssSelector("tr");
+
+	@Test
+	public void streamFetchesOneChunkAtATimeUntilThereAreNoMoreMatchesTest() {
+		stubChunk(0, Arrays.asList(2L, Arrays.asList("Row 1", "Row 2")));
+		stubChunk(2, Arrays.asList(-1L, Arrays.asList("Row 3")));
+
+		List<String> texts = new ElementChunkIterator<String>(mockJsDriver, locator, 2, true, true).stream().collect(Collectors.toList());
+
+		Assert.assertEquals(Arrays.asList("Row 1", "Row 2", "Row 3"), texts);
+		Mockito.verify((JavascriptExecutor) mockJsDriver, Mockito.times(2)).executeScript(Mockito.eq(ElementChunkIterator.JS_GET_CHUNK),
+				Mockito.<Object>anyVararg());
+	}
+
+	@Test
+	public void streamStopsFetchingOnceItIsDoneWithTest() {
+		stubChunk(0, Arrays.asList(2L, Arrays.asList("Row 1", "Row 2")));
+
+		String firstText = new ElementChunkIterator<String>(mockJsDriver, locator, 2, true, true).stream().findFirst().get();
+
+		Assert.assertEquals("Row 1", firstText);
+		Mockito.verify((JavascriptExecutor) mockJsDriver, Mockito.times(1)).executeScript(Mockito.eq(ElementChunkIterator.JS_GET_CHUNK),
+				Mockito.<Object>anyVararg());
+	}
+
+	@Test
+	public void streamSkipsEmptyChunksAndEndsWhenTheScriptReturnsNothingTest() {
+		stubChunk(0, Arrays.asList(2L, Collections.emptyList()));
+		stubChunk(2, null);
+
+		Assert.assertEquals(0, new ElementChunkIterator<String>(mockJsDriver, locator, 2, true, true).stream().count());
+	}
+
+	@Test
+	public void canIterateOnlyWithAJavascriptDriverTest() {
+		Assert.assertTrue(ElementChunkIterator.canIterate(mockJsDriver, locator));
+		Assert.assertFalse(ElementChunkIterator.canIterate(Mockito.mock(WebDriver.class), locator));
+	}
+
+	private void stubChunk(int offset, Object scriptResult) {
+		Mockito.when(((JavascriptExecutor) mockJsDriver).executeScript(ElementChunkIterator.JS_GET_CHUNK, "CSS_SELECTOR", "tr", offset, 2, true, true))
+				.thenReturn(scriptResult);
+	}
+}
@@ -0,0 +1,57 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+public class ElementStateEvaluatorTest {
+
+	private WebDriver mockJsDriver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(JavascriptExecutor.class));
+	private WebElement mockElement1 = Mockito.mock(WebElement.class);
+	private WebElement mockElement2 = Mockito.mock(WebElement.class);
+
+	@Test
+	public void canEvaluateOnlyWhenDriverIsJavascriptExecutorTest() {
+		Assert.assertTrue(new ElementStateEvaluator(mockJsDriver).canEvaluate());
+		Assert.assertFalse(new ElementStateEvaluator(Mockito.mock(WebDriver.class)).canEvaluate());
+	}
+
+	@Test
+	public void evaluateReadsAllStatesInOneScriptCallTest() {
+		List<WebElement> elements = Arrays.asList(mockElement1, mockElement2);
+		List<Object> scriptResult = new ArrayList<Object>();
+		scriptResult.add(Arrays.asList(3L, "Visible text", "attrValue"));
+		scriptResult.add(Arrays.asList(4L, "", null));
+		Mockito.when(((JavascriptExecutor) mockJsDriver).executeScript(ElementStateEvaluator.JS_EVALUATE_STATES, elements, "value")).thenReturn(scriptResult);
+		
+		ElementStates states = new ElementStateEvaluator(mockJsDriver).evaluate(elements, "value");
+		
+		Assert.assertEquals(2, states.size());
+		Assert.assertTrue(states.isDisplayed(0));
+		Assert.assertTrue(states.isEnabled(0));
+		Assert.assertFalse(states.isSelected(0));
+		Assert.assertEquals("Visible text", states.getText(0));
+		Assert.assertEquals("attrValue", states.getAttribute(0));
+		Assert.assertFalse(states.isDisplayed(1));
+		Assert.assertTrue(states.isSelected(1));
+		Assert.assertNull(states.getAttribute(1));
+		Assert.assertEquals(0, states.indexOfFirstEnabled());
+		Assert.assertEquals(1, states.indexOfFirstSelected());
+		Mockito.verifyZeroInteractions(mockElement1, mockElement2);
+	}
+
+	@Test
+	public void evaluateOfAnEmptyListDoesNotCallTheBrowserTest() {
+		ElementStates states = new ElementStateEvaluator(mockJsDriver).evaluate(new ArrayList<WebElement>());
+		Assert.assertEquals(0, states.size());
+		Assert.assertEquals(-1, states.indexOfFirstDisplayed());
+		Mockito.verifyZeroInteractions(mockJsDriver);
+	}
+}
@@ -0,0 +1,70 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.WrapsDriver;
+import org.openqa.selenium.internal.WrapsElement;
+
+public class InstrumentedWebDriverTest {
+
+	private WebDriver mockJsDriver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(JavascriptExecutor.class));
+	private WebElement mockElement = Mockito.mock(WebElement.class);
+	private CommandMetrics metrics = new CommandMetrics();
+	private By locator = By.id("submit");
+
+	@After
+	public void turnOffMetrics() {
+		CommandMetrics.setEnabled(false);
+	}
+
+	@Test
+	public void wrappedDriverKeepsItsInterfacesAndUnwrapsScriptArgumentsTest() {
+		Mockito.when(mockJsDriver.findElement(locator)).thenReturn(mockElement);
+		WebDriver instrumented = InstrumentedWebDriver.wrap(mockJsDriver, metrics);
+
+		WebElement element = instrumented.findElement(locator);
+		((JavascriptExecutor) instrumented).executeScript("return 1;", element, Arrays.asList(element));
+
+		Assert.assertTrue(instrumented instanceof JavascriptExecutor);
+		Assert.assertSame(mockJsDriver, ((WrapsDriver) instrumented).getWrappedDriver());
+		Assert.assertSame(mockElement, ((WrapsElement) element).getWrappedElement());
+		Assert.assertEquals(element, mockElement);
+		Assert.assertSame(instrumented, InstrumentedWebDriver.wrap(instrumented, metrics));
+		Mockito.verify((JavascriptExecutor) mockJsDriver).executeScript("return 1;", mockElement, Arrays.asList(mockElement));
+		Assert.assertEquals(1, metrics.getCommandCount("WebDriver.findElement"));
+		Assert.assertEquals(1, metrics.getCommandCount("WebDriver.executeScript"));
+	}
+
+	@Test
+	public void commandsCountTowardsTheOutermostFrameworkMethodTest() {
+		Mockito.when(mockJsDriver.findElement(locator)).thenReturn(mockElement);
+		Mockito.when(mockElement.isDisplayed()).thenReturn(true);
+		Mockito.when(mockElement.isEnabled()).thenReturn(true);
+		WebDriver instrumented = InstrumentedWebDriver.wrap(mockJsDriver, metrics);
+		SeleniumActionMethods actions = new SeleniumActionMethods(instrumented, new SeleniumElementFinder(instrumented, "LoginPage"), "LoginPage");
+
+		actions.click(locator);
+
+		Mockito.verify(mockElement).click();
+		Assert.assertEquals(1, metrics.getCommandCount("WebElement.click"));
+		Assert.assertEquals(0, metrics.getRemoteCommandCount("getElement", "LoginPage", locator));
+		Assert.assertEquals(metrics.getCommandCount("WebDriver.findElement") + metrics.getCommandCount("WebElement.isDisplayed") +
+				metrics.getCommandCount("WebElement.isEnabled") + 1, metrics.getRemoteCommandCount("click", "LoginPage", locator));
+		String json = metrics.toJson();
+		Assert.assertTrue(json, json.contains("{\"page\":\"LoginPage\",\"method\":\"click\",\"locator\":\"By.id: submit\",\"invocations\":1,"));
+		Assert.assertTrue(json, json.contains("\"LoginPage\":{\"invocations\":1,"));
+	}
+
+	@Test
+	public void noScopeIsOpenedUntilADriverIsInstrumentedTest() {
+		Assert.assertSame(CommandMetrics.MethodScope.NONE, CommandMetrics.begin("click", "LoginPage", locator));
+	}
+}
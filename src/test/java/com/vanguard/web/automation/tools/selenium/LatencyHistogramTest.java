@@ -0,0 +1,53 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void smallValuesAreCountedExactlyTest() {
+		for(long value = 0; value < 16; value++) {
+			Assert.assertEquals(value, LatencyHistogram.upperBoundOf(LatencyHistogram.indexOf(value)));
+		}
+	}
+
+	@Test
+	public void everyBucketIsWithinAnEighthOfItsValuesTest() {
+		long[] values = {16, 17, 31, 100, 1000, 12345, 999999, 1L << 40, Long.MAX_VALUE};
+		for (long value : values) {
+			int index = LatencyHistogram.indexOf(value);
+			long upperBound = LatencyHistogram.upperBoundOf(index);
+			Assert.assertTrue(index < LatencyHistogram.BUCKET_COUNT);
+			Assert.assertTrue(value + " <= " + upperBound, value <= upperBound);
+			Assert.assertTrue(value + " within 12.5% of " + upperBound, upperBound - value <= value / 8);
+			Assert.assertEquals(index, LatencyHistogram.indexOf(upperBound));
+		}
+	}
+
+	@Test
+	public void percentilesAndSummaryTest() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for(int i = 1; i <= 100; i++) {
+			histogram.record(i);
+		}
+		histogram.recordNanos(5000000);
+		
+		Assert.assertEquals(101, histogram.getCount());
+		Assert.assertEquals(1, histogram.getMinInMicros());
+		Assert.assertEquals(5000, histogram.getMaxInMicros());
+		Assert.assertEquals(11, histogram.getValueAtPercentile(10));
+		long p50 = histogram.getValueAtPercentile(50);
+		Assert.assertTrue("p50 was " + p50, p50 >= 51 && p50 <= 57);
+		Assert.assertEquals(5000, histogram.getValueAtPercentile(100));
+		Assert.assertTrue(histogram.toJson().startsWith("{\"count\":101,\"min\":1,\"max\":5000,"));
+	}
+
+	@Test
+	public void emptyHistogramTest() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		Assert.assertEquals(0, histogram.getMinInMicros());
+		Assert.assertEquals(0, histogram.getValueAtPercentile(99));
+		Assert.assertEquals("{\"count\":0,\"min\":0,\"max\":0,\"mean\":0.0,\"p50\":0,\"p90\":0,\"p99\":0,\"buckets\":[]}", histogram.toJson());
+	}
+}
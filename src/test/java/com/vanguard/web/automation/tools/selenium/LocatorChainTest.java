@@ -0,0 +1,45 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openqa.selenium.By;
+
+public class LocatorChainTest {
+
+	private By byId = By.id("submit");
+	private By byCss = By.cssSelector("form button[type='submit']");
+	private By byText = By.xpath("//button[text()='Submit']");
+
+	@Test
+	public void candidatesWithoutHistoryKeepTheirOrderTest() {
+		LocatorChain chain = LocatorChain.of("Submit button", byId, byCss, byText);
+		Assert.assertArrayEquals(new By[] {byId, byCss, byText}, chain.getRankedCandidates());
+	}
+
+	@Test
+	public void candidatesThatMatchFastestAreRankedFirstTest() {
+		LocatorChain chain = LocatorChain.of("Submit button", byId, byCss, byText);
+		chain.recordMatch(new By[] {byText, byCss}, 1, 200);
+		chain.recordMatch(new By[] {byText}, 0, 50);
+
+		Assert.assertArrayEquals(new By[] {byText, byCss, byId}, chain.getRankedCandidates());
+		Assert.assertEquals(1, chain.getMatchCount(byText));
+		Assert.assertEquals(Long.valueOf(200), chain.getUsualMillis(byCss));
+	}
+
+	@Test
+	public void aCandidateRankedAheadOfTheMatchLosesItsHistoryTest() {
+		LocatorChain chain = LocatorChain.of("Submit button", byId, byCss, byText);
+		chain.recordMatch(chain.getRankedCandidates(), 0, 100);
+		chain.recordMatch(chain.getRankedCandidates(), 1, 300);
+
+		Assert.assertNull(chain.getUsualMillis(byId));
+		Assert.assertEquals(1, chain.getMatchCount(byId));
+		Assert.assertArrayEquals(new By[] {byCss, byId, byText}, chain.getRankedCandidates());
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void aChainNeedsACandidateTest() {
+		LocatorChain.of("Nothing");
+	}
+}
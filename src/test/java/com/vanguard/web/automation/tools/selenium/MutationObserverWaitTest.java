@@ -0,0 +1,86 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import com.vanguard.web.automation.tools.selenium.MutationObserverWait.DomCondition;
+
+public class MutationObserverWaitTest {
+
+	private WebDriver mockDriver;
+	private JavascriptExecutor mockJavascriptExecutor;
+	private PollingStrategy fastPolling = new FixedPollingStrategy(1);
+
+	@Before
+	public void setup() {
+		mockDriver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(JavascriptExecutor.class));
+		mockJavascriptExecutor = (JavascriptExecutor) mockDriver;
+	}
+
+	@Test
+	public void untilWaitsInThePageBetweenChecksTest() {
+		Mockito.when(mockJavascriptExecutor.executeAsyncScript(Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+			.thenReturn(MutationObserverWait.MATCHED_AFTER_CHANGE);
+		AtomicInteger calls = new AtomicInteger();
+		MutationObserverWait wait = new MutationObserverWait(mockDriver, 5000, fastPolling, null, By.id("someId"), DomCondition.CLICKABLE);
+
+		String actual = wait.until(driver -> calls.incrementAndGet() < 2 ? null : "found");
+
+		Assert.assertEquals("found", actual);
+		Assert.assertEquals(2, wait.getPollCount());
+		Mockito.verify(mockJavascriptExecutor, Mockito.times(1)).executeAsyncScript(Mockito.eq(MutationObserverWait.JS_WAIT_FOR_MATCH), 
+				Mockito.isNull(), Mockito.eq("ID"), Mockito.eq("someId"), Mockito.eq("CLICKABLE"), Mockito.any());
+	}
+
+	@Test
+	public void untilWatchesBelowTheRootElementTest() {
+		WebElement mockParent = Mockito.mock(WebElement.class);
+		Mockito.when(mockJavascriptExecutor.executeAsyncScript(Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+			.thenReturn(MutationObserverWait.MATCHED_AFTER_CHANGE);
+		AtomicInteger calls = new AtomicInteger();
+		MutationObserverWait wait = new MutationObserverWait(mockDriver, 5000, fastPolling, mockParent, By.xpath(".//input"), DomCondition.PRESENT);
+
+		wait.until(driver -> calls.incrementAndGet() > 1);
+
+		Mockito.verify(mockJavascriptExecutor).executeAsyncScript(Mockito.eq(MutationObserverWait.JS_WAIT_FOR_MATCH), 
+				Mockito.eq(mockParent), Mockito.eq("XPATH"), Mockito.eq(".//input"), Mockito.eq("PRESENT"), Mockito.any());
+	}
+
+	@Test
+	public void untilFallsBackToPollingWhenAsyncScriptsAreNotSupportedTest() {
+		Mockito.when(mockJavascriptExecutor.executeAsyncScript(Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+			.thenThrow(new UnsupportedCommandException("no async scripts"));
+		AtomicInteger calls = new AtomicInteger();
+		MutationObserverWait wait = new MutationObserverWait(mockDriver, 5000, fastPolling, null, By.id("someId"), DomCondition.VISIBLE);
+
+		Boolean actual = wait.until(driver -> calls.incrementAndGet() > 3);
+
+		Assert.assertTrue(actual);
+		Assert.assertFalse(wait.isUsingAsyncScripts());
+		Mockito.verify(mockJavascriptExecutor, Mockito.times(1)).executeAsyncScript(Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+	}
+
+	@Test
+	public void canWaitForRequiresAJavascriptDriverAndAKnownLocatorTest() {
+		Assert.assertTrue(MutationObserverWait.canWaitFor(mockDriver, By.cssSelector("div.thing")));
+		Assert.assertFalse(MutationObserverWait.canWaitFor(Mockito.mock(WebDriver.class), By.cssSelector("div.thing")));
+		Assert.assertFalse(MutationObserverWait.canWaitFor(mockDriver, Mockito.mock(By.class)));
+	}
+
+	@Test(expected=TimeoutException.class)
+	public void untilThrowsTimeoutExceptionWhenConditionIsNeverMetTest() {
+		Mockito.when(mockJavascriptExecutor.executeAsyncScript(Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+			.thenReturn(MutationObserverWait.NO_MATCH);
+		new MutationObserverWait(mockDriver, 20, fastPolling, null, By.id("someId"), DomCondition.PRESENT).until(driver -> false);
+	}
+}
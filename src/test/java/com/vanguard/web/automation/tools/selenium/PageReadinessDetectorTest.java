@@ -0,0 +1,80 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+public class PageReadinessDetectorTest {
+
+	private WebDriver mockDriver;
+	private JavascriptExecutor mockJavascriptExecutor;
+
+	@Before
+	public void setup() {
+		mockDriver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(JavascriptExecutor.class));
+		mockJavascriptExecutor = (JavascriptExecutor) mockDriver;
+	}
+
+	@Test
+	public void waitUntilReadyReturnsAsSoonAsThePageIsReadyTest() {
+		Mockito.when(mockJavascriptExecutor.executeAsyncScript(Mockito.eq(PageReadinessDetector.JS_WAIT_FOR_READY), Mockito.<Object>anyVararg()))
+			.thenReturn(PageReadinessDetector.NOT_READY, PageReadinessDetector.READY);
+		PageReadinessDetector detector = new PageReadinessDetector(mockDriver, 300);
+
+		Assert.assertTrue(detector.waitUntilReady(WaitBudget.ofSeconds(5)));
+		Assert.assertEquals(2, detector.getScriptCallCount());
+		Mockito.verify(mockJavascriptExecutor, Mockito.times(2)).executeAsyncScript(PageReadinessDetector.JS_WAIT_FOR_READY,
+				300L, PageReadinessDetector.MAX_SLICE_IN_MILLISECONDS, PageReadinessDetector.MIN_TIME_SINCE_NAVIGATION_IN_MILLISECONDS);
+	}
+
+	@Test
+	public void waitUntilReadyGivesUpWhenTheBudgetRunsOutTest() {
+		Mockito.when(mockJavascriptExecutor.executeAsyncScript(Mockito.eq(PageReadinessDetector.JS_WAIT_FOR_READY), Mockito.<Object>anyVararg()))
+			.thenReturn(PageReadinessDetector.NOT_READY);
+
+		Assert.assertFalse(new PageReadinessDetector(mockDriver, 300).waitUntilReady(WaitBudget.none()));
+	}
+
+	@Test
+	public void waitUntilReadyTriesAgainAfterThePageNavigatesTest() {
+		Mockito.when(mockJavascriptExecutor.executeAsyncScript(Mockito.eq(PageReadinessDetector.JS_WAIT_FOR_READY), Mockito.<Object>anyVararg()))
+			.thenThrow(new WebDriverException("document unloaded while waiting for result"))
+			.thenReturn(PageReadinessDetector.READY);
+		PageReadinessDetector detector = new PageReadinessDetector(mockDriver, 300);
+
+		Assert.assertTrue(detector.waitUntilReady(WaitBudget.ofSeconds(5)));
+		Assert.assertEquals(2, detector.getScriptCallCount());
+	}
+
+	@Test
+	public void waitUntilReadyGivesUpRightAwayWithoutAsyncScriptsTest() {
+		Mockito.when(mockJavascriptExecutor.executeAsyncScript(Mockito.eq(PageReadinessDetector.JS_WAIT_FOR_READY), Mockito.<Object>anyVararg()))
+			.thenThrow(new UnsupportedCommandException());
+		PageReadinessDetector detector = new PageReadinessDetector(mockDriver, 300);
+
+		Assert.assertFalse(detector.waitUntilReady(WaitBudget.ofSeconds(5)));
+		Assert.assertEquals(1, detector.getScriptCallCount());
+		Assert.assertFalse(new PageReadinessDetector(Mockito.mock(WebDriver.class), 300).waitUntilReady(WaitBudget.ofSeconds(5)));
+	}
+
+	@Test
+	public void installRequestCounterAddsTheCounterWithoutWaitingTest() {
+		Assert.assertTrue(new PageReadinessDetector(mockDriver, 300).installRequestCounter());
+		Mockito.verify(mockJavascriptExecutor).executeScript(PageReadinessDetector.JS_INSTALL_REQUEST_COUNTER);
+		Mockito.verify(mockJavascriptExecutor, Mockito.never()).executeAsyncScript(Mockito.anyString(), Mockito.<Object>anyVararg());
+		Assert.assertTrue(PageReadinessDetector.JS_WAIT_FOR_READY.startsWith(PageReadinessDetector.JS_INSTALL_REQUEST_COUNTER));
+	}
+
+	@Test
+	public void installRequestCounterReturnsFalseWhenTheScriptCantRunTest() {
+		Mockito.when(mockJavascriptExecutor.executeScript(PageReadinessDetector.JS_INSTALL_REQUEST_COUNTER)).thenThrow(new WebDriverException("no page"));
+
+		Assert.assertFalse(new PageReadinessDetector(mockDriver, 300).installRequestCounter());
+		Assert.assertFalse(new PageReadinessDetector(Mockito.mock(WebDriver.class), 300).installRequestCounter());
+	}
+}
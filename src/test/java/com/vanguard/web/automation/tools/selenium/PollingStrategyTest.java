@@ -0,0 +1,114 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vanguard.web.selenium.properties.FrameworkConfiguration;
+import com.vanguard.web.selenium.properties.FrameworkContext;
+
+public class PollingStrategyTest {
+
+	@Test
+	public void fixedPollingStrategyAlwaysReturnsTheSameIntervalTest() {
+		PollingStrategy strategy = new FixedPollingStrategy(250);
+		Assert.assertEquals(250, strategy.getNextPollIntervalInMillis("anyKey", 1, 0));
+		Assert.assertEquals(250, strategy.getNextPollIntervalInMillis("anyKey", 40, 10000));
+	}
+
+	@Test
+	public void backoffPollingStrategyGrowsUpToTheMaxIntervalTest() {
+		PollingStrategy strategy = new BackoffPollingStrategy(10, 2, 100, 0);
+		Assert.assertEquals(10, strategy.getNextPollIntervalInMillis(null, 1, 0));
+		Assert.assertEquals(20, strategy.getNextPollIntervalInMillis(null, 2, 10));
+		Assert.assertEquals(40, strategy.getNextPollIntervalInMillis(null, 3, 30));
+		Assert.assertEquals(100, strategy.getNextPollIntervalInMillis(null, 10, 1000));
+	}
+
+	@Test
+	public void backoffPollingStrategyJitterStaysWithinRangeTest() {
+		PollingStrategy strategy = new BackoffPollingStrategy(100, 1, 100, 0.25);
+		for(int i = 0; i < 100; i++) {
+			long interval = strategy.getNextPollIntervalInMillis(null, 1, 0);
+			Assert.assertTrue(interval >= 75 && interval <= 125);
+		}
+	}
+
+	@Test
+	public void learnedPollingStrategyBacksOffWithoutHistoryTest() {
+		LearnedPollingStrategy strategy = new LearnedPollingStrategy(new BackoffPollingStrategy(10, 2, 100, 0));
+		Assert.assertNull(strategy.getUsualMillis("By.id: slowThing"));
+		Assert.assertEquals(10, strategy.getNextPollIntervalInMillis("By.id: slowThing", 1, 0));
+		Assert.assertEquals(20, strategy.getNextPollIntervalInMillis("By.id: slowThing", 2, 10));
+	}
+
+	@Test
+	public void learnedPollingStrategyJumpsCloseToTheUsualTimeThenPollsFastTest() {
+		LearnedPollingStrategy strategy = new LearnedPollingStrategy(new BackoffPollingStrategy(10, 2, 100, 0));
+		strategy.recordConditionMet("By.id: slowThing", 2000);
+		Assert.assertEquals(Long.valueOf(2000), strategy.getUsualMillis("By.id: slowThing"));
+		//Jump to 75% of the usual time
+		Assert.assertEquals(1500, strategy.getNextPollIntervalInMillis("By.id: slowThing", 1, 0));
+		//Then poll at the fastest interval until twice the usual time
+		Assert.assertEquals(10, strategy.getNextPollIntervalInMillis("By.id: slowThing", 2, 1500));
+		Assert.assertEquals(10, strategy.getNextPollIntervalInMillis("By.id: slowThing", 30, 3900));
+		//Then back off again
+		Assert.assertEquals(100, strategy.getNextPollIntervalInMillis("By.id: slowThing", 31, 4000));
+		//Other keys are not affected
+		Assert.assertEquals(10, strategy.getNextPollIntervalInMillis("By.id: otherThing", 1, 0));
+	}
+
+	@Test
+	public void learnedPollingStrategyAveragesHistoryTest() {
+		LearnedPollingStrategy strategy = new LearnedPollingStrategy();
+		strategy.recordConditionMet("key", 1000);
+		strategy.recordConditionMet("key", 2000);
+		Assert.assertEquals(Long.valueOf(1300), strategy.getUsualMillis("key"));
+	}
+
+	@Test
+	public void createPollingStrategyFromPropertyValueTest() {
+		Assert.assertTrue(FluentWaitGenerator.createPollingStrategy(null) instanceof FixedPollingStrategy);
+		Assert.assertTrue(FluentWaitGenerator.createPollingStrategy("fixed") instanceof FixedPollingStrategy);
+		Assert.assertTrue(FluentWaitGenerator.createPollingStrategy(" Backoff ") instanceof BackoffPollingStrategy);
+		Assert.assertTrue(FluentWaitGenerator.createPollingStrategy("LEARNED") instanceof LearnedPollingStrategy);
+		Assert.assertTrue(FluentWaitGenerator.createPollingStrategy("unknown") instanceof FixedPollingStrategy);
+	}
+
+	@Test
+	public void fluentWaitGeneratorReadsTheCurrentFrameworkContextTest() {
+		FluentWaitGenerator.setDefaultPollingStrategy(null);
+		FluentWaitGenerator.setDefaultEventDrivenWaits(null);
+		FrameworkContext.current().setProperty(FrameworkConfiguration.POLLING_STRATEGY_PROPERTY, "backoff");
+		FrameworkContext.current().setProperty(FrameworkConfiguration.EVENT_DRIVEN_WAITS_PROPERTY, "true");
+		try {
+			FluentWaitGenerator generator = new FluentWaitGenerator();
+			Assert.assertTrue(generator.getPollingStrategy() instanceof BackoffPollingStrategy);
+			Assert.assertTrue(generator.isPollingStrategyChosen());
+			Assert.assertTrue(generator.isUsingEventDrivenWaits());
+			//Generators share the strategy for a name, so a learned strategy keeps what it learned
+			Assert.assertSame(generator.getPollingStrategy(), new FluentWaitGenerator().getPollingStrategy());
+		} finally {
+			FrameworkContext.close();
+		}
+	}
+
+	@Test
+	public void fluentWaitGeneratorStaticDefaultsWinOnlyWhenSetTest() {
+		FrameworkContext.current().setProperty(FrameworkConfiguration.POLLING_STRATEGY_PROPERTY, "backoff");
+		FrameworkContext.current().setProperty(FrameworkConfiguration.EVENT_DRIVEN_WAITS_PROPERTY, "true");
+		PollingStrategy strategy = new FixedPollingStrategy(250);
+		FluentWaitGenerator.setDefaultPollingStrategy(strategy);
+		FluentWaitGenerator.setDefaultEventDrivenWaits(false);
+		try {
+			FluentWaitGenerator generator = new FluentWaitGenerator();
+			Assert.assertSame(strategy, generator.getPollingStrategy());
+			Assert.assertFalse(generator.isUsingEventDrivenWaits());
+		} finally {
+			FluentWaitGenerator.setDefaultPollingStrategy(null);
+			FluentWaitGenerator.setDefaultEventDrivenWaits(null);
+			FrameworkContext.close();
+		}
+		FluentWaitGenerator generator = new FluentWaitGenerator();
+		Assert.assertNotSame(strategy, generator.getPollingStrategy());
+	}
+}
@@ -1,7 +1,10 @@
 package com.vanguard.web.automation.tools.selenium;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.easymock.EasyMock;
 import org.junit.After;
@@ -11,8 +14,10 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Action;
 import org.openqa.selenium.interactions.Actions;
@@ -23,6 +28,11 @@ import org.powermock.modules.junit4.PowerMockRunner;
 
 import com.google.common.base.Function;
 
+import com.vanguard.web.selenium.exceptions.CouldNotTakeActionOnElementException;
+import com.vanguard.web.selenium.properties.FrameworkConfiguration;
+import com.vanguard.web.selenium.properties.FrameworkContext;
+import com.vanguard.web.selenium.utils.FailureArtifacts;
+
 @PrepareForTest({SeleniumActionMethods.class})
 @RunWith(PowerMockRunner.class)
 public class SeleniumActionMethodsTest {
@@ -359,8 +369,10 @@ public class SeleniumActionMethodsTest {
 	}
 	@Test
 	public void typeFromLocatorShouldCallErrorHandlerWarningIfElementIsNullTest() {
+		WaitBudget waitBudget = WaitBudget.ofSeconds(0);
+		Mockito.when(mockFinder.getWaitBudget(0)).thenReturn(waitBudget);
 		String mockMethodNameFromStack = "mockMethodNameFromStack";
-		Mockito.when(mockFinder.getElement(mockLocator, 0)).thenReturn(null);
+		Mockito.when(mockFinder.getElement(mockLocator, waitBudget)).thenReturn(null);
 		Mockito.when(mockErrorHandler.getMethodNameFromStackTrace(Mockito.anyInt())).thenReturn(mockMethodNameFromStack);
 		Mockito.doNothing().when(mockErrorHandler).throwOrLogError(Mockito.any(WebDriver.class), Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
 		
@@ -370,12 +382,14 @@ public class SeleniumActionMethodsTest {
 	}
 	@Test
 	public void typeFromLocatorShouldNOTCallErrorHandlerWarningAndShouldCallSeleniumSendKeysIfElementIsNOTNullTest() {
-		Mockito.when(mockFinder.getElement(mockLocator, 0)).thenReturn(mockElement);
+		WaitBudget waitBudget = WaitBudget.ofSeconds(0);
+		Mockito.when(mockFinder.getWaitBudget(0)).thenReturn(waitBudget);
+		Mockito.when(mockFinder.getElement(mockLocator, waitBudget)).thenReturn(mockElement);
 		Mockito.doNothing().when(mockElement).sendKeys(Mockito.anyString());
 		Mockito.doNothing().when(mockErrorHandler).logNullElementWarning(Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
 		
 		actions.type("anyString", mockLocator, 0);
-		Mockito.verify(mockFinder, Mockito.times(1)).getElement(mockLocator, 0);
+		Mockito.verify(mockFinder, Mockito.times(1)).getElement(mockLocator, waitBudget);
 		Mockito.verify(mockElement, Mockito.times(1)).sendKeys(Mockito.anyString());
 		Mockito.verify(mockErrorHandler, Mockito.times(0)).logNullElementWarning(Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
 	}
@@ -402,8 +416,10 @@ public class SeleniumActionMethodsTest {
 	}
 	@Test
 	public void clearFromLocatorShouldCallErrorHandlerWarningIfElementIsNullTest() {
+		WaitBudget waitBudget = WaitBudget.ofSeconds(0);
+		Mockito.when(mockFinder.getWaitBudget(0)).thenReturn(waitBudget);
 		String mockMethodNameFromStack = "mockMethodNameFromStack";
-		Mockito.when(mockFinder.getElement(mockLocator, 0)).thenReturn(null);
+		Mockito.when(mockFinder.getElement(mockLocator, waitBudget)).thenReturn(null);
 		Mockito.when(mockErrorHandler.getMethodNameFromStackTrace(Mockito.anyInt())).thenReturn(mockMethodNameFromStack);
 		Mockito.doNothing().when(mockErrorHandler).throwOrLogError(Mockito.any(WebDriver.class), Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
 		
@@ -413,12 +429,14 @@ public class SeleniumActionMethodsTest {
 	}
 	@Test
 	public void clearFromLocatorShouldNOTCallErrorHandlerWarningAndShouldCallSeleniumClearIfElementIsNOTNullTest() {
-		Mockito.when(mockFinder.getElement(mockLocator, 0)).thenReturn(mockElement);
+		WaitBudget waitBudget = WaitBudget.ofSeconds(0);
+		Mockito.when(mockFinder.getWaitBudget(0)).thenReturn(waitBudget);
+		Mockito.when(mockFinder.getElement(mockLocator, waitBudget)).thenReturn(mockElement);
 		Mockito.doNothing().when(mockElement).clear();
 		Mockito.doNothing().when(mockErrorHandler).logNullElementWarning(Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
 		
 		actions.clear(mockLocator, 0);
-		Mockito.verify(mockFinder, Mockito.times(1)).getElement(mockLocator, 0);
+		Mockito.verify(mockFinder, Mockito.times(1)).getElement(mockLocator, waitBudget);
 		Mockito.verify(mockElement, Mockito.times(1)).clear();
 		Mockito.verify(mockErrorHandler, Mockito.times(0)).logNullElementWarning(Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
 	}
@@ -445,8 +463,10 @@ public class SeleniumActionMethodsTest {
 	}
 	@Test
 	public void clickFromLocatorShouldCallErrorHandlerWarningIfElementIsNullTest() {
+		WaitBudget waitBudget = WaitBudget.ofSeconds(0);
+		Mockito.when(mockFinder.getWaitBudget(0)).thenReturn(waitBudget);
 		String mockMethodNameFromStack = "mockMethodNameFromStack";
-		Mockito.when(mockFinder.getElement(mockLocator, 0)).thenReturn(null);
+		Mockito.when(mockFinder.getElement(mockLocator, waitBudget)).thenReturn(null);
 		Mockito.when(mockErrorHandler.getMethodNameFromStackTrace(Mockito.anyInt())).thenReturn(mockMethodNameFromStack);
 		Mockito.doNothing().when(mockErrorHandler).throwOrLogError(Mockito.any(WebDriver.class), Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
 		
@@ -456,12 +476,14 @@ public class SeleniumActionMethodsTest {
 	}
 	@Test
 	public void clickFromLocatorShouldNOTCallErrorHandlerWarningAndShouldCallSeleniumClickIfElementIsNOTNullTest() {
-		Mockito.when(mockFinder.getElement(mockLocator, 0)).thenReturn(mockElement);
+		WaitBudget waitBudget = WaitBudget.ofSeconds(0);
+		Mockito.when(mockFinder.getWaitBudget(0)).thenReturn(waitBudget);
+		Mockito.when(mockFinder.getElement(mockLocator, waitBudget)).thenReturn(mockElement);
 		Mockito.doNothing().when(mockElement).click();
 		Mockito.doNothing().when(mockErrorHandler).logNullElementWarning(Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
 		
 		actions.click(mockLocator, 0);
-		Mockito.verify(mockFinder, Mockito.times(1)).getElement(mockLocator, 0);
+		Mockito.verify(mockFinder, Mockito.times(1)).getElement(mockLocator, waitBudget);
 		Mockito.verify(mockElement, Mockito.times(1)).click();
 		Mockito.verify(mockErrorHandler, Mockito.times(0)).logNullElementWarning(Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
 	}
@@ -627,4 +649,233 @@ public class SeleniumActionMethodsTest {
 		Mockito.verify(mockErrorHandler, Mockito.times(0)).logNullElementWarning(Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
 	}
 	
+	@Test
+	public void readFieldsReadsScriptableLocatorsInOneScriptCallTest() {
+		WebDriver mockJsDriver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(JavascriptExecutor.class));
+		actions = new SeleniumActionMethods(mockJsDriver, mockFinder, "AnyPageName");
+		actions.setErrorHandler(mockErrorHandler);
+		Map<String, By> fields = new LinkedHashMap<String, By>();
+		fields.put("firstName", By.id("first"));
+		fields.put("custom", mockLocator);
+		fields.put("missing", By.name("missing"));
+		List<Object> scriptResult = new ArrayList<Object>();
+		scriptResult.add(Arrays.asList(3L, "Jane", "jane"));
+		scriptResult.add(null);
+		Mockito.when(((JavascriptExecutor) mockJsDriver).executeScript(SeleniumActionMethods.JS_READ_FIELDS,
+				Arrays.asList(Arrays.asList("ID", "first"), Arrays.asList("NAME", "missing")), "value")).thenReturn(scriptResult);
+		Mockito.when(mockFinder.getElement(mockLocator)).thenReturn(mockElement);
+		Mockito.when(mockElement.isSelected()).thenReturn(true);
+		Mockito.when(mockElement.getText()).thenReturn("Custom text");
+		Mockito.when(mockElement.getAttribute("value")).thenReturn("custom");
+		Mockito.when(mockErrorHandler.getMethodNameFromStackTrace(Mockito.anyInt())).thenReturn("mockMethodNameFromStack");
+		
+		Map<String, FieldState> states = actions.readFields(fields, "value");
+		
+		Assert.assertEquals(Arrays.asList("firstName", "custom", "missing"), new ArrayList<String>(states.keySet()));
+		Assert.assertEquals("Jane", states.get("firstName").getText());
+		Assert.assertEquals("jane", states.get("firstName").getAttribute());
+		Assert.assertFalse(states.get("firstName").isSelected());
+		Assert.assertEquals("Custom text", states.get("custom").getText());
+		Assert.assertTrue(states.get("custom").isSelected());
+		Assert.assertFalse(states.get("missing").isFound());
+		Mockito.verify(mockFinder, Mockito.times(0)).getElement(By.id("first"));
+		Mockito.verify(mockErrorHandler, Mockito.times(1)).throwOrLogError(Mockito.any(WebDriver.class), Mockito.eq("By.name: missing"), Mockito.anyString(), Mockito.anyString());
+	}
+	@Test
+	public void getTextsFallsBackToOneReadPerFieldWithoutJavascriptTest() {
+		Map<String, By> fields = new LinkedHashMap<String, By>();
+		fields.put("firstName", By.id("first"));
+		Mockito.when(mockFinder.getElement(By.id("first"))).thenReturn(mockElement);
+		Mockito.when(mockElement.getText()).thenReturn("Jane");
+		
+		Assert.assertEquals("Jane", actions.getTexts(fields).get("firstName"));
+		Mockito.verify(mockErrorHandler, Mockito.times(0)).throwOrLogError(Mockito.any(WebDriver.class), Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
+	}
+	@Test
+	public void fillFormFindsEveryFieldInOneScriptCallAndKeepsGoingPastMissingFieldsTest() {
+		WebDriver mockJsDriver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(JavascriptExecutor.class));
+		actions = new SeleniumActionMethods(mockJsDriver, mockFinder, "AnyPageName");
+		actions.setErrorHandler(mockErrorHandler);
+		WebElement mockSelect = Mockito.mock(WebElement.class);
+		Map<By, String> form = new LinkedHashMap<By, String>();
+		form.put(By.id("first"), "Jane");
+		form.put(By.name("missing"), "Anything");
+		form.put(By.id("state"), "PA");
+		form.put(mockLocator, "Custom");
+		List<Object> scriptResult = new ArrayList<Object>();
+		scriptResult.add(true);
+		scriptResult.add(null);
+		scriptResult.add(mockSelect);
+		Mockito.when(((JavascriptExecutor) mockJsDriver).executeScript(SeleniumActionMethods.JS_FILL_FIELDS,
+				Arrays.asList(Arrays.asList("ID", "first"), Arrays.asList("NAME", "missing"), Arrays.asList("ID", "state")),
+				Arrays.asList("Jane", "Anything", "PA"), true)).thenReturn(scriptResult);
+		Mockito.when(mockFinder.getElement(mockLocator)).thenReturn(mockElement);
+		Mockito.doThrow(new WebDriverException("not interactable")).when(mockElement).sendKeys("Custom");
+		Mockito.when(mockErrorHandler.getMethodNameFromStackTrace(Mockito.anyInt())).thenReturn("mockMethodNameFromStack");
+		
+		List<By> unfilled = actions.fillForm(form, true);
+		
+		Assert.assertEquals(Arrays.asList(By.name("missing"), mockLocator), unfilled);
+		Mockito.verify(mockSelect).sendKeys("PA");
+		Mockito.verify(mockFinder, Mockito.times(0)).getElement(By.id("first"));
+		Mockito.verify(mockErrorHandler, Mockito.times(1)).throwOrLogErrors(Mockito.any(WebDriver.class),
+				Mockito.eq(Arrays.asList(By.name("missing").toString(), mockLocator.toString())), Mockito.anyString(), Mockito.anyString());
+	}
+	@Test
+	public void fillFormTriesEveryFieldBeforeFailingOnceWithEveryUnfilledFieldTest() {
+		FrameworkContext.current().setProperty(FrameworkConfiguration.FAIL_IF_ELEMENT_NOT_FOUND_PROPERTY, "true");
+		FrameworkContext.current().setProperty(FrameworkConfiguration.DEFERRED_FAILURE_ARTIFACTS_PROPERTY, "true");
+		actions = new SeleniumActionMethods(mockDriver, mockFinder, "AnyPageName");
+		Map<By, String> form = new LinkedHashMap<By, String>();
+		form.put(By.id("missingFirst"), "Jane");
+		form.put(By.id("found"), "Doe");
+		form.put(By.id("missingSecond"), "PA");
+		Mockito.when(mockFinder.getElement(By.id("found"))).thenReturn(mockElement);
+		try {
+			actions.fillForm(form);
+			Assert.fail("fillForm should fail once every field has been tried");
+		} catch (CouldNotTakeActionOnElementException e) {
+			Assert.assertTrue(e.getMessage().contains(By.id("missingFirst") + ", " + By.id("missingSecond")));
+			Mockito.verify(mockElement).sendKeys("Doe");
+			Mockito.verify(mockFinder).getElement(By.id("missingSecond"));
+		} finally {
+			FailureArtifacts.discardPending();
+			FrameworkContext.close();
+		}
+	}
+	@Test
+	public void fillFormTypesIntoEachFieldWithoutJavascriptTest() {
+		Map<By, String> form = new LinkedHashMap<By, String>();
+		form.put(By.id("first"), "Jane");
+		Mockito.when(mockFinder.getElement(By.id("first"))).thenReturn(mockElement);
+		
+		Assert.assertTrue(actions.fillForm(form).isEmpty());
+		Mockito.verify(mockElement).sendKeys("Jane");
+		Mockito.verify(mockErrorHandler, Mockito.times(0)).throwOrLogError(Mockito.any(WebDriver.class), Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
+	}
+	
+	@Test
+	public void harvestRowsScrollsUntilNoNewRowsAppearAndSkipsRowsAlreadyHarvestedTest() {
+		WebDriver mockJsDriver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(JavascriptExecutor.class));
+		actions = new SeleniumActionMethods(mockJsDriver, mockFinder, "AnyPageName");
+		actions.setErrorHandler(mockErrorHandler);
+		Mockito.when(((JavascriptExecutor) mockJsDriver).executeScript(Mockito.eq(VirtualizedListHarvester.JS_HARVEST_STEP), Mockito.<Object>anyVararg()))
+				.thenReturn(Arrays.asList(Arrays.asList(Arrays.asList("1", "Row 1"), Arrays.asList("2", "Row 2")), false))
+				.thenReturn(Arrays.asList(Arrays.asList(Arrays.asList("2", "Row 2"), Arrays.asList("3", "Row 3")), true))
+				.thenReturn(Arrays.asList(new ArrayList<Object>(), false));
+		List<String> harvestedKeys = new ArrayList<String>();
+		
+		int harvestedRowCount = actions.harvestRows(By.id("grid"), By.cssSelector("[role='row']"), By.cssSelector(".id"), row -> harvestedKeys.add(row.getKey()), 0);
+		
+		Assert.assertEquals(3, harvestedRowCount);
+		Assert.assertEquals(Arrays.asList("1", "2", "3"), harvestedKeys);
+		Mockito.verify((JavascriptExecutor) mockJsDriver, Mockito.times(3)).executeScript(Mockito.eq(VirtualizedListHarvester.JS_HARVEST_STEP), Mockito.<Object>anyVararg());
+		Mockito.verify(mockErrorHandler, Mockito.times(0)).throwOrLogError(Mockito.any(WebDriver.class), Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
+	}
+	
+	@Test
+	public void harvestRowsKeepsScrollingPastAStepWithNoNewRowsWhileTheContainerMovesTest() {
+		WebDriver mockJsDriver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(JavascriptExecutor.class));
+		actions = new SeleniumActionMethods(mockJsDriver, mockFinder, "AnyPageName");
+		actions.setErrorHandler(mockErrorHandler);
+		Mockito.when(((JavascriptExecutor) mockJsDriver).executeScript(Mockito.eq(VirtualizedListHarvester.JS_HARVEST_STEP), Mockito.<Object>anyVararg()))
+				.thenReturn(Arrays.asList(Arrays.asList(Arrays.asList("1", "Row 1", true)), false))
+				.thenReturn(Arrays.asList(new ArrayList<Object>(), true))
+				.thenReturn(Arrays.asList(Arrays.asList(Arrays.asList("2", "Row 2", true)), true))
+				.thenReturn(Arrays.asList(new ArrayList<Object>(), false));
+		List<String> harvestedKeys = new ArrayList<String>();
+		
+		int harvestedRowCount = actions.harvestRows(By.id("grid"), By.cssSelector("[role='row']"), By.cssSelector(".id"), row -> harvestedKeys.add(row.getKey()), 0);
+		
+		Assert.assertEquals(2, harvestedRowCount);
+		Assert.assertEquals(Arrays.asList("1", "2"), harvestedKeys);
+		Mockito.verify((JavascriptExecutor) mockJsDriver, Mockito.times(4)).executeScript(Mockito.eq(VirtualizedListHarvester.JS_HARVEST_STEP), Mockito.<Object>anyVararg());
+	}
+	
+	@Test
+	public void harvestRowsStopsWhenTheBudgetRunsOutAndKeysRowsWithoutAKeyByTheirTextTest() {
+		WebDriver mockJsDriver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(JavascriptExecutor.class));
+		actions = new SeleniumActionMethods(mockJsDriver, mockFinder, "AnyPageName");
+		actions.setErrorHandler(mockErrorHandler);
+		Mockito.when(((JavascriptExecutor) mockJsDriver).executeScript(Mockito.eq(VirtualizedListHarvester.JS_HARVEST_STEP), Mockito.<Object>anyVararg()))
+				.thenReturn(Arrays.asList(Arrays.asList(Arrays.asList("1", "Row 1", true), Arrays.asList("Row without id", "Row without id", false)), true));
+		List<HarvestedRow> harvestedRows = new ArrayList<HarvestedRow>();
+		
+		int harvestedRowCount = actions.harvestRows(By.id("grid"), By.cssSelector("[role='row']"), By.cssSelector(".id"), harvestedRows::add, 0, WaitBudget.none());
+		
+		Assert.assertEquals(2, harvestedRowCount);
+		Assert.assertEquals("Row without id", harvestedRows.get(1).getKey());
+		Mockito.verify((JavascriptExecutor) mockJsDriver, Mockito.times(1)).executeScript(Mockito.eq(VirtualizedListHarvester.JS_HARVEST_STEP), Mockito.<Object>anyVararg());
+	}
+	
+	@Test(expected = IllegalStateException.class)
+	public void harvestRowsFailsClearlyWhenTheDriverCantRunJavascriptTest() {
+		actions.harvestRows(By.id("grid"), By.cssSelector("[role='row']"), null, row -> Assert.fail());
+	}
+	
+	@Test
+	public void highlightElementIsOneScriptCallThatRestoresTheStyleInTheBrowserTest() {
+		WebDriver mockJsDriver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(JavascriptExecutor.class));
+		actions = new SeleniumActionMethods(mockJsDriver, mockFinder, "AnyPageName");
+		actions.setHighlightElements(true);
+		
+		actions.highlightElement(mockElement, 2.5);
+		
+		Mockito.verify((JavascriptExecutor) mockJsDriver, Mockito.times(1)).executeScript(Mockito.eq(SeleniumActionMethods.JS_HIGHLIGHT),
+				Mockito.eq(mockElement), Mockito.anyString(), Mockito.eq(2500L));
+		Mockito.verifyZeroInteractions(mockElement);
+	}
+	@Test
+	public void highlightElementThatOverlapsAnotherKeepsTheOriginalStyleInTheBrowserTest() {
+		WebDriver mockJsDriver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(JavascriptExecutor.class));
+		actions = new SeleniumActionMethods(mockJsDriver, mockFinder, "AnyPageName");
+		actions.setHighlightElements(true);
+		
+		actions.highlightElement(mockElement, 1);
+		actions.highlightElement(mockElement, 3);
+		
+		Mockito.verify((JavascriptExecutor) mockJsDriver).executeScript(Mockito.eq(SeleniumActionMethods.JS_HIGHLIGHT), Mockito.eq(mockElement), Mockito.anyString(), Mockito.eq(1000L));
+		Mockito.verify((JavascriptExecutor) mockJsDriver).executeScript(Mockito.eq(SeleniumActionMethods.JS_HIGHLIGHT), Mockito.eq(mockElement), Mockito.anyString(), Mockito.eq(3000L));
+		Mockito.verifyZeroInteractions(mockElement);
+		//The second highlight mustn't save the first one's highlight as the element's own style, and only the latest highlight puts it back.
+		Assert.assertTrue(SeleniumActionMethods.JS_HIGHLIGHT.contains("if (!element.hasAttribute(saved))"));
+		Assert.assertTrue(SeleniumActionMethods.JS_HIGHLIGHT.contains("element.__safHighlight !== highlight"));
+		Assert.assertTrue(SeleniumActionMethods.JS_HIGHLIGHT.contains("element.removeAttribute(saved)"));
+	}
+	@Test
+	public void highlightElementDoesNothingWhenHighlightingIsOffTest() {
+		WebDriver mockJsDriver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(JavascriptExecutor.class));
+		actions = new SeleniumActionMethods(mockJsDriver, mockFinder, "AnyPageName");
+		actions.setHighlightElements(false);
+		
+		actions.highlightElement(mockLocator, 2);
+		
+		Mockito.verifyZeroInteractions(mockJsDriver, mockFinder);
+	}
+	
+	@Test
+	public void isDisplayedOnceSettledReturnsFalseAsSoonAsThePageIsReadyWithoutTheElementTest() {
+		WebDriver mockJsDriver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(JavascriptExecutor.class));
+		actions = new SeleniumActionMethods(mockJsDriver, mockFinder, "AnyPageName");
+		actions.setFluentWaitGenerator(mockFluentWaitGenerator);
+		Mockito.when(((JavascriptExecutor) mockJsDriver).executeAsyncScript(Mockito.eq(PageReadinessDetector.JS_WAIT_FOR_READY), Mockito.<Object>anyVararg()))
+				.thenReturn(PageReadinessDetector.NOT_READY, PageReadinessDetector.READY);
+		
+		Assert.assertFalse(actions.isDisplayedOnceSettled(By.id("errorBanner"), 90));
+		
+		Mockito.verify(mockJsDriver, Mockito.times(3)).findElements(By.id("errorBanner"));
+		Mockito.verify((JavascriptExecutor) mockJsDriver, Mockito.times(2)).executeAsyncScript(Mockito.eq(PageReadinessDetector.JS_WAIT_FOR_READY), Mockito.<Object>anyVararg());
+		Mockito.verifyZeroInteractions(mockFluentWaitGenerator);
+	}
+	@SuppressWarnings("unchecked")
+	@Test
+	public void isDisplayedOnceSettledWaitsLikeIsDisplayedWithoutJavascriptTest() {
+		FluentWait<WebDriver> mockWait = Mockito.mock(FluentWait.class);
+		Mockito.when(mockFluentWaitGenerator.getFluentWait(Mockito.any(WebDriver.class), Mockito.any(WaitBudget.class))).thenReturn(mockWait);
+		Mockito.when(mockWait.until(Mockito.any(Function.class))).thenThrow(new TimeoutException());
+		
+		Assert.assertFalse(actions.isDisplayedOnceSettled(mockLocator, 1));
+		Mockito.verify(mockWait, Mockito.times(1)).until(Mockito.any(Function.class));
+	}
+	
 }
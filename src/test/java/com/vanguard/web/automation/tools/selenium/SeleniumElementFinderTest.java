@@ -1,7 +1,9 @@
 package com.vanguard.web.automation.tools.selenium;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -10,12 +12,16 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.FluentWait;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
@@ -92,6 +98,34 @@ public class SeleniumElementFinderTest {
 		Assert.assertEquals(expectedElement, actualElement);
 	}
 
+	@Test
+	public void getElementPollsAtTheFixedPollingStrategyIntervalTest() throws Exception {
+		FluentWaitGenerator fluentWaitGenerator = new FluentWaitGenerator();
+		fluentWaitGenerator.setPollingStrategy(new FixedPollingStrategy(250));
+		fluentWaitGenerator.setEventDrivenWaits(false);
+		finder.setFluentWaitGenerator(fluentWaitGenerator);
+		PowerMockito.whenNew(WebDriverWait.class).withAnyArguments().thenReturn(mockWait);
+		Mockito.when(mockWait.until(Mockito.any())).thenReturn(mockElement);
+		Mockito.when(mockDriver.findElement(mockLocator)).thenReturn(mockElement);
+
+		Assert.assertEquals(mockElement, finder.getElement(mockLocator, 0));
+		Mockito.verify(mockWait).pollingEvery(250L, TimeUnit.MILLISECONDS);
+	}
+
+	@Test
+	public void getElementKeepsWebDriverWaitsPollingWhenNoPollingStrategyIsChosenTest() throws Exception {
+		FluentWaitGenerator.setDefaultPollingStrategy(null);
+		FluentWaitGenerator fluentWaitGenerator = new FluentWaitGenerator();
+		fluentWaitGenerator.setEventDrivenWaits(false);
+		finder.setFluentWaitGenerator(fluentWaitGenerator);
+		PowerMockito.whenNew(WebDriverWait.class).withAnyArguments().thenReturn(mockWait);
+		Mockito.when(mockWait.until(Mockito.any())).thenReturn(mockElement);
+		Mockito.when(mockDriver.findElement(mockLocator)).thenReturn(mockElement);
+
+		Assert.assertEquals(mockElement, finder.getElement(mockLocator, 0));
+		Mockito.verify(mockWait, Mockito.never()).pollingEvery(Mockito.anyLong(), Mockito.any(TimeUnit.class));
+	}
+
 	@Test
 	public void getElementPresentInDOMNoTimeInputIsSameAsZeroSecondInputTest() throws Exception {
 		int numOfTimesCallingRealMethod = 2;
@@ -317,6 +351,19 @@ public class SeleniumElementFinderTest {
 		Mockito.verify(subElem3IsEnabled, Mockito.times(numOfTimesCallingRealMethod)).isEnabled();
 		Assert.assertEquals(expectedFirstEnabledSubElement, actualSubElement);
 	}
+	@Test
+	public void getSubElementFromParentByWaitsOutOfOneBudgetTest() throws Exception {
+		By mockParentBy = Mockito.mock(By.class);
+		WebElement mockParentElement = Mockito.mock(WebElement.class);
+		PowerMockito.whenNew(WebDriverWait.class).withAnyArguments().thenReturn(mockWait);
+		Mockito.when(mockDriver.findElement(mockParentBy)).thenReturn(mockParentElement);
+		
+		finder.getSubElement(mockParentBy, mockLocator, 3);
+		
+		//Both the parent and the sub element wait for what's left of the same 3 seconds, not a number of milliseconds taken as seconds.
+		PowerMockito.verifyNew(WebDriverWait.class, Mockito.times(2)).withArguments(mockDriver, 3L);
+		Mockito.verify(mockWait, Mockito.times(2)).withTimeout(Mockito.longThat(millis -> millis > 2000 && millis <= 3000), Mockito.eq(TimeUnit.MILLISECONDS));
+	}
 
 	@Test
 	public void getSubElementFromParentElementNoTimeInputIsSameAsZeroSecondInputTest() throws Exception {
@@ -352,6 +399,24 @@ public class SeleniumElementFinderTest {
 		Assert.assertEquals(expectedSubElement, actualSubElement);
 	}
 	@Test
+	public void getSubElementCachesUnderTheLocatorItWasCalledWithTest() throws Exception {
+		WebElement mockParentElement = Mockito.mock(WebElement.class);
+		finder.setOptimizeLocators(true);
+		finder.setElementCache(new ElementCache(mockDriver, 10));
+		PowerMockito.whenNew(WebDriverWait.class).withAnyArguments().thenReturn(mockWait);
+		Mockito.when(mockWait.until(Mockito.any())).thenReturn(mockElement);
+		Mockito.when(mockParentElement.findElements(By.cssSelector("td"))).thenReturn(Arrays.asList(mockElement));
+		Mockito.when(mockElement.isDisplayed()).thenReturn(true);
+		Mockito.when(mockElement.isEnabled()).thenReturn(true);
+
+		Assert.assertEquals(mockElement, finder.getSubElement(mockParentElement, By.xpath(".//td"), 0));
+		Assert.assertEquals(mockElement, finder.getSubElement(mockParentElement, By.xpath(".//td"), 0));
+
+		Mockito.verify(mockParentElement, Mockito.times(1)).findElements(By.cssSelector("td"));
+		Assert.assertEquals(mockElement, finder.getCachedElement(mockParentElement, By.xpath(".//td"), ElementCache.Check.ENABLED));
+		Assert.assertNull(finder.getCachedElement(mockParentElement, By.cssSelector("td"), ElementCache.Check.ENABLED));
+	}
+	@Test
 	public void getSubElementFromParentElementTest() throws Exception {
 		int numOfTimesCallingRealMethod = 1;
 		By mockSubLocator = mockLocator;
@@ -791,6 +856,20 @@ public class SeleniumElementFinderTest {
 
 	
 	
+	@Test
+	@SuppressWarnings("deprecation")
+	public void getElementStillCallsOverridesOfTheWebDriverWaitHookTest() throws Exception {
+		PowerMockito.whenNew(WebDriverWait.class).withAnyArguments().thenReturn(mockWait);
+		SeleniumElementFinder overridingFinder = new SeleniumElementFinder(mockDriver) {
+			@Override
+			protected WebElement getElementIfClickableWithinWaitTime(final By locator, WebDriverWait wait) {
+				return mockElement;
+			}
+		};
+
+		Assert.assertEquals(mockElement, overridingFinder.getElement(mockLocator, 0));
+		Mockito.verify(mockDriver, Mockito.never()).findElement(mockLocator);
+	}
 	@Test
 	public void getElementIfClickableWithinWaitTimeSuccessfulTest() throws Exception {
 		PowerMockito.whenNew(WebDriverWait.class).withAnyArguments().thenReturn(mockWait);
@@ -1102,6 +1181,149 @@ public class SeleniumElementFinderTest {
 	}
 	
 
+	@Test
+	public void getAllEnabledElementsFromListUsesOneScriptCallWhenDriverIsJavascriptExecutorTest() {
+		WebDriver mockJsDriver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(JavascriptExecutor.class));
+		SeleniumElementFinder jsFinder = new SeleniumElementFinder(mockJsDriver);
+		WebElement elem1IsNOTEnabled = Mockito.mock(WebElement.class);
+		WebElement elem2IsEnabled = Mockito.mock(WebElement.class);
+		List<WebElement> allElements = new ArrayList<WebElement>();
+		allElements.add(elem1IsNOTEnabled);
+		allElements.add(elem2IsEnabled);
+		List<Object> states = new ArrayList<Object>();
+		states.add(Arrays.asList(1L, "", null));
+		states.add(Arrays.asList(3L, "", null));
+		Mockito.when(((JavascriptExecutor) mockJsDriver).executeScript(ElementStateEvaluator.JS_EVALUATE_STATES, allElements, null)).thenReturn(states);
+		
+		List<WebElement> actualElements = jsFinder.getAllEnabledElementsFromList(allElements);
+		WebElement actualFirstElement = jsFinder.getFirstEnabledElementFromList(allElements);
+		
+		Assert.assertEquals(1, actualElements.size());
+		Assert.assertEquals(elem2IsEnabled, actualElements.get(0));
+		Assert.assertEquals(elem2IsEnabled, actualFirstElement);
+		Mockito.verify(elem1IsNOTEnabled, Mockito.never()).isEnabled();
+		Mockito.verify(elem2IsEnabled, Mockito.never()).isEnabled();
+	}
+
+	@Test
+	public void getSubElementsFindsTheParentAndSubElementsInOneScriptCallWhenDriverIsJavascriptExecutorTest() {
+		WebDriver mockJsDriver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(JavascriptExecutor.class));
+		SeleniumElementFinder jsFinder = new SeleniumElementFinder(mockJsDriver);
+		WebElement mockParentElement = Mockito.mock(WebElement.class);
+		WebElement subElem1IsNOTEnabled = Mockito.mock(WebElement.class);
+		WebElement subElem2IsEnabled = Mockito.mock(WebElement.class);
+		List<Object> scriptResult = new ArrayList<Object>();
+		scriptResult.add(mockParentElement);
+		scriptResult.add(Arrays.asList(subElem1IsNOTEnabled, subElem2IsEnabled));
+		scriptResult.add(Arrays.asList(subElem2IsEnabled));
+		Mockito.when(((JavascriptExecutor) mockJsDriver).executeScript(SeleniumElementFinder.JS_FIND_PARENT_AND_SUB_ELEMENTS,
+				null, "ID", "list", "XPATH", ".//li", true)).thenReturn(scriptResult);
+		
+		List<WebElement> actualSubElements = jsFinder.getSubElements(By.id("list"), By.xpath("//li"));
+		WebElement actualSubElement = jsFinder.getSubElement(By.id("list"), By.xpath("//li"));
+		
+		Assert.assertEquals(Arrays.asList(subElem2IsEnabled), actualSubElements);
+		Assert.assertEquals(subElem2IsEnabled, actualSubElement);
+		Mockito.verify((JavascriptExecutor) mockJsDriver, Mockito.times(2)).executeScript(Mockito.anyString(), Mockito.<Object>anyVararg());
+		Mockito.verify(mockJsDriver, Mockito.never()).findElement(Mockito.any(By.class));
+		Mockito.verify(mockParentElement, Mockito.never()).findElements(Mockito.any(By.class));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void getSubElementsInOneScriptWatchesThePageWhenEventDrivenWaitsAreOnTest() {
+		WebDriver mockJsDriver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(JavascriptExecutor.class));
+		SeleniumElementFinder jsFinder = new SeleniumElementFinder(mockJsDriver);
+		FluentWaitGenerator mockFluentWaitGenerator = Mockito.mock(FluentWaitGenerator.class);
+		FluentWait<WebDriver> mockMutationObserverWait = Mockito.mock(FluentWait.class);
+		jsFinder.setFluentWaitGenerator(mockFluentWaitGenerator);
+		WebElement subElement = Mockito.mock(WebElement.class);
+		List<Object> scriptResult = new ArrayList<Object>();
+		scriptResult.add(Mockito.mock(WebElement.class));
+		scriptResult.add(Arrays.asList(subElement));
+		scriptResult.add(Arrays.asList(subElement));
+		Mockito.when(mockFluentWaitGenerator.isUsingEventDrivenWaits()).thenReturn(true);
+		Mockito.when(mockFluentWaitGenerator.getMutationObserverWait(Mockito.eq(mockJsDriver), Mockito.any(WaitBudget.class), Mockito.isNull(WebElement.class),
+				Mockito.eq(By.xpath(".//li")), Mockito.eq(MutationObserverWait.DomCondition.PRESENT))).thenReturn(mockMutationObserverWait);
+		Mockito.when(mockMutationObserverWait.until(Mockito.any())).thenReturn(scriptResult);
+		
+		List<WebElement> actualSubElements = jsFinder.getSubElements(By.id("list"), By.xpath("//li"), 5);
+		
+		Assert.assertEquals(Arrays.asList(subElement), actualSubElements);
+		Mockito.verify(mockMutationObserverWait).until(Mockito.any());
+		Mockito.verify(mockFluentWaitGenerator, Mockito.never()).getAdaptiveWait(Mockito.any(WebDriver.class), Mockito.any(WaitBudget.class), Mockito.anyString());
+	}
+
+	@Test
+	public void getFirstMatchingElementChecksEveryLocatorInOneScriptCallWhenDriverIsJavascriptExecutorTest() {
+		WebDriver mockJsDriver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(JavascriptExecutor.class));
+		SeleniumElementFinder jsFinder = new SeleniumElementFinder(mockJsDriver);
+		Mockito.when(((JavascriptExecutor) mockJsDriver).executeScript(SeleniumElementFinder.JS_FIND_FIRST_MATCH,
+				Arrays.asList(Arrays.asList("ID", "welcome"), Arrays.asList("CSS_SELECTOR", ".error-dialog"))))
+				.thenReturn(Arrays.asList(1L, mockElement));
+		
+		FirstMatch actual = jsFinder.getFirstMatchingElement(5, By.id("welcome"), By.cssSelector(".error-dialog"));
+		
+		Assert.assertEquals(1, actual.getIndex());
+		Assert.assertTrue(actual.matched(By.cssSelector(".error-dialog")));
+		Assert.assertEquals(mockElement, actual.getElement());
+		Mockito.verify((JavascriptExecutor) mockJsDriver, Mockito.times(1)).executeScript(Mockito.anyString(), Mockito.<Object>anyVararg());
+		Mockito.verify(mockJsDriver, Mockito.never()).findElements(Mockito.any(By.class));
+	}
+	@Test
+	public void getFirstMatchingElementKeepsWaitingWhenThePageNavigatesDuringTheScriptTest() {
+		WebDriver mockJsDriver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(JavascriptExecutor.class));
+		SeleniumElementFinder jsFinder = new SeleniumElementFinder(mockJsDriver);
+		Mockito.when(((JavascriptExecutor) mockJsDriver).executeScript(Mockito.eq(SeleniumElementFinder.JS_FIND_FIRST_MATCH), Mockito.<Object>anyVararg()))
+				.thenThrow(new JavascriptException("javascript error: document unloaded while waiting for result"))
+				.thenThrow(new StaleElementReferenceException("element is not attached to the page document"))
+				.thenReturn(Arrays.asList(0L, mockElement));
+		
+		FirstMatch actual = jsFinder.getFirstMatchingElement(5, By.id("welcome"), By.cssSelector(".error-dialog"));
+		
+		Assert.assertEquals(0, actual.getIndex());
+		Assert.assertEquals(mockElement, actual.getElement());
+		Mockito.verify((JavascriptExecutor) mockJsDriver, Mockito.times(3)).executeScript(Mockito.anyString(), Mockito.<Object>anyVararg());
+	}
+	@Test
+	public void getFirstMatchingElementChecksEachLocatorInOrderWithoutJavascriptTest() {
+		WebElement hiddenElement = Mockito.mock(WebElement.class);
+		Mockito.when(mockDriver.findElements(By.id("welcome"))).thenReturn(Arrays.asList(hiddenElement));
+		Mockito.when(mockDriver.findElements(By.name("mfaCode"))).thenReturn(Arrays.asList(mockElement));
+		Mockito.when(mockElement.isDisplayed()).thenReturn(true);
+		Mockito.when(mockElement.isEnabled()).thenReturn(true);
+		
+		FirstMatch actual = finder.getFirstMatchingElement(5, By.id("welcome"), By.name("mfaCode"));
+		
+		Assert.assertEquals(By.name("mfaCode"), actual.getLocator());
+		Assert.assertEquals(1, actual.getIndex());
+		Assert.assertEquals(mockElement, actual.getElement());
+	}
+	@Test
+	public void getFirstMatchingElementReturnsNullWhenNothingMatchesInTimeTest() {
+		Assert.assertNull(finder.getFirstMatchingElement(0, By.id("welcome"), By.name("mfaCode")));
+	}
+
+	@Test
+	public void getElementFromALocatorChainChecksTheCandidateThatMatchedLastTimeFirstTest() {
+		WebDriver mockJsDriver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(JavascriptExecutor.class));
+		SeleniumElementFinder jsFinder = new SeleniumElementFinder(mockJsDriver);
+		LocatorChain chain = LocatorChain.of("Submit button", By.id("submit"), By.cssSelector("button.submit"));
+		Mockito.when(((JavascriptExecutor) mockJsDriver).executeScript(SeleniumElementFinder.JS_FIND_FIRST_MATCH,
+				Arrays.asList(Arrays.asList("ID", "submit"), Arrays.asList("CSS_SELECTOR", "button.submit"))))
+				.thenReturn(Arrays.asList(1L, mockElement));
+		Mockito.when(((JavascriptExecutor) mockJsDriver).executeScript(SeleniumElementFinder.JS_FIND_FIRST_MATCH,
+				Arrays.asList(Arrays.asList("CSS_SELECTOR", "button.submit"), Arrays.asList("ID", "submit"))))
+				.thenReturn(Arrays.asList(0L, mockElement));
+		
+		Assert.assertEquals(mockElement, jsFinder.getElement(chain, 5));
+		Assert.assertEquals(mockElement, jsFinder.getElement(chain, 5));
+		
+		Assert.assertEquals(2, chain.getMatchCount(By.cssSelector("button.submit")));
+		Assert.assertArrayEquals(new By[] {By.cssSelector("button.submit"), By.id("submit")}, chain.getRankedCandidates());
+		Mockito.verify((JavascriptExecutor) mockJsDriver, Mockito.times(2)).executeScript(Mockito.anyString(), Mockito.<Object>anyVararg());
+	}
+
 	@Test
 	public void getMaxWaitTimeWithValidationChecksReturnsInputIfBetweenZeroAndAbsMaxWaitTime() {
 		int input = 3;
@@ -1126,6 +1348,7 @@ public class SeleniumElementFinderTest {
 
 	
 	@Test
+	@SuppressWarnings("deprecation")
 	public void getSecondsLeftTest()
 	{
 		long startTimeInSeconds = (long)1100;
@@ -28,4 +28,23 @@ public class SeleniumHelperUtilTest {
 		Assert.assertEquals(expected, actual);
 	}
 	
-}
+	@Test
+	public void optimizeLocatorRewritesSimpleXPathsAsCssTest() {
+		Assert.assertEquals(By.cssSelector("div[id=\"main\"] input[type=\"text\"]"),
+				SeleniumHelperUtil.optimizeLocator(By.xpath("//div[@id='main']//input[@type='text']")));
+		Assert.assertEquals(By.cssSelector("div > span"), SeleniumHelperUtil.optimizeLocator(By.xpath("//div/span")));
+		Assert.assertEquals(By.cssSelector("td"), SeleniumHelperUtil.optimizeLocator(By.xpath(".//td")));
+		Assert.assertEquals(By.id("main"), SeleniumHelperUtil.optimizeLocator(By.xpath("//*[@id='main']")));
+	}
+
+	@Test
+	public void optimizeLocatorLeavesLocatorsWithoutAnExactCssVersionAloneTest() {
+		String[] xpaths = {".//tr/td", "//div[1]", "//div[contains(@class, 'btn')]", "//a[text()='Next']", "(//a)[1]", "/html/body"};
+		for (String xpath : xpaths) {
+			Assert.assertEquals(By.xpath(xpath), SeleniumHelperUtil.optimizeLocator(By.xpath(xpath)));
+		}
+		Assert.assertEquals(By.id("anyID"), SeleniumHelperUtil.optimizeLocator(By.id("anyID")));
+		Assert.assertEquals(By.name("q"), SeleniumHelperUtil.optimizeLocator(By.name("q")));
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.openqa.selenium.WebElement;
+
+import com.vanguard.web.automation.tools.selenium.TableSnapshot.CellPosition;
+
+public class TableIndexTest {
+
+	private TableIndex index = new TableIndex(TableSnapshot.fromScriptResult(Mockito.mock(WebElement.class), TableSnapshotTest.getSampleScriptResult()));
+
+	@Test
+	public void findFirstExactMatchReturnsTheFirstOfSeveralMatchesTest() {
+		Assert.assertEquals(new CellPosition(1, 1), index.findFirstExactMatch("123 Main St"));
+		Assert.assertEquals(2, index.findAllExactMatches("123 Main St").size());
+	}
+
+	@Test
+	public void findFirstExactMatchIsCaseSensitiveTest() {
+		Assert.assertNull(index.findFirstExactMatch("jane"));
+		Assert.assertTrue(index.findAllExactMatches("").isEmpty());
+	}
+
+	@Test
+	public void findFirstPartialMatchUsesTrigramsAndIsNotCaseSensitiveTest() {
+		Assert.assertEquals(new CellPosition(1, 1), index.findFirstPartialMatch("MAIN s"));
+		Assert.assertEquals(new CellPosition(0, 1), index.findFirstPartialMatch("dress"));
+		Assert.assertNull(index.findFirstPartialMatch("Mainz"));
+	}
+
+	@Test
+	public void findFirstPartialMatchShorterThanATrigramScansTheTextsTest() {
+		Assert.assertEquals(new CellPosition(1, 0), index.findFirstPartialMatch("il"));
+		Assert.assertNull(index.findFirstPartialMatch("zz"));
+		Assert.assertNull(index.findFirstPartialMatch(null));
+	}
+
+	@Test
+	public void partialMatchesAgreeWithAFullScanOfTheSnapshotTest() {
+		TableSnapshot snapshot = index.getSnapshot();
+		String[] searches = {"a", "an", "ane", "123", "st", "Name", "ly", "nothing"};
+		for (String search : searches) {
+			Assert.assertEquals(search, snapshot.findFirstPartialMatch(search), index.findFirstPartialMatch(search));
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.openqa.selenium.WebElement;
+
+public class TableSnapshotTest {
+
+	private WebElement mockTable = Mockito.mock(WebElement.class);
+
+	@Test
+	public void fromScriptResultReadsTheCellTextsTest() {
+		TableSnapshot snapshot = TableSnapshot.fromScriptResult(mockTable, getSampleScriptResult());
+		Assert.assertEquals(3, snapshot.getRowCount());
+		Assert.assertEquals(2, snapshot.getCellCount(0));
+		Assert.assertEquals("Billy", snapshot.getCellText(1, 0));
+		Assert.assertEquals(mockTable, snapshot.getTable());
+		Assert.assertEquals(7L, snapshot.getVersion());
+	}
+
+	@Test
+	public void findFirstExactMatchIsCaseSensitiveAndReturnsFirstMatchTest() {
+		TableSnapshot snapshot = TableSnapshot.fromScriptResult(mockTable, getSampleScriptResult());
+		Assert.assertEquals(new TableSnapshot.CellPosition(1, 1), snapshot.findFirstExactMatch("123 Main St"));
+		Assert.assertNull(snapshot.findFirstExactMatch("billy"));
+		Assert.assertNull(snapshot.findFirstExactMatch(""));
+	}
+
+	@Test
+	public void findFirstPartialMatchIsNotCaseSensitiveTest() {
+		TableSnapshot snapshot = TableSnapshot.fromScriptResult(mockTable, getSampleScriptResult());
+		Assert.assertEquals(new TableSnapshot.CellPosition(2, 0), snapshot.findFirstPartialMatch("JAN"));
+		Assert.assertEquals(new TableSnapshot.CellPosition(1, 1), snapshot.findFirstPartialMatch("main"));
+		Assert.assertNull(snapshot.findFirstPartialMatch("Bob"));
+	}
+
+	@Test
+	public void containsCellChecksBoundsOfEachRowTest() {
+		TableSnapshot snapshot = TableSnapshot.fromScriptResult(mockTable, getSampleScriptResult());
+		Assert.assertTrue(snapshot.containsCell(2, 1));
+		Assert.assertFalse(snapshot.containsCell(3, 0));
+		Assert.assertFalse(snapshot.containsCell(0, 2));
+		Assert.assertFalse(snapshot.containsCell(-1, 0));
+	}
+
+	@Test
+	public void snapshotIsNotChangedByChangesToTheInputArraysTest() {
+		String[][] texts = {{"A"}};
+		TableSnapshot snapshot = new TableSnapshot(mockTable, texts);
+		texts[0][0] = "Changed";
+		Assert.assertEquals("A", snapshot.getCellText(0, 0));
+		Assert.assertEquals(TableSnapshot.UNKNOWN_VERSION, snapshot.getVersion());
+	}
+
+
+	static List<Object> getSampleScriptResult() {
+		List<Object> rows = new ArrayList<Object>();
+		rows.add(Arrays.asList("Name", "Address"));
+		rows.add(Arrays.asList("Billy", "123 Main St"));
+		rows.add(Arrays.asList("Jane", "123 Main St"));
+		return Arrays.<Object>asList(7L, rows);
+	}
+}
@@ -1,6 +1,7 @@
 package com.vanguard.web.automation.tools.selenium;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.easymock.EasyMock;
@@ -9,6 +10,8 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.powermock.api.mockito.PowerMockito;
@@ -226,6 +229,91 @@ public class TableUtilitiesTest {
 	}
 
 	
+	@Test
+	public void getCellOverFromExactStringMatchUsesOneScriptForTheWholeTableWhenDriverIsJavascriptExecutorTest() {
+		WebDriver jsDriver = getMockJavascriptDriver();
+		TableUtilities jsUtils = new TableUtilities(jsDriver, finder, actions);
+		WebElement mockTable = Mockito.mock(WebElement.class);
+		Mockito.when(((JavascriptExecutor) jsDriver).executeScript(TableUtilities.JS_TABLE_SNAPSHOT, mockTable)).thenReturn(getSnapshotScriptResult());
+		Mockito.when(((JavascriptExecutor) jsDriver).executeScript(TableUtilities.JS_RESOLVE_CELL, mockTable, 2, 0)).thenReturn(mockCell_3_1);
+		EasyMock.replay(finder);
+		EasyMock.replay(actions);
+		
+		WebElement actual = jsUtils.getCellOverFromExactStringMatch(mockTable, "5467", 1, -1);
+		
+		EasyMock.verify(finder);
+		EasyMock.verify(actions);
+		Mockito.verify((JavascriptExecutor) jsDriver, Mockito.times(2)).executeScript(Mockito.anyString(), Mockito.<Object>anyVararg());
+		Assert.assertEquals(mockCell_3_1, actual);
+	}
+
+	@Test
+	public void getCellOverFromExactStringMatchReusesTheTableIndexWhileTheTableVersionIsUnchangedTest() {
+		WebDriver jsDriver = getMockJavascriptDriver();
+		JavascriptExecutor js = (JavascriptExecutor) jsDriver;
+		TableUtilities jsUtils = new TableUtilities(jsDriver, finder, actions);
+		WebElement mockTable = Mockito.mock(WebElement.class);
+		Mockito.when(js.executeScript(TableUtilities.JS_TABLE_SNAPSHOT, mockTable)).thenReturn(getSnapshotScriptResult());
+		Mockito.when(js.executeScript(TableUtilities.JS_TABLE_VERSION, mockTable)).thenReturn(0L);
+		Mockito.when(js.executeScript(TableUtilities.JS_RESOLVE_CELL, mockTable, 0, 1)).thenReturn(mockCell_1_2);
+		Mockito.when(js.executeScript(TableUtilities.JS_RESOLVE_CELL, mockTable, 2, 1)).thenReturn(mockCell_3_2);
+		
+		Assert.assertEquals(mockCell_1_2, jsUtils.getCellOverFromExactStringMatch(mockTable, "Billy", 0, 1));
+		Assert.assertEquals(mockCell_3_2, jsUtils.getCellOverFromPartialStringMatch(mockTable, "fre", 0, 1));
+		
+		Mockito.verify(js, Mockito.times(1)).executeScript(TableUtilities.JS_TABLE_SNAPSHOT, mockTable);
+		Mockito.verify(js, Mockito.times(1)).executeScript(TableUtilities.JS_TABLE_VERSION, mockTable);
+	}
+
+	@Test
+	public void getTableIndexRebuildsTheIndexWhenTheTableVersionChangesTest() {
+		WebDriver jsDriver = getMockJavascriptDriver();
+		JavascriptExecutor js = (JavascriptExecutor) jsDriver;
+		TableUtilities jsUtils = new TableUtilities(jsDriver, finder, actions);
+		WebElement mockTable = Mockito.mock(WebElement.class);
+		Mockito.when(js.executeScript(TableUtilities.JS_TABLE_SNAPSHOT, mockTable)).thenReturn(getSnapshotScriptResult());
+		Mockito.when(js.executeScript(TableUtilities.JS_TABLE_VERSION, mockTable)).thenReturn(1L);
+		
+		TableIndex first = jsUtils.getTableIndex(mockTable);
+		TableIndex second = jsUtils.getTableIndex(mockTable);
+		
+		Assert.assertNotSame(first, second);
+		Mockito.verify(js, Mockito.times(2)).executeScript(TableUtilities.JS_TABLE_SNAPSHOT, mockTable);
+	}
+
+	@Test
+	public void getCellOverFromPartialStringMatchUsingSnapshotReturnsNullIfNoMatchTest() {
+		WebDriver jsDriver = getMockJavascriptDriver();
+		TableUtilities jsUtils = new TableUtilities(jsDriver, finder, actions);
+		WebElement mockTable = Mockito.mock(WebElement.class);
+		TableSnapshot snapshot = TableSnapshot.fromScriptResult(mockTable, getSnapshotScriptResult());
+		
+		Assert.assertNull(jsUtils.getCellOverFromPartialStringMatch(snapshot, "Bob", 0, 0));
+		Mockito.verify((JavascriptExecutor) jsDriver, Mockito.never()).executeScript(Mockito.anyString(), Mockito.<Object>anyVararg());
+	}
+
+	@Test(expected=InvalidElementException.class)
+	public void getCellOverFromExactStringMatchUsingSnapshotThrowsErrorWhenRowIsOutsideTheTableTest() {
+		PowerMockito.mockStatic(ScreenshotUtility.class);
+		WebDriver jsDriver = getMockJavascriptDriver();
+		TableUtilities jsUtils = new TableUtilities(jsDriver, finder, actions);
+		TableSnapshot snapshot = TableSnapshot.fromScriptResult(Mockito.mock(WebElement.class), getSnapshotScriptResult());
+		jsUtils.getCellOverFromExactStringMatch(snapshot, "Jane", 2, 0);
+	}
+
+	private WebDriver getMockJavascriptDriver() {
+		return Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(JavascriptExecutor.class, TakesScreenshot.class));
+	}
+
+	private List<Object> getSnapshotScriptResult() {
+		List<Object> rows = new ArrayList<Object>();
+		rows.add(Arrays.asList("Billy", "2345"));
+		rows.add(Arrays.asList("Jane", "5467"));
+		rows.add(Arrays.asList("Fred", "8765"));
+		return Arrays.<Object>asList(0L, rows);
+	}
+
+	
 	@SuppressWarnings("serial")
 	public List<WebElement> getMockAllRows() {
 		return new ArrayList<WebElement>() {{
@@ -0,0 +1,40 @@
+package com.vanguard.web.automation.tools.selenium;
+
+import java.time.Duration;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WaitBudgetTest {
+
+	@Test
+	public void budgetCountsDownFromWhenItWasCreatedTest() throws InterruptedException {
+		WaitBudget budget = WaitBudget.ofMillis(5000);
+		Thread.sleep(20);
+
+		Assert.assertTrue(budget.getRemainingMillis() <= 4980);
+		Assert.assertTrue(budget.getRemainingMillis() > 0);
+		Assert.assertFalse(budget.isExpired());
+		Assert.assertEquals(Duration.ofSeconds(5), budget.getTimeout());
+	}
+
+	@Test
+	public void budgetNeverHasLessThanNothingLeftTest() throws InterruptedException {
+		WaitBudget budget = WaitBudget.ofMillis(1);
+		Thread.sleep(5);
+
+		Assert.assertTrue(budget.isExpired());
+		Assert.assertEquals(0, budget.getRemainingNanos());
+		Assert.assertTrue(WaitBudget.none().isExpired());
+		Assert.assertTrue(WaitBudget.ofSeconds(-1).isExpired());
+	}
+
+	@Test
+	public void limitedToOnlyCutsDownLargerBudgetsTest() {
+		WaitBudget smallBudget = WaitBudget.ofMillis(250);
+		WaitBudget largeBudget = WaitBudget.ofSeconds(120);
+
+		Assert.assertSame(smallBudget, smallBudget.limitedTo(Duration.ofSeconds(1)));
+		Assert.assertTrue(largeBudget.limitedTo(Duration.ofSeconds(1)).getRemainingMillis() <= 1000);
+	}
+}
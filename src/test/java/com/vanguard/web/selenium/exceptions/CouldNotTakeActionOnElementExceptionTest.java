@@ -1,6 +1,7 @@
 package com.vanguard.web.selenium.exceptions;
 
 import org.easymock.EasyMock;
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
@@ -9,6 +10,9 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import com.vanguard.web.selenium.properties.FrameworkConfiguration;
+import com.vanguard.web.selenium.properties.FrameworkContext;
+import com.vanguard.web.selenium.utils.FailureArtifacts;
 import com.vanguard.web.selenium.utils.ScreenshotUtility;
 
 
@@ -30,4 +34,22 @@ public class CouldNotTakeActionOnElementExceptionTest {
 		ScreenshotUtility.takeScreenshot(Mockito.anyString(), Mockito.any(WebDriver.class));
 	}
 
+	@Test
+	public void CouldNotTakeActionOnElementExceptionDefersTheScreenshotWhenAskedToTest() throws Exception {
+		PowerMockito.mockStatic(ScreenshotUtility.class);
+		FrameworkContext.current().setProperty(FrameworkConfiguration.DEFERRED_FAILURE_ARTIFACTS_PROPERTY, "true");
+		WebDriver mockDriver = Mockito.mock(WebDriver.class);
+		try {
+			new CouldNotTakeActionOnElementException("anyLocator", "MadeUpPage", "click", mockDriver);
+			PowerMockito.verifyStatic(ScreenshotUtility.class, Mockito.never());
+			ScreenshotUtility.takeScreenshot(Mockito.anyString(), Mockito.any(WebDriver.class));
+			Assert.assertTrue(FailureArtifacts.hasPending());
+			//Throwing it doesn't call the browser
+			Mockito.verifyZeroInteractions(mockDriver);
+		} finally {
+			FailureArtifacts.discardPending();
+			FrameworkContext.close();
+		}
+	}
+
 }
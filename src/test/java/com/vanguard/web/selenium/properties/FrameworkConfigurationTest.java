@@ -0,0 +1,116 @@
+package com.vanguard.web.selenium.properties;
+
+import java.util.Properties;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FrameworkConfigurationTest {
+
+	@Test
+	public void typedGettersUseDefaultsWhenNothingIsSetTest() {
+		FrameworkConfiguration configuration = FrameworkConfiguration.from(new Properties(), new Properties());
+		Assert.assertFalse(configuration.isFailIfElementNotFound());
+		Assert.assertNull(configuration.getGeckoDriverLocation());
+		Assert.assertEquals(FrameworkConfiguration.DEFAULT_MAX_WAIT_IN_SECONDS, configuration.getMaxWaitInSeconds());
+		Assert.assertNull(configuration.getPollingStrategyName());
+		Assert.assertFalse(configuration.isEventDrivenWaits());
+		Assert.assertEquals(0, configuration.getDriverPoolSize());
+		Assert.assertTrue(configuration.isHighlightElements());
+		Assert.assertFalse(configuration.isWaitForPageReady());
+	}
+
+	@Test
+	public void typedGettersReadTheFrameworkPropertiesTest() {
+		Properties file = new Properties();
+		file.setProperty(FrameworkConfiguration.FAIL_IF_ELEMENT_NOT_FOUND_PROPERTY, "true");
+		file.setProperty(FrameworkConfiguration.GECKO_DRIVER_LOCATION_PROPERTY, "/path/to/geckodriver");
+		file.setProperty(FrameworkConfiguration.MAX_WAIT_PROPERTY, "60");
+		file.setProperty(FrameworkConfiguration.POLLING_STRATEGY_PROPERTY, "backoff");
+		file.setProperty(FrameworkConfiguration.EVENT_DRIVEN_WAITS_PROPERTY, "true");
+		file.setProperty(FrameworkConfiguration.DRIVER_POOL_SIZE_PROPERTY, " 4 ");
+		file.setProperty(FrameworkConfiguration.HIGHLIGHT_ELEMENTS_PROPERTY, "false");
+		file.setProperty(FrameworkConfiguration.WAIT_FOR_PAGE_READY_PROPERTY, "true");
+		FrameworkConfiguration configuration = FrameworkConfiguration.from(file, new Properties());
+		Assert.assertTrue(configuration.isFailIfElementNotFound());
+		Assert.assertEquals("/path/to/geckodriver", configuration.getGeckoDriverLocation());
+		Assert.assertEquals(60, configuration.getMaxWaitInSeconds());
+		Assert.assertEquals("backoff", configuration.getPollingStrategyName());
+		Assert.assertTrue(configuration.isEventDrivenWaits());
+		Assert.assertEquals(4, configuration.getDriverPoolSize());
+		Assert.assertFalse(configuration.isHighlightElements());
+		Assert.assertTrue(configuration.isWaitForPageReady());
+	}
+
+	@Test
+	public void systemPropertiesOverrideFrameworkPropertiesTest() {
+		Properties file = new Properties();
+		file.setProperty(FrameworkConfiguration.MAX_WAIT_PROPERTY, "60");
+		file.setProperty("someCustomProperty", "fromFile");
+		Properties system = new Properties();
+		system.setProperty(FrameworkConfiguration.MAX_WAIT_PROPERTY, "30");
+		system.setProperty("someCustomProperty", "fromSystem");
+		system.setProperty(FrameworkConfiguration.GECKO_DRIVER_LOCATION_PROPERTY, "/system/geckodriver");
+		system.setProperty("java.version", "1.8");
+		FrameworkConfiguration configuration = FrameworkConfiguration.from(file, system);
+		Assert.assertEquals(30, configuration.getMaxWaitInSeconds());
+		Assert.assertEquals("fromSystem", configuration.getProperty("someCustomProperty"));
+		Assert.assertEquals("/system/geckodriver", configuration.getGeckoDriverLocation());
+		Assert.assertNull(configuration.getProperty("java.version"));
+	}
+
+	@Test
+	public void failIfElementNotFoundIsTrueIfEitherIsTrueTest() {
+		Properties trueProperties = new Properties();
+		trueProperties.setProperty(FrameworkConfiguration.FAIL_IF_ELEMENT_NOT_FOUND_PROPERTY, "true");
+		Properties falseProperties = new Properties();
+		falseProperties.setProperty(FrameworkConfiguration.FAIL_IF_ELEMENT_NOT_FOUND_PROPERTY, "false");
+		Assert.assertTrue(FrameworkConfiguration.from(trueProperties, falseProperties).isFailIfElementNotFound());
+		Assert.assertTrue(FrameworkConfiguration.from(falseProperties, trueProperties).isFailIfElementNotFound());
+		Assert.assertFalse(FrameworkConfiguration.from(falseProperties, falseProperties).isFailIfElementNotFound());
+	}
+
+	@Test
+	public void withPropertyWinsOverTheSystemPropertyTest() {
+		Properties system = new Properties();
+		system.setProperty(FrameworkConfiguration.FAIL_IF_ELEMENT_NOT_FOUND_PROPERTY, "true");
+		system.setProperty(FrameworkConfiguration.MAX_WAIT_PROPERTY, "30");
+		FrameworkConfiguration configuration = FrameworkConfiguration.from(new Properties(), system);
+		FrameworkConfiguration changed = configuration.withProperty(FrameworkConfiguration.FAIL_IF_ELEMENT_NOT_FOUND_PROPERTY, "false")
+				.withProperty(FrameworkConfiguration.MAX_WAIT_PROPERTY, "5");
+		Assert.assertTrue(configuration.isFailIfElementNotFound());
+		Assert.assertFalse(changed.isFailIfElementNotFound());
+		Assert.assertEquals(5, changed.getMaxWaitInSeconds());
+
+		system.setProperty(FrameworkConfiguration.FAIL_IF_ELEMENT_NOT_FOUND_PROPERTY, "false");
+		Assert.assertTrue(configuration.isFailIfElementNotFound());
+	}
+
+	@Test
+	public void invalidNumbersFallBackToDefaultsTest() {
+		Properties file = new Properties();
+		file.setProperty(FrameworkConfiguration.MAX_WAIT_PROPERTY, "sixty");
+		file.setProperty(FrameworkConfiguration.DRIVER_POOL_SIZE_PROPERTY, "-2");
+		FrameworkConfiguration configuration = FrameworkConfiguration.from(file, new Properties());
+		Assert.assertEquals(FrameworkConfiguration.DEFAULT_MAX_WAIT_IN_SECONDS, configuration.getMaxWaitInSeconds());
+		Assert.assertEquals(0, configuration.getDriverPoolSize());
+	}
+
+	@Test
+	public void withPropertyReturnsAChangedCopyTest() {
+		FrameworkConfiguration original = FrameworkConfiguration.from(new Properties(), new Properties());
+		FrameworkConfiguration changed = original.withProperty(FrameworkConfiguration.MAX_WAIT_PROPERTY, "5");
+		Assert.assertEquals(FrameworkConfiguration.DEFAULT_MAX_WAIT_IN_SECONDS, original.getMaxWaitInSeconds());
+		Assert.assertEquals(5, changed.getMaxWaitInSeconds());
+	}
+
+	@Test
+	public void toPropertiesReturnsAnIndependentCopyTest() {
+		Properties file = new Properties();
+		file.setProperty("someCustomProperty", "value");
+		FrameworkConfiguration configuration = FrameworkConfiguration.from(file, new Properties());
+		Properties copy = configuration.toProperties();
+		copy.setProperty("someCustomProperty", "changed");
+		Assert.assertEquals("value", configuration.getProperty("someCustomProperty"));
+	}
+}
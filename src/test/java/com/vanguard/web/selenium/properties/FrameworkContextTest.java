@@ -0,0 +1,68 @@
+package com.vanguard.web.selenium.properties;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FrameworkContextTest {
+
+	@After
+	public void cleanup() {
+		FrameworkContext.close();
+	}
+
+	@Test
+	public void currentReturnsTheSameContextUntilClosedTest() {
+		FrameworkContext context = FrameworkContext.current();
+		Assert.assertSame(context, FrameworkContext.current());
+		FrameworkContext.close();
+		Assert.assertNotSame(context, FrameworkContext.current());
+	}
+
+	@Test
+	public void setPropertyOnlyChangesTheCurrentThreadTest() throws InterruptedException {
+		FrameworkContext.current().setProperty("contextTestThreadOnlyProperty", "mainThreadValue");
+		AtomicReference<String> otherThreadValue = new AtomicReference<String>("notRead");
+		Thread otherThread = new Thread(() -> otherThreadValue.set(FrameworkContext.current().getProperty("contextTestThreadOnlyProperty")));
+		otherThread.start();
+		otherThread.join();
+		
+		Assert.assertEquals("mainThreadValue", FrameworkContext.current().getProperty("contextTestThreadOnlyProperty"));
+		Assert.assertNull(otherThreadValue.get());
+		Assert.assertNull(PropertiesManager.getFrameworkProperty("contextTestThreadOnlyProperty"));
+	}
+
+	@Test
+	public void openedContextDoesNotSeeLaterChangesFromOtherThreadsTest() throws InterruptedException {
+		FrameworkContext context = FrameworkContext.open();
+		Thread otherThread = new Thread(() -> PropertiesManager.setFrameworkProperty("contextTestSuiteWideProperty", "changed"));
+		otherThread.start();
+		otherThread.join();
+		
+		Assert.assertNull(context.getProperty("contextTestSuiteWideProperty"));
+		Assert.assertEquals("changed", FrameworkContext.open().getProperty("contextTestSuiteWideProperty"));
+	}
+
+	@Test
+	public void setFrameworkPropertyIsSeenRightAwayByTheCallingThreadTest() {
+		FrameworkContext.current();
+		PropertiesManager.setFrameworkProperty("contextTestCallingThreadProperty", "value");
+		Assert.assertEquals("value", FrameworkContext.current().getProperty("contextTestCallingThreadProperty"));
+	}
+
+	@Test
+	public void reloadPicksUpNewSystemPropertiesTest() {
+		System.setProperty("contextTestSystemProperty", "before");
+		PropertiesManager.setFrameworkProperty("contextTestSystemProperty", "fromFramework");
+		FrameworkContext context = FrameworkContext.current();
+		System.setProperty("contextTestSystemProperty", "after");
+		Assert.assertEquals("before", context.getProperty("contextTestSystemProperty"));
+		PropertiesManager.reloadFrameworkProperties();
+		Assert.assertEquals("after", FrameworkContext.current().getProperty("contextTestSystemProperty"));
+		System.clearProperty("contextTestSystemProperty");
+		PropertiesManager.reloadFrameworkProperties();
+		Assert.assertEquals("fromFramework", FrameworkContext.current().getProperty("contextTestSystemProperty"));
+	}
+}
@@ -0,0 +1,83 @@
+package com.vanguard.web.selenium.startingpages;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import com.vanguard.web.selenium.properties.FrameworkConfiguration;
+import com.vanguard.web.selenium.properties.FrameworkContext;
+
+public class SeleniumStartPageTest {
+
+	private static final String PAGE_URL = "http://www.anyurl.com";
+	private WebDriver mockJsDriver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(JavascriptExecutor.class));
+	private List<String> calls = new ArrayList<String>();
+
+	@After
+	public void cleanup() {
+		FrameworkContext.close();
+	}
+
+	@Test
+	public void navigateToPageWaitsForThePageToBeReadyBeforeIsLoadedTest() {
+		FrameworkContext.current().setProperty(FrameworkConfiguration.WAIT_FOR_PAGE_READY_PROPERTY, "true");
+		Mockito.when(((JavascriptExecutor) mockJsDriver).executeAsyncScript(Mockito.anyString(), Mockito.<Object>anyVararg())).thenAnswer(invocation -> {
+			calls.add("waitForReady");
+			return 1L;
+		});
+
+		new AnyStartPage(mockJsDriver, true).navigateToPage();
+
+		Assert.assertEquals(2, calls.size());
+		Assert.assertEquals("waitForReady", calls.get(0));
+		Assert.assertEquals("isLoaded", calls.get(1));
+		Mockito.verify(mockJsDriver).get(PAGE_URL);
+	}
+
+	@Test
+	public void navigateToPageStillChecksIsLoadedWhenThePageIsNotReadyTest() {
+		FrameworkContext.current().setProperty(FrameworkConfiguration.WAIT_FOR_PAGE_READY_PROPERTY, "true");
+		FrameworkContext.current().setProperty(FrameworkConfiguration.MAX_WAIT_PROPERTY, "0");
+		Mockito.when(((JavascriptExecutor) mockJsDriver).executeAsyncScript(Mockito.anyString(), Mockito.<Object>anyVararg())).thenAnswer(invocation -> {
+			calls.add("waitForReady");
+			return 0L;
+		});
+
+		new AnyStartPage(mockJsDriver, true).navigateToPage();
+
+		Assert.assertEquals("waitForReady", calls.get(0));
+		Assert.assertEquals("isLoaded", calls.get(calls.size() - 1));
+	}
+
+	@Test
+	public void navigateToPageDoesNotWaitForThePageToBeReadyByDefaultTest() {
+		new AnyStartPage(mockJsDriver, true).navigateToPage();
+
+		Mockito.verify((JavascriptExecutor) mockJsDriver, Mockito.never()).executeAsyncScript(Mockito.anyString(), Mockito.<Object>anyVararg());
+		Assert.assertEquals(1, calls.size());
+	}
+
+	private class AnyStartPage extends SeleniumStartPage {
+		private final boolean loaded;
+
+		AnyStartPage(WebDriver driver, boolean loaded) {
+			super(driver);
+			this.loaded = loaded;
+		}
+		@Override
+		public String getPageUrl() {
+			return PAGE_URL;
+		}
+		@Override
+		public boolean isLoaded() {
+			calls.add("isLoaded");
+			return loaded;
+		}
+	}
+}
@@ -1,7 +1,11 @@
 package com.vanguard.web.selenium.test;
 
 import org.easymock.EasyMock;
+import org.junit.After;
+import org.junit.Assert;
 import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 import org.openqa.selenium.WebDriver;
@@ -10,8 +14,10 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import com.vanguard.web.selenium.properties.PropertiesManager;
+import com.vanguard.web.selenium.utils.FailureArtifacts;
+import com.vanguard.web.selenium.utils.ScreenshotUtility;
 
-@PrepareForTest({SeleniumBaseTest.class, System.class})
+@PrepareForTest({SeleniumBaseTest.class, System.class, ScreenshotUtility.class})
 @RunWith(PowerMockRunner.class)
 public class SeleniumBaseTestTest {
 
@@ -48,4 +54,57 @@ public class SeleniumBaseTestTest {
 		EasyMock.replay(mockDriver);
 		baseTest.baseTestTeardown();
 	}
+
+	@Test
+	public void baseTestTeardownWhenDriverIsFromAPoolTest() {
+		WebDriver mockDriver = Mockito.mock(WebDriver.class);
+		Mockito.when(mockDriver.manage()).thenReturn(Mockito.mock(WebDriver.Options.class));
+		WebDriverPool pool = new WebDriverPool(1, () -> mockDriver);
+		baseTest.setDriverPool(pool);
+		baseTest.driver = pool.lease();
+		baseTest.baseTestTeardown();
+		Mockito.verify(mockDriver, Mockito.never()).quit();
+		Assert.assertEquals(1, pool.getIdleCount());
+	}
+
+	@Test
+	public void baseTestTeardownLeavesTheBrowserOpenWhileAFailureIsWaitingToBeCapturedTest() {
+		WebDriver mockDriver = Mockito.mock(WebDriver.class);
+		baseTest.driver = mockDriver;
+		FailureArtifacts.defer("anyFailure", mockDriver);
+		try {
+			baseTest.baseTestTeardown();
+			Mockito.verify(mockDriver, Mockito.never()).quit();
+		} finally {
+			FailureArtifacts.discardPending();
+		}
+	}
+
+	@Test
+	public void seleniumTestRunnerCapturesAFailureBeforeTheAfterMethodsRunTest() throws Exception {
+		PowerMockito.mockStatic(ScreenshotUtility.class);
+		try {
+			Result result = new JUnitCore().run(new SeleniumTestRunner(FailsAndThenHasAnAfterMethod.class));
+			Assert.assertEquals(1, result.getFailureCount());
+			Assert.assertEquals(Boolean.FALSE, FailsAndThenHasAnAfterMethod.pendingWhenAfterRan);
+			PowerMockito.verifyStatic(ScreenshotUtility.class, Mockito.times(1));
+			ScreenshotUtility.takeScreenshot(Mockito.eq("anyFailure"), Mockito.any(WebDriver.class));
+		} finally {
+			FailureArtifacts.discardPending();
+		}
+	}
+
+	public static class FailsAndThenHasAnAfterMethod {
+		static Boolean pendingWhenAfterRan;
+
+		@Test
+		public void fails() {
+			FailureArtifacts.defer("anyFailure", Mockito.mock(WebDriver.class));
+			throw new IllegalStateException("anyFailure");
+		}
+		@After
+		public void navigatesAway() {
+			pendingWhenAfterRan = FailureArtifacts.hasPending();
+		}
+	}
 }
@@ -0,0 +1,151 @@
+package com.vanguard.web.selenium.test;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriver.Options;
+import org.openqa.selenium.WebDriverException;
+
+public class WebDriverPoolTest {
+
+	private WebDriver firstDriver;
+	private WebDriver secondDriver;
+	private WebDriverPool pool;
+
+	@Before
+	public void setup() {
+		firstDriver = getMockDriver();
+		secondDriver = getMockDriver();
+		pool = new WebDriverPool(1, 0, getFactory(firstDriver, secondDriver));
+	}
+
+	@Test
+	public void leaseReturnsTheSameDriverToTheSameThreadTest() {
+		WebDriver leased = pool.lease();
+		Assert.assertSame(firstDriver, leased);
+		Assert.assertSame(firstDriver, pool.lease());
+		Assert.assertEquals(1, pool.getLeasedCount());
+	}
+
+	@Test
+	public void releaseResetsTheDriverAndLeaseReusesItTest() {
+		pool.lease();
+		pool.release();
+		Assert.assertEquals(1, pool.getIdleCount());
+		Mockito.verify((JavascriptExecutor) firstDriver).executeScript(WebDriverPool.JS_CLEAR_STORAGE);
+		Mockito.verify(firstDriver.manage()).deleteAllCookies();
+		Mockito.verify(firstDriver).get(WebDriverPool.BLANK_PAGE);
+		
+		Assert.assertSame(firstDriver, pool.lease());
+		Mockito.verify(firstDriver, Mockito.never()).quit();
+	}
+
+	@Test
+	public void releaseClosesEveryWindowButTheFirstTest() {
+		WebDriver.TargetLocator mockTargetLocator = Mockito.mock(WebDriver.TargetLocator.class);
+		Mockito.when(firstDriver.switchTo()).thenReturn(mockTargetLocator);
+		Mockito.when(firstDriver.getWindowHandles()).thenReturn(new LinkedHashSet<String>(Arrays.asList("main", "popup1", "popup2")));
+		pool.lease();
+		pool.release();
+		
+		Mockito.verify(mockTargetLocator).window("popup1");
+		Mockito.verify(mockTargetLocator).window("popup2");
+		Mockito.verify(firstDriver, Mockito.times(2)).close();
+		Mockito.verify(mockTargetLocator).window("main");
+		Mockito.verify(firstDriver).get(WebDriverPool.BLANK_PAGE);
+		Assert.assertEquals(1, pool.getIdleCount());
+	}
+
+	@Test
+	public void leaseReplacesDriversThatFailTheHealthCheckTest() {
+		pool.lease();
+		pool.release();
+		Mockito.when(firstDriver.getWindowHandle()).thenThrow(new WebDriverException("browser is gone"));
+		
+		Assert.assertSame(secondDriver, pool.lease());
+		Mockito.verify(firstDriver).quit();
+	}
+
+	@Test
+	public void releaseQuitsDriversThatCanNotBeResetTest() {
+		pool.lease();
+		Mockito.doThrow(new WebDriverException("could not navigate")).when(firstDriver).get(WebDriverPool.BLANK_PAGE);
+		pool.release();
+		Assert.assertEquals(0, pool.getIdleCount());
+		Mockito.verify(firstDriver).quit();
+		Assert.assertSame(secondDriver, pool.lease());
+	}
+
+	@Test
+	public void leaseFromAnotherThreadTimesOutWhenThePoolIsFullTest() throws InterruptedException {
+		pool.lease();
+		AtomicReference<Exception> otherThreadException = new AtomicReference<Exception>();
+		Thread otherThread = new Thread(() -> {
+			try {
+				pool.lease();
+			} catch (WebDriverException e) {
+				otherThreadException.set(e);
+			}
+		});
+		otherThread.start();
+		otherThread.join();
+		Assert.assertNotNull(otherThreadException.get());
+	}
+
+	@Test
+	public void shutdownQuitsIdleDriversAndStopsLeasingTest() {
+		pool.lease();
+		pool.release();
+		pool.shutdown();
+		Mockito.verify(firstDriver).quit();
+		try {
+			pool.lease();
+			Assert.fail("Expected a WebDriverException");
+		} catch (WebDriverException e) {
+			Assert.assertEquals(0, pool.getLeasedCount());
+		}
+	}
+
+	@Test
+	public void shutdownAlsoQuitsLeasedDriversTest() {
+		pool.lease();
+		pool.shutdown();
+		Mockito.verify(firstDriver).quit();
+		Assert.assertEquals(0, pool.getLeasedCount());
+		
+		pool.release();
+		Mockito.verify(firstDriver, Mockito.times(1)).quit();
+		try {
+			pool.lease();
+			Assert.fail("Expected a WebDriverException");
+		} catch (WebDriverException e) {
+			Assert.assertEquals(0, pool.getLeasedCount());
+		}
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void poolMustHoldAtLeastOneDriverTest() {
+		new WebDriverPool(0, () -> firstDriver);
+	}
+
+	private static WebDriver getMockDriver() {
+		WebDriver mockDriver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(JavascriptExecutor.class));
+		Options mockOptions = Mockito.mock(Options.class);
+		Mockito.when(mockDriver.manage()).thenReturn(mockOptions);
+		Mockito.when(mockDriver.getWindowHandle()).thenReturn("window");
+		return mockDriver;
+	}
+
+	private static Supplier<WebDriver> getFactory(WebDriver... drivers) {
+		int[] created = {0};
+		return () -> drivers[created[0]++];
+	}
+}
@@ -0,0 +1,65 @@
+package com.vanguard.web.selenium.utils;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+@PrepareForTest({ScreenshotUtility.class})
+@RunWith(PowerMockRunner.class)
+public class FailureArtifactsTest {
+
+	WebDriver mockDriver = Mockito.mock(WebDriver.class);
+
+	@After
+	public void discardPending() {
+		FailureArtifacts.discardPending();
+	}
+
+	@Test
+	public void captureForOnlyCapturesTheFailureThatEndedTheTestOnceTest() throws Exception {
+		PowerMockito.mockStatic(ScreenshotUtility.class);
+		FailureArtifacts.defer("Caught and retried", mockDriver);
+		FailureArtifacts.defer("Escaped", mockDriver);
+		FailureArtifacts.defer("Escaped", mockDriver);
+		RuntimeException escaped = new RuntimeException("Escaped");
+		escaped.addSuppressed(new RuntimeException("Escaped"));
+		
+		Assert.assertEquals(1, FailureArtifacts.captureFor(new IllegalStateException("Wrapped", escaped)));
+		
+		PowerMockito.verifyStatic(ScreenshotUtility.class, Mockito.times(1));
+		ScreenshotUtility.takeScreenshot("Escaped", mockDriver);
+		PowerMockito.verifyStatic(ScreenshotUtility.class, Mockito.times(1));
+		ScreenshotUtility.savePageSource("Escaped", mockDriver);
+		PowerMockito.verifyStatic(ScreenshotUtility.class, Mockito.never());
+		ScreenshotUtility.takeScreenshot("Caught and retried", mockDriver);
+		Assert.assertTrue(FailureArtifacts.hasPending());
+	}
+
+	@Test
+	public void captureForStillCapturesWhenTheUrlCanNotBeReadTest() throws Exception {
+		PowerMockito.mockStatic(ScreenshotUtility.class);
+		Mockito.when(mockDriver.getCurrentUrl()).thenThrow(new WebDriverException("window closed"));
+		FailureArtifacts.defer("Escaped", mockDriver);
+		
+		Assert.assertEquals(1, FailureArtifacts.captureFor(new RuntimeException("Escaped")));
+		
+		PowerMockito.verifyStatic(ScreenshotUtility.class, Mockito.times(1));
+		ScreenshotUtility.takeScreenshot("Escaped", mockDriver);
+	}
+
+	@Test
+	public void discardPendingForgetsEveryFailureTest() {
+		FailureArtifacts.defer("Caught and retried", mockDriver);
+		FailureArtifacts.discardPending();
+		
+		Assert.assertFalse(FailureArtifacts.hasPending());
+		Assert.assertEquals(0, FailureArtifacts.captureFor(new RuntimeException("Caught and retried")));
+	}
+}
@@ -39,6 +39,17 @@ public class ScreenshotUtilityTest {
 		FileUtils.copyFile(Mockito.any(File.class), Mockito.any(File.class));
 	}
 
+	@Test
+	public void takeScreenshotAsyncHandsTheBytesToTheWriterTest() throws Exception {
+		ScreenshotWriter mockWriter = Mockito.mock(ScreenshotWriter.class);
+		byte[] png = new byte[] {1, 2, 3};
+		EasyMock.expect(driver.getScreenshotAs(OutputType.BYTES)).andReturn(png);
+		EasyMock.replay(driver);
+		ScreenshotUtility.takeScreenshotAsync("message", driver, mockWriter);
+		EasyMock.verify(driver);
+		Mockito.verify(mockWriter, Mockito.times(1)).submit(Mockito.any(File.class), Mockito.eq(png));
+	}
+
 	@Test
 	public void getTimeStampTest() {
 		Date date = new GregorianCalendar(1776, Calendar.JULY, 4).getTime();
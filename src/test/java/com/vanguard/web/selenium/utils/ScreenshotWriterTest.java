@@ -0,0 +1,88 @@
+package com.vanguard.web.selenium.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ScreenshotWriterTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	private ScreenshotWriter writer = new ScreenshotWriter(1);
+
+	@After
+	public void cleanup() {
+		writer.close();
+	}
+
+	@Test
+	public void submittedScreenshotsAreWrittenByFlushTest() throws Exception {
+		File first = new File(folder.getRoot(), "first.png");
+		File second = new File(folder.getRoot(), "second.png");
+		writer.submit(first, new byte[] {1, 2, 3});
+		writer.submit(second, new byte[] {4, 5});
+		
+		Assert.assertTrue(writer.flush(5000));
+		Assert.assertEquals(0, writer.getPendingCount());
+		Assert.assertArrayEquals(new byte[] {1, 2, 3}, Files.readAllBytes(first.toPath()));
+		Assert.assertArrayEquals(new byte[] {4, 5}, Files.readAllBytes(second.toPath()));
+	}
+
+	@Test
+	public void flushWithNothingSubmittedReturnsRightAwayTest() {
+		Assert.assertTrue(writer.flush(0));
+	}
+
+	@Test
+	public void submitAfterCloseWritesRightAwayTest() throws Exception {
+		writer.close();
+		File afterClose = new File(folder.getRoot(), "afterClose.png");
+		writer.submit(afterClose, new byte[] {9});
+		Assert.assertArrayEquals(new byte[] {9}, Files.readAllBytes(afterClose.toPath()));
+	}
+
+	@Test
+	public void writeFailuresDoNotStopTheWriterTest() throws Exception {
+		File missingFolder = new File(new File(folder.getRoot(), "missing"), "failed.png");
+		File good = new File(folder.getRoot(), "good.png");
+		writer.submit(missingFolder, new byte[] {1});
+		writer.submit(good, new byte[] {2});
+		
+		Assert.assertTrue(writer.flush(5000));
+		Assert.assertFalse(missingFolder.exists());
+		Assert.assertArrayEquals(new byte[] {2}, Files.readAllBytes(good.toPath()));
+	}
+
+	@Test
+	public void unexpectedWriteErrorsDoNotStopTheWriterThreadTest() throws Exception {
+		writer.close();
+		AtomicInteger writeCalls = new AtomicInteger();
+		writer = new ScreenshotWriter(1) {
+			@Override
+			void write(File destination, byte[] png) throws IOException {
+				if(writeCalls.incrementAndGet() == 1) {
+					throw new IllegalStateException("Disk went away");
+				}
+				super.write(destination, png);
+			}
+		};
+		File failed = new File(folder.getRoot(), "failed.png");
+		File second = new File(folder.getRoot(), "second.png");
+		File third = new File(folder.getRoot(), "third.png");
+		writer.submit(failed, new byte[] {1});
+		writer.submit(second, new byte[] {2});
+		writer.submit(third, new byte[] {3});
+		
+		Assert.assertTrue(writer.flush(5000));
+		Assert.assertFalse(failed.exists());
+		Assert.assertArrayEquals(new byte[] {2}, Files.readAllBytes(second.toPath()));
+		Assert.assertArrayEquals(new byte[] {3}, Files.readAllBytes(third.toPath()));
+	}
+}